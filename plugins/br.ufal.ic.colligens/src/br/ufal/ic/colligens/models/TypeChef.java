@@ -17,9 +17,11 @@ import java.net.URL;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.cdt.core.model.CModelException;
 import org.eclipse.cdt.core.model.CoreModel;
@@ -55,6 +57,10 @@ public class TypeChef {
 	private final AbstractHeader header;
 	private IProgressMonitor monitor = null;
 
+	private List<String> featureModelParameters;
+	private List<String> headerParameters;
+	private final Map<String, List<String>> projectIncludes = new HashMap<String, List<String>>();
+
 	public TypeChef() {
 		header = AbstractHeader.getInstance();
 	}
@@ -90,6 +96,52 @@ public class TypeChef {
 		}
 	}
 
+	/**
+	 * Computes the parameters that are equal for all files of one run. Writes the feature model only once.
+	 */
+	private void prepareParameters() {
+		featureModelParameters = new ArrayList<String>();
+		if (Colligens.getDefault().getPreferenceStore().getBoolean("FEATURE_MODEL")) {
+			prepareFeatureModel(); // General processing options String
+			featureModelParameters.add("--featureModelFExpr");
+			featureModelParameters.add(Colligens.getDefault().getConfigDir().getAbsolutePath() + System.getProperty("file.separator") + "cnf.fm");
+		}
+
+		headerParameters = new ArrayList<String>();
+		for (final String headerPath : header.getIncludes()) {
+			headerParameters.add("-h");
+			headerParameters.add(headerPath);
+		}
+
+		projectIncludes.clear();
+	}
+
+	/**
+	 * @param projectName
+	 * @return the include parameters of the given C project
+	 */
+	private List<String> getIncludeParameters(String projectName) {
+		List<String> includeParameters = projectIncludes.get(projectName);
+		if (includeParameters == null) {
+			includeParameters = new ArrayList<String>();
+			// Project C includes
+			final ICProject project = CoreModel.getDefault().getCModel().getCProject(projectName);
+
+			try {
+				final IIncludeReference includes[] = project.getIncludeReferences();
+				for (int i = 0; i < includes.length; i++) {
+					includeParameters.add("-I");
+					includeParameters.add(includes[i].getElementName());
+				}
+			} catch (final CModelException e) {
+
+				e.printStackTrace();
+			}
+			projectIncludes.put(projectName, includeParameters);
+		}
+		return includeParameters;
+	}
+
 	/**
 	 * @param fileProxy
 	 * @throws OptionException
@@ -105,39 +157,17 @@ public class TypeChef {
 		paramters.add("--lexOutput");
 		paramters.add(Colligens.getDefault().getConfigDir().getAbsolutePath() + System.getProperty("file.separator") + "lexOutput.c");
 
-		if (Colligens.getDefault().getPreferenceStore().getBoolean("FEATURE_MODEL")) {
-			prepareFeatureModel(); // General processing options String
-			paramters.add("--featureModelFExpr");
-			paramters.add(Colligens.getDefault().getConfigDir().getAbsolutePath() + System.getProperty("file.separator") + "cnf.fm");
-		}
+		paramters.addAll(featureModelParameters);
 
 		final String typeChefPreference = Colligens.getDefault().getPreferenceStore().getString("TypeChefPreference");
 
 		paramters.add(typeChefPreference);
 
 		if (Colligens.getDefault().getPreferenceStore().getBoolean("USE_INCLUDES")) {
-			// Project C includes
-			final ICProject project = CoreModel.getDefault().getCModel().getCProject(AbstractHeader.getFile(fileProxy.getFileReal()).getProject().getName());
-
-			try {
-				final IIncludeReference includes[] = project.getIncludeReferences();
-				for (int i = 0; i < includes.length; i++) {
-					paramters.add("-I");
-					paramters.add(includes[i].getElementName());
-				}
-			} catch (final CModelException e) {
-
-				e.printStackTrace();
-			}
-
+			paramters.addAll(getIncludeParameters(AbstractHeader.getFile(fileProxy.getFileReal()).getProject().getName()));
 		}
 
-		final Collection<String> headersPath = header.getIncludes();
-
-		for (final Iterator<String> iterator = headersPath.iterator(); iterator.hasNext();) {
-			paramters.add("-h");
-			paramters.add(iterator.next());
-		}
+		paramters.addAll(headerParameters);
 
 		paramters.add(fileProxy.getFileToAnalyse());
 
@@ -186,6 +216,8 @@ public class TypeChef {
 
 			monitorbeginTask(ANALYZING_SELECTED_FILES, fileProxies.size());
 
+			prepareParameters();
+
 			for (final FileProxy fileProxy : fileProxies) {
 				// Monitor Update
 				monitorWorked(1);
@@ -8,12 +8,20 @@ import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Set;
 
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.Path;
+import org.prop4j.Node;
+
+import br.ufal.ic.colligens.activator.Colligens;
+import de.ovgu.featureide.core.CorePlugin;
+import de.ovgu.featureide.core.IFeatureProject;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+
 public class ProductGenerator {
 
 	// Check for soundness percent of possible products.
@@ -73,26 +81,6 @@ public class ProductGenerator {
 		return directives;
 	}
 
-	// It generates combinatorial for each possible product.
-	public <T> Set<Set<T>> powerSet(Set<T> originalSet) {
-		final Set<Set<T>> sets = new HashSet<Set<T>>();
-		if (originalSet.isEmpty()) {
-			sets.add(new HashSet<T>());
-			return sets;
-		}
-		final List<T> list = new ArrayList<T>(originalSet);
-		final T head = list.get(0);
-		final Set<T> rest = new HashSet<T>(list.subList(1, list.size()));
-		for (final Set<T> set : powerSet(rest)) {
-			final Set<T> newSet = new HashSet<T>();
-			newSet.add(head);
-			newSet.addAll(set);
-			sets.add(newSet);
-			sets.add(set);
-		}
-		return sets;
-	}
-
 	// It executes external commands.
 	public String runCommand(String cmd) {
 		String result = "";
@@ -139,12 +127,54 @@ public class ProductGenerator {
 	public void generateProducts(String originalFile) throws Exception {
 		final Set<String> directives = getDirectives(new File(originalFile));
 
-		// Generating all possible products.
-		final Set<Set<String>> sets = this.powerSet(directives);
+		final int maxProducts;
+		if (directives.size() <= 5) {
+			maxProducts = Integer.MAX_VALUE;
+		} else if (directives.size() <= 10) {
+			// Define soundness to set the percentage of product to analyze.
+			maxProducts = (int) Math.ceil((1 << directives.size()) * ProductGenerator.SOUNDNESS);
+		} else {
+			maxProducts = 1;
+		}
+		generateProducts(originalFile, directives, getFeatureModel(originalFile), 0, maxProducts);
+	}
 
+	/**
+	 * @param originalFile The file to preprocess
+	 * @return The feature model of the project containing the given file in CNF or {@code null} if the file does not belong to a feature project or the
+	 *         feature model should not be considered
+	 */
+	private static Node getFeatureModel(String originalFile) {
+		if (!Colligens.getDefault().getPreferenceStore().getBoolean("FEATURE_MODEL")) {
+			return null;
+		}
+		final IFile file = ResourcesPlugin.getWorkspace().getRoot().getFileForLocation(new Path(originalFile));
+		if (file == null) {
+			return null;
+		}
+		final IFeatureProject featureProject = CorePlugin.getFeatureProject(file);
+		if (featureProject == null) {
+			return null;
+		}
+		return AdvancedNodeCreator.createCNF(featureProject.getFeatureModel());
+	}
+
+	/**
+	 * Generates the valid products of the given file one at a time.
+	 *
+	 * @param originalFile The file to preprocess
+	 * @param featureModel The constraints of the macros in CNF or {@code null}
+	 * @param t The strength of the combinatorial coverage or {@code 0} to generate all valid products
+	 * @param maxProducts The maximal number of products to generate
+	 */
+	public void generateProducts(String originalFile, Node featureModel, int t, int maxProducts) throws Exception {
+		generateProducts(originalFile, getDirectives(new File(originalFile)), featureModel, t, maxProducts);
+	}
+
+	private void generateProducts(String originalFile, Set<String> directives, Node featureModel, int t, int maxProducts) {
 		int count = 1;
 
-		for (final Iterator<Set<String>> i = sets.iterator(); i.hasNext();) {
+		for (final Iterator<Set<String>> i = new ProductIterator(directives, featureModel, t, maxProducts); i.hasNext();) {
 			final Set<String> set = i.next();
 
 			String cmd = "gcc -P -E ";
@@ -158,16 +188,6 @@ public class ProductGenerator {
 			final String code = runCommand(cmd);
 			saveToFile(originalFile.replace("original.c", "") + "test" + count + ".c", code);
 			count++;
-
-			if ((directives.size() > 5) && (directives.size() <= 10)) {
-				// Define soundness to set the percentage of product to analyze.
-				if (count >= (sets.size() * ProductGenerator.SOUNDNESS)) {
-					break;
-				}
-			} else if (directives.size() > 10) {
-				break;
-			}
-
 		}
 	}
 
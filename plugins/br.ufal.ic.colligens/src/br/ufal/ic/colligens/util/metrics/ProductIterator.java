@@ -0,0 +1,255 @@
+package br.ufal.ic.colligens.util.metrics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.prop4j.And;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Or;
+import org.sat4j.core.VecInt;
+import org.sat4j.minisat.SolverFactory;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.ISolver;
+import org.sat4j.specs.TimeoutException;
+
+/**
+ * Lazily enumerates the valid products of a set of macros, i.e., the sets of macros to define.<br> Products are computed one at a time by a SAT solver, such
+ * that only products satisfying the given constraints (e.g., the feature model) are generated. In the default mode, every product is excluded by a blocking
+ * clause after it has been returned. In the t-wise mode, only products covering a new combination of t macro values are returned.
+ */
+public class ProductIterator implements Iterator<Set<String>> {
+
+	private final List<String> macros;
+	private final Map<Object, Integer> variables = new HashMap<Object, Integer>();
+	private final ISolver solver = SolverFactory.newDefault();
+
+	private final int t;
+	private final int maxProducts;
+	private int productCount = 0;
+
+	private boolean contradiction = false;
+	private Set<String> nextProduct = null;
+
+	/** The combination of literals to cover next in t-wise mode. */
+	private int[] combination;
+	/** The macro values of all products returned in t-wise mode. Memory grows by one entry per product, not by the number of covered combinations. */
+	private final List<boolean[]> coveringProducts = new ArrayList<boolean[]>();
+
+	/**
+	 * @param macros The macros to define in the products
+	 * @param constraint A constraint all products have to satisfy in CNF, e.g., the feature model, or {@code null}
+	 * @param t The strength of the combinatorial coverage or {@code 0} to enumerate all products
+	 * @param maxProducts The maximal number of products to generate
+	 */
+	public ProductIterator(Set<String> macros, Node constraint, int t, int maxProducts) {
+		this.macros = new ArrayList<String>(new LinkedHashSet<String>(macros));
+		this.t = Math.min(t, this.macros.size());
+		this.maxProducts = maxProducts;
+		for (final String macro : this.macros) {
+			getVariable(macro);
+		}
+		if (constraint != null) {
+			addClauses(constraint);
+		}
+		if (this.t > 0) {
+			combination = new int[this.t];
+			for (int i = 0; i < this.t; i++) {
+				combination[i] = i;
+			}
+		}
+	}
+
+	private int getVariable(Object var) {
+		Integer index = variables.get(var);
+		if (index == null) {
+			index = variables.size() + 1;
+			variables.put(var, index);
+			solver.newVar(index);
+		}
+		return index;
+	}
+
+	private int getLiteral(Node node) {
+		final Literal literal = (Literal) node;
+		final int variable = getVariable(literal.var);
+		return literal.positive ? variable : -variable;
+	}
+
+	private void addClauses(Node constraint) {
+		final Node[] clauses = constraint instanceof And ? constraint.getChildren() : new Node[] { constraint };
+		try {
+			for (final Node clause : clauses) {
+				if (clause instanceof Or) {
+					final Node[] children = clause.getChildren();
+					final int[] literals = new int[children.length];
+					for (int i = 0; i < children.length; i++) {
+						literals[i] = getLiteral(children[i]);
+					}
+					solver.addClause(new VecInt(literals));
+				} else {
+					solver.addClause(new VecInt(new int[] { getLiteral(clause) }));
+				}
+			}
+		} catch (final ContradictionException e) {
+			contradiction = true;
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (nextProduct == null) {
+			nextProduct = computeNext();
+		}
+		return nextProduct != null;
+	}
+
+	@Override
+	public Set<String> next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		final Set<String> product = nextProduct;
+		nextProduct = null;
+		productCount++;
+		return product;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	private Set<String> computeNext() {
+		if (contradiction || (productCount >= maxProducts)) {
+			return null;
+		}
+		try {
+			return t > 0 ? computeNextCovering() : computeNextProduct();
+		} catch (final TimeoutException e) {
+			return null;
+		}
+	}
+
+	private Set<String> computeNextProduct() throws TimeoutException {
+		if (!solver.isSatisfiable()) {
+			return null;
+		}
+		final boolean[] values = getValues();
+
+		// exclude this assignment of the macros
+		final int[] blockingClause = new int[values.length];
+		for (int i = 0; i < blockingClause.length; i++) {
+			blockingClause[i] = values[i] ? -(i + 1) : i + 1;
+		}
+		try {
+			solver.addClause(new VecInt(blockingClause));
+		} catch (final ContradictionException e) {
+			contradiction = true;
+		}
+		return toProduct(values);
+	}
+
+	private Set<String> computeNextCovering() throws TimeoutException {
+		final int literalCount = 2 * macros.size();
+		while (combination != null) {
+			final int[] assumptions = getCombination();
+			nextCombination(literalCount);
+			if (isConsistent(assumptions) && !isCovered(assumptions) && solver.isSatisfiable(new VecInt(assumptions))) {
+				final boolean[] values = getValues();
+				coveringProducts.add(values);
+				return toProduct(values);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return the literals of the current combination. Even indexes are positive literals, odd indexes negative literals.
+	 */
+	private int[] getCombination() {
+		final int[] literals = new int[t];
+		for (int i = 0; i < t; i++) {
+			final int variable = (combination[i] >> 1) + 1;
+			literals[i] = (combination[i] & 1) == 0 ? variable : -variable;
+		}
+		return literals;
+	}
+
+	private void nextCombination(int n) {
+		int i = t - 1;
+		while ((i >= 0) && (combination[i] == ((n - t) + i))) {
+			i--;
+		}
+		if (i < 0) {
+			combination = null;
+			return;
+		}
+		combination[i]++;
+		for (int j = i + 1; j < t; j++) {
+			combination[j] = combination[j - 1] + 1;
+		}
+	}
+
+	private static boolean isConsistent(int[] literals) {
+		for (int i = 1; i < literals.length; i++) {
+			if (literals[i] == -literals[i - 1]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return {@code true} if a product returned before contains the given combination of macro values
+	 */
+	private boolean isCovered(int[] literals) {
+		for (final boolean[] values : coveringProducts) {
+			if (contains(values, literals)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean contains(boolean[] values, int[] literals) {
+		for (final int literal : literals) {
+			if (values[Math.abs(literal) - 1] != (literal > 0)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the values of the macros in the current model. Macros without a value are not defined.
+	 */
+	private boolean[] getValues() {
+		final boolean[] values = new boolean[macros.size()];
+		for (final int literal : solver.model()) {
+			final int variable = Math.abs(literal);
+			if (variable <= values.length) {
+				values[variable - 1] = literal > 0;
+			}
+		}
+		return values;
+	}
+
+	private Set<String> toProduct(boolean[] values) {
+		final Set<String> product = new HashSet<String>();
+		for (int i = 0; i < values.length; i++) {
+			if (values[i]) {
+				product.add(macros.get(i));
+			}
+		}
+		return product;
+	}
+
+}
@@ -0,0 +1,139 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.featurehouse;
+
+import composer.CompositionException;
+import de.ovgu.cide.fstgen.ast.FSTNode;
+import de.ovgu.cide.fstgen.ast.FSTTerminal;
+
+/**
+ * An error that occurred while FeatureHouse composed a variant, together with the feature module and the file that cause it.<br> Does not depend on the
+ * workspace, such that the errors of a {@link FeatureHouseWorker} can be transferred to the composer, which creates the markers.
+ */
+public class CompositionError {
+
+	private static final String ORIGINAL = "\\original";
+
+	private static final char SEPARATOR = '\t';
+
+	/**
+	 * The name of the feature module or {@code null} if the location is unknown.
+	 */
+	final String feature;
+	/**
+	 * The name of the file in the feature module or {@code null} if the location is unknown.
+	 */
+	final String file;
+	final int line;
+	final String message;
+
+	CompositionError(String feature, String file, int line, String message) {
+		this.feature = feature;
+		this.file = file;
+		this.line = line;
+		this.message = message;
+	}
+
+	/**
+	 * Creates an error without a location.
+	 */
+	CompositionError(String message) {
+		this(null, null, -1, message);
+	}
+
+	/**
+	 * @param e The exception thrown by FeatureHouse
+	 * @return The terminal that causes the given composition error or {@code null} if it is unknown
+	 */
+	static FSTTerminal getTerminal(CompositionException e) {
+		FSTTerminal terminal = e.getTerminalB();
+		if ((terminal != null) && (e.getMessage() != null) && e.getMessage().contains(ORIGINAL)) {
+			if (!terminal.getBody().contains(ORIGINAL)) {
+				terminal = e.getTerminalA();
+			}
+		}
+		return terminal;
+	}
+
+	/**
+	 * @param terminal The terminal causing the error
+	 * @param message The message of the error
+	 * @return The error located at the java file containing the terminal or an error without a location if there is no such file
+	 */
+	static CompositionError create(FSTTerminal terminal, String message) {
+		FSTNode fileNode = terminal.getParent();
+		while ((fileNode != null) && !fileNode.getName().endsWith(".java")) {
+			fileNode = fileNode.getParent();
+		}
+		if ((fileNode == null) || (fileNode.getParent() == null)) {
+			return new CompositionError(message);
+		}
+		return new CompositionError(fileNode.getParent().getName(), fileNode.getName(), terminal.beginLine, message);
+	}
+
+	boolean hasLocation() {
+		return (feature != null) && (file != null);
+	}
+
+	/**
+	 * @return This error in one line, see {@link #parse(String)}
+	 */
+	String write() {
+		final StringBuilder line = new StringBuilder();
+		if (hasLocation()) {
+			line.append(clean(feature)).append(SEPARATOR).append(clean(file));
+		} else {
+			line.append(SEPARATOR);
+		}
+		return line.append(SEPARATOR).append(this.line).append(SEPARATOR).append(clean(message)).toString();
+	}
+
+	/**
+	 * @param line An error written by {@link #write()}
+	 * @return The error
+	 */
+	static CompositionError parse(String line) {
+		final String[] parts = line.split(String.valueOf(SEPARATOR), 4);
+		if (parts.length < 4) {
+			return new CompositionError(line);
+		}
+		int lineNumber;
+		try {
+			lineNumber = Integer.parseInt(parts[2]);
+		} catch (final NumberFormatException e) {
+			lineNumber = -1;
+		}
+		if (parts[0].isEmpty() || parts[1].isEmpty()) {
+			return new CompositionError(null, null, lineNumber, parts[3]);
+		}
+		return new CompositionError(parts[0], parts[1], lineNumber, parts[3]);
+	}
+
+	private static String clean(String text) {
+		return text == null ? "" : text.replace('\r', ' ').replace('\n', ' ').replace(SEPARATOR, ' ');
+	}
+
+	@Override
+	public String toString() {
+		return hasLocation() ? feature + "/" + file + ":" + line + ": " + message : message;
+	}
+
+}
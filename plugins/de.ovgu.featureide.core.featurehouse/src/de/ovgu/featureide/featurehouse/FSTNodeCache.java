@@ -0,0 +1,297 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.featurehouse;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
+
+import builder.ArtifactBuilder;
+import builder.ArtifactBuilderInterface;
+import cide.gparser.ParseException;
+import composer.FSTGenProcessor;
+import de.ovgu.cide.fstgen.ast.AbstractFSTParser;
+import de.ovgu.cide.fstgen.ast.CommandLineParameterHelper;
+import de.ovgu.cide.fstgen.ast.FSTNode;
+import de.ovgu.cide.fstgen.ast.FSTNonTerminal;
+import de.ovgu.cide.fstgen.ast.FSTTerminal;
+
+/**
+ * Caches the feature structure trees that FeatureHouse parses from source files.<br> Once {@link #install(FSTGenProcessor)} was called on a composer, it
+ * reads every file whose content did not change since its last parse from this cache and only parses the others. Entries are keyed by the location of the
+ * file and validated against a hash of its content.<br> This class does not depend on the workspace, such that it can also be used by a
+ * {@link FeatureHouseWorker}. See {@link FSTParseCache} for a cache that evicts the entries of changed files.
+ */
+public class FSTNodeCache {
+
+	private static final class Entry {
+
+		private final byte[] hash;
+		private final boolean jml;
+		/**
+		 * The parsed nodes that are added below the file's parent node.
+		 */
+		private final List<FSTNode> nodes;
+		/**
+		 * The nodes that the parser registered at {@link AbstractFSTParser#fstnodes}, in registration order.
+		 */
+		private final List<FSTNode> parsedNodes;
+
+		private Entry(byte[] hash, boolean jml, List<FSTNode> nodes, List<FSTNode> parsedNodes) {
+			this.hash = hash;
+			this.jml = jml;
+			this.nodes = nodes;
+			this.parsedNodes = parsedNodes;
+		}
+
+		private boolean matches(byte[] hash, boolean jml) {
+			return (this.jml == jml) && Arrays.equals(this.hash, hash);
+		}
+
+	}
+
+	/**
+	 * Wraps a builder of FeatureHouse and answers the parse requests of this builder from the cache.
+	 */
+	private final class CachingArtifactBuilder extends ArtifactBuilder {
+
+		private final ArtifactBuilder builder;
+
+		private CachingArtifactBuilder(ArtifactBuilder builder) {
+			super(new String[0]);
+			this.builder = builder;
+		}
+
+		@Override
+		public boolean acceptFile(File inputFile) {
+			return builder.acceptFile(inputFile);
+		}
+
+		@Override
+		public void preprocessFile(File file) throws FileNotFoundException {
+			builder.preprocessFile(file);
+		}
+
+		@Override
+		public boolean isPreprocessNode() {
+			return builder.isPreprocessNode();
+		}
+
+		@Override
+		public void setPreprocessNode(boolean preprocessNode) {
+			builder.setPreprocessNode(preprocessNode);
+		}
+
+		@Override
+		public void processNode(FSTNonTerminal parent, StringTokenizer st, File inputFile) throws FileNotFoundException, ParseException {
+			FSTNodeCache.this.processNode(builder, parent, st, inputFile);
+		}
+
+	}
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+	private volatile boolean disposed = false;
+
+	/**
+	 * Replaces the builders registered at the given composer by builders that read from this cache. The order of the builders is retained.
+	 *
+	 * @param composer the FeatureHouse composer
+	 * @return the given composer
+	 */
+	public <T extends FSTGenProcessor> T install(T composer) {
+		final List<ArtifactBuilderInterface> builders = new ArrayList<>(composer.getArtifactBuilders());
+		for (final ArtifactBuilderInterface builder : builders) {
+			composer.unregisterArtifactBuilder(builder);
+		}
+		for (final ArtifactBuilderInterface builder : builders) {
+			if ((builder instanceof ArtifactBuilder) && !(builder instanceof CachingArtifactBuilder)) {
+				composer.registerArtifactBuilder(new CachingArtifactBuilder((ArtifactBuilder) builder));
+			} else {
+				composer.registerArtifactBuilder(builder);
+			}
+		}
+		return composer;
+	}
+
+	public void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * Removes the entry of the given file.
+	 *
+	 * @param path the absolute path of the file
+	 */
+	protected void evict(String path) {
+		entries.remove(path);
+	}
+
+	/**
+	 * Removes all entries. Files are still parsed afterwards, but not cached anymore.
+	 */
+	public void dispose() {
+		disposed = true;
+		clear();
+	}
+
+	public boolean isDisposed() {
+		return disposed;
+	}
+
+	/**
+	 * @return the number of cached files
+	 */
+	int size() {
+		return entries.size();
+	}
+
+	private void processNode(ArtifactBuilder builder, FSTNonTerminal parent, StringTokenizer st, File inputFile)
+			throws FileNotFoundException, ParseException {
+		if (disposed) {
+			builder.processNode(parent, st, inputFile);
+			return;
+		}
+		final String key = inputFile.getAbsolutePath();
+		final boolean jml = CommandLineParameterHelper.isJML();
+		final byte[] hash = hash(inputFile);
+		if (hash == null) {
+			builder.processNode(parent, st, inputFile);
+			return;
+		}
+
+		final Entry entry = entries.get(key);
+		if ((entry != null) && entry.matches(hash, jml)) {
+			// the name of the file is the only token left, it would otherwise be consumed by the builder
+			while (st.hasMoreTokens()) {
+				st.nextToken();
+			}
+			final Map<FSTNode, FSTNode> copies = new IdentityHashMap<>();
+			for (final FSTNode node : entry.nodes) {
+				parent.addChild(copy(node, copies));
+			}
+			for (final FSTNode node : entry.parsedNodes) {
+				AbstractFSTParser.fstnodes.add(copies.get(node));
+			}
+			return;
+		}
+
+		final FSTNonTerminal container = new FSTNonTerminal(parent.getType(), parent.getName());
+		final int firstParsedNode = AbstractFSTParser.fstnodes.size();
+		builder.processNode(container, st, inputFile);
+		final List<FSTNode> nodes = new ArrayList<>(container.getChildren());
+		final List<FSTNode> parsedNodes =
+			new ArrayList<>(AbstractFSTParser.fstnodes.subList(firstParsedNode, AbstractFSTParser.fstnodes.size()));
+		for (final FSTNode node : nodes) {
+			parent.addChild(node);
+		}
+
+		// the composition modifies the parsed trees, so the cache keeps its own copy
+		final Map<FSTNode, FSTNode> copies = new IdentityHashMap<>();
+		final List<FSTNode> cachedNodes = new ArrayList<>(nodes.size());
+		for (final FSTNode node : nodes) {
+			if (!isCacheable(node)) {
+				entries.remove(key);
+				return;
+			}
+			cachedNodes.add(copy(node, copies));
+		}
+		final List<FSTNode> cachedParsedNodes = new ArrayList<>(parsedNodes.size());
+		for (final FSTNode node : parsedNodes) {
+			final FSTNode copy = copies.get(node);
+			if (copy == null) {
+				entries.remove(key);
+				return;
+			}
+			cachedParsedNodes.add(copy);
+		}
+		entries.put(key, new Entry(hash, jml, cachedNodes, cachedParsedNodes));
+		if (disposed) {
+			// disposed while parsing
+			entries.remove(key);
+		}
+	}
+
+	/**
+	 * Only trees that consist of plain terminals and non-terminals can be copied without loss.
+	 */
+	private static boolean isCacheable(FSTNode node) {
+		if (node.getClass() == FSTTerminal.class) {
+			return true;
+		}
+		if (node.getClass() == FSTNonTerminal.class) {
+			for (final FSTNode child : ((FSTNonTerminal) node).getChildren()) {
+				if (!isCacheable(child)) {
+					return false;
+				}
+			}
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Creates a deep copy of the given node and stores the copy of each node of the tree in the given map.
+	 */
+	private static FSTNode copy(FSTNode node, Map<FSTNode, FSTNode> copies) {
+		final FSTNode copy = node.getDeepClone();
+		mapCopies(node, copy, copies);
+		return copy;
+	}
+
+	private static void mapCopies(FSTNode node, FSTNode copy, Map<FSTNode, FSTNode> copies) {
+		copies.put(node, copy);
+		copy.index = node.index;
+		if (node instanceof FSTTerminal) {
+			// not retained by getDeepClone()
+			final FSTTerminal terminal = (FSTTerminal) node;
+			final FSTTerminal terminalCopy = (FSTTerminal) copy;
+			terminalCopy.beginLine = terminal.beginLine;
+			terminalCopy.endLine = terminal.endLine;
+			terminalCopy.setContractCompKey(terminal.getContractCompKey());
+		} else if (node instanceof FSTNonTerminal) {
+			final List<FSTNode> children = ((FSTNonTerminal) node).getChildren();
+			final List<FSTNode> childCopies = ((FSTNonTerminal) copy).getChildren();
+			for (int i = 0; i < children.size(); i++) {
+				mapCopies(children.get(i), childCopies.get(i), copies);
+			}
+		}
+	}
+
+	private static byte[] hash(File file) {
+		try {
+			return MessageDigest.getInstance("SHA-1").digest(Files.readAllBytes(file.toPath()));
+		} catch (IOException | NoSuchAlgorithmException e) {
+			return null;
+		}
+	}
+
+}
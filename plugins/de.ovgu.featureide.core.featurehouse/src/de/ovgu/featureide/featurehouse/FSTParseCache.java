@@ -0,0 +1,95 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.featurehouse;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * Caches the feature structure trees that FeatureHouse parses from the source files of one project.<br> The composition, the construction of the FST model
+ * and the generation of variants all parse the same feature modules. Entries of changed or removed files are evicted as soon as the workspace reports the
+ * change. When the project is closed or removed, the cache is disposed and does not store any further entries.
+ */
+public class FSTParseCache extends FSTNodeCache implements IResourceChangeListener {
+
+	private final IProject project;
+
+	public FSTParseCache(IProject project) {
+		this.project = project;
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+	}
+
+	/**
+	 * Removes the resource listener of this cache and all entries.
+	 */
+	@Override
+	public void dispose() {
+		super.dispose();
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		final IResourceDelta delta = event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		final IResourceDelta projectDelta = delta.findMember(project.getFullPath());
+		if (projectDelta == null) {
+			return;
+		}
+		if ((projectDelta.getKind() == IResourceDelta.REMOVED) || ((projectDelta.getFlags() & IResourceDelta.OPEN) != 0)) {
+			if ((projectDelta.getKind() == IResourceDelta.REMOVED) || !project.isOpen()) {
+				dispose();
+			} else {
+				clear();
+			}
+			return;
+		}
+		try {
+			projectDelta.accept(new IResourceDeltaVisitor() {
+
+				@Override
+				public boolean visit(IResourceDelta delta) throws CoreException {
+					if (delta.getResource().getType() == IResource.FILE) {
+						if ((delta.getKind() == IResourceDelta.REMOVED) || ((delta.getFlags() & IResourceDelta.CONTENT) != 0)) {
+							final IPath location = delta.getResource().getLocation();
+							if (location != null) {
+								evict(location.toFile().getAbsolutePath());
+							}
+						}
+					}
+					return true;
+				}
+			});
+		} catch (final CoreException e) {
+			FeatureHouseCorePlugin.getDefault().logError(e);
+		}
+	}
+
+}
@@ -22,6 +22,7 @@ package de.ovgu.featureide.featurehouse;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
@@ -66,6 +67,7 @@ import composer.FSTGenComposerExtension;
 import composer.ICompositionErrorListener;
 import composer.IParseErrorListener;
 import composer.rules.meta.FeatureModelInfo;
+import de.ovgu.cide.fstgen.ast.AbstractFSTParser;
 import de.ovgu.cide.fstgen.ast.FSTNode;
 import de.ovgu.cide.fstgen.ast.FSTTerminal;
 import de.ovgu.featureide.core.IFeatureProject;
@@ -147,6 +149,11 @@ public class FeatureHouseComposer extends ComposerExtensionClass {
 
 	public FeatureHouseModelBuilder fhModelBuilder;
 
+	/**
+	 * The parsed feature modules of this project, shared by all composers.
+	 */
+	private FSTParseCache parseCache;
+
 	private ErrorPropagation errorPropagation = null;
 
 	private final IParseErrorListener listener = createParseErrorListener();
@@ -169,58 +176,43 @@ public class FeatureHouseComposer extends ComposerExtensionClass {
 
 			@Override
 			public void parseErrorOccured(CompositionException e) {
-				FSTTerminal terminal = e.getTerminalB();
-
-				if (e.getMessage().contains(ORIGINAL)) {
-					if (!e.getTerminalB().getBody().contains(ORIGINAL)) {
-						terminal = e.getTerminalA();
-					}
-				}
-
-				IFile file = null;
-				int lineFile = -1;
+				final FSTTerminal terminal = CompositionError.getTerminal(e);
 				if (terminal != null) {
-					file = getFile(terminal);
-					lineFile = terminal.beginLine;
-
-					if (file != null) {
-						try {
-							final IMarker marker = file.createMarker(FeatureHouseCorePlugin.BUILDER_PROBLEM_MARKER);
-							marker.setAttribute(IMarker.LINE_NUMBER, lineFile);
-							marker.setAttribute(IMarker.MESSAGE, e.getMessage());
-							marker.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_WARNING);
-						} catch (final CoreException e2) {
-							LOGGER.logError(e2);
-						}
+					final CompositionError error = CompositionError.create(terminal, e.getMessage());
+					if (error.hasLocation()) {
+						createCompositionErrorMarker(error);
 					} else {
-						LOGGER.logError(new Exception("No file provided for: " + terminal.toString()));
+						LOGGER.logError(new Exception("Java file could not be found for: " + terminal.toString()));
 					}
 				}
 			}
-
-			private IFile getFile(FSTTerminal terminal) {
-				if (terminal == null) {
-					return null;
-				}
-				FSTNode fileNode = terminal.getParent();
-				while ((fileNode != null) && !fileNode.getName().endsWith(".java")) {
-					fileNode = fileNode.getParent();
-				}
-				if (fileNode != null) {
-					final FSTNode featureNode = fileNode.getParent();
-					return featureProject.getSourceFolder().getFolder(featureNode.getName()).getFile(fileNode.getName());
-				} else {
-					LOGGER.logError(new Exception("Java file could not be found for: " + terminal.toString()));
-					return null;
-				}
-			}
 		};
 	}
 
+	/**
+	 * Creates a warning marker at the file of the given composition error.
+	 *
+	 * @param error The composition error with a location
+	 */
+	private void createCompositionErrorMarker(CompositionError error) {
+		final IFile file = featureProject.getSourceFolder().getFolder(error.feature).getFile(error.file);
+		try {
+			final IMarker marker = file.createMarker(FeatureHouseCorePlugin.BUILDER_PROBLEM_MARKER);
+			marker.setAttribute(IMarker.LINE_NUMBER, error.line);
+			marker.setAttribute(IMarker.MESSAGE, error.message);
+			marker.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_WARNING);
+		} catch (final CoreException e) {
+			LOGGER.logError(e);
+		}
+	}
+
 	@Override
 	public boolean initialize(IFeatureProject project) {
 		final boolean supSuccess = super.initialize(project);
 		fhModelBuilder = new FeatureHouseModelBuilder(project);
+		if ((parseCache == null) || parseCache.isDisposed()) {
+			parseCache = new FSTParseCache(project.getProject());
+		}
 		createBuildStructure();
 		checkJavaBuildPath();
 		return supSuccess && (fhModelBuilder != null);
@@ -402,7 +394,7 @@ public class FeatureHouseComposer extends ComposerExtensionClass {
 				buildDefaultMetaProduct(configPath, basePath, outputPath);
 			}
 		} else {
-			composer = new FSTGenComposer(false);
+			composer = parseCache.install(new FSTGenComposer(false));
 			composer.addCompositionErrorListener(compositionErrorListener);
 			try {
 				composer.run(getArguments(configPath, basePath, outputPath, getContractParameter()));
@@ -862,7 +854,7 @@ public class FeatureHouseComposer extends ComposerExtensionClass {
 		fhModelBuilder.buildModel(composer.getFstnodes(), false);
 
 		// build the complete fst model
-		final FSTGenComposerExtension composerExtension = new FSTGenComposerExtension();
+		final FSTGenComposerExtension composerExtension = parseCache.install(new FSTGenComposerExtension());
 		composer = composerExtension;
 		composerExtension.addParseErrorListener(listener);
 		final List<String> featureOrder = featureProject.getFeatureModel().getFeatureOrderList();
@@ -1016,7 +1008,7 @@ public class FeatureHouseComposer extends ComposerExtensionClass {
 			return;
 		}
 
-		final FSTGenComposerExtension composerExtension = new FSTGenComposerExtension();
+		final FSTGenComposerExtension composerExtension = parseCache.install(new FSTGenComposerExtension());
 		composer = composerExtension;
 		composerExtension.addParseErrorListener(listener);
 
@@ -1046,35 +1038,121 @@ public class FeatureHouseComposer extends ComposerExtensionClass {
 	public void buildConfiguration(IFolder folder, Configuration configuration, String congurationName) {
 		super.buildConfiguration(folder, configuration, congurationName);
 		final IFile configurationFile = folder.getFile(congurationName + '.' + getConfigurationExtension());
-		final FSTGenComposer composer = new FSTGenComposer(false);
-		composer.addParseErrorListener(createParseErrorListener());
-		composer.addCompositionErrorListener(createCompositionErrorListener());
 		final Path temporaryConfigrationFile = createTemporaryConfigrationFile(configurationFile);
 		if (temporaryConfigrationFile == null) {
 			return;
 		}
-		composer.run(
-				getArguments(temporaryConfigrationFile.toString(), featureProject.getSourcePath(), folder.getLocation().toOSString(), getContractParameter()));
+		final String[] arguments =
+			getArguments(temporaryConfigrationFile.toString(), featureProject.getSourcePath(), folder.getLocation().toOSString(), getContractParameter());
+
+		final FeatureHouseWorkerPool workerPool = FeatureHouseWorkerPool.getInstance();
+		if (workerPool != null) {
+			try {
+				for (final CompositionError error : workerPool.compose(arguments)) {
+					if (error.hasLocation()) {
+						createCompositionErrorMarker(error);
+					} else {
+						LOGGER.logError(new Exception(error.message));
+					}
+				}
+				buildConfigurationFSTModel(arguments);
+				return;
+			} catch (final IOException e) {
+				// compose the variant in this JVM instead
+				LOGGER.logError(e);
+			} catch (final java.util.concurrent.TimeoutException e) {
+				LOGGER.logError(congurationName + ": " + e.getMessage(), e);
+				return;
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+		composeConfiguration(arguments);
+	}
+
+	/**
+	 * Parses the feature modules of a variant composed by a {@link FeatureHouseWorker} in this JVM, to create the markers of parse errors and to build the
+	 * FST model of the variant for error propagation. The feature modules are usually read from the {@link FSTParseCache}.
+	 *
+	 * @param arguments The arguments for the FeatureHouse composer
+	 */
+	private void buildConfigurationFSTModel(String[] arguments) {
+		synchronized (FeatureHouseComposer.class) {
+			final ConfigurationParser parser = parseCache.install(new ConfigurationParser());
+			composer = parser;
+			parser.addParseErrorListener(createParseErrorListener());
+			try {
+				parser.parse(arguments);
+			} catch (final TokenMgrError e) {
+				createBuilderProblemMarker(getTokenMgrErrorLine(e.getMessage()), getTokenMgrErrorMessage(e.getMessage()));
+			}
+			waitForErrorPropagation();
+			fhModelBuilder.buildModel(parser.getFstnodes(), false);
+		}
+	}
+
+	/**
+	 * Waiting for the propagation job to finish, because the corresponding FSTModel is necessary for propagation at FH This is in general no problem because
+	 * the compiler is much faster then the composer
+	 */
+	private void waitForErrorPropagation() {
 		if ((errorPropagation != null) && (errorPropagation.job != null)) {
-			/*
-			 * Waiting for the propagation job to finish, because the corresponding FSTModel is necessary for propagation at FH This is in general no problem
-			 * because the compiler is much faster then the composer
-			 */
 			try {
 				errorPropagation.job.join();
 			} catch (final InterruptedException e) {
 				LOGGER.logError(e);
 			}
 		}
-		fhModelBuilder.buildModel(composer.getFstnodes(), false);
 	}
 
 	/**
-	 * FeatureHouse causes access violation errors if it is executed parallel.
+	 * Composes a variant in this JVM. synchronized because FeatureHouse uses static fields, and a parallel execution is not possible.
+	 *
+	 * @param arguments The arguments for the FeatureHouse composer
+	 */
+	private void composeConfiguration(String[] arguments) {
+		synchronized (FeatureHouseComposer.class) {
+			final FSTGenComposer composer = parseCache.install(new FSTGenComposer(false));
+			// the parse error listener reads the error file from this composer
+			this.composer = composer;
+			composer.addParseErrorListener(createParseErrorListener());
+			composer.addCompositionErrorListener(createCompositionErrorListener());
+			composer.run(arguments);
+			waitForErrorPropagation();
+			fhModelBuilder.buildModel(composer.getFstnodes(), false);
+		}
+	}
+
+	/**
+	 * Parses the feature modules of a configuration like {@link FSTGenComposer#run(String[])}, but does not compose and print them.
+	 */
+	private static class ConfigurationParser extends FSTGenComposer {
+
+		private ConfigurationParser() {
+			super(false);
+		}
+
+		private void parse(String[] arguments) {
+			AbstractFSTParser.fstnodes.clear();
+			cmd.parseCmdLineArguments(arguments);
+			try {
+				fileLoader.loadFiles(cmd.equationFileName, cmd.equationBaseDirectoryName, cmd.isAheadEquationFile);
+			} catch (final FileNotFoundException e) {
+				LOGGER.logError(e);
+			} catch (final ParseException e) {
+				fireParseErrorOccured(e);
+			}
+		}
+
+	}
+
+	/**
+	 * FeatureHouse causes access violation errors if it is executed parallel. Thus, variants can only be composed in parallel by separate worker processes.
 	 */
 	@Override
 	public boolean canGeneratInParallelJobs() {
-		return false;
+		return FeatureHouseWorkerPool.getInstance() != null;
 	}
 
 	@Override
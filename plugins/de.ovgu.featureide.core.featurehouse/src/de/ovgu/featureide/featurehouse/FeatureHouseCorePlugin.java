@@ -62,6 +62,7 @@ public class FeatureHouseCorePlugin extends AbstractCorePlugin {
 	 */
 	@Override
 	public void stop(BundleContext context) throws Exception {
+		FeatureHouseWorkerPool.shutdownInstance();
 		plugin = null;
 		super.stop(context);
 	}
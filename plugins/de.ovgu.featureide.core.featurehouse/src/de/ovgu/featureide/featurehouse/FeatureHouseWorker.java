@@ -0,0 +1,109 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.featurehouse;
+
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import composer.CompositionException;
+import composer.FSTGenComposer;
+import composer.ICompositionErrorListener;
+import de.ovgu.cide.fstgen.ast.AbstractFSTParser;
+import de.ovgu.cide.fstgen.ast.FSTTerminal;
+
+/**
+ * Entry point of a child JVM that composes variants with FeatureHouse.<br> FeatureHouse keeps global state in static fields, so it cannot compose several
+ * variants in one JVM at the same time. Each worker process owns one FeatureHouse instance and composes one variant after the other, see
+ * {@link FeatureHouseWorkerPool}. The parsed feature modules are kept in an {@link FSTNodeCache} for the following variants.<br> <br> Protocol (UTF-8, line
+ * based):<br> The request consists of a line with the number of arguments followed by one line per argument of the FeatureHouse composer.<br> The answer
+ * consists of one line {@value #ERROR} followed by the {@link CompositionError#write() written} error for each composition error that occurred, terminated
+ * by a line {@value #DONE}. Parse errors are not reported, because the composer parses the feature modules of the variant again to build its FST model and
+ * creates the markers for them.<br> Progress messages of FeatureHouse are discarded, because the standard output is reserved for the answers.
+ */
+public final class FeatureHouseWorker {
+
+	static final String ERROR = "ERROR ";
+	static final String DONE = "DONE";
+
+	private static final FSTNodeCache PARSE_CACHE = new FSTNodeCache();
+
+	private FeatureHouseWorker() {}
+
+	public static void main(String[] args) throws IOException {
+		final BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+		final PrintStream out = new PrintStream(new FileOutputStream(FileDescriptor.out), true, StandardCharsets.UTF_8.name());
+
+		final PrintStream discard = new PrintStream(new OutputStream() {
+
+			@Override
+			public void write(int b) {}
+
+			@Override
+			public void write(byte[] b, int off, int len) {}
+		});
+		System.setOut(discard);
+		FSTGenComposer.outStream = discard;
+
+		for (String line = in.readLine(); line != null; line = in.readLine()) {
+			final String[] composerArgs = new String[Integer.parseInt(line.trim())];
+			for (int i = 0; i < composerArgs.length; i++) {
+				composerArgs[i] = in.readLine();
+			}
+			for (final CompositionError error : compose(composerArgs)) {
+				out.println(ERROR + error.write());
+			}
+			out.println(DONE);
+		}
+	}
+
+	private static List<CompositionError> compose(String[] args) {
+		final List<CompositionError> errors = new ArrayList<>();
+		// left over if the previous composition failed
+		AbstractFSTParser.fstnodes.clear();
+
+		final FSTGenComposer composer = PARSE_CACHE.install(new FSTGenComposer(false));
+		composer.addCompositionErrorListener(new ICompositionErrorListener() {
+
+			@Override
+			public void parseErrorOccured(CompositionException e) {
+				final FSTTerminal terminal = CompositionError.getTerminal(e);
+				if (terminal != null) {
+					errors.add(CompositionError.create(terminal, e.getMessage()));
+				}
+			}
+		});
+		try {
+			composer.run(args);
+		} catch (RuntimeException | Error e) {
+			errors.add(new CompositionError(e.toString()));
+		}
+		return errors;
+	}
+
+}
@@ -0,0 +1,258 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.featurehouse;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.lang.ProcessBuilder.Redirect;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.core.runtime.FileLocator;
+import org.eclipse.core.runtime.Path;
+import org.osgi.framework.Bundle;
+
+/**
+ * A pool of long-lived child JVMs that compose variants with FeatureHouse, see {@link FeatureHouseWorker}.<br> Each process owns its own FeatureHouse
+ * instance, so up to {@link #getSize()} variants can be composed concurrently without touching the static state of FeatureHouse in this JVM. The processes
+ * are started on demand and replaced if they die. A worker that does not finish a composition within the timeout of the pool is terminated.
+ */
+public class FeatureHouseWorkerPool {
+
+	private static class Worker {
+
+		private final Process process;
+		private final BufferedWriter in;
+		private final BufferedReader out;
+
+		private Worker(Process process) {
+			this.process = process;
+			in = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+			out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+		}
+
+		private List<CompositionError> compose(String[] args) throws IOException {
+			in.write(Integer.toString(args.length));
+			in.newLine();
+			for (final String arg : args) {
+				in.write(arg);
+				in.newLine();
+			}
+			in.flush();
+
+			final List<CompositionError> errors = new ArrayList<>();
+			for (String line = out.readLine(); line != null; line = out.readLine()) {
+				if (FeatureHouseWorker.DONE.equals(line)) {
+					return errors;
+				} else if (line.startsWith(FeatureHouseWorker.ERROR)) {
+					errors.add(CompositionError.parse(line.substring(FeatureHouseWorker.ERROR.length())));
+				}
+			}
+			throw new IOException("FeatureHouse worker terminated unexpectedly");
+		}
+
+		private void destroy() {
+			process.destroy();
+		}
+
+	}
+
+	/**
+	 * The time in milliseconds a worker may take to compose one variant.
+	 */
+	public static final long COMPOSITION_TIMEOUT = 10 * 60 * 1000;
+
+	private static FeatureHouseWorkerPool instance = null;
+
+	/**
+	 * @return The pool of this plug-in or {@code null} if the worker processes cannot be started
+	 */
+	public static synchronized FeatureHouseWorkerPool getInstance() {
+		if (instance == null) {
+			final String classPath = createClassPath();
+			if (classPath != null) {
+				instance = new FeatureHouseWorkerPool(classPath, Runtime.getRuntime().availableProcessors(), COMPOSITION_TIMEOUT);
+			}
+		}
+		return instance;
+	}
+
+	public static synchronized void shutdownInstance() {
+		if (instance != null) {
+			instance.shutdown();
+			instance = null;
+		}
+	}
+
+	/**
+	 * The workers need FeatureHouse and the classes of this plug-in.
+	 */
+	private static String createClassPath() {
+		final FeatureHouseCorePlugin plugin = FeatureHouseCorePlugin.getDefault();
+		if (plugin == null) {
+			return null;
+		}
+		final Bundle bundle = plugin.getBundle();
+		try {
+			final URL featureHouse = FileLocator.find(bundle, new Path("lib/FeatureHouse.jar"), null);
+			if (featureHouse == null) {
+				return null;
+			}
+			final File bundleFile = FileLocator.getBundleFile(bundle);
+			final StringBuilder classPath = new StringBuilder();
+			classPath.append(new File(FileLocator.toFileURL(featureHouse).getPath()).getAbsolutePath());
+			classPath.append(File.pathSeparatorChar);
+			classPath.append(bundleFile.getAbsolutePath());
+			final File binFolder = new File(bundleFile, "bin");
+			if (binFolder.isDirectory()) {
+				// plug-in started from a workspace
+				classPath.append(File.pathSeparatorChar);
+				classPath.append(binFolder.getAbsolutePath());
+			}
+			return classPath.toString();
+		} catch (final IOException e) {
+			plugin.logError(e);
+			return null;
+		}
+	}
+
+	private final String classPath;
+	private final int size;
+	private final long timeout;
+
+	private final Semaphore available;
+	private final Queue<Worker> idleWorkers = new ConcurrentLinkedQueue<>();
+	private final List<Worker> workers = Collections.synchronizedList(new ArrayList<Worker>());
+	private final Timer watchdog = new Timer("FeatureHouse worker watchdog", true);
+
+	private volatile boolean shutdown = false;
+
+	/**
+	 * @param classPath The class path of the worker processes
+	 * @param size The maximal number of worker processes
+	 * @param timeout The time in milliseconds a worker may take to compose one variant
+	 */
+	public FeatureHouseWorkerPool(String classPath, int size, long timeout) {
+		this.classPath = classPath;
+		this.size = Math.max(1, size);
+		this.timeout = timeout;
+		available = new Semaphore(this.size, true);
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Composes one variant in a worker process. Blocks until a worker is available.
+	 *
+	 * @param args The arguments for the FeatureHouse composer
+	 * @return The composition errors
+	 * @throws IOException If the worker process could not be started or terminated during the composition
+	 * @throws TimeoutException If the worker did not finish the composition in time. The worker is terminated in this case.
+	 * @throws InterruptedException If the thread is interrupted while waiting for a worker
+	 */
+	public List<CompositionError> compose(String[] args) throws IOException, TimeoutException, InterruptedException {
+		available.acquire();
+		try {
+			if (shutdown) {
+				throw new IOException("FeatureHouse workers are shut down");
+			}
+			final Worker idleWorker = idleWorkers.poll();
+			final Worker worker = idleWorker == null ? startWorker() : idleWorker;
+			final AtomicBoolean timedOut = new AtomicBoolean(false);
+			final TimerTask terminate = new TimerTask() {
+
+				@Override
+				public void run() {
+					timedOut.set(true);
+					worker.destroy();
+				}
+			};
+			try {
+				watchdog.schedule(terminate, timeout);
+			} catch (final IllegalStateException e) {
+				// shut down in the meantime
+				worker.destroy();
+				throw new IOException("FeatureHouse workers are shut down", e);
+			}
+			try {
+				final List<CompositionError> errors = worker.compose(args);
+				if (terminate.cancel()) {
+					idleWorkers.add(worker);
+				} else {
+					// terminated right after the composition
+					workers.remove(worker);
+				}
+				return errors;
+			} catch (final IOException e) {
+				terminate.cancel();
+				workers.remove(worker);
+				worker.destroy();
+				if (timedOut.get()) {
+					throw new TimeoutException("FeatureHouse worker did not finish the composition within " + timeout + " ms");
+				}
+				throw e;
+			}
+		} finally {
+			available.release();
+		}
+	}
+
+	private Worker startWorker() throws IOException {
+		final String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		final ProcessBuilder processBuilder = new ProcessBuilder(java, "-cp", classPath, FeatureHouseWorker.class.getName());
+		processBuilder.redirectError(Redirect.INHERIT);
+		final Worker worker = new Worker(processBuilder.start());
+		workers.add(worker);
+		return worker;
+	}
+
+	/**
+	 * Terminates all worker processes.
+	 */
+	public void shutdown() {
+		shutdown = true;
+		watchdog.cancel();
+		synchronized (workers) {
+			for (final Worker worker : workers) {
+				worker.destroy();
+			}
+			workers.clear();
+		}
+		idleWorkers.clear();
+	}
+
+}
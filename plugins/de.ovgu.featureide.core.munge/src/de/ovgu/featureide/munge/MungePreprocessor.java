@@ -24,18 +24,27 @@ import static de.ovgu.featureide.fm.core.localization.StringTable.PREPROCESSOR_A
 import static de.ovgu.featureide.fm.core.localization.StringTable.PROPAGATE_PROBLEM_MARKERS_FOR;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
 import java.util.Stack;
 import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -100,6 +109,9 @@ public class MungePreprocessor extends PPComposerExtensionClass {
 	 */
 	private boolean commentSection;
 
+	/** Templates of the source files by path. */
+	private final Map<String, CachedTemplate> templates = new ConcurrentHashMap<>();
+
 	public MungePreprocessor() {
 		super("Munge");
 	}
@@ -201,13 +213,20 @@ public class MungePreprocessor extends PPComposerExtensionClass {
 	}
 
 	/**
-	 * Calls munge for each package separate Creates all package folders at the build path
+	 * Calls munge for each package separate Creates all package folders at the build path. Files that can be handled by a {@link MungeSourceTemplate} are
+	 * generated from the cached template instead.
 	 *
 	 * @param featureArgs
 	 * @param sourceFolder
 	 * @param buildFolder
 	 */
 	protected void runMunge(LinkedList<String> featureArgs, IFolder sourceFolder, IFolder buildFolder) {
+		final Set<String> definedSymbols = new HashSet<>();
+		for (final String arg : featureArgs) {
+			if (arg.startsWith("-D")) {
+				definedSymbols.add(arg.substring(2));
+			}
+		}
 		final LinkedList<String> packageArgs = new LinkedList<String>(featureArgs);
 		boolean added = false;
 		try {
@@ -216,8 +235,10 @@ public class MungePreprocessor extends PPComposerExtensionClass {
 				if (res instanceof IFolder) {
 					runMunge(featureArgs, (IFolder) res, buildFolder.getFolder(res.getName()));
 				} else if (res instanceof IFile) {
-					added = true;
-					packageArgs.add(res.getRawLocation().toOSString());
+					if (!writeFromTemplate((IFile) res, definedSymbols, new File(buildFolder.getRawLocation().toFile(), res.getName()))) {
+						added = true;
+						packageArgs.add(res.getRawLocation().toOSString());
+					}
 				}
 			}
 		} catch (final CoreException e) {
@@ -234,6 +255,52 @@ public class MungePreprocessor extends PPComposerExtensionClass {
 		runMunge(packageArgs);
 	}
 
+	/**
+	 * Writes the preprocessed file using its cached template. The template is created once per file content, such that further configurations only need to
+	 * copy the present parts of the file.
+	 *
+	 * @param file the source file
+	 * @param definedSymbols the selected features
+	 * @param outFile the file to write
+	 * @return {@code false} if the file has to be processed by Munge, e.g., to report errors
+	 */
+	private boolean writeFromTemplate(IFile file, Set<String> definedSymbols, File outFile) {
+		final File inFile = file.getRawLocation().toFile();
+		final String key = inFile.getPath();
+		final long lastModified = inFile.lastModified();
+		CachedTemplate cachedTemplate = templates.get(key);
+		if ((cachedTemplate == null) || (cachedTemplate.lastModified != lastModified)) {
+			// Munge reads and writes files with the default charset
+			try {
+				final String source = new String(Files.readAllBytes(inFile.toPath()), Charset.defaultCharset());
+				cachedTemplate = new CachedTemplate(lastModified, MungeSourceTemplate.parse(source));
+			} catch (final IOException e) {
+				return false;
+			}
+			templates.put(key, cachedTemplate);
+		}
+		if (cachedTemplate.template == null) {
+			return false;
+		}
+		try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(outFile), Charset.defaultCharset()))) {
+			cachedTemplate.template.write(definedSymbols, out);
+		} catch (final IOException e) {
+			return false;
+		}
+		return true;
+	}
+
+	private static class CachedTemplate {
+
+		private final long lastModified;
+		private final MungeSourceTemplate template;
+
+		public CachedTemplate(long lastModified, MungeSourceTemplate template) {
+			this.lastModified = lastModified;
+			this.template = template;
+		}
+	}
+
 	/**
 	 * Do checking for all lines of file.
 	 *
@@ -0,0 +1,329 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.munge;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringTokenizer;
+
+/**
+ * A source file that has been preprocessed once for all configurations.<br> The file is split into segments of text, each with a presence condition given as
+ * a conjunction of (negated) Munge symbols. A variant is generated by evaluating each distinct presence condition once against the defined symbols and copying
+ * the text of all present segments. Absent segments are replaced by empty lines exactly as {@link org.sonatype.plugins.munge.Munge} does, so that the output
+ * is identical.
+ *
+ * @see #parse(String)
+ */
+public class MungeSourceTemplate {
+
+	private static final String[] COMMANDS = { "if", "if_not", "else", "end" };
+	private static final int IF = 0;
+	private static final int IF_NOT = 1;
+	private static final int ELSE = 2;
+	private static final int END = 3;
+
+	private final String source;
+
+	private final String[] symbols;
+
+	/** Symbols that must be defined for a condition to hold. */
+	private final BitSet[] positiveConditions;
+	/** Symbols that must not be defined for a condition to hold. */
+	private final BitSet[] negativeConditions;
+
+	private final int[] segmentStart;
+	private final int[] segmentEnd;
+	private final int[] segmentHiddenLines;
+	private final int[] segmentCondition;
+
+	private MungeSourceTemplate(Parser parser) {
+		source = parser.source;
+		symbols = parser.symbols.toArray(new String[0]);
+		final int conditionCount = parser.conditions.size();
+		positiveConditions = new BitSet[conditionCount];
+		negativeConditions = new BitSet[conditionCount];
+		for (int i = 0; i < conditionCount; i++) {
+			final List<BitSet> condition = parser.conditions.get(i);
+			positiveConditions[i] = condition.get(0);
+			negativeConditions[i] = condition.get(1);
+		}
+		final int segmentCount = parser.segmentCount;
+		segmentStart = Arrays.copyOf(parser.segmentStart, segmentCount);
+		segmentEnd = Arrays.copyOf(parser.segmentEnd, segmentCount);
+		segmentHiddenLines = Arrays.copyOf(parser.segmentHiddenLines, segmentCount);
+		segmentCondition = Arrays.copyOf(parser.segmentCondition, segmentCount);
+	}
+
+	/**
+	 * Splits the given source into segments with presence conditions.
+	 *
+	 * @param source the content of a source file
+	 * @return the template or {@code null} if Munge would report an error for the source, i.e., it contains an invalid or unbalanced statement
+	 */
+	public static MungeSourceTemplate parse(String source) {
+		final Parser parser = new Parser(source);
+		return parser.parse() ? new MungeSourceTemplate(parser) : null;
+	}
+
+	/**
+	 * Writes the variant of this source for the given defined symbols.
+	 *
+	 * @param definedSymbols the defined symbols, i.e., the names of all selected features
+	 * @param out the writer for the preprocessed source
+	 * @throws IOException if the writer fails
+	 */
+	public void write(Set<String> definedSymbols, Writer out) throws IOException {
+		final BitSet defined = new BitSet(symbols.length);
+		for (int i = 0; i < symbols.length; i++) {
+			if (definedSymbols.contains(symbols[i])) {
+				defined.set(i);
+			}
+		}
+		final boolean[] present = new boolean[positiveConditions.length];
+		for (int i = 0; i < present.length; i++) {
+			final BitSet missing = (BitSet) positiveConditions[i].clone();
+			missing.andNot(defined);
+			present[i] = missing.isEmpty() && !negativeConditions[i].intersects(defined);
+		}
+		for (int i = 0; i < segmentCondition.length; i++) {
+			if (present[segmentCondition[i]]) {
+				out.write(source, segmentStart[i], segmentEnd[i] - segmentStart[i]);
+			} else {
+				for (int j = segmentHiddenLines[i]; j > 0; j--) {
+					out.write('\n');
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reproduces the block and comment handling of {@link org.sonatype.plugins.munge.Munge}, but records the printed segments together with their condition
+	 * instead of printing them.
+	 */
+	private static class Parser {
+
+		private final String source;
+
+		private final List<String> symbols = new ArrayList<>();
+		private final Map<String, Integer> symbolIndexes = new HashMap<>();
+
+		private final List<List<BitSet>> conditions = new ArrayList<>();
+		private final Map<List<BitSet>, Integer> conditionIndexes = new HashMap<>();
+
+		/** The symbols of all open statements. */
+		private int[] stackSymbols = new int[8];
+		/** Whether the corresponding symbol has to be defined within the open statements. */
+		private boolean[] stackPositive = new boolean[8];
+		private int stackSize = 0;
+		private int currentCondition;
+
+		private int[] segmentStart = new int[16];
+		private int[] segmentEnd = new int[16];
+		private int[] segmentHiddenLines = new int[16];
+		private int[] segmentCondition = new int[16];
+		private int segmentCount = 0;
+
+		/** The number of line breaks in the current block, which Munge prints for every hidden part of the block. */
+		private int blockLines;
+
+		public Parser(String source) {
+			this.source = source;
+			currentCondition = getConditionIndex();
+		}
+
+		public boolean parse() {
+			int position = 0;
+			final int length = source.length();
+			while (position < length) {
+				if (source.startsWith("/*", position)) {
+					final int commentEnd = source.indexOf("*/", position);
+					if (commentEnd == -1) {
+						// Munge does not terminate for unclosed comments
+						return false;
+					}
+					final int blockEnd = commentEnd + 2;
+					if ((blockEnd - position) < 4) {
+						// "/*/" cannot be processed by Munge
+						return false;
+					}
+					blockLines = countLines(position, blockEnd);
+					if (!processComment(position, blockEnd)) {
+						return false;
+					}
+					position = blockEnd;
+				} else {
+					final int commentStart = source.indexOf("/*", position);
+					final int blockEnd = commentStart == -1 ? length : commentStart;
+					blockLines = countLines(position, blockEnd);
+					print(position, blockEnd);
+					position = blockEnd;
+				}
+			}
+			// unclosed statements are reported by Munge
+			return stackSize == 0;
+		}
+
+		private boolean processComment(int commentStart, int commentEnd) {
+			final int textStart = commentStart + 2;
+			final StringTokenizer st = new StringTokenizer(source.substring(textStart, commentEnd - 2), "[] \t\r\n", true);
+			boolean foundTag = false;
+			int bufferStart = textStart;
+			int position = textStart;
+			while (st.hasMoreTokens()) {
+				final String token = st.nextToken();
+				final int cmd = getCommand(token);
+				position += token.length();
+				if (cmd != -1) {
+					if (!st.hasMoreTokens()) {
+						return false;
+					}
+					final String bracket = st.nextToken();
+					position += bracket.length();
+					if (bracket.equals("[")) {
+						if (!st.hasMoreTokens()) {
+							return false;
+						}
+						final String symbol = st.nextToken();
+						position += symbol.length();
+						if (!st.hasMoreTokens() || !st.nextToken().equals("]")) {
+							return false;
+						}
+						foundTag = true;
+
+						print(bufferStart, position - token.length() - bracket.length() - symbol.length());
+						position++;
+						bufferStart = position;
+
+						switch (cmd) {
+						case IF:
+							push(symbol, true);
+							break;
+						case IF_NOT:
+							push(symbol, false);
+							break;
+						case ELSE:
+							if (stackSize == 0) {
+								return false;
+							}
+							stackPositive[stackSize - 1] = !stackPositive[stackSize - 1];
+							break;
+						case END:
+							if (stackSize == 0) {
+								return false;
+							}
+							stackSize--;
+							break;
+						default:
+							throw new IllegalStateException();
+						}
+						currentCondition = getConditionIndex();
+					}
+				}
+			}
+			if (foundTag) {
+				print(bufferStart, position);
+			} else {
+				print(commentStart, commentEnd);
+			}
+			return true;
+		}
+
+		private static int getCommand(String token) {
+			for (int i = 0; i < COMMANDS.length; i++) {
+				if (token.equals(COMMANDS[i])) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		private void push(String symbol, boolean positive) {
+			Integer index = symbolIndexes.get(symbol);
+			if (index == null) {
+				index = symbols.size();
+				symbols.add(symbol);
+				symbolIndexes.put(symbol, index);
+			}
+			if (stackSize == stackSymbols.length) {
+				stackSymbols = Arrays.copyOf(stackSymbols, stackSize * 2);
+				stackPositive = Arrays.copyOf(stackPositive, stackSize * 2);
+			}
+			stackSymbols[stackSize] = index;
+			stackPositive[stackSize] = positive;
+			stackSize++;
+		}
+
+		private int getConditionIndex() {
+			final BitSet positive = new BitSet();
+			final BitSet negative = new BitSet();
+			for (int i = 0; i < stackSize; i++) {
+				(stackPositive[i] ? positive : negative).set(stackSymbols[i]);
+			}
+			final List<BitSet> condition = Arrays.asList(positive, negative);
+			Integer index = conditionIndexes.get(condition);
+			if (index == null) {
+				index = conditions.size();
+				conditions.add(condition);
+				conditionIndexes.put(condition, index);
+			}
+			return index;
+		}
+
+		private int countLines(int start, int end) {
+			int n = 0;
+			for (int i = start; i < end; i++) {
+				if (source.charAt(i) == '\n') {
+					n++;
+				}
+			}
+			return n;
+		}
+
+		private void print(int start, int end) {
+			if ((segmentCount > 0) && (segmentCondition[segmentCount - 1] == currentCondition) && (segmentEnd[segmentCount - 1] == start)) {
+				// extend the previous segment
+				segmentEnd[segmentCount - 1] = end;
+				segmentHiddenLines[segmentCount - 1] += blockLines;
+				return;
+			}
+			if (segmentCount == segmentStart.length) {
+				final int newLength = segmentCount * 2;
+				segmentStart = Arrays.copyOf(segmentStart, newLength);
+				segmentEnd = Arrays.copyOf(segmentEnd, newLength);
+				segmentHiddenLines = Arrays.copyOf(segmentHiddenLines, newLength);
+				segmentCondition = Arrays.copyOf(segmentCondition, newLength);
+			}
+			segmentStart[segmentCount] = start;
+			segmentEnd[segmentCount] = end;
+			segmentHiddenLines[segmentCount] = blockLines;
+			segmentCondition[segmentCount] = currentCondition;
+			segmentCount++;
+		}
+	}
+
+}
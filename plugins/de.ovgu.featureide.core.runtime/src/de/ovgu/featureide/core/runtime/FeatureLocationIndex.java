@@ -0,0 +1,273 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.core.runtime;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.AnonymousClassDeclaration;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.Expression;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.IfStatement;
+import org.eclipse.jdt.core.dom.MethodInvocation;
+import org.eclipse.jdt.core.dom.StringLiteral;
+
+import de.ovgu.featureide.core.fstmodel.preprocessor.FSTDirectiveCommand;
+import de.ovgu.featureide.core.runtime.activator.RuntimeCorePlugin;
+
+/**
+ * Index of the calls of the getProperty()-method within the source files of a project.<br> Each compilation unit is parsed once to find the calls and the
+ * if-statements starting in the same lines. Changed files are parsed again on the next request.
+ */
+class FeatureLocationIndex implements IResourceChangeListener {
+
+	@SuppressWarnings("deprecation")
+	private static final int AST_Type = AST.JLS4;
+	private static final String PROPERTY_MANAGER =
+		RuntimeParameters.PROPERTY_MANAGER_PACKAGE + "." + RuntimeParameters.PROPERTY_MANAGER_CLASS;
+
+	/**
+	 * Visitor for AST, collecting the calls of the getProperty()-method and the ends of the if-statements by their begin line number.
+	 */
+	private static class FeatureLocationVisitor extends ASTVisitor {
+
+		private final CompilationUnit compilationUnit;
+		private final List<MethodInvocation> calls = new ArrayList<>();
+		private final Map<Integer, Integer> ifEnds = new HashMap<>();
+
+		FeatureLocationVisitor(CompilationUnit compilationUnit) {
+			this.compilationUnit = compilationUnit;
+		}
+
+		@Override
+		public void endVisit(final MethodInvocation node) {
+			if (RuntimeParameters.GET_PROPERTY_METHOD.equals(node.getName().getIdentifier()) && isPropertyManager(node)) {
+				calls.add(node);
+			}
+			super.endVisit(node);
+		}
+
+		@Override
+		public void endVisit(final IfStatement node) {
+			// the outermost if-statement of a line is visited last
+			final int endPosition = node.getThenStatement().getStartPosition() + node.getThenStatement().getLength();
+			ifEnds.put(compilationUnit.getLineNumber(node.getStartPosition()), endPosition);
+			super.endVisit(node);
+		}
+
+		private static boolean isPropertyManager(MethodInvocation node) {
+			final IMethodBinding binding = node.resolveMethodBinding();
+			if (binding != null) {
+				return PROPERTY_MANAGER.equals(binding.getDeclaringClass().getQualifiedName());
+			}
+			final Expression expression = node.getExpression();
+			return (expression != null) && expression.toString().endsWith(RuntimeParameters.PROPERTY_MANAGER_CLASS);
+		}
+
+	}
+
+	private final IProject project;
+
+	private final Map<IFile, List<FeatureLocation>> locations = new HashMap<>();
+	private final Set<IFile> changedFiles = new HashSet<>();
+	private boolean initialized = false;
+
+	FeatureLocationIndex(IProject project) {
+		this.project = project;
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+	}
+
+	/**
+	 * @return New feature location objects for all calls of the getProperty()-method within the project
+	 */
+	synchronized List<FeatureLocation> getFeatureLocations() {
+		if (!initialized) {
+			locations.clear();
+			changedFiles.clear();
+			indexProject();
+			initialized = true;
+		} else {
+			for (final IFile file : changedFiles) {
+				locations.remove(file);
+				final IJavaElement element = JavaCore.create(file);
+				if ((element instanceof ICompilationUnit) && element.exists()) {
+					index((ICompilationUnit) element);
+				}
+			}
+			changedFiles.clear();
+		}
+
+		final List<FeatureLocation> result = new ArrayList<>();
+		for (final List<FeatureLocation> fileLocations : locations.values()) {
+			for (final FeatureLocation loc : fileLocations) {
+				result.add(new FeatureLocation(loc.getFeatureName(), loc.getStartLineNum(), loc.getEndLineNum(), loc.getClassFile(), loc.getClassName(),
+						loc.getCmd()));
+			}
+		}
+		return result;
+	}
+
+	private void indexProject() {
+		final IJavaProject javaProject = JavaCore.create(project);
+		try {
+			for (final IPackageFragmentRoot root : javaProject.getPackageFragmentRoots()) {
+				if (root.getKind() != IPackageFragmentRoot.K_SOURCE) {
+					continue;
+				}
+				for (final IJavaElement child : root.getChildren()) {
+					if (child instanceof IPackageFragment) {
+						for (final ICompilationUnit compilationUnit : ((IPackageFragment) child).getCompilationUnits()) {
+							index(compilationUnit);
+						}
+					}
+				}
+			}
+		} catch (final JavaModelException e) {
+			RuntimeCorePlugin.getDefault().logError(e);
+		}
+	}
+
+	private void index(ICompilationUnit compilationUnit) {
+		try {
+			final String source = compilationUnit.getSource();
+			final IResource resource = compilationUnit.getCorrespondingResource();
+			if ((source == null) || !source.contains(RuntimeParameters.GET_PROPERTY_METHOD) || !(resource instanceof IFile)) {
+				return;
+			}
+			final IFile classFile = (IFile) resource;
+
+			final ASTParser parser = ASTParser.newParser(AST_Type);
+			parser.setSource(compilationUnit);
+			parser.setKind(ASTParser.K_COMPILATION_UNIT);
+			parser.setResolveBindings(true);
+			final CompilationUnit rootNode = (CompilationUnit) parser.createAST(new NullProgressMonitor());
+			final FeatureLocationVisitor visitor = new FeatureLocationVisitor(rootNode);
+			rootNode.accept(visitor);
+
+			final List<FeatureLocation> fileLocations = new ArrayList<>(visitor.calls.size());
+			for (final MethodInvocation call : visitor.calls) {
+				if (call.arguments().isEmpty() || !(call.arguments().get(0) instanceof StringLiteral)) {
+					continue;
+				}
+				// feature name = attribute of getProperty-call
+				final String featureName = ((StringLiteral) call.arguments().get(0)).getLiteralValue();
+				final int startLineNum = rootNode.getLineNumber(call.getStartPosition());
+				// if the call in the start line is within an if-statement, the location ends with the latter
+				final Integer ifEnd = visitor.ifEnds.get(startLineNum);
+				final int endLineNum = ifEnd == null ? 1 : rootNode.getLineNumber(ifEnd);
+				final FSTDirectiveCommand cmd = endLineNum == 1 ? FSTDirectiveCommand.CALL : FSTDirectiveCommand.IF;
+				fileLocations.add(new FeatureLocation(featureName, startLineNum, endLineNum == 1 ? startLineNum : endLineNum, classFile, getClassName(call),
+						cmd));
+			}
+			if (!fileLocations.isEmpty()) {
+				locations.put(classFile, fileLocations);
+			}
+		} catch (final JavaModelException e) {
+			RuntimeCorePlugin.getDefault().logError(e);
+		}
+	}
+
+	/**
+	 * @return The name of the type containing the call
+	 */
+	private static String getClassName(ASTNode node) {
+		for (ASTNode parent = node.getParent(); parent != null; parent = parent.getParent()) {
+			if (parent instanceof AbstractTypeDeclaration) {
+				return ((AbstractTypeDeclaration) parent).getName().getIdentifier();
+			} else if (parent instanceof AnonymousClassDeclaration) {
+				return "";
+			}
+		}
+		return "";
+	}
+
+	void dispose() {
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		final IResourceDelta delta = event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		final IResourceDelta projectDelta = delta.findMember(project.getFullPath());
+		if (projectDelta == null) {
+			return;
+		}
+		synchronized (this) {
+			if ((projectDelta.getKind() == IResourceDelta.REMOVED) || ((projectDelta.getFlags() & IResourceDelta.OPEN) != 0)) {
+				initialized = false;
+				locations.clear();
+				changedFiles.clear();
+				if (!project.isOpen()) {
+					dispose();
+				}
+				return;
+			}
+			try {
+				projectDelta.accept(new IResourceDeltaVisitor() {
+
+					@Override
+					public boolean visit(IResourceDelta delta) throws CoreException {
+						final IResource resource = delta.getResource();
+						if ((resource.getType() == IResource.FILE) && "java".equals(resource.getFileExtension())) {
+							if ((delta.getKind() != IResourceDelta.CHANGED) || ((delta.getFlags() & IResourceDelta.CONTENT) != 0)) {
+								changedFiles.add((IFile) resource);
+							}
+						}
+						return true;
+					}
+				});
+			} catch (final CoreException e) {
+				RuntimeCorePlugin.getDefault().logError(e);
+			}
+		}
+	}
+
+}
@@ -28,11 +28,11 @@ import java.nio.file.FileSystems;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.Set;
 import java.util.Vector;
 
 import org.eclipse.core.resources.IFile;
@@ -43,23 +43,6 @@ import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.core.runtime.NullProgressMonitor;
-import org.eclipse.jdt.core.ICompilationUnit;
-import org.eclipse.jdt.core.IJavaProject;
-import org.eclipse.jdt.core.IMember;
-import org.eclipse.jdt.core.IMethod;
-import org.eclipse.jdt.core.IType;
-import org.eclipse.jdt.core.JavaCore;
-import org.eclipse.jdt.core.JavaModelException;
-import org.eclipse.jdt.core.dom.AST;
-import org.eclipse.jdt.core.dom.ASTNode;
-import org.eclipse.jdt.core.dom.ASTParser;
-import org.eclipse.jdt.core.dom.CompilationUnit;
-import org.eclipse.jdt.core.search.IJavaSearchScope;
-import org.eclipse.jdt.core.search.SearchEngine;
-import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchy;
-import org.eclipse.jdt.internal.corext.callhierarchy.CallLocation;
-import org.eclipse.jdt.internal.corext.callhierarchy.MethodCall;
-import org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper;
 
 import de.ovgu.featureide.core.CorePlugin;
 import de.ovgu.featureide.core.IFeatureProject;
@@ -67,8 +50,8 @@ import de.ovgu.featureide.core.builder.ComposerExtensionClass;
 import de.ovgu.featureide.core.fstmodel.FSTModel;
 import de.ovgu.featureide.core.fstmodel.FSTRole;
 import de.ovgu.featureide.core.fstmodel.preprocessor.FSTDirective;
-import de.ovgu.featureide.core.fstmodel.preprocessor.FSTDirectiveCommand;
 import de.ovgu.featureide.core.runtime.activator.RuntimeCorePlugin;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
 import de.ovgu.featureide.fm.core.base.impl.ConfigFormatManager;
 import de.ovgu.featureide.fm.core.configuration.Configuration;
 import de.ovgu.featureide.fm.core.configuration.SelectableFeature;
@@ -84,11 +67,8 @@ import de.ovgu.featureide.fm.core.io.manager.SimpleFileHandler;
  * @author Matthias Quaas
  *
  */
-@SuppressWarnings("restriction")
 public class RuntimeParameters extends ComposerExtensionClass {
 
-	@SuppressWarnings("deprecation")
-	private static final int AST_Type = AST.JLS4;
 	public static final String RUN_CONFIGURATION = "Run Configuration";
 	public static final String PROPERTIES = "Properties";
 	public static final String NOT_EXISTING_PROPERTY_MARKER = CorePlugin.PLUGIN_ID + ".builderProblemMarker";
@@ -101,6 +81,8 @@ public class RuntimeParameters extends ComposerExtensionClass {
 	// TODO this must not be static
 	static ArrayList<FeatureLocation> featureLocs = new ArrayList<FeatureLocation>();
 
+	private FeatureLocationIndex featureLocationIndex = null;
+
 	/**
 	 * Builds FST Model: - adds directives to the model representing each call of the getProperty()-method - if feature in code does not exist it will be marked
 	 */
@@ -198,71 +180,11 @@ public class RuntimeParameters extends ComposerExtensionClass {
 		}
 	}
 
-	/**
-	 * Method to get all call locations of a method.
-	 *
-	 * @param m Method for which the call hierarchy will be evaluated.
-	 * @return All call locations.
-	 */
-
-	private ArrayList<CallLocation[]> getCallersOf(final IMethod m) {
-
-		final CallHierarchy callHierarchy = new CallHierarchy();
-		final IJavaSearchScope scope = SearchEngine.createWorkspaceScope();
-		callHierarchy.setSearchScope(scope);
-
-		final IMember[] members = { m };
-		final ArrayList<MethodCall> methodCalls = new ArrayList<MethodCall>();
-
-		final MethodWrapper[] callerWrapper = callHierarchy.getCallerRoots(members);
-		final ArrayList<MethodWrapper> callsWrapper = new ArrayList<MethodWrapper>();
-		final ArrayList<CallLocation[]> callList = new ArrayList<CallLocation[]>();
-
-		for (final MethodWrapper mWrapper : callerWrapper) {
-			callsWrapper.addAll(Arrays.asList(mWrapper.getCalls(new NullProgressMonitor())));
-		}
-		for (final MethodWrapper mWrapper : callsWrapper) {
-			methodCalls.add(mWrapper.getMethodCall());
-		}
-		for (final MethodCall mCall : methodCalls) {
-			final CallLocation[] callArray = new CallLocation[mCall.getCallLocations().size()];
-			mCall.getCallLocations().toArray(callArray);
-			callList.add(callArray);
-		}
-
-		return callList;
-
-	}
-
 	@Override
 	public String[] getCompositionMechanisms() {
 		return COMPOSITION_MECHANISMS;
 	}
 
-	/**
-	 * Gets the end of an if-statement by parsing the class' AST.
-	 *
-	 * @param compilationUnit
-	 * @param startLineNum Indicator for which if statement of the code the end is requested.
-	 * @return
-	 */
-	private int getEndOfIf(final ICompilationUnit compilationUnit, final int startLineNum) {
-
-		final ASTParser parser = ASTParser.newParser(AST_Type);
-		parser.setSource(compilationUnit);
-		parser.setKind(ASTParser.K_COMPILATION_UNIT);
-		parser.setResolveBindings(true);
-
-		// without this suppress it would throw an error. (strangely not any
-		// longer?)
-		// @SuppressWarnings("unused")
-		final ASTNode rootNode = parser.createAST(new NullProgressMonitor());
-		final IfVisitor astVisitor = new IfVisitor(startLineNum, (CompilationUnit) rootNode);
-		rootNode.accept(astVisitor);
-
-		return ((CompilationUnit) rootNode).getLineNumber(astVisitor.getEndPosition());
-	}
-
 	@Override
 	public Mechanism getGenerationMechanism() {
 		return null;
@@ -355,6 +277,10 @@ public class RuntimeParameters extends ComposerExtensionClass {
 					}
 				}
 			} else {
+				if (featureLocationIndex != null) {
+					featureLocationIndex.dispose();
+					featureLocationIndex = null;
+				}
 				final IFolder propFolder = featureProject.getBuildFolder().getFolder(PROPERTY_MANAGER_PACKAGE);
 				final IFile filePropMan = propFolder.getFile(PROPERTY_MANAGER_CLASS + ".java");
 				deleteFile(filePropMan);
@@ -457,51 +383,11 @@ public class RuntimeParameters extends ComposerExtensionClass {
 	public void setFeatureLocations() {
 
 		featureLocs.clear();
-		final IJavaProject proj = JavaCore.create(featureProject.getProject());
-		try {
-			final IType itype = proj.findType(PROPERTY_MANAGER_PACKAGE + "." + PROPERTY_MANAGER_CLASS);
-			IMethod method = null;
-
-			if (itype != null) {
-				for (final IMethod m : itype.getMethods()) {
-					if (m.getElementName().equals(GET_PROPERTY_METHOD)) {
-						method = m;
-					}
-				}
-			}
-
-			ArrayList<CallLocation[]> callLocs = new ArrayList<>();
-			if (method != null) {
-				callLocs = getCallersOf(method);
-			}
-
-			String featureName;
-			String className;
-			IFile classFile;
-			ICompilationUnit compilationUnit;
-			int startLineNum;
-			int endLineNum;
-			FSTDirectiveCommand cmd;
-			for (final CallLocation[] callLoc : callLocs) {
-				for (final CallLocation element : callLoc) {
-					// feature name = attribute of getProperty-call
-					featureName = element.getCallText().split("\"")[1];
-					className = element.getMember().getParent().getElementName();
-					classFile = (IFile) element.getMember().getCompilationUnit().getCorrespondingResource();
-					compilationUnit = element.getMember().getCompilationUnit();
-					startLineNum = element.getLineNumber();
-					endLineNum = getEndOfIf(compilationUnit, startLineNum);
-					// if the call in the start line is within an if-statement,
-					// getEndOfIf() will return the end of the latter
-					cmd = endLineNum == 1 ? FSTDirectiveCommand.CALL : FSTDirectiveCommand.IF;
-					endLineNum = endLineNum == 1 ? startLineNum : endLineNum;
-
-					featureLocs.add(new FeatureLocation(featureName, startLineNum, endLineNum, classFile, className, cmd));
-				}
-			}
-		} catch (final JavaModelException e) {
-			RuntimeCorePlugin.getDefault().logError(e);
+		if (featureLocationIndex == null) {
+			featureLocationIndex = new FeatureLocationIndex(featureProject.getProject());
 		}
+		featureLocs.addAll(featureLocationIndex.getFeatureLocations());
+
 		// sort all feature locations by 1) class (here represented by path
 		// string) and 2) its starting line
 		Collections.sort(featureLocs, new Comparator<FeatureLocation>() {
@@ -514,17 +400,11 @@ public class RuntimeParameters extends ComposerExtensionClass {
 			}
 		});
 
-		final Configuration configuration = readConfig();
-
 		// check whether the feature corresponding with the
 		// FeatureLocation-object is in the current config
+		final Set<String> featureNames = FeatureUtils.getFeatureNames(featureProject.getFeatureModel());
 		for (final FeatureLocation loc : featureLocs) {
-			for (final SelectableFeature feature : configuration.getFeatures()) {
-				if (feature.getName().equals(loc.getFeatureName())) {
-					loc.setInConfig(true);
-					break;
-				}
-			}
+			loc.setInConfig(featureNames.contains(loc.getFeatureName()));
 		}
 		// get parent-child-relations for FeatureLocation-objects
 		for (int i = 1; i < featureLocs.size(); i++) {
@@ -32,10 +32,9 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Scanner;
+import java.util.Set;
 import java.util.Stack;
 import java.util.Vector;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
@@ -131,14 +130,14 @@ public abstract class PPComposerExtensionClass extends ComposerExtensionClass {
 	protected Collection<String> featureList;
 
 	/**
-	 * Pattern for checking of concrete feature: "feature1|feature2|feature3|...".
+	 * Names of all concrete features. Will be generated in {@link #prepareFullBuild(IFile)}.
 	 */
-	protected Pattern patternIsConcreteFeature;
+	protected Set<String> concreteFeatureNames = new HashSet<>();
 
 	/**
-	 * Pattern for checking of abstract feature: "feature1|feature2|feature3|...".
+	 * Names of all abstract features. Will be generated in {@link #prepareFullBuild(IFile)}.
 	 */
-	protected Pattern patternIsAbstractFeature;
+	protected Set<String> abstractFeatureNames = new HashSet<>();
 
 	/**
 	 * Node Reader for parsing expressions in preprocessor annotations to check for tautologies and contradictions.
@@ -191,26 +190,17 @@ public abstract class PPComposerExtensionClass extends ComposerExtensionClass {
 			activatedFeatures = new ArrayList<String>(configurationFile.getSelectedFeatureNames());
 
 		}
-		// get all concrete and abstract features and generate pattern
-		final StringBuilder concreteFeatures = new StringBuilder();
-		final StringBuilder abstractFeatures = new StringBuilder();
+		// get all concrete and abstract features
+		concreteFeatureNames = new HashSet<>();
+		abstractFeatureNames = new HashSet<>();
 		final IFeatureModel fm = featureProject.getFeatureModel();
 		for (final IFeature feature : fm.getFeatures()) {
 			if (feature.getStructure().isConcrete()) {
-				concreteFeatures.append(feature.getName());
-				concreteFeatures.append("|");
+				concreteFeatureNames.add(feature.getName());
 			} else {
-				abstractFeatures.append(feature.getName());
-				abstractFeatures.append("|");
+				abstractFeatureNames.add(feature.getName());
 			}
 		}
-		// checking if there are any abstract features
-		if (abstractFeatures.length() > 0) {
-			patternIsAbstractFeature = Pattern.compile(abstractFeatures.substring(0, abstractFeatures.length() - 1));
-		}
-		if (concreteFeatures.length() > 0) {
-			patternIsConcreteFeature = Pattern.compile(concreteFeatures.substring(0, concreteFeatures.length() - 1));
-		}
 
 		// create expression of feature model
 		featureModel = AdvancedNodeCreator.createNodes(fm);
@@ -388,23 +378,11 @@ public abstract class PPComposerExtensionClass extends ComposerExtensionClass {
 			return false;
 		}
 
-		Matcher matcherFeature = null;
-		if (patternIsAbstractFeature != null) {
-			matcherFeature = patternIsAbstractFeature.matcher(name);
-		}
-
-		if ((matcherFeature != null) && matcherFeature.matches()) {
+		if (abstractFeatureNames.contains(name)) {
 			featureProject.createBuilderMarker(res, name + MESSAGE_ABSTRACT, lineNumber, IMarker.SEVERITY_WARNING);
-		} else {
-			Matcher matcherConreteFeature = null;
-			if (patternIsConcreteFeature != null) {
-				matcherConreteFeature = patternIsConcreteFeature.matcher(name);
-			}
-
-			if ((matcherConreteFeature != null) && !matcherConreteFeature.matches()) {
-				featureProject.createBuilderMarker(res, name + MESSAGE_NOT_DEFINED, lineNumber, IMarker.SEVERITY_WARNING);
-				return false;
-			}
+		} else if (!concreteFeatureNames.isEmpty() && !concreteFeatureNames.contains(name)) {
+			featureProject.createBuilderMarker(res, name + MESSAGE_NOT_DEFINED, lineNumber, IMarker.SEVERITY_WARNING);
+			return false;
 		}
 		return true;
 	}
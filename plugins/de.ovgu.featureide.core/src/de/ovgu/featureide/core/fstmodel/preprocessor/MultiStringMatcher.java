@@ -0,0 +1,199 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.core.fstmodel.preprocessor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Finds all occurrences of a fixed set of strings in a text in one linear scan (Aho-Corasick automaton). The automaton is built once and can be shared by
+ * several threads, as scanning does not modify it.
+ */
+public class MultiStringMatcher {
+
+	private static final int NO_STATE = -1;
+
+	private final String[] patterns;
+
+	/** Open addressing hash table for the transitions: key is (state &lt;&lt; 16 | character), value is the target state. */
+	private long[] transitionKeys;
+	private int[] transitionValues;
+
+	/** Failure link of each state. */
+	private int[] fail;
+	/** Index of the pattern ending in each state or {@link #NO_STATE}. */
+	private int[] patternAt;
+	/** Next state on the failure path in which a pattern ends or {@link #NO_STATE}. */
+	private int[] outputLink;
+	private int stateCount = 1;
+
+	public MultiStringMatcher(Collection<String> patterns) {
+		final Set<String> uniquePatterns = new LinkedHashSet<>();
+		for (final String pattern : patterns) {
+			if (!pattern.isEmpty()) {
+				uniquePatterns.add(pattern);
+			}
+		}
+		this.patterns = uniquePatterns.toArray(new String[uniquePatterns.size()]);
+
+		int maxStates = 1;
+		for (final String pattern : this.patterns) {
+			maxStates += pattern.length();
+		}
+		final int tableSize = Integer.highestOneBit(Math.max(16, maxStates * 2)) << 1;
+		transitionKeys = new long[tableSize];
+		Arrays.fill(transitionKeys, -1L);
+		transitionValues = new int[tableSize];
+		fail = new int[maxStates];
+		patternAt = new int[maxStates];
+		outputLink = new int[maxStates];
+		Arrays.fill(patternAt, NO_STATE);
+		Arrays.fill(outputLink, NO_STATE);
+
+		buildTrie();
+		buildFailureLinks();
+	}
+
+	private void buildTrie() {
+		for (int i = 0; i < patterns.length; i++) {
+			final String pattern = patterns[i];
+			int state = 0;
+			for (int j = 0; j < pattern.length(); j++) {
+				final char c = pattern.charAt(j);
+				int next = getTransition(state, c);
+				if (next == NO_STATE) {
+					next = stateCount++;
+					putTransition(state, c, next);
+				}
+				state = next;
+			}
+			patternAt[state] = i;
+		}
+	}
+
+	/**
+	 * Computes the failure links in breadth-first order, such that the links of all shorter prefixes are known.
+	 */
+	private void buildFailureLinks() {
+		final List<List<long[]>> children = new ArrayList<>(stateCount);
+		for (int i = 0; i < stateCount; i++) {
+			children.add(new ArrayList<long[]>(1));
+		}
+		for (int i = 0; i < transitionKeys.length; i++) {
+			final long key = transitionKeys[i];
+			if (key != -1L) {
+				children.get((int) (key >>> 16)).add(new long[] { key & 0xFFFF, transitionValues[i] });
+			}
+		}
+
+		final Queue<Integer> queue = new ArrayDeque<>();
+		for (final long[] child : children.get(0)) {
+			fail[(int) child[1]] = 0;
+			queue.add((int) child[1]);
+		}
+		while (!queue.isEmpty()) {
+			final int state = queue.poll();
+			for (final long[] child : children.get(state)) {
+				final char c = (char) child[0];
+				final int next = (int) child[1];
+				int f = fail[state];
+				while ((f > 0) && (getTransition(f, c) == NO_STATE)) {
+					f = fail[f];
+				}
+				final int target = getTransition(f, c);
+				fail[next] = ((target != NO_STATE) && (target != next)) ? target : 0;
+				outputLink[next] = patternAt[fail[next]] != NO_STATE ? fail[next] : outputLink[fail[next]];
+				queue.add(next);
+			}
+		}
+	}
+
+	private int getTransition(int state, char c) {
+		final long key = ((long) state << 16) | c;
+		final int mask = transitionKeys.length - 1;
+		int index = hash(key) & mask;
+		while (true) {
+			final long current = transitionKeys[index];
+			if (current == key) {
+				return transitionValues[index];
+			} else if (current == -1L) {
+				return NO_STATE;
+			}
+			index = (index + 1) & mask;
+		}
+	}
+
+	private void putTransition(int state, char c, int target) {
+		final long key = ((long) state << 16) | c;
+		final int mask = transitionKeys.length - 1;
+		int index = hash(key) & mask;
+		while (transitionKeys[index] != -1L) {
+			index = (index + 1) & mask;
+		}
+		transitionKeys[index] = key;
+		transitionValues[index] = target;
+	}
+
+	private static int hash(long key) {
+		final long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+	/**
+	 * Returns all strings of this matcher that occur in the given text.
+	 *
+	 * @param text the text to scan
+	 * @return the occurring strings in the order given to the constructor
+	 */
+	public Set<String> findAll(CharSequence text) {
+		final boolean[] found = new boolean[patterns.length];
+		int state = 0;
+		for (int i = 0; i < text.length(); i++) {
+			final char c = text.charAt(i);
+			int next = getTransition(state, c);
+			while ((next == NO_STATE) && (state > 0)) {
+				state = fail[state];
+				next = getTransition(state, c);
+			}
+			state = next == NO_STATE ? 0 : next;
+
+			// All suffixes of an already found string have been found together with it.
+			int output = patternAt[state] != NO_STATE ? state : outputLink[state];
+			while ((output != NO_STATE) && !found[patternAt[output]]) {
+				found[patternAt[output]] = true;
+				output = outputLink[output];
+			}
+		}
+		final Set<String> result = new LinkedHashSet<>();
+		for (int i = 0; i < patterns.length; i++) {
+			if (found[i]) {
+				result.add(patterns[i]);
+			}
+		}
+		return result;
+	}
+}
@@ -20,16 +20,18 @@
  */
 package de.ovgu.featureide.core.fstmodel.preprocessor;
 
-import java.io.File;
-import java.io.FileNotFoundException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Scanner;
 import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
@@ -94,41 +96,113 @@ public class PPModelBuilder {
 	protected IFile currentFile = null;
 
 	/**
+	 * The contents of a source file together with the features it references.
+	 */
+	private static class ScannedFile {
+
+		private final IFile file;
+		private final String className;
+		private final Vector<String> lines;
+		private final List<String> features = new ArrayList<>();
+
+		public ScannedFile(IFile file, String className, Vector<String> lines) {
+			this.file = file;
+			this.className = className;
+			this.lines = lines;
+		}
+	}
+
+	/**
+	 * Reads all files in parallel and finds the features referenced in each one. Uses one scan per file to find all feature names, such that
+	 * {@link #containsFeature(String, String)} only has to be checked for features whose name actually occurs in the file. The files are added to the model
+	 * sequentially in their original order.
+	 *
 	 * @param folder
 	 * @param packageName
 	 * @throws CoreException
 	 */
 	private void buildModel(IFolder folder, String packageName) throws CoreException {
+		final List<IFile> files = new ArrayList<>();
+		final List<String> classNames = new ArrayList<>();
+		collectFiles(folder, packageName, files, classNames);
+
+		final MultiStringMatcher featureNameMatcher = new MultiStringMatcher(featureNames);
+		final ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		try {
+			final List<Future<ScannedFile>> scannedFiles = new ArrayList<>(files.size());
+			for (int i = 0; i < files.size(); i++) {
+				final IFile file = files.get(i);
+				final String className = classNames.get(i);
+				scannedFiles.add(executor.submit(new Callable<ScannedFile>() {
+
+					@Override
+					public ScannedFile call() {
+						return scanFile(file, className, featureNameMatcher);
+					}
+				}));
+			}
+			for (int i = 0; i < scannedFiles.size(); i++) {
+				// a file that cannot be scanned must not prevent the remaining files from being added
+				try {
+					addFile(scannedFiles.get(i).get());
+				} catch (final ExecutionException e) {
+					CorePlugin.getDefault().logError("Could not scan " + files.get(i).getFullPath(), e.getCause());
+				}
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void collectFiles(IFolder folder, String packageName, List<IFile> files, List<String> classNames) throws CoreException {
 		for (final IResource res : folder.members()) {
 			if (res instanceof IFolder) {
-				buildModel((IFolder) res, packageName.isEmpty() ? res.getName() : packageName + "/" + res.getName());
+				collectFiles((IFolder) res, packageName.isEmpty() ? res.getName() : packageName + "/" + res.getName(), files, classNames);
 			} else if (res instanceof IFile) {
-				currentFile = (IFile) res;
-				final String text = getText(currentFile);
-				final String className = packageName.isEmpty() ? res.getName() : packageName + "/" + res.getName();
-
-				final Vector<String> lines = PPComposerExtensionClass.loadStringsFromFile(currentFile);
-				boolean classAdded = false;
-				for (final String feature : featureNames) {
-					if (containsFeature(text, feature)) {
-						model.addRole(feature, model.getAbsoluteClassName(currentFile), currentFile);
-						classAdded = true;
-					}
-				}
-				if (classAdded) {
-					final LinkedList<FSTDirective> directives = buildModelDirectivesForFile(lines);
-					addRoleElementsToDirectives(directives, currentFile, className);
-					addDirectivesToRoleElement(directives, currentFile, className);
-
-					addDirectivesToModel(directives, currentFile, className);
-				} else {
-					// add class without annotations
-					model.addClass(new FSTClass(className));
-				}
+				files.add((IFile) res);
+				classNames.add(packageName.isEmpty() ? res.getName() : packageName + "/" + res.getName());
 			}
 		}
 	}
 
+	/**
+	 * Reads the given file and finds the features it contains. Called concurrently for different files.
+	 */
+	private ScannedFile scanFile(IFile file, String className, MultiStringMatcher featureNameMatcher) {
+		final ScannedFile scannedFile = new ScannedFile(file, className, PPComposerExtensionClass.loadStringsFromFile(file));
+		final StringBuilder fileText = new StringBuilder();
+		for (final String line : scannedFile.lines) {
+			fileText.append(line);
+			fileText.append("\r\n");
+		}
+		final String text = fileText.toString();
+		for (final String feature : featureNameMatcher.findAll(text)) {
+			if (containsFeature(text, feature)) {
+				scannedFile.features.add(feature);
+			}
+		}
+		return scannedFile;
+	}
+
+	private void addFile(ScannedFile scannedFile) {
+		currentFile = scannedFile.file;
+		for (final String feature : scannedFile.features) {
+			model.addRole(feature, model.getAbsoluteClassName(currentFile), currentFile);
+		}
+		if (!scannedFile.features.isEmpty()) {
+			final LinkedList<FSTDirective> directives = buildModelDirectivesForFile(scannedFile.lines);
+			addRoleElementsToDirectives(directives, currentFile, scannedFile.className);
+			addDirectivesToRoleElement(directives, currentFile, scannedFile.className);
+
+			addDirectivesToModel(directives, currentFile, scannedFile.className);
+		} else {
+			// add class without annotations
+			model.addClass(new FSTClass(scannedFile.className));
+		}
+	}
+
 	private void addDirectivesToModel(LinkedList<FSTDirective> list, IFile res, String className) {
 		for (final FSTDirective d : list) {
 			for (final String featureName : d.getFeatureNames()) {
@@ -269,7 +343,8 @@ public class PPModelBuilder {
 	}
 
 	/**
-	 * This method should be implemented by preprocessor plug-ins. Return true if the file contains the feature.
+	 * This method should be implemented by preprocessor plug-ins. Return true if the file contains the feature. Only called for features whose name occurs
+	 * in the text. Must be thread-safe, as files are scanned in parallel.
 	 *
 	 * @param text The file text.
 	 * @param feature The current feature.
@@ -278,28 +353,4 @@ public class PPModelBuilder {
 		return text.contains(feature);
 	}
 
-	/**
-	 * @param iFile
-	 */
-	private String getText(IFile iFile) {
-		Scanner scanner = null;
-		try {
-			final File file = iFile.getRawLocation().toFile();
-			final StringBuilder fileText = new StringBuilder();
-			scanner = new Scanner(file, "UTF-8");
-			while (scanner.hasNext()) {
-				fileText.append(scanner.nextLine());
-				fileText.append("\r\n");
-			}
-			return fileText.toString();
-		} catch (final FileNotFoundException e) {
-			CorePlugin.getDefault().logError(e);
-		} finally {
-			if (scanner != null) {
-				scanner.close();
-			}
-		}
-		return "";
-	}
-
 }
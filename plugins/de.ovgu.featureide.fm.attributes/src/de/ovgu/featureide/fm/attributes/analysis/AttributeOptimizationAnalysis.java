@@ -0,0 +1,398 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.attributes.analysis;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.solver.SatInstance;
+import org.sat4j.core.Vec;
+import org.sat4j.core.VecInt;
+import org.sat4j.pb.IPBSolver;
+import org.sat4j.pb.SolverFactory;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.TimeoutException;
+
+import de.ovgu.featureide.fm.attributes.base.IFeatureAttribute;
+import de.ovgu.featureide.fm.attributes.base.impl.ExtendedFeature;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.functional.Functional;
+import de.ovgu.featureide.fm.core.job.LongRunningMethod;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Finds valid configurations that minimize or maximize the sums of numeric attributes ({@link Long} and {@link Double}) over the selected features.<br>
+ * <br> The feature model is translated to CNF and each attribute sum to a pseudo-boolean term for the sat4j PB solver. Bounds on attribute sums (e.g., at
+ * least a certain performance) are added as pseudo-boolean constraints. The Pareto front of all objectives is enumerated with the guided improvement
+ * algorithm: a solution is improved until no solution dominates it, then the region it dominates is excluded. With a single objective the result is the
+ * optimum.<br> <br> The search is anytime: if the time budget is exceeded, the solutions found so far are returned and the last one may not be proven optimal.
+ * Decimal values are scaled to integers with at most {@link #MAX_DECIMAL_PLACES} decimal places.
+ *
+ * @see AttributeSolution
+ */
+public class AttributeOptimizationAnalysis implements LongRunningMethod<List<AttributeSolution>> {
+
+	public static final int MAX_DECIMAL_PLACES = 6;
+
+	/**
+	 * A sum of one attribute over the selected features as integer term.
+	 */
+	private static class AttributeTerm {
+
+		private final String attributeName;
+		private final int[] variables;
+		private final BigDecimal[] values;
+		private final BigInteger[] coefficients;
+		private final BigDecimal scale;
+		/**
+		 * The greatest value of the term.
+		 */
+		private final BigInteger max;
+
+		private AttributeTerm(String attributeName, int[] variables, BigDecimal[] values, int decimalPlaces, boolean negate) {
+			this.attributeName = attributeName;
+			this.variables = variables;
+			this.values = values;
+			scale = BigDecimal.ONE.scaleByPowerOfTen(decimalPlaces);
+			coefficients = new BigInteger[values.length];
+			BigInteger max = BigInteger.ZERO;
+			for (int i = 0; i < values.length; i++) {
+				final BigInteger coefficient = values[i].multiply(scale).setScale(0, RoundingMode.HALF_UP).toBigInteger();
+				coefficients[i] = negate ? coefficient.negate() : coefficient;
+				if (coefficients[i].signum() > 0) {
+					max = max.add(coefficients[i]);
+				}
+			}
+			this.max = max;
+		}
+
+		private BigInteger getValue(IPBSolver solver) {
+			BigInteger sum = BigInteger.ZERO;
+			for (int i = 0; i < variables.length; i++) {
+				if (solver.model(variables[i])) {
+					sum = sum.add(coefficients[i]);
+				}
+			}
+			return sum;
+		}
+
+		private double getAttributeValue(IPBSolver solver) {
+			BigDecimal sum = BigDecimal.ZERO;
+			for (int i = 0; i < variables.length; i++) {
+				if (solver.model(variables[i])) {
+					sum = sum.add(values[i]);
+				}
+			}
+			return sum.doubleValue();
+		}
+
+		/**
+		 * Adds the constraint {@code term <= bound}, which is only enforced if the guard is {@code true}.
+		 *
+		 * @param guard A variable or 0 for an unconditional constraint
+		 */
+		private void addUpperBound(IPBSolver solver, BigInteger bound, int guard) throws ContradictionException {
+			final BigInteger slack = max.subtract(bound);
+			if (slack.signum() <= 0) {
+				// always satisfied
+				return;
+			}
+			final VecInt literals = new VecInt(variables.length + 1);
+			final Vec<BigInteger> coefficients = new Vec<BigInteger>(variables.length + 1);
+			for (int i = 0; i < variables.length; i++) {
+				literals.push(variables[i]);
+				coefficients.push(this.coefficients[i]);
+			}
+			BigInteger degree = bound;
+			if (guard != 0) {
+				literals.push(guard);
+				coefficients.push(slack);
+				degree = degree.add(slack);
+			}
+			solver.addPseudoBoolean(literals, coefficients, false, degree);
+		}
+
+	}
+
+	private final IFeatureModel featureModel;
+
+	private final List<AttributeTerm> objectives = new ArrayList<>();
+	private final List<AttributeTerm> upperBounds = new ArrayList<>();
+	private final List<BigInteger> upperBoundValues = new ArrayList<>();
+
+	private long timeout = 10000;
+	private boolean complete = false;
+
+	private final SatInstance satInstance;
+	private IPBSolver solver;
+
+	public AttributeOptimizationAnalysis(IFeatureModel featureModel) {
+		this.featureModel = featureModel;
+		satInstance = new SatInstance(AdvancedNodeCreator.createRegularCNF(featureModel),
+				Functional.mapToList(featureModel.getFeatures(), FeatureUtils.GET_FEATURE_NAME));
+	}
+
+	/**
+	 * Adds an objective. If more than one objective is added, the Pareto front is computed.
+	 *
+	 * @param attributeName The name of a numeric attribute
+	 * @param minimize {@code true} to minimize, {@code false} to maximize the sum of the attribute
+	 */
+	public void addObjective(String attributeName, boolean minimize) {
+		objectives.add(createTerm(attributeName, !minimize));
+	}
+
+	/**
+	 * Restricts the solutions to configurations where the sum of the attribute is at least the given value.
+	 */
+	public void addLowerBound(String attributeName, double value) {
+		final AttributeTerm term = createTerm(attributeName, true);
+		// -sum <= -value
+		upperBounds.add(term);
+		upperBoundValues.add(BigDecimal.valueOf(value).multiply(term.scale).setScale(0, RoundingMode.CEILING).toBigInteger().negate());
+	}
+
+	/**
+	 * Restricts the solutions to configurations where the sum of the attribute is at most the given value.
+	 */
+	public void addUpperBound(String attributeName, double value) {
+		final AttributeTerm term = createTerm(attributeName, false);
+		upperBounds.add(term);
+		upperBoundValues.add(BigDecimal.valueOf(value).multiply(term.scale).setScale(0, RoundingMode.FLOOR).toBigInteger());
+	}
+
+	/**
+	 * @param timeout The time budget for the search in milliseconds
+	 */
+	public void setTimeout(long timeout) {
+		this.timeout = timeout;
+	}
+
+	/**
+	 * @return {@code true} if the last execution found all Pareto optimal solutions (or proved that no valid configuration exists) within the time budget
+	 */
+	public boolean isComplete() {
+		return complete;
+	}
+
+	private AttributeTerm createTerm(String attributeName, boolean negate) {
+		final List<Integer> variables = new ArrayList<>();
+		final List<BigDecimal> values = new ArrayList<>();
+		int decimalPlaces = 0;
+		boolean found = false;
+		for (final IFeature feature : featureModel.getFeatures()) {
+			if (feature instanceof ExtendedFeature) {
+				for (final IFeatureAttribute attribute : ((ExtendedFeature) feature).getAttributes()) {
+					if (attributeName.equals(attribute.getName())) {
+						final Object value = attribute.getValue();
+						final BigDecimal decimal;
+						if (value instanceof Long) {
+							decimal = BigDecimal.valueOf((Long) value);
+						} else if (value instanceof Double) {
+							decimal = BigDecimal.valueOf((Double) value);
+						} else if (value == null) {
+							found = true;
+							continue;
+						} else {
+							throw new IllegalArgumentException("Attribute " + attributeName + " is not numeric");
+						}
+						found = true;
+						if (decimal.signum() != 0) {
+							variables.add(satInstance.getVariable(feature.getName()));
+							values.add(decimal);
+							decimalPlaces = Math.max(decimalPlaces, Math.min(MAX_DECIMAL_PLACES, decimal.stripTrailingZeros().scale()));
+						}
+					}
+				}
+			}
+		}
+		if (!found) {
+			throw new IllegalArgumentException("Unknown attribute " + attributeName);
+		}
+		final int[] variableArray = new int[variables.size()];
+		for (int i = 0; i < variableArray.length; i++) {
+			variableArray[i] = variables.get(i);
+		}
+		return new AttributeTerm(attributeName, variableArray, values.toArray(new BigDecimal[values.size()]), decimalPlaces, negate);
+	}
+
+	@Override
+	public List<AttributeSolution> execute(IMonitor monitor) throws Exception {
+		if (objectives.isEmpty()) {
+			throw new IllegalStateException("No objective");
+		}
+		complete = false;
+		final List<AttributeSolution> solutions = new ArrayList<>();
+		final long deadline = System.currentTimeMillis() + timeout;
+		try {
+			initSolver();
+		} catch (final ContradictionException e) {
+			complete = true;
+			return solutions;
+		}
+
+		AttributeSolution current = null;
+		try {
+			while (true) {
+				monitor.checkCancel();
+				// find a solution that is not dominated by the solutions found so far
+				if (!isSatisfiable(deadline, 0)) {
+					complete = true;
+					break;
+				}
+				BigInteger[] values = getObjectiveValues();
+				current = createSolution(false);
+
+				// improve the solution until no solution dominates it
+				boolean optimal = false;
+				while (!optimal) {
+					monitor.checkCancel();
+					final int guard = solver.nextFreeVarId(true);
+					try {
+						addDominatingConstraints(values, guard);
+						optimal = !isSatisfiable(deadline, guard);
+					} catch (final ContradictionException e) {
+						optimal = true;
+					} finally {
+						disable(guard);
+					}
+					if (!optimal) {
+						values = getObjectiveValues();
+						current = createSolution(false);
+					}
+				}
+				solutions.add(new AttributeSolution(current.getSelectedFeatures(), current.getValues(), true));
+				current = null;
+				monitor.step();
+
+				// exclude the region dominated by the solution
+				try {
+					addNotDominatedConstraints(values);
+				} catch (final ContradictionException e) {
+					complete = true;
+					break;
+				}
+			}
+		} catch (final TimeoutException e) {
+			// return the solutions found within the time budget
+			if (current != null) {
+				solutions.add(current);
+			}
+		}
+		return solutions;
+	}
+
+	private void initSolver() throws ContradictionException {
+		solver = SolverFactory.newDefault();
+		solver.setVerbose(false);
+		solver.newVar(satInstance.getNumberOfVariables());
+		final Node cnf = satInstance.getCnf();
+		for (final Node clause : cnf.getChildren()) {
+			final Node[] literals = clause.getChildren();
+			final int[] ints = new int[literals.length];
+			for (int i = 0; i < literals.length; i++) {
+				ints[i] = satInstance.getSignedVariable((Literal) literals[i]);
+			}
+			solver.addClause(new VecInt(ints));
+		}
+		for (int i = 0; i < upperBounds.size(); i++) {
+			upperBounds.get(i).addUpperBound(solver, upperBoundValues.get(i), 0);
+		}
+	}
+
+	private boolean isSatisfiable(long deadline, int guard) throws TimeoutException {
+		final long remaining = deadline - System.currentTimeMillis();
+		if (remaining <= 0) {
+			throw new TimeoutException();
+		}
+		solver.setTimeoutMs(remaining);
+		return guard == 0 ? solver.isSatisfiable() : solver.isSatisfiable(new VecInt(new int[] { guard }));
+	}
+
+	/**
+	 * If the guard is {@code true}, every objective has to be at most as great as the given value and one has to be less.
+	 */
+	private void addDominatingConstraints(BigInteger[] values, int guard) throws ContradictionException {
+		final VecInt someLess = new VecInt(objectives.size() + 1);
+		someLess.push(-guard);
+		for (int i = 0; i < objectives.size(); i++) {
+			objectives.get(i).addUpperBound(solver, values[i], guard);
+			final int less = solver.nextFreeVarId(true);
+			objectives.get(i).addUpperBound(solver, values[i].subtract(BigInteger.ONE), less);
+			someLess.push(less);
+		}
+		solver.addClause(someLess);
+	}
+
+	/**
+	 * One objective has to be less than the given value.
+	 */
+	private void addNotDominatedConstraints(BigInteger[] values) throws ContradictionException {
+		final VecInt someLess = new VecInt(objectives.size());
+		for (int i = 0; i < objectives.size(); i++) {
+			final int less = solver.nextFreeVarId(true);
+			objectives.get(i).addUpperBound(solver, values[i].subtract(BigInteger.ONE), less);
+			someLess.push(less);
+		}
+		solver.addClause(someLess);
+	}
+
+	private void disable(int guard) {
+		try {
+			solver.addClause(new VecInt(new int[] { -guard }));
+		} catch (final ContradictionException e) {
+			// cannot happen for a fresh variable
+		}
+	}
+
+	private BigInteger[] getObjectiveValues() {
+		final BigInteger[] values = new BigInteger[objectives.size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = objectives.get(i).getValue(solver);
+		}
+		return values;
+	}
+
+	private AttributeSolution createSolution(boolean optimal) {
+		final List<String> selectedFeatures = new ArrayList<>();
+		for (int i = 1; i <= satInstance.getNumberOfVariables(); i++) {
+			if (solver.model(i)) {
+				selectedFeatures.add(satInstance.getVariableObject(i).toString());
+			}
+		}
+		final Map<String, Double> values = new LinkedHashMap<>();
+		for (final AttributeTerm objective : objectives) {
+			values.put(objective.attributeName, objective.getAttributeValue(solver));
+		}
+		return new AttributeSolution(selectedFeatures, values, optimal);
+	}
+
+}
@@ -0,0 +1,69 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.attributes.analysis;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A valid configuration found by the {@link AttributeOptimizationAnalysis} together with the sums of the optimized attributes.
+ */
+public class AttributeSolution {
+
+	private final List<String> selectedFeatures;
+	private final Map<String, Double> values;
+	private final boolean optimal;
+
+	AttributeSolution(List<String> selectedFeatures, Map<String, Double> values, boolean optimal) {
+		this.selectedFeatures = Collections.unmodifiableList(selectedFeatures);
+		this.values = Collections.unmodifiableMap(values);
+		this.optimal = optimal;
+	}
+
+	/**
+	 * @return The names of the selected features
+	 */
+	public List<String> getSelectedFeatures() {
+		return selectedFeatures;
+	}
+
+	/**
+	 * @return The sum of each optimized attribute over the selected features
+	 */
+	public Map<String, Double> getValues() {
+		return values;
+	}
+
+	/**
+	 * @return {@code true} if no valid configuration is better in one objective without being worse in another, {@code false} if the time budget was exceeded
+	 *         before this was proven
+	 */
+	public boolean isOptimal() {
+		return optimal;
+	}
+
+	@Override
+	public String toString() {
+		return values + (optimal ? "" : " (not proven optimal)") + " " + selectedFeatures;
+	}
+
+}
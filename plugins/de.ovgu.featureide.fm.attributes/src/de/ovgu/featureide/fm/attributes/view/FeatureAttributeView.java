@@ -67,6 +67,7 @@ import de.ovgu.featureide.fm.attributes.base.impl.FeatureAttribute;
 import de.ovgu.featureide.fm.attributes.view.actions.AddFeatureAttributeAction;
 import de.ovgu.featureide.fm.attributes.view.actions.CollapseAllButFirstLevel;
 import de.ovgu.featureide.fm.attributes.view.actions.ExpandTreeViewer;
+import de.ovgu.featureide.fm.attributes.view.actions.OptimizeFeatureAttributeAction;
 import de.ovgu.featureide.fm.attributes.view.actions.RemoveFeatureAttributeAction;
 import de.ovgu.featureide.fm.attributes.view.actions.SynchFeatureAttributesToFeatureDiagramAction;
 import de.ovgu.featureide.fm.attributes.view.editingsupports.FeatureAttributeConfigureableEditingSupport;
@@ -406,6 +407,14 @@ public class FeatureAttributeView extends ViewPart implements IEventListener {
 								}
 							}
 						}
+						if (selection.size() == 1) {
+							final IFeatureAttribute attribute = (IFeatureAttribute) selection.getFirstElement();
+							if (FeatureAttribute.LONG.equals(attribute.getType()) || FeatureAttribute.DOUBLE.equals(attribute.getType())) {
+								// Add actions to optimize the sum of the attribute
+								menuManager.add(new OptimizeFeatureAttributeAction(featureModel, attribute.getName(), true));
+								menuManager.add(new OptimizeFeatureAttributeAction(featureModel, attribute.getName(), false));
+							}
+						}
 						menuManager.add(new RemoveFeatureAttributeAction(featureModel, attributes));
 					}
 				}
@@ -0,0 +1,107 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.attributes.view.actions;
+
+import java.util.List;
+
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.swt.widgets.Display;
+
+import de.ovgu.featureide.fm.attributes.analysis.AttributeOptimizationAnalysis;
+import de.ovgu.featureide.fm.attributes.analysis.AttributeSolution;
+import de.ovgu.featureide.fm.attributes.base.impl.ExtendedFeatureModel;
+import de.ovgu.featureide.fm.core.job.IJob;
+import de.ovgu.featureide.fm.core.job.IRunner;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+import de.ovgu.featureide.fm.core.job.util.JobFinishListener;
+import de.ovgu.featureide.fm.core.localization.StringTable;
+
+/**
+ * Searches a valid configuration with the minimal or maximal sum of a numeric attribute using the {@link AttributeOptimizationAnalysis} and shows it.
+ */
+public class OptimizeFeatureAttributeAction extends Action {
+
+	private final ExtendedFeatureModel featureModel;
+	private final String attributeName;
+	private final boolean minimize;
+
+	public OptimizeFeatureAttributeAction(ExtendedFeatureModel featureModel, String attributeName, boolean minimize) {
+		super(minimize ? StringTable.MINIMIZE_ATTRIBUTE : StringTable.MAXIMIZE_ATTRIBUTE);
+		this.featureModel = featureModel;
+		this.attributeName = attributeName;
+		this.minimize = minimize;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.jface.action.Action#run()
+	 */
+	@Override
+	public void run() {
+		final AttributeOptimizationAnalysis analysis = new AttributeOptimizationAnalysis(featureModel);
+		analysis.addObjective(attributeName, minimize);
+		final IRunner<List<AttributeSolution>> job = LongRunningWrapper.getRunner(analysis, getText());
+		job.addJobFinishedListener(new JobFinishListener<List<AttributeSolution>>() {
+
+			@Override
+			public void jobFinished(IJob<List<AttributeSolution>> finishedJob) {
+				final List<AttributeSolution> solutions = finishedJob.getResults();
+				if (solutions == null) {
+					return;
+				}
+				final String message = createMessage(solutions, analysis.isComplete());
+				final Display display = Display.getDefault();
+				display.asyncExec(new Runnable() {
+
+					@Override
+					public void run() {
+						MessageDialog.openInformation(display.getActiveShell(), getText(), message);
+					}
+				});
+			}
+		});
+		job.schedule();
+	}
+
+	private String createMessage(List<AttributeSolution> solutions, boolean complete) {
+		if (solutions.isEmpty()) {
+			return complete ? StringTable.NO_VALID_CONFIGURATION_EXISTS : StringTable.NO_CONFIGURATION_FOUND_WITHIN_THE_TIME_LIMIT;
+		}
+		final AttributeSolution solution = solutions.get(solutions.size() - 1);
+		final StringBuilder sb = new StringBuilder();
+		sb.append(attributeName);
+		sb.append(": ");
+		sb.append(solution.getValues().get(attributeName));
+		if (!solution.isOptimal()) {
+			sb.append(" (not proven optimal)");
+		}
+		sb.append("\n\n");
+		sb.append(StringTable.SELECTED_FEATURES);
+		sb.append(":\n");
+		for (final String feature : solution.getSelectedFeatures()) {
+			sb.append(feature);
+			sb.append('\n');
+		}
+		return sb.toString();
+	}
+
+}
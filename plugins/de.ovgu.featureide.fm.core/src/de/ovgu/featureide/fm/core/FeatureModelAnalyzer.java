@@ -30,11 +30,18 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import org.prop4j.And;
 import org.prop4j.Equals;
@@ -58,6 +65,10 @@ import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent;
 import de.ovgu.featureide.fm.core.base.event.IEventListener;
 import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
 import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.CNFType;
+import de.ovgu.featureide.fm.core.editing.FeatureModelToNodeTraceModel;
+import de.ovgu.featureide.fm.core.editing.FeatureModelToNodeTraceModel.FeatureModelElementTrace;
+import de.ovgu.featureide.fm.core.editing.FeatureModelToNodeTraceModel.Origin;
 import de.ovgu.featureide.fm.core.editing.NodeCreator;
 import de.ovgu.featureide.fm.core.explanations.Explanation;
 import de.ovgu.featureide.fm.core.explanations.fm.DeadFeatureExplanation;
@@ -65,12 +76,14 @@ import de.ovgu.featureide.fm.core.explanations.fm.DeadFeatureExplanationCreator;
 import de.ovgu.featureide.fm.core.explanations.fm.FalseOptionalFeatureExplanation;
 import de.ovgu.featureide.fm.core.explanations.fm.FalseOptionalFeatureExplanationCreator;
 import de.ovgu.featureide.fm.core.explanations.fm.FeatureModelExplanationCreatorFactory;
+import de.ovgu.featureide.fm.core.explanations.fm.FeatureModelReason;
 import de.ovgu.featureide.fm.core.explanations.fm.RedundantConstraintExplanation;
 import de.ovgu.featureide.fm.core.explanations.fm.RedundantConstraintExplanationCreator;
 import de.ovgu.featureide.fm.core.functional.Functional;
 import de.ovgu.featureide.fm.core.functional.Functional.IFunction;
 import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor.MethodCancelException;
 import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
 
 /**
@@ -86,15 +99,18 @@ public class FeatureModelAnalyzer implements IEventListener {
 	/**
 	 * Remembers explanations for dead features.
 	 */
-	private final Map<IFeature, DeadFeatureExplanation> deadFeatureExplanations = new HashMap<>();
+	private final Map<IFeature, DeadFeatureExplanation> deadFeatureExplanations =
+		Collections.synchronizedMap(new HashMap<IFeature, DeadFeatureExplanation>());
 	/**
 	 * Remembers explanations for false-optional features.
 	 */
-	private final Map<IFeature, FalseOptionalFeatureExplanation> falseOptionalFeatureExplanations = new HashMap<>();
+	private final Map<IFeature, FalseOptionalFeatureExplanation> falseOptionalFeatureExplanations =
+		Collections.synchronizedMap(new HashMap<IFeature, FalseOptionalFeatureExplanation>());
 	/**
 	 * Remembers explanations for redundant constraints.
 	 */
-	private final Map<IConstraint, RedundantConstraintExplanation> redundantConstraintExplanations = new HashMap<>();
+	private final Map<IConstraint, RedundantConstraintExplanation> redundantConstraintExplanations =
+		Collections.synchronizedMap(new HashMap<IConstraint, RedundantConstraintExplanation>());
 	/**
 	 * Used for creating explanation creators.
 	 */
@@ -113,6 +129,31 @@ public class FeatureModelAnalyzer implements IEventListener {
 	 */
 	private final RedundantConstraintExplanationCreator redundantConstraintExplanationCreator =
 		explanationCreatorFactory.getRedundantConstraintExplanationCreator();
+	/**
+	 * Incremented whenever the explanations are cleared. Explanations created for an older generation are discarded.
+	 */
+	private int explanationGeneration = 0;
+
+	private static ExecutorService explanationExecutor = null;
+
+	/**
+	 * All analyzers share one pool with a thread for each kind of defect.
+	 */
+	private static synchronized ExecutorService getExplanationExecutor() {
+		if (explanationExecutor == null) {
+			explanationExecutor = Executors.newFixedThreadPool(3, new ThreadFactory() {
+
+				@Override
+				public Thread newThread(Runnable runnable) {
+					final Thread thread = new Thread(runnable, "FeatureIDE Explanations");
+					thread.setDaemon(true);
+					return thread;
+				}
+
+			});
+		}
+		return explanationExecutor;
+	}
 
 	public static enum Attribute {
 		Mandatory, Optional, Alternative, Or, Abstract, Concrete, Hidden, Dead, FalseOptional, IndetHidden, UnsatisfiableConst, TautologyConst, VoidModelConst, RedundantConst
@@ -1059,13 +1100,223 @@ public class FeatureModelAnalyzer implements IEventListener {
 		redundantConstraintExplanations.put(constraint, creator.getExplanation());
 	}
 
+	/**
+	 * <p> Adds explanations for all {@link #getCachedDeadFeatures() dead features}, {@link #getCachedFalseOptionalFeatures() false-optional features} and
+	 * redundant constraints at once. Defects that have already been explained are skipped. </p>
+	 *
+	 * <p> Each kind of defect is explained by a single explanation creator, so its oracle is encoded only once and reused for all defects of that kind. The
+	 * different kinds are explained in parallel. Dead features whose parent is dead as well are not explained on their own. Instead, the explanation of the
+	 * parent is extended by the child relationship between both. </p>
+	 *
+	 * <p> Relies on the cached analysis results. Thus, the feature model should have been {@link #analyzeFeatureModel(IMonitor) analyzed} before. If the
+	 * explanations are {@link #clearExplanations() cleared} in the meantime, the created ones are discarded. </p>
+	 *
+	 * @param monitor the monitor to check for cancellation; null if it cannot be canceled
+	 */
+	public void addAllExplanations(IMonitor monitor) {
+		final IMonitor explanationMonitor = monitor == null ? new NullMonitor() : monitor;
+		final int generation;
+		synchronized (this) {
+			generation = explanationGeneration;
+		}
+		final List<IFeature> deadFeatures = new ArrayList<>();
+		for (final IFeature feature : cachedDeadFeatures) {
+			if (!deadFeatureExplanations.containsKey(feature)) {
+				deadFeatures.add(feature);
+			}
+		}
+		final List<IFeature> falseOptionalFeatures = new ArrayList<>();
+		for (final IFeature feature : cachedFalseOptionalFeatures) {
+			if (!falseOptionalFeatureExplanations.containsKey(feature)) {
+				falseOptionalFeatures.add(feature);
+			}
+		}
+		final List<IConstraint> redundantConstraints = new ArrayList<>();
+		for (final IConstraint constraint : fm.getConstraints()) {
+			switch (constraint.getConstraintAttribute()) {
+			case REDUNDANT:
+			case IMPLICIT:
+				if (!redundantConstraintExplanations.containsKey(constraint)) {
+					redundantConstraints.add(constraint);
+				}
+				break;
+			default:
+				break;
+			}
+		}
+
+		final ExecutorService executor = getExplanationExecutor();
+		final List<Future<?>> results = new ArrayList<>(3);
+		try {
+			final Future<Map<IFeature, DeadFeatureExplanation>> deadFeatureResult =
+				executor.submit(new Callable<Map<IFeature, DeadFeatureExplanation>>() {
+
+					@Override
+					public Map<IFeature, DeadFeatureExplanation> call() {
+						return createDeadFeatureExplanations(deadFeatures, explanationMonitor);
+					}
+				});
+			results.add(deadFeatureResult);
+			final Future<Map<IFeature, FalseOptionalFeatureExplanation>> falseOptionalFeatureResult =
+				executor.submit(new Callable<Map<IFeature, FalseOptionalFeatureExplanation>>() {
+
+					@Override
+					public Map<IFeature, FalseOptionalFeatureExplanation> call() {
+						final FalseOptionalFeatureExplanationCreator creator = explanationCreatorFactory.getFalseOptionalFeatureExplanationCreator();
+						creator.setFeatureModel(fm);
+						final Map<IFeature, FalseOptionalFeatureExplanation> explanations = new HashMap<>();
+						for (final IFeature feature : falseOptionalFeatures) {
+							explanationMonitor.checkCancel();
+							creator.setSubject(feature);
+							explanations.put(feature, creator.getExplanation());
+						}
+						return explanations;
+					}
+				});
+			results.add(falseOptionalFeatureResult);
+			final Future<Map<IConstraint, RedundantConstraintExplanation>> redundantConstraintResult =
+				executor.submit(new Callable<Map<IConstraint, RedundantConstraintExplanation>>() {
+
+					@Override
+					public Map<IConstraint, RedundantConstraintExplanation> call() {
+						final RedundantConstraintExplanationCreator creator = explanationCreatorFactory.getRedundantConstraintExplanationCreator();
+						creator.setFeatureModel(fm);
+						final Map<IConstraint, RedundantConstraintExplanation> explanations = new HashMap<>();
+						for (final IConstraint constraint : redundantConstraints) {
+							explanationMonitor.checkCancel();
+							creator.setSubject(constraint);
+							explanations.put(constraint, creator.getExplanation());
+						}
+						return explanations;
+					}
+				});
+			results.add(redundantConstraintResult);
+			putAllExplanations(deadFeatureExplanations, deadFeatureResult, generation);
+			putAllExplanations(falseOptionalFeatureExplanations, falseOptionalFeatureResult, generation);
+			putAllExplanations(redundantConstraintExplanations, redundantConstraintResult, generation);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			// the pool is shared, so only the tasks of this call are stopped
+			for (final Future<?> result : results) {
+				result.cancel(true);
+			}
+		}
+	}
+
+	/**
+	 * Adds the explanations of one kind of defect once they are created. If creating them failed, the error is logged and the other kinds are not affected.
+	 * If creating them was canceled or the explanations have been cleared since they were requested, they are discarded.
+	 *
+	 * @param explanations the explanations of this analyzer; not null
+	 * @param result the pending explanations; not null
+	 * @param generation the {@link #explanationGeneration generation} the explanations were requested for
+	 * @throws InterruptedException if the current thread is interrupted while waiting
+	 */
+	private <K, E> void putAllExplanations(Map<K, E> explanations, Future<Map<K, E>> result, int generation) throws InterruptedException {
+		final Map<K, E> created;
+		try {
+			created = result.get();
+		} catch (final ExecutionException e) {
+			if (!(e.getCause() instanceof MethodCancelException)) {
+				Logger.logError(e.getCause());
+			}
+			return;
+		}
+		synchronized (this) {
+			if (generation == explanationGeneration) {
+				explanations.putAll(created);
+			}
+		}
+	}
+
+	/**
+	 * Creates explanations for the given dead features using a single explanation creator. Only dead features whose parent is not dead are passed to the
+	 * creator. The explanations of all other ones are derived from the explanation of their parent.
+	 *
+	 * @param deadFeatures dead features to explain; not null
+	 * @param monitor the monitor to check for cancellation; not null
+	 * @return the explanations for the given dead features; not null
+	 */
+	private Map<IFeature, DeadFeatureExplanation> createDeadFeatureExplanations(Collection<IFeature> deadFeatures, IMonitor monitor) {
+		final DeadFeatureExplanationCreator creator = explanationCreatorFactory.getDeadFeatureExplanationCreator();
+		creator.setFeatureModel(fm);
+		final Set<IFeature> dead = new HashSet<>(cachedDeadFeatures);
+		final Map<IFeature, DeadFeatureExplanation> explanations = new HashMap<>();
+
+		// Remember the upward child relationship of each feature.
+		final AdvancedNodeCreator nodeCreator = new AdvancedNodeCreator(fm);
+		nodeCreator.setIncludeBooleanValues(false);
+		nodeCreator.setCnfType(CNFType.Regular);
+		nodeCreator.setRecordTraceModel(true);
+		nodeCreator.createNodes();
+		final FeatureModelToNodeTraceModel traceModel = nodeCreator.getTraceModel();
+		final Map<IFeatureModelElement, FeatureModelElementTrace> upTraces = new HashMap<>();
+		for (int i = 0; i < traceModel.getTraceCount(); i++) {
+			final FeatureModelElementTrace trace = traceModel.getTrace(i);
+			if (trace.getOrigin() == Origin.CHILD_UP) {
+				for (final IFeatureModelElement child : trace.getElements()) {
+					upTraces.put(child, trace);
+				}
+			}
+		}
+
+		for (final IFeature feature : deadFeatures) {
+			monitor.checkCancel();
+			createDeadFeatureExplanation(feature, creator, dead, upTraces, explanations);
+		}
+		return explanations;
+	}
+
+	/**
+	 * Creates an explanation for the given dead feature unless it has already been created.
+	 *
+	 * @param feature dead feature to explain; not null
+	 * @param creator the creator to use for dead features whose parent is not dead; not null
+	 * @param dead all dead features; not null
+	 * @param upTraces the upward child relationship of each feature; not null
+	 * @param explanations the explanations created so far; not null
+	 * @return an explanation; null if it cannot be explained
+	 */
+	private DeadFeatureExplanation createDeadFeatureExplanation(IFeature feature, DeadFeatureExplanationCreator creator, Set<IFeature> dead,
+			Map<IFeatureModelElement, FeatureModelElementTrace> upTraces, Map<IFeature, DeadFeatureExplanation> explanations) {
+		if (explanations.containsKey(feature)) {
+			return explanations.get(feature);
+		}
+		DeadFeatureExplanation explanation = null;
+		final IFeature parent = FeatureUtils.getParent(feature);
+		final FeatureModelElementTrace upTrace = upTraces.get(feature);
+		if ((parent != null) && (upTrace != null) && dead.contains(parent)) {
+			final DeadFeatureExplanation parentExplanation = createDeadFeatureExplanation(parent, creator, dead, upTraces, explanations);
+			if (parentExplanation != null) {
+				explanation = new DeadFeatureExplanation(feature);
+				explanation.addExplanation(parentExplanation);
+				explanation.setExplanationCount(parentExplanation.getExplanationCount());
+				// the child relationship is part of every explanation rolled into the parent one
+				final FeatureModelReason upReason = new FeatureModelReason(upTrace);
+				for (int i = 0; i < parentExplanation.getExplanationCount(); i++) {
+					explanation.addReason(upReason);
+				}
+			}
+		}
+		if (explanation == null) {
+			creator.setSubject(feature);
+			explanation = creator.getExplanation();
+		}
+		explanations.put(feature, explanation);
+		return explanation;
+	}
+
 	/**
 	 * Clears all explanations.
 	 */
 	public void clearExplanations() {
-		deadFeatureExplanations.clear();
-		falseOptionalFeatureExplanations.clear();
-		redundantConstraintExplanations.clear();
+		synchronized (this) {
+			explanationGeneration++;
+			deadFeatureExplanations.clear();
+			falseOptionalFeatureExplanations.clear();
+			redundantConstraintExplanations.clear();
+		}
 		deadFeatureExplanationCreator.setFeatureModel(fm);
 		falseOptionalFeatureExplanationCreator.setFeatureModel(fm);
 		redundantConstraintExplanationCreator.setFeatureModel(fm);
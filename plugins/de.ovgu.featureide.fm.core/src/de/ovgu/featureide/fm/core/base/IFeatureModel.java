@@ -776,4 +776,26 @@ public interface IFeatureModel extends Cloneable, IEventManager {
 	 */
 	void setConstraint(int index, IConstraint constraint);
 
+	/**
+	 * Starts an event transaction for bulk modifications. Until the corresponding call of {@link #commitEventTransaction()}, events fired by this feature model
+	 * are collected and merged per source and type instead of being delivered one by one. Transactions can be nested. Events fired by the features and
+	 * constraints themselves are not affected.
+	 *
+	 * @see #commitEventTransaction()
+	 * @see de.ovgu.featureide.fm.core.base.event.DefaultEventManager#beginTransaction()
+	 *
+	 * @since 3.6
+	 */
+	void beginEventTransaction();
+
+	/**
+	 * Ends an event transaction started by {@link #beginEventTransaction()} and, if it is the outermost one, fires the collected events. Should be called in a
+	 * finally block.
+	 *
+	 * @see #beginEventTransaction()
+	 *
+	 * @since 3.6
+	 */
+	void commitEventTransaction();
+
 }
@@ -20,31 +20,105 @@
  */
 package de.ovgu.featureide.fm.core.base.event;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 import de.ovgu.featureide.fm.core.Logger;
+import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent.EventType;
 
 /**
- * Default implementation of {@link IEventManager}.
+ * Default implementation of {@link IEventManager}.<br> <br> Listeners are kept in a copy-on-write list, so firing an event does not block adding or
+ * removing listeners. Listeners that implement {@link IAsyncEventListener} are called on a separate dispatcher thread.<br> Between
+ * {@link #beginTransaction()} and {@link #commitTransaction()}, events are collected instead of fired. Events with the same source and type are merged into
+ * one event with the first old value and the last new value. At commit, the merged events are fired in the order of their first occurrence.
  *
  * @author Sebastian Krieter
  */
 public class DefaultEventManager implements IEventManager, IEventListener {
 
-	protected final List<IEventListener> listenerList = new LinkedList<>();
+	private static final class EventKey {
 
-	@Override
-	public synchronized void addListener(IEventListener listener) {
-		if (!listenerList.contains(listener)) {
-			listenerList.add(listener);
+		private final Object source;
+		private final EventType eventType;
+
+		private EventKey(FeatureIDEEvent event) {
+			source = event.getSource();
+			eventType = event.getEventType();
+		}
+
+		@Override
+		public int hashCode() {
+			return (31 * System.identityHashCode(source)) + (eventType == null ? 0 : eventType.hashCode());
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if ((obj == null) || (getClass() != obj.getClass())) {
+				return false;
+			}
+			final EventKey other = (EventKey) obj;
+			return (source == other.source) && (eventType == other.eventType);
+		}
+
+	}
+
+	private static ExecutorService asyncExecutor = null;
+
+	/**
+	 * All asynchronous listeners share one thread, so they receive the events in the order in which they were fired.
+	 */
+	private static synchronized ExecutorService getAsyncExecutor() {
+		if (asyncExecutor == null) {
+			asyncExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+
+				@Override
+				public Thread newThread(Runnable runnable) {
+					final Thread thread = new Thread(runnable, "FeatureIDE Event Dispatcher");
+					thread.setDaemon(true);
+					return thread;
+				}
+
+			});
 		}
+		return asyncExecutor;
+	}
+
+	protected final CopyOnWriteArrayList<IEventListener> listenerList = new CopyOnWriteArrayList<>();
+
+	private int transactionDepth = 0;
+	private Map<EventKey, FeatureIDEEvent> pendingEvents = null;
+
+	@Override
+	public void addListener(IEventListener listener) {
+		listenerList.addIfAbsent(listener);
 	}
 
 	@Override
-	public synchronized void fireEvent(FeatureIDEEvent event) {
+	public void fireEvent(FeatureIDEEvent event) {
+		synchronized (this) {
+			if (transactionDepth > 0) {
+				final EventKey key = new EventKey(event);
+				final FeatureIDEEvent pendingEvent = pendingEvents.get(key);
+				pendingEvents.put(key, pendingEvent == null ? event
+					: new FeatureIDEEvent(event.getSource(), event.getEventType(), pendingEvent.getOldValue(), event.getNewValue()));
+				return;
+			}
+		}
 		for (final IEventListener listener : listenerList) {
-			callListener(event, listener);
+			if (listener instanceof IAsyncEventListener) {
+				callListenerAsync(event, listener);
+			} else {
+				callListener(event, listener);
+			}
 		}
 	}
 
@@ -56,8 +130,19 @@ public class DefaultEventManager implements IEventManager, IEventListener {
 		}
 	}
 
+	private void callListenerAsync(final FeatureIDEEvent event, final IEventListener listener) {
+		getAsyncExecutor().execute(new Runnable() {
+
+			@Override
+			public void run() {
+				callListener(event, listener);
+			}
+
+		});
+	}
+
 	@Override
-	public synchronized void removeListener(IEventListener listener) {
+	public void removeListener(IEventListener listener) {
 		listenerList.remove(listener);
 	}
 
@@ -66,4 +151,40 @@ public class DefaultEventManager implements IEventManager, IEventListener {
 		fireEvent(event);
 	}
 
+	/**
+	 * Starts collecting events until the corresponding call of {@link #commitTransaction()}. Transactions can be nested, the events are fired when the
+	 * outermost transaction is committed. Must be followed by {@link #commitTransaction()} in a finally block.
+	 */
+	public synchronized void beginTransaction() {
+		if (transactionDepth++ == 0) {
+			pendingEvents = new LinkedHashMap<>();
+		}
+	}
+
+	/**
+	 * Ends a transaction started by {@link #beginTransaction()}. If it is the outermost transaction, fires the collected events.
+	 *
+	 * @throws IllegalStateException if there is no transaction
+	 */
+	public void commitTransaction() {
+		final List<FeatureIDEEvent> events;
+		synchronized (this) {
+			if (transactionDepth == 0) {
+				throw new IllegalStateException("No transaction");
+			}
+			if (--transactionDepth > 0) {
+				return;
+			}
+			events = new ArrayList<>(pendingEvents.values());
+			pendingEvents = null;
+		}
+		for (final FeatureIDEEvent event : events) {
+			fireEvent(event);
+		}
+	}
+
+	public synchronized boolean isInTransaction() {
+		return transactionDepth > 0;
+	}
+
 }
@@ -258,6 +258,20 @@ public class FeatureModel implements IFeatureModel {
 		eventManager.fireEvent(event);
 	}
 
+	@Override
+	public void beginEventTransaction() {
+		if (eventManager instanceof DefaultEventManager) {
+			((DefaultEventManager) eventManager).beginTransaction();
+		}
+	}
+
+	@Override
+	public void commitEventTransaction() {
+		if (eventManager instanceof DefaultEventManager) {
+			((DefaultEventManager) eventManager).commitTransaction();
+		}
+	}
+
 	protected void fireEvent(final EventType action) {
 		fireEvent(new FeatureIDEEvent(this, action, Boolean.FALSE, Boolean.TRUE));
 	}
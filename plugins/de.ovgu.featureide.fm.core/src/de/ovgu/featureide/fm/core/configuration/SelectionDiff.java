@@ -0,0 +1,113 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.configuration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The features of a {@link Configuration} whose manual or automatic selection changed since a previous state of the configuration.<br> The states are stored
+ * as one byte per feature in the order of {@link Configuration#getFeatures()}, so views can keep the last displayed state and update only the changed
+ * features after a propagation.
+ */
+public class SelectionDiff {
+
+	private final List<SelectableFeature> features;
+	private final int[] changedIndexes;
+	private final byte[] state;
+
+	/**
+	 * @param configuration the configuration
+	 * @return the current selection state of all features of the configuration
+	 */
+	public static byte[] getState(Configuration configuration) {
+		final List<SelectableFeature> features = configuration.getFeatures();
+		final byte[] state = new byte[features.size()];
+		int i = 0;
+		for (final SelectableFeature feature : features) {
+			state[i++] = getState(feature);
+		}
+		return state;
+	}
+
+	private static byte getState(SelectableFeature feature) {
+		return (byte) ((feature.getManual().ordinal() << 2) | feature.getAutomatic().ordinal());
+	}
+
+	/**
+	 * Compares the current state of the configuration with a previous state.
+	 *
+	 * @param configuration the configuration
+	 * @param oldState a state returned by {@link #getState(Configuration)} or {@link #getState()}, or {@code null} if all features should be considered as
+	 *        changed
+	 */
+	public SelectionDiff(Configuration configuration, byte[] oldState) {
+		features = configuration.getFeatures();
+		state = getState(configuration);
+		if ((oldState == null) || (oldState.length != state.length)) {
+			changedIndexes = new int[state.length];
+			for (int i = 0; i < changedIndexes.length; i++) {
+				changedIndexes[i] = i;
+			}
+		} else {
+			final int[] indexes = new int[state.length];
+			int count = 0;
+			for (int i = 0; i < state.length; i++) {
+				if (state[i] != oldState[i]) {
+					indexes[count++] = i;
+				}
+			}
+			changedIndexes = Arrays.copyOf(indexes, count);
+		}
+	}
+
+	/**
+	 * @return the indexes of the changed features in {@link Configuration#getFeatures()}
+	 */
+	public int[] getChangedIndexes() {
+		return changedIndexes;
+	}
+
+	public List<SelectableFeature> getChangedFeatures() {
+		final List<SelectableFeature> changedFeatures = new ArrayList<>(changedIndexes.length);
+		for (final int index : changedIndexes) {
+			changedFeatures.add(features.get(index));
+		}
+		return changedFeatures;
+	}
+
+	/**
+	 * @return the state of the configuration after the changes, to be compared with a later state
+	 */
+	public byte[] getState() {
+		return state;
+	}
+
+	public boolean isEmpty() {
+		return changedIndexes.length == 0;
+	}
+
+	public int size() {
+		return changedIndexes.length;
+	}
+
+}
@@ -23,17 +23,17 @@ package de.ovgu.featureide.fm.core.configuration;
 import java.util.List;
 import java.util.regex.Pattern;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NamedNodeMap;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import de.ovgu.featureide.fm.core.PluginID;
 import de.ovgu.featureide.fm.core.io.IConfigurationFormat;
 import de.ovgu.featureide.fm.core.io.LazyReader;
 import de.ovgu.featureide.fm.core.io.Problem;
 import de.ovgu.featureide.fm.core.io.UnsupportedModelException;
-import de.ovgu.featureide.fm.core.io.xml.AXMLFormat;
-import de.ovgu.featureide.fm.core.io.xml.PositionalXMLHandler;
+import de.ovgu.featureide.fm.core.io.xml.AXMLStreamFormat;
+import de.ovgu.featureide.fm.core.io.xml.IndentingXMLWriter;
 import de.ovgu.featureide.fm.core.localization.StringTable;
 
 /**
@@ -41,7 +41,7 @@ import de.ovgu.featureide.fm.core.localization.StringTable;
  *
  * @author Sebastian Krieter
  */
-public class XMLConfFormat extends AXMLFormat<Configuration> implements IConfigurationFormat {
+public class XMLConfFormat extends AXMLStreamFormat<Configuration> implements IConfigurationFormat {
 
 	private static final String NODE_FEATURE = "feature";
 	private static final String ATTRIBUTE_NAME = "name";
@@ -58,68 +58,84 @@ public class XMLConfFormat extends AXMLFormat<Configuration> implements IConfigu
 	}
 
 	@Override
-	protected void readDocument(Document doc, List<Problem> warnings) throws UnsupportedModelException {
+	protected void readDocument(XMLStreamReader reader, List<Problem> warnings) throws XMLStreamException, UnsupportedModelException {
 		object.resetValues();
 
-		final Element root = doc.getDocumentElement();
-		if (root == null) {
+		if (!nextElement(reader)) {
 			warnings.add(new Problem("No root element specified", 1, Problem.Severity.ERROR));
 			return;
 		}
-		if (root.getNodeName().equals("configuration")) {
-			for (final Element feature : getElements(root.getElementsByTagName(NODE_FEATURE))) {
-				final SelectableFeature selectablefeature;
-				if (feature.hasAttribute(ATTRIBUTE_NAME)) {
-					final String featureName = feature.getAttribute(ATTRIBUTE_NAME);
-					selectablefeature = object.getSelectablefeature(object.getFeatureModel().getRenamingsManager().getNewName(featureName));
-					if (selectablefeature == null) {
-						createWarning("Invalid feature name: " + featureName, feature, warnings);
-						continue;
+		if (reader.getLocalName().equals("configuration")) {
+			int depth = 1;
+			while ((depth > 0) && reader.hasNext()) {
+				switch (reader.next()) {
+				case XMLStreamConstants.START_ELEMENT:
+					depth++;
+					if (reader.getLocalName().equals(NODE_FEATURE)) {
+						readFeature(reader, warnings);
 					}
-				} else {
-					createError("No feature name specified", feature, warnings);
-					continue;
+					break;
+				case XMLStreamConstants.END_ELEMENT:
+					depth--;
+					break;
+				default:
+					break;
 				}
+			}
+		} else {
+			warnings.add(new Problem("Root element must be <configuration>", 1, Problem.Severity.ERROR));
+		}
+	}
 
-				if (feature.hasAttribute(ATTRIBUTE_MANUAL)) {
-					selectablefeature.setManual(getSelection(feature.getAttribute(ATTRIBUTE_MANUAL), feature, warnings));
-				}
-				if (feature.hasAttribute(ATTRIBUTE_AUTOMATIC)) {
-					selectablefeature.setAutomatic(getSelection(feature.getAttribute(ATTRIBUTE_AUTOMATIC), feature, warnings));
-				}
+	private void readFeature(XMLStreamReader reader, List<Problem> warnings) {
+		final int lineNumber = getLineNumber(reader);
+		final SelectableFeature selectablefeature;
+		final String featureName = reader.getAttributeValue(null, ATTRIBUTE_NAME);
+		if (featureName != null) {
+			selectablefeature = object.getSelectablefeature(object.getFeatureModel().getRenamingsManager().getNewName(featureName));
+			if (selectablefeature == null) {
+				createWarning("Invalid feature name: " + featureName, lineNumber, warnings);
+				return;
+			}
+		} else {
+			createError("No feature name specified", lineNumber, warnings);
+			return;
+		}
 
-				final NamedNodeMap attributes = feature.getAttributes();
-				if (attributes.getLength() > 3) {
-					for (int i = 0; i < attributes.getLength(); i++) {
-						final String attributeName = attributes.item(i).getNodeName();
-						switch (attributeName) {
-						case ATTRIBUTE_NAME:
-						case ATTRIBUTE_MANUAL:
-						case ATTRIBUTE_AUTOMATIC:
-							break;
-						default:
-							createWarning("Unknown attribute: " + attributeName, feature, warnings);
-							break;
-						}
-					}
+		final String manual = reader.getAttributeValue(null, ATTRIBUTE_MANUAL);
+		if (manual != null) {
+			selectablefeature.setManual(getSelection(manual));
+		}
+		final String automatic = reader.getAttributeValue(null, ATTRIBUTE_AUTOMATIC);
+		if (automatic != null) {
+			selectablefeature.setAutomatic(getSelection(automatic));
+		}
+
+		if (reader.getAttributeCount() > 3) {
+			for (int i = 0; i < reader.getAttributeCount(); i++) {
+				final String attributeName = reader.getAttributeLocalName(i);
+				switch (attributeName) {
+				case ATTRIBUTE_NAME:
+				case ATTRIBUTE_MANUAL:
+				case ATTRIBUTE_AUTOMATIC:
+					break;
+				default:
+					createWarning("Unknown attribute: " + attributeName, lineNumber, warnings);
+					break;
 				}
 			}
-		} else {
-			warnings.add(new Problem("Root element must be <configuration>", 1, Problem.Severity.ERROR));
 		}
 	}
 
-	protected void createWarning(final String message, Element element, List<Problem> warnings) {
-		final Object lineNumber = element.getUserData(PositionalXMLHandler.LINE_NUMBER_KEY_NAME);
-		warnings.add(new Problem(message, (lineNumber instanceof Integer) ? (int) lineNumber : 1, Problem.Severity.WARNING));
+	protected void createWarning(final String message, int lineNumber, List<Problem> warnings) {
+		warnings.add(new Problem(message, lineNumber, Problem.Severity.WARNING));
 	}
 
-	protected void createError(final String message, Element element, List<Problem> warnings) {
-		final Object lineNumber = element.getUserData(PositionalXMLHandler.LINE_NUMBER_KEY_NAME);
-		warnings.add(new Problem(message, (lineNumber instanceof Integer) ? (int) lineNumber : 1, Problem.Severity.ERROR));
+	protected void createError(final String message, int lineNumber, List<Problem> warnings) {
+		warnings.add(new Problem(message, lineNumber, Problem.Severity.ERROR));
 	}
 
-	private Selection getSelection(String selection, Element feature, List<Problem> warnings) {
+	private Selection getSelection(String selection) {
 		if (selection == null) {
 			return Selection.UNDEFINED;
 		} else {
@@ -150,24 +166,23 @@ public class XMLConfFormat extends AXMLFormat<Configuration> implements IConfigu
 	}
 
 	@Override
-	protected void writeDocument(Document doc) {
-		final Element root = doc.createElement("configuration");
-		doc.appendChild(root);
+	protected void writeDocument(IndentingXMLWriter writer) throws XMLStreamException {
+		writer.writeStartElement("configuration");
 		for (final SelectableFeature feature : object.getFeatures()) {
 			if ((feature.getManual() == Selection.UNDEFINED) && (feature.getAutomatic() == Selection.UNDEFINED)) {
 				continue;
 			}
-			final Element featureNode = doc.createElement(NODE_FEATURE);
-			featureNode.setAttribute(ATTRIBUTE_NAME, feature.getName());
+			writer.writeStartElement(NODE_FEATURE);
+			writer.writeAttribute(ATTRIBUTE_NAME, feature.getName());
 			if (feature.getManual() != Selection.UNDEFINED) {
-				featureNode.setAttribute(ATTRIBUTE_MANUAL, getSelectionString(feature.getManual()));
+				writer.writeAttribute(ATTRIBUTE_MANUAL, getSelectionString(feature.getManual()));
 			}
 			if (feature.getAutomatic() != Selection.UNDEFINED) {
-				featureNode.setAttribute(ATTRIBUTE_AUTOMATIC, getSelectionString(feature.getAutomatic()));
+				writer.writeAttribute(ATTRIBUTE_AUTOMATIC, getSelectionString(feature.getAutomatic()));
 			}
-			root.appendChild(featureNode);
-
+			writer.writeEndElement();
 		}
+		writer.writeEndElement();
 	}
 
 	@Override
@@ -0,0 +1,401 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.daemon;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.prop4j.analyses.CoreDeadAnalysis;
+import org.prop4j.analyses.CountSolutionAnalysis;
+import org.prop4j.analyses.PairWiseConfigurationGenerator;
+import org.prop4j.analyses.RandomConfigurationGenerator;
+import org.prop4j.solver.BasicSolver;
+import org.prop4j.solver.ISatSolver;
+import org.prop4j.solver.SatInstance;
+import org.sat4j.specs.ContradictionException;
+
+import de.ovgu.featureide.fm.core.Logger;
+import de.ovgu.featureide.fm.core.daemon.ModelCache.CachedModel;
+import de.ovgu.featureide.fm.core.job.LongRunningMethod;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor.MethodCancelException;
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
+
+/**
+ * Runs analyses on feature models for scripts without starting Eclipse or a new JVM for every analysis. Parsed models and their CNFs are kept in a
+ * {@link ModelCache} between requests.<br> <br> The daemon reads one request per line from stdin and writes one response per line to stdout. Fields are
+ * separated by tabs, lists of features by commas. Each request starts with an id chosen by the client, which is repeated in the response: <pre>
+ * request:  &lt;id&gt; &lt;command&gt; &lt;arguments...&gt;
+ * response: &lt;id&gt; OK &lt;results...&gt; | &lt;id&gt; ERROR &lt;message&gt; | &lt;id&gt; CANCELED</pre> Commands: <ul> <li><b>load</b> model &rarr;
+ * number of features, number of constraints</li> <li><b>unload</b> model</li> <li><b>core</b> model &rarr; core features</li> <li><b>dead</b> model &rarr;
+ * dead features</li> <li><b>count</b> model [timeout in ms] &rarr; number of configurations (prefixed with &gt;= if the timeout was reached)</li>
+ * <li><b>sample</b> model pairwise|random max &rarr; one field per configuration</li> <li><b>validate</b> model configuration... &rarr; true or false for each
+ * configuration given as list of selected features</li> <li><b>cancel</b> id</li> <li><b>quit</b> (cancels all pending requests)</li> </ul> Up to
+ * <i>threads</i> requests are processed concurrently in the order they arrive. If <i>queue</i> requests are already waiting, further requests are rejected
+ * with an error. At the end of the input, the daemon waits for all pending requests.
+ */
+public class AnalysisDaemon {
+
+	public static final String OK = "OK";
+	public static final String ERROR = "ERROR";
+	public static final String CANCELED = "CANCELED";
+
+	public static final String LOAD = "load";
+	public static final String UNLOAD = "unload";
+	public static final String CORE = "core";
+	public static final String DEAD = "dead";
+	public static final String COUNT = "count";
+	public static final String SAMPLE = "sample";
+	public static final String VALIDATE = "validate";
+	public static final String CANCEL = "cancel";
+	public static final String QUIT = "quit";
+
+	private static final String FIELD_SEPARATOR = "\t";
+	private static final String LIST_SEPARATOR = ",";
+
+	private class Request implements Runnable {
+
+		private final String id;
+		private final String command;
+		private final String[] arguments;
+		private final IMonitor monitor = new NullMonitor();
+
+		private boolean canceled = false;
+		private Thread thread = null;
+
+		private Request(String id, String command, String[] arguments) {
+			this.id = id;
+			this.command = command;
+			this.arguments = arguments;
+		}
+
+		@Override
+		public void run() {
+			synchronized (this) {
+				if (canceled) {
+					finish(CANCELED);
+					return;
+				}
+				thread = Thread.currentThread();
+			}
+			String[] response;
+			try {
+				final List<String> result = execute(this);
+				response = new String[result.size() + 1];
+				response[0] = OK;
+				for (int i = 0; i < result.size(); i++) {
+					response[i + 1] = result.get(i);
+				}
+			} catch (final MethodCancelException e) {
+				response = new String[] { CANCELED };
+			} catch (final Exception e) {
+				response = new String[] { ERROR, String.valueOf(e.getMessage()) };
+			}
+			synchronized (this) {
+				thread = null;
+				// clears a pending interrupt, so the thread can be reused
+				Thread.interrupted();
+				if (canceled) {
+					response = new String[] { CANCELED };
+				}
+			}
+			finish(response);
+		}
+
+		private synchronized void cancel() {
+			canceled = true;
+			monitor.cancel();
+			if (thread != null) {
+				thread.interrupt();
+			}
+		}
+
+		private void finish(String... response) {
+			runningRequests.remove(id, this);
+			respond(id, response);
+		}
+
+	}
+
+	public static void main(String[] args) {
+		int threads = Runtime.getRuntime().availableProcessors();
+		int queueSize = 64;
+		int cacheSize = 16;
+		for (int i = 0; i < (args.length - 1); i += 2) {
+			switch (args[i]) {
+			case "-threads":
+				threads = Integer.parseInt(args[i + 1]);
+				break;
+			case "-queue":
+				queueSize = Integer.parseInt(args[i + 1]);
+				break;
+			case "-cache":
+				cacheSize = Integer.parseInt(args[i + 1]);
+				break;
+			default:
+				System.err.println("Unknown option " + args[i]);
+				System.exit(1);
+			}
+		}
+
+		final OutputStream responses = new FileOutputStream(FileDescriptor.out);
+		// the standard output is reserved for the responses, log messages are written to the standard error
+		System.setOut(System.err);
+
+		final AnalysisDaemon daemon = new AnalysisDaemon(threads, queueSize, cacheSize, responses);
+		try {
+			daemon.run(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)));
+		} catch (final IOException e) {
+			Logger.logError(e);
+			System.exit(1);
+		}
+	}
+
+	private final ThreadPoolExecutor executor;
+	private final ModelCache modelCache;
+	private final Writer out;
+	private final ConcurrentMap<String, Request> runningRequests = new ConcurrentHashMap<>();
+
+	public AnalysisDaemon(int threads, int queueSize, int cacheSize, OutputStream out) {
+		threads = Math.max(1, threads);
+		executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(Math.max(1, queueSize)));
+		modelCache = new ModelCache(Math.max(1, cacheSize));
+		this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+	}
+
+	public ModelCache getModelCache() {
+		return modelCache;
+	}
+
+	/**
+	 * Processes requests until the input ends or a quit request is read. Waits for all accepted requests before returning.
+	 *
+	 * @param in the source of the requests
+	 */
+	public void run(BufferedReader in) throws IOException {
+		try {
+			for (String line = in.readLine(); line != null; line = in.readLine()) {
+				if (!line.trim().isEmpty() && !handle(line)) {
+					break;
+				}
+			}
+		} finally {
+			executor.shutdown();
+			try {
+				executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+			} catch (final InterruptedException e) {
+				executor.shutdownNow();
+			}
+		}
+	}
+
+	/**
+	 * @param line a request
+	 * @return {@code false} if the daemon should stop
+	 */
+	public boolean handle(String line) {
+		final String[] fields = line.split(FIELD_SEPARATOR);
+		final String id = fields[0];
+		if (fields.length < 2) {
+			respond(id, ERROR, "Missing command");
+			return true;
+		}
+		final String command = fields[1];
+		final String[] arguments = Arrays.copyOfRange(fields, 2, fields.length);
+		switch (command) {
+		case QUIT:
+			for (final Request request : runningRequests.values()) {
+				request.cancel();
+			}
+			respond(id, OK);
+			return false;
+		case CANCEL:
+			final Request request = (arguments.length > 0) ? runningRequests.get(arguments[0]) : null;
+			if (request == null) {
+				respond(id, ERROR, "No such request");
+			} else {
+				request.cancel();
+				respond(id, OK);
+			}
+			return true;
+		default:
+			final Request newRequest = new Request(id, command, arguments);
+			if (runningRequests.putIfAbsent(id, newRequest) != null) {
+				respond(id, ERROR, "Duplicate id");
+				return true;
+			}
+			try {
+				executor.execute(newRequest);
+			} catch (final RejectedExecutionException e) {
+				runningRequests.remove(id, newRequest);
+				respond(id, ERROR, "Queue is full");
+			}
+			return true;
+		}
+	}
+
+	private List<String> execute(Request request) throws Exception {
+		final String[] arguments = request.arguments;
+		if (arguments.length == 0) {
+			throw new IllegalArgumentException("Missing model");
+		}
+		if (UNLOAD.equals(request.command)) {
+			modelCache.remove(Paths.get(arguments[0]));
+			return new ArrayList<>();
+		}
+		final CachedModel model = modelCache.get(Paths.get(arguments[0]));
+		request.monitor.checkCancel();
+		switch (request.command) {
+		case LOAD:
+			return Arrays.asList(Integer.toString(model.getFeatureModel().getNumberOfFeatures()),
+					Integer.toString(model.getFeatureModel().getConstraintCount()));
+		case CORE:
+		case DEAD:
+			final SatInstance satInstance = model.getSatInstance();
+			final int[] coreDead = runAnalysis(new CoreDeadAnalysis(satInstance), request.monitor);
+			final boolean core = CORE.equals(request.command);
+			final List<String> features = new ArrayList<>();
+			for (final String literal : satInstance.convertToString(coreDead, core, !core)) {
+				features.add(core ? literal : literal.substring(1));
+			}
+			return Arrays.asList(join(features));
+		case COUNT:
+			final long timeout = (arguments.length > 1) ? Long.parseLong(arguments[1]) : ISatSolver.DEFAULT_TIMEOUT;
+			final long count = runAnalysis(new CountSolutionAnalysis(model.getSatInstance(), timeout), request.monitor);
+			return Arrays.asList(count < 0 ? ">=" + (-1 - count) : Long.toString(count));
+		case SAMPLE:
+			if (arguments.length < 3) {
+				throw new IllegalArgumentException("Usage: sample model pairwise|random max");
+			}
+			final int max = Integer.parseInt(arguments[2]);
+			final PairWiseConfigurationGenerator generator;
+			switch (arguments[1]) {
+			case "pairwise":
+				generator = new PairWiseConfigurationGenerator(model.getConcreteSatInstance(), max);
+				break;
+			case "random":
+				generator = new RandomConfigurationGenerator(model.getConcreteSatInstance(), max);
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown sampling algorithm " + arguments[1]);
+			}
+			final List<String> configurations = new ArrayList<>();
+			for (final List<String> configuration : runAnalysis(generator, request.monitor)) {
+				configurations.add(join(configuration));
+			}
+			return configurations;
+		case VALIDATE:
+			final List<String> results = new ArrayList<>();
+			for (int i = 1; i < arguments.length; i++) {
+				request.monitor.checkCancel();
+				results.add(Boolean.toString(isValid(model, arguments[i])));
+			}
+			return results;
+		default:
+			throw new IllegalArgumentException("Unknown command " + request.command);
+		}
+	}
+
+	private static <T> T runAnalysis(LongRunningMethod<T> analysis, IMonitor monitor) {
+		final T result = LongRunningWrapper.runMethod(analysis, monitor);
+		monitor.checkCancel();
+		if (result == null) {
+			throw new IllegalStateException("Analysis failed, the feature model may be void");
+		}
+		return result;
+	}
+
+	/**
+	 * A configuration is valid if the selected features and the deselection of all other concrete features satisfy the feature model. Abstract features that
+	 * are not selected explicitly may have any value.
+	 */
+	private static boolean isValid(CachedModel model, String configuration) throws ContradictionException {
+		final SatInstance satInstance = model.getSatInstance();
+		final List<String> selectedFeatures = configuration.isEmpty() ? new ArrayList<String>() : Arrays.asList(configuration.split(LIST_SEPARATOR));
+		final BasicSolver solver = new BasicSolver(satInstance);
+		for (final String feature : selectedFeatures) {
+			if (model.getFeatureModel().getFeature(feature) == null) {
+				throw new IllegalArgumentException("Unknown feature " + feature);
+			}
+			solver.assignmentPush(satInstance.getVariable(feature));
+		}
+		for (final String feature : model.getConcreteFeatures()) {
+			if (!selectedFeatures.contains(feature)) {
+				solver.assignmentPush(-satInstance.getVariable(feature));
+			}
+		}
+		switch (solver.isSatisfiable()) {
+		case TRUE:
+			return true;
+		case FALSE:
+			return false;
+		default:
+			throw new IllegalStateException("Timeout");
+		}
+	}
+
+	private static String join(List<String> list) {
+		final StringBuilder sb = new StringBuilder();
+		for (final String element : list) {
+			if (sb.length() > 0) {
+				sb.append(LIST_SEPARATOR);
+			}
+			sb.append(element);
+		}
+		return sb.toString();
+	}
+
+	private void respond(String id, String... fields) {
+		final StringBuilder sb = new StringBuilder(id);
+		for (final String field : fields) {
+			sb.append(FIELD_SEPARATOR).append(field.replace('\t', ' ').replace('\n', ' ').replace('\r', ' '));
+		}
+		synchronized (out) {
+			try {
+				out.write(sb.toString());
+				out.write('\n');
+				out.flush();
+			} catch (final IOException e) {
+				Logger.logError(e);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,167 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.daemon;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.prop4j.Node;
+import org.prop4j.solver.SatInstance;
+
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.CNFType;
+import de.ovgu.featureide.fm.core.filter.AbstractFeatureFilter;
+import de.ovgu.featureide.fm.core.functional.Functional;
+import de.ovgu.featureide.fm.core.io.Problem;
+import de.ovgu.featureide.fm.core.io.Problem.Severity;
+import de.ovgu.featureide.fm.core.io.manager.FeatureModelManager;
+import de.ovgu.featureide.fm.core.io.manager.SimpleFileHandler;
+
+/**
+ * Keeps parsed feature models and their CNFs for the {@link AnalysisDaemon}. Entries are reloaded if the file was modified and the least recently used entry
+ * is removed if the cache is full.
+ */
+public class ModelCache {
+
+	/**
+	 * A parsed feature model and its lazily created CNFs.
+	 */
+	public static class CachedModel {
+
+		private final IFeatureModel featureModel;
+		private final long lastModified;
+		private final Set<String> concreteFeatures;
+
+		private SatInstance satInstance = null;
+		private SatInstance concreteSatInstance = null;
+
+		private CachedModel(IFeatureModel featureModel, long lastModified) {
+			this.featureModel = featureModel;
+			this.lastModified = lastModified;
+			concreteFeatures = new HashSet<>(Functional.toList(FeatureUtils.getConcreteFeatureNames(featureModel)));
+		}
+
+		public IFeatureModel getFeatureModel() {
+			return featureModel;
+		}
+
+		public Set<String> getConcreteFeatures() {
+			return concreteFeatures;
+		}
+
+		/**
+		 * @return The CNF of the feature model over all features.
+		 */
+		public synchronized SatInstance getSatInstance() {
+			if (satInstance == null) {
+				satInstance = new SatInstance(AdvancedNodeCreator.createRegularCNF(featureModel), FeatureUtils.getFeatureNamesList(featureModel));
+			}
+			return satInstance;
+		}
+
+		/**
+		 * @return The CNF of the feature model over the concrete features (abstract features are removed), as used for sampling.
+		 */
+		public synchronized SatInstance getConcreteSatInstance() {
+			if (concreteSatInstance == null) {
+				final AdvancedNodeCreator advancedNodeCreator = new AdvancedNodeCreator(featureModel, new AbstractFeatureFilter());
+				advancedNodeCreator.setCnfType(CNFType.Regular);
+				advancedNodeCreator.setIncludeBooleanValues(false);
+				final Node cnf = advancedNodeCreator.createNodes();
+				concreteSatInstance = new SatInstance(cnf, Functional.toList(FeatureUtils.getConcreteFeatureNames(featureModel)));
+			}
+			return concreteSatInstance;
+		}
+
+	}
+
+	private final Map<Path, CachedModel> cache;
+
+	public ModelCache(final int maxSize) {
+		cache = new LinkedHashMap<Path, CachedModel>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Entry<Path, CachedModel> eldest) {
+				return size() > maxSize;
+			}
+
+		};
+	}
+
+	/**
+	 * Returns the cached feature model for the given file. Parses the file if it is not in the cache or was modified since it was parsed.
+	 *
+	 * @param path the path of the feature model file
+	 * @return The cached model
+	 * @throws IOException if the file cannot be read or contains errors
+	 */
+	public CachedModel get(Path path) throws IOException {
+		final Path key = path.toAbsolutePath().normalize();
+		if (!Files.isRegularFile(key)) {
+			throw new IOException("File not found: " + key);
+		}
+		final long lastModified = Files.getLastModifiedTime(key).toMillis();
+		synchronized (cache) {
+			final CachedModel cachedModel = cache.get(key);
+			if ((cachedModel != null) && (cachedModel.lastModified == lastModified)) {
+				return cachedModel;
+			}
+		}
+
+		final SimpleFileHandler<IFeatureModel> fileHandler = FeatureModelManager.load(key);
+		for (final Problem problem : fileHandler.getLastProblems()) {
+			if (problem.getSeverity() == Severity.ERROR) {
+				throw new IOException(problem.getMessage());
+			}
+		}
+		if (fileHandler.getObject() == null) {
+			throw new IOException("Could not read " + key);
+		}
+		final CachedModel cachedModel = new CachedModel(fileHandler.getObject(), lastModified);
+		synchronized (cache) {
+			cache.put(key, cachedModel);
+		}
+		return cachedModel;
+	}
+
+	public boolean remove(Path path) {
+		synchronized (cache) {
+			return cache.remove(path.toAbsolutePath().normalize()) != null;
+		}
+	}
+
+	public int size() {
+		synchronized (cache) {
+			return cache.size();
+		}
+	}
+
+}
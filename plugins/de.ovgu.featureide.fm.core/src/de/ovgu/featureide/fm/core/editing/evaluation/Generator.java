@@ -36,10 +36,13 @@ import org.sat4j.specs.TimeoutException;
 
 import de.ovgu.featureide.fm.core.Logger;
 import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IConstraint;
 import de.ovgu.featureide.fm.core.base.IFeature;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
 import de.ovgu.featureide.fm.core.base.IFeatureStructure;
+import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent;
+import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent.EventType;
 import de.ovgu.featureide.fm.core.base.impl.Constraint;
 import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
 import de.ovgu.featureide.fm.core.functional.Functional;
@@ -69,8 +72,11 @@ public abstract class Generator {
 	public static IFeatureModel generateFeatureDiagram(Random random, int numberOfFeatures) {
 		final IFeatureModelFactory factory = FMFactoryManager.getDefaultFactory();
 		final IFeatureModel fm = factory.createFeatureModel();
+		final IFeature root = factory.createFeature(fm, "C1");
+		fm.addFeature(root);
+		fm.getStructure().setRoot(root.getStructure());
 		final List<IFeature> leaves = new LinkedList<IFeature>();
-		leaves.add(fm.getFeature("C1"));
+		leaves.add(root);
 		int count = 1;
 		while (count < numberOfFeatures) {
 			final int parentIndex = random.nextInt(leaves.size());
@@ -130,13 +136,17 @@ public abstract class Generator {
 					node = new Not(node);
 				}
 			}
-			fm.addConstraint(new Constraint(fm, node));
+			final IConstraint constraint = new Constraint(fm, node);
+			fm.addConstraint(constraint);
+			// resets the formula of the analyzer
+			fm.fireEvent(new FeatureIDEEvent(fm, EventType.CONSTRAINT_ADD, null, constraint));
 			try {
 				if (!valid || fm.getAnalyser().isValid()) {
 					i++;
 					System.out.println("E\t" + i + "\t" + node);
 				} else {
-					fm.getConstraints().remove(new Constraint(fm, node));
+					fm.removeConstraint(constraint);
+					fm.fireEvent(new FeatureIDEEvent(fm, EventType.CONSTRAINT_DELETE, constraint, null));
 					Logger.logInfo("F\t" + ++k + "\t" + node);
 				}
 			} catch (final TimeoutException e) {
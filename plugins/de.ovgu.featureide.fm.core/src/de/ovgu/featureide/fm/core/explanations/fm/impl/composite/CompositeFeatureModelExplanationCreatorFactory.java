@@ -22,6 +22,8 @@ package de.ovgu.featureide.fm.core.explanations.fm.impl.composite;
 
 import java.util.Arrays;
 
+import org.prop4j.explain.solvers.impl.sat4j.Sat4jMarcoSatSolverFactory;
+
 import de.ovgu.featureide.fm.core.explanations.fm.DeadFeatureExplanationCreator;
 import de.ovgu.featureide.fm.core.explanations.fm.FalseOptionalFeatureExplanationCreator;
 import de.ovgu.featureide.fm.core.explanations.fm.FeatureModelExplanationCreator;
@@ -37,10 +39,14 @@ import de.ovgu.featureide.fm.core.explanations.fm.impl.mus.MusFeatureModelExplan
  */
 public class CompositeFeatureModelExplanationCreatorFactory extends FeatureModelExplanationCreatorFactory {
 
+	/** The maximum time in milliseconds the MUS fallback spends per explanation. */
+	public static final long MUS_TIMEOUT = 2000;
+
 	/** Factory for LTMS. */
 	private final FeatureModelExplanationCreatorFactory ltms = new LtmsFeatureModelExplanationCreatorFactory();
-	/** Factory for MUS. */
-	private final FeatureModelExplanationCreatorFactory mus = new MusFeatureModelExplanationCreatorFactory();
+	/** Factory for MUS. Enumerates the MUSes incrementally, so the fallback returns the MUSes found within {@link #MUS_TIMEOUT}. */
+	private final FeatureModelExplanationCreatorFactory mus =
+		new MusFeatureModelExplanationCreatorFactory(new Sat4jMarcoSatSolverFactory(), 0, MUS_TIMEOUT);
 
 	@Override
 	public DeadFeatureExplanationCreator getDeadFeatureExplanationCreator() {
@@ -59,7 +59,7 @@ public class MusDeadFeatureExplanationCreator extends MusFeatureModelExplanation
 		oracle.push();
 		try {
 			oracle.addAssumption(NodeCreator.getVariable(getSubject()), true);
-			explanation = getExplanation(oracle.getAllMinimalUnsatisfiableSubsetIndexes());
+			explanation = getExplanation(getMinimalUnsatisfiableSubsetIndexes());
 		} finally {
 			oracle.pop();
 		}
@@ -20,6 +20,9 @@
  */
 package de.ovgu.featureide.fm.core.explanations.fm.impl.mus;
 
+import java.util.List;
+import java.util.Set;
+
 import org.prop4j.explain.solvers.MusExtractor;
 import org.prop4j.explain.solvers.SatSolverFactory;
 
@@ -39,6 +42,10 @@ public abstract class MusFeatureModelExplanationCreator<S, E extends FeatureMode
 
 	/** The solver factory used to create the oracle. */
 	private final SatSolverFactory solverFactory;
+	/** The maximum amount of MUSes to extract per explanation; unlimited if not positive. */
+	private int maxMusCount = 0;
+	/** The maximum time in milliseconds to spend extracting MUSes per explanation; unlimited if not positive. */
+	private long musTimeout = 0;
 
 	/**
 	 * Constructs a new instance of this class.
@@ -61,6 +68,52 @@ public abstract class MusFeatureModelExplanationCreator<S, E extends FeatureMode
 		return solverFactory;
 	}
 
+	/**
+	 * Returns the maximum amount of MUSes to extract per explanation.
+	 *
+	 * @return the maximum amount of MUSes; unlimited if not positive
+	 */
+	public int getMaxMusCount() {
+		return maxMusCount;
+	}
+
+	/**
+	 * Sets the maximum amount of MUSes to extract per explanation.
+	 *
+	 * @param maxMusCount the maximum amount of MUSes; unlimited if not positive
+	 */
+	public void setMaxMusCount(int maxMusCount) {
+		this.maxMusCount = maxMusCount;
+	}
+
+	/**
+	 * Returns the maximum time to spend extracting MUSes per explanation.
+	 *
+	 * @return the maximum time in milliseconds; unlimited if not positive
+	 */
+	public long getMusTimeout() {
+		return musTimeout;
+	}
+
+	/**
+	 * Sets the maximum time to spend extracting MUSes per explanation. If no MUS is found in time, no explanation is created.
+	 *
+	 * @param musTimeout the maximum time in milliseconds; unlimited if not positive
+	 */
+	public void setMusTimeout(long musTimeout) {
+		this.musTimeout = musTimeout;
+	}
+
+	/**
+	 * Returns the minimal unsatisfiable subsets of the oracle within the budget of this instance.
+	 *
+	 * @return the minimal unsatisfiable subsets referenced by index; not null
+	 * @throws IllegalStateException if the formula in the oracle is satisfiable
+	 */
+	protected List<Set<Integer>> getMinimalUnsatisfiableSubsetIndexes() throws IllegalStateException {
+		return getOracle().getAllMinimalUnsatisfiableSubsetIndexes(maxMusCount, musTimeout);
+	}
+
 	@Override
 	protected MusExtractor createOracle() {
 		final MusExtractor oracle = getSatSolverFactory().getMusExtractor();
@@ -22,6 +22,7 @@ package de.ovgu.featureide.fm.core.explanations.fm.impl.mus;
 
 import org.prop4j.explain.solvers.MusExtractor;
 import org.prop4j.explain.solvers.SatSolverFactory;
+import org.prop4j.explain.solvers.impl.sat4j.Sat4jMarcoSatSolverFactory;
 
 import de.ovgu.featureide.fm.core.explanations.fm.DeadFeatureExplanationCreator;
 import de.ovgu.featureide.fm.core.explanations.fm.FalseOptionalFeatureExplanationCreator;
@@ -38,6 +39,10 @@ public class MusFeatureModelExplanationCreatorFactory extends FeatureModelExplan
 
 	/** The solver factory used to create the oracle. */
 	private final SatSolverFactory solverFactory;
+	/** The maximum amount of MUSes to extract per explanation; unlimited if not positive. */
+	private final int maxMusCount;
+	/** The maximum time in milliseconds to spend extracting MUSes per explanation; unlimited if not positive. */
+	private final long musTimeout;
 
 	/**
 	 * Constructs a new instance of this class.
@@ -52,24 +57,44 @@ public class MusFeatureModelExplanationCreatorFactory extends FeatureModelExplan
 	 * @param solverFactory the solver factory used to create the oracle
 	 */
 	public MusFeatureModelExplanationCreatorFactory(SatSolverFactory solverFactory) {
+		this(solverFactory, 0, 0);
+	}
+
+	/**
+	 * Constructs a new instance of this class. The created explanation creators stop extracting MUSes as soon as the given budget is exhausted. Combined with
+	 * {@link Sat4jMarcoSatSolverFactory}, this yields the first explanations within a fixed latency.
+	 *
+	 * @param solverFactory the solver factory used to create the oracle
+	 * @param maxMusCount the maximum amount of MUSes to extract per explanation; unlimited if not positive
+	 * @param musTimeout the maximum time in milliseconds to spend extracting MUSes per explanation; unlimited if not positive
+	 */
+	public MusFeatureModelExplanationCreatorFactory(SatSolverFactory solverFactory, int maxMusCount, long musTimeout) {
 		if (solverFactory == null) {
 			solverFactory = SatSolverFactory.getDefault();
 		}
 		this.solverFactory = solverFactory;
+		this.maxMusCount = maxMusCount;
+		this.musTimeout = musTimeout;
 	}
 
 	@Override
 	public DeadFeatureExplanationCreator getDeadFeatureExplanationCreator() {
-		return new MusDeadFeatureExplanationCreator(solverFactory);
+		return setBudget(new MusDeadFeatureExplanationCreator(solverFactory));
 	}
 
 	@Override
 	public FalseOptionalFeatureExplanationCreator getFalseOptionalFeatureExplanationCreator() {
-		return new MusFalseOptionalFeatureExplanationCreator(solverFactory);
+		return setBudget(new MusFalseOptionalFeatureExplanationCreator(solverFactory));
 	}
 
 	@Override
 	public RedundantConstraintExplanationCreator getRedundantConstraintExplanationCreator() {
-		return new MusRedundantConstraintExplanationCreator(solverFactory);
+		return setBudget(new MusRedundantConstraintExplanationCreator(solverFactory));
+	}
+
+	private <T extends MusFeatureModelExplanationCreator<?, ?>> T setBudget(T creator) {
+		creator.setMaxMusCount(maxMusCount);
+		creator.setMusTimeout(musTimeout);
+		return creator;
 	}
 }
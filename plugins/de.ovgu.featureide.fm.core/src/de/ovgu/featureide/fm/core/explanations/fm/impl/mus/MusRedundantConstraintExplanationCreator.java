@@ -104,7 +104,7 @@ public class MusRedundantConstraintExplanationCreator extends MusFeatureModelExp
 			constraintClauseCount += redundantConstraintClauseCount;
 
 			// Get the explanation.
-			explanation = getExplanation(oracle.getAllMinimalUnsatisfiableSubsetIndexes());
+			explanation = getExplanation(getMinimalUnsatisfiableSubsetIndexes());
 		} finally {
 			oracle.pop();
 			getTraceModel().removeTraces(constraintClauseCount);
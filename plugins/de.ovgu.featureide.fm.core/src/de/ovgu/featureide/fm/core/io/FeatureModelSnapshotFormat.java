@@ -0,0 +1,748 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.prop4j.And;
+import org.prop4j.AtLeast;
+import org.prop4j.AtMost;
+import org.prop4j.Choose;
+import org.prop4j.Equals;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Not;
+import org.prop4j.Or;
+
+import de.ovgu.featureide.fm.core.PluginID;
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
+import de.ovgu.featureide.fm.core.base.IFeatureStructure;
+import de.ovgu.featureide.fm.core.base.IPropertyContainer.Entry;
+import de.ovgu.featureide.fm.core.base.IPropertyContainer.Type;
+import de.ovgu.featureide.fm.core.base.impl.ExtendedFeatureModel;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+import de.ovgu.featureide.fm.core.base.impl.FeaturePreOrderIterator;
+import de.ovgu.featureide.fm.core.filter.ConcreteFeatureFilter;
+import de.ovgu.featureide.fm.core.functional.Functional;
+
+/**
+ * Binary snapshot of a feature model.<br> A snapshot contains the feature tree, the constraints, the custom feature properties, the comments, and the
+ * calculation settings of a model together with a hash of the source file it was created from. Thus, a model can be restored from its snapshot without
+ * parsing the source file, as long as the hash matches (see {@link #computeSourceHash(IPersistentFormat, CharSequence)} and
+ * {@link #matches(byte[], byte[])}).<br> Constraints are stored as int sequences that reference the variables by their index.<br> <br> The methods
+ * {@link #read(IFeatureModel, CharSequence)} and {@link #write(IFeatureModel)} map each byte to one char (ISO-8859-1). Use
+ * {@link #read(IFeatureModel, byte[])} and {@link #write(IFeatureModel, byte[])} to work on the bytes directly.
+ */
+public class FeatureModelSnapshotFormat extends AFeatureModelFormat {
+
+	public static final String ID = PluginID.PLUGIN_ID + ".format.fm." + FeatureModelSnapshotFormat.class.getSimpleName();
+
+	/**
+	 * The version of the snapshot layout. Snapshots of other versions are never used and have to be rewritten.
+	 */
+	public static final int VERSION = 1;
+
+	private static final byte[] MAGIC = { 'F', 'I', 'D', 'E', 'S', 'N', 'A', 'P' };
+
+	private static final int LITERAL = 0, NOT = 1, AND = 2, OR = 3, IMPLIES = 4, EQUALS = 5, AT_MOST = 6, AT_LEAST = 7, CHOOSE = 8;
+
+	private static final int ABSTRACT = 1, MANDATORY = 2, HIDDEN = 4, GROUP_OR = 8, GROUP_ALTERNATIVE = 16;
+
+	/**
+	 * Encodes constraints as int sequences in prefix order. Each node starts with its type, followed by its variable (literals) or the number of its children
+	 * (all other nodes). Cardinality nodes additionally store their bound before the number of children.
+	 */
+	private static final class NodeEncoder {
+
+		private final Map<String, Integer> variableIndices = new HashMap<>();
+		private final List<String> additionalVariables = new ArrayList<>();
+		private final int featureCount;
+
+		private int[] tokens = new int[64];
+		private int length;
+
+		private NodeEncoder(List<IFeature> features) {
+			featureCount = features.size();
+			for (int i = 0; i < featureCount; i++) {
+				variableIndices.put(features.get(i).getName(), i);
+			}
+		}
+
+		private int[] encode(Node node) {
+			length = 0;
+			encodeNode(node);
+			return Arrays.copyOf(tokens, length);
+		}
+
+		private void encodeNode(Node node) {
+			final Class<?> nodeClass = node.getClass();
+			if (nodeClass == Literal.class) {
+				final Literal literal = (Literal) node;
+				if (!(literal.var instanceof String)) {
+					throw new UnsupportedOperationException("Variable " + literal.var + " is no string");
+				}
+				final int variable = getVariableIndex((String) literal.var) + 1;
+				add(LITERAL);
+				add(literal.positive ? variable : -variable);
+				return;
+			} else if (nodeClass == Not.class) {
+				add(NOT);
+			} else if (nodeClass == And.class) {
+				add(AND);
+			} else if (nodeClass == Or.class) {
+				add(OR);
+			} else if (nodeClass == Implies.class) {
+				add(IMPLIES);
+			} else if (nodeClass == Equals.class) {
+				add(EQUALS);
+			} else if (nodeClass == AtMost.class) {
+				add(AT_MOST);
+				add(((AtMost) node).max);
+			} else if (nodeClass == AtLeast.class) {
+				add(AT_LEAST);
+				add(((AtLeast) node).min);
+			} else if (nodeClass == Choose.class) {
+				add(CHOOSE);
+				add(((Choose) node).n);
+			} else {
+				throw new UnsupportedOperationException("Unsupported node type " + nodeClass.getName());
+			}
+			final Node[] children = node.getChildren();
+			add(children.length);
+			for (final Node child : children) {
+				encodeNode(child);
+			}
+		}
+
+		private int getVariableIndex(String variable) {
+			Integer index = variableIndices.get(variable);
+			if (index == null) {
+				index = featureCount + additionalVariables.size();
+				additionalVariables.add(variable);
+				variableIndices.put(variable, index);
+			}
+			return index;
+		}
+
+		private void add(int token) {
+			if (length == tokens.length) {
+				tokens = Arrays.copyOf(tokens, length << 1);
+			}
+			tokens[length++] = token;
+		}
+
+	}
+
+	/**
+	 * Decodes the int sequences written by {@link NodeEncoder}.
+	 */
+	private static final class NodeDecoder {
+
+		private final String[] variables;
+
+		private int[] tokens;
+		private int position;
+
+		private NodeDecoder(String[] variables) {
+			this.variables = variables;
+		}
+
+		private Node decode(int[] tokens) throws IOException {
+			this.tokens = tokens;
+			position = 0;
+			final Node node = decodeNode();
+			if (position != tokens.length) {
+				throw new IOException("Invalid constraint encoding");
+			}
+			return node;
+		}
+
+		private Node decodeNode() throws IOException {
+			final int type = next();
+			switch (type) {
+			case LITERAL:
+				final int variable = next();
+				final int index = Math.abs(variable) - 1;
+				if ((index < 0) || (index >= variables.length)) {
+					throw new IOException("Invalid variable index " + index);
+				}
+				return new Literal(variables[index], variable > 0);
+			case NOT:
+				return new Not(decodeChildren()[0]);
+			case AND:
+				return new And(decodeChildren());
+			case OR:
+				return new Or(decodeChildren());
+			case IMPLIES: {
+				final Node[] children = decodeChildren();
+				return new Implies(children[0], children[1]);
+			}
+			case EQUALS: {
+				final Node[] children = decodeChildren();
+				return new Equals(children[0], children[1]);
+			}
+			case AT_MOST: {
+				final int max = next();
+				return new AtMost(max, decodeChildren());
+			}
+			case AT_LEAST: {
+				final int min = next();
+				return new AtLeast(min, decodeChildren());
+			}
+			case CHOOSE: {
+				final int n = next();
+				return new Choose(n, decodeChildren());
+			}
+			default:
+				throw new IOException("Invalid node type " + type);
+			}
+		}
+
+		private Node[] decodeChildren() throws IOException {
+			final int childCount = next();
+			if ((childCount < 0) || (childCount > (tokens.length - position))) {
+				throw new IOException("Invalid number of children " + childCount);
+			}
+			final Node[] children = new Node[childCount];
+			for (int i = 0; i < childCount; i++) {
+				children[i] = decodeNode();
+			}
+			return children;
+		}
+
+		private int next() throws IOException {
+			if (position == tokens.length) {
+				throw new IOException("Unexpected end of constraint");
+			}
+			return tokens[position++];
+		}
+
+	}
+
+	/**
+	 * Computes the hash that identifies a source file for a snapshot. The hash covers the content of the file and the format it is read with.
+	 *
+	 * @param format the format of the source file
+	 * @param content the content of the source file
+	 * @return the hash of the source file
+	 */
+	public static byte[] computeSourceHash(IPersistentFormat<?> format, CharSequence content) {
+		try {
+			final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(format.getId().getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+			digest.update(content.toString().getBytes(StandardCharsets.UTF_8));
+			return digest.digest();
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Checks whether a snapshot has the current {@link #VERSION version} and was created from the source with the given hash.
+	 *
+	 * @param snapshot the content of a snapshot
+	 * @param sourceHash the hash of the source file
+	 * @return {@code true} if the snapshot can be used instead of the source file, {@code false} otherwise
+	 */
+	public static boolean matches(byte[] snapshot, byte[] sourceHash) {
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshot))) {
+			return readHeader(in) && Arrays.equals(sourceHash, readBytes(in));
+		} catch (final IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Snapshots only cover the plain feature model. Models with additional information, such as {@link ExtendedFeatureModel extended feature models}, are
+	 * not supported.
+	 *
+	 * @param featureModel the feature model
+	 * @return {@code true} if the given model can be stored in a snapshot
+	 */
+	public static boolean supportsModel(IFeatureModel featureModel) {
+		return !(featureModel instanceof ExtendedFeatureModel);
+	}
+
+	@Override
+	public boolean supportsRead() {
+		return true;
+	}
+
+	@Override
+	public boolean supportsWrite() {
+		return true;
+	}
+
+	@Override
+	public ProblemList read(IFeatureModel object, CharSequence source) {
+		return read(object, source.toString().getBytes(StandardCharsets.ISO_8859_1));
+	}
+
+	@Override
+	public String write(IFeatureModel object) {
+		return new String(write(object, new byte[0]), StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * Restores a feature model from a snapshot. The model is reset before.
+	 *
+	 * @param object the feature model
+	 * @param snapshot the content of the snapshot
+	 * @return the problems that occurred while reading
+	 */
+	public ProblemList read(IFeatureModel object, byte[] snapshot) {
+		final ProblemList problems = new ProblemList();
+		object.reset();
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshot))) {
+			if (!readHeader(in)) {
+				throw new IOException("Invalid snapshot version");
+			}
+			readBytes(in);
+			readFeatureModel(object, in);
+		} catch (IOException | RuntimeException e) {
+			object.reset();
+			problems.add(new Problem(e));
+		}
+		return problems;
+	}
+
+	/**
+	 * Creates a snapshot of a feature model.
+	 *
+	 * @param object the feature model
+	 * @param sourceHash the hash of the source file, see {@link #computeSourceHash(IPersistentFormat, CharSequence)}
+	 * @return the content of the snapshot
+	 *
+	 * @throws UnsupportedOperationException if a constraint contains nodes or variables that cannot be stored
+	 */
+	public byte[] write(IFeatureModel object, byte[] sourceHash) {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.write(MAGIC);
+			out.writeInt(VERSION);
+			writeBytes(out, sourceHash);
+			writeFeatureModel(object, out);
+		} catch (final IOException e) {
+			// cannot happen for a ByteArrayOutputStream
+			throw new IllegalStateException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	private void writeFeatureModel(IFeatureModel object, DataOutputStream out) throws IOException {
+		final List<IFeature> features = Functional.toList(object.getFeatures());
+		final Map<IFeature, Integer> featureIndices = new HashMap<>();
+		out.writeInt(features.size());
+		for (final IFeature feature : features) {
+			featureIndices.put(feature, featureIndices.size());
+			writeFeature(feature, out);
+		}
+
+		final IFeatureStructure root = object.getStructure().getRoot();
+		if (root == null) {
+			out.writeInt(-1);
+		} else {
+			out.writeInt(featureIndices.get(root.getFeature()));
+			writeChildren(root, featureIndices, out);
+		}
+
+		final NodeEncoder encoder = new NodeEncoder(features);
+		final List<IConstraint> constraints = object.getConstraints();
+		final List<int[]> encodedConstraints = new ArrayList<>(constraints.size());
+		for (final IConstraint constraint : constraints) {
+			encodedConstraints.add(encoder.encode(constraint.getNode()));
+		}
+		out.writeInt(encoder.additionalVariables.size());
+		for (final String variable : encoder.additionalVariables) {
+			writeString(out, variable);
+		}
+		out.writeInt(constraints.size());
+		for (int i = 0; i < constraints.size(); i++) {
+			writeString(out, constraints.get(i).getDescription());
+			final int[] tokens = encodedConstraints.get(i);
+			out.writeInt(tokens.length);
+			for (final int token : tokens) {
+				out.writeInt(token);
+			}
+		}
+
+		writeStrings(out, object.getProperty().getComments());
+		writeStrings(out, object.getProperty().getAnnotations());
+		out.writeBoolean(object.getProperty().isFeatureOrderInXML());
+
+		out.writeBoolean(object.getAnalyser().runCalculationAutomatically);
+		out.writeBoolean(object.getAnalyser().calculateFeatures);
+		out.writeBoolean(object.getAnalyser().calculateConstraints);
+		out.writeBoolean(object.getAnalyser().calculateRedundantConstraints);
+		out.writeBoolean(object.getAnalyser().calculateTautologyConstraints);
+
+		out.writeBoolean(object.isFeatureOrderUserDefined());
+		// an order that equals the default order is not stored, as the model computes it on demand
+		final List<String> featureOrderList = object.getFeatureOrderList();
+		if (featureOrderList.equals(Functional.mapToStringList(Functional.filter(new FeaturePreOrderIterator(object), new ConcreteFeatureFilter())))) {
+			writeStrings(out, new ArrayList<String>(0));
+		} else {
+			writeStrings(out, featureOrderList);
+		}
+	}
+
+	private void writeFeature(IFeature feature, DataOutputStream out) throws IOException {
+		writeString(out, feature.getName());
+		final IFeatureStructure structure = feature.getStructure();
+		int flags = 0;
+		if (structure.isAbstract()) {
+			flags |= ABSTRACT;
+		}
+		if (structure.isMandatory()) {
+			flags |= MANDATORY;
+		}
+		if (structure.isHidden()) {
+			flags |= HIDDEN;
+		}
+		if (structure.isOr()) {
+			flags |= GROUP_OR;
+		} else if (structure.isAlternative()) {
+			flags |= GROUP_ALTERNATIVE;
+		}
+		out.writeByte(flags);
+		writeString(out, feature.getProperty().getDescription());
+
+		final Set<Entry<String, Type, Object>> entries = feature.getCustomProperties().entrySet();
+		out.writeInt(entries.size());
+		for (final Entry<String, Type, Object> entry : entries) {
+			writeString(out, entry.getKey());
+			writeString(out, entry.getType().name());
+			writePropertyValue(out, entry.getType(), entry.getValue());
+		}
+	}
+
+	private void writeChildren(IFeatureStructure parent, Map<IFeature, Integer> featureIndices, DataOutputStream out) throws IOException {
+		final List<IFeatureStructure> children = parent.getChildren();
+		out.writeInt(children.size());
+		for (final IFeatureStructure child : children) {
+			out.writeInt(featureIndices.get(child.getFeature()));
+			writeChildren(child, featureIndices, out);
+		}
+	}
+
+	private void writePropertyValue(DataOutputStream out, Type type, Object value) throws IOException {
+		switch (type) {
+		case BOOLEAN:
+			out.writeBoolean((Boolean) value);
+			break;
+		case BYTE:
+			out.writeByte((Byte) value);
+			break;
+		case CHAR:
+			out.writeChar((Character) value);
+			break;
+		case DOUBLE:
+			out.writeDouble((Double) value);
+			break;
+		case FLOAT:
+			out.writeFloat((Float) value);
+			break;
+		case INT:
+			out.writeInt((Integer) value);
+			break;
+		case LONG:
+			out.writeLong((Long) value);
+			break;
+		case SHORT:
+			out.writeShort((Short) value);
+			break;
+		case STRING:
+			writeString(out, (String) value);
+			break;
+		default:
+			throw new UnsupportedOperationException("Unsupported value type for property: " + type);
+		}
+	}
+
+	private void readFeatureModel(IFeatureModel object, DataInputStream in) throws IOException {
+		final IFeatureModelFactory factory = FMFactoryManager.getFactory(object);
+
+		final IFeature[] features = new IFeature[readCount(in)];
+		for (int i = 0; i < features.length; i++) {
+			features[i] = readFeature(object, factory, in);
+			object.addFeature(features[i]);
+		}
+
+		final int rootIndex = in.readInt();
+		if (rootIndex >= 0) {
+			final IFeatureStructure root = getFeature(features, rootIndex).getStructure();
+			object.getStructure().setRoot(root);
+			readChildren(root, features, in);
+		}
+
+		final String[] variables = new String[features.length + readCount(in)];
+		for (int i = 0; i < features.length; i++) {
+			variables[i] = features[i].getName();
+		}
+		for (int i = features.length; i < variables.length; i++) {
+			variables[i] = readString(in);
+		}
+		final NodeDecoder decoder = new NodeDecoder(variables);
+		final int constraintCount = readCount(in);
+		for (int i = 0; i < constraintCount; i++) {
+			final String description = readString(in);
+			final int[] tokens = new int[readCount(in)];
+			for (int j = 0; j < tokens.length; j++) {
+				tokens[j] = in.readInt();
+			}
+			final IConstraint constraint = factory.createConstraint(object, decoder.decode(tokens));
+			if (description != null) {
+				constraint.setDescription(description);
+			}
+			object.addConstraint(constraint);
+		}
+
+		for (final String comment : readStrings(in)) {
+			object.getProperty().addComment(comment);
+		}
+		for (final String annotation : readStrings(in)) {
+			object.getProperty().addAnnotation(annotation);
+		}
+		object.getProperty().setFeatureOrderInXML(in.readBoolean());
+
+		object.getAnalyser().runCalculationAutomatically = in.readBoolean();
+		object.getAnalyser().calculateFeatures = in.readBoolean();
+		object.getAnalyser().calculateConstraints = in.readBoolean();
+		object.getAnalyser().calculateRedundantConstraints = in.readBoolean();
+		object.getAnalyser().calculateTautologyConstraints = in.readBoolean();
+
+		object.setFeatureOrderUserDefined(in.readBoolean());
+		final List<String> featureOrderList = readStrings(in);
+		if (!featureOrderList.isEmpty()) {
+			object.setFeatureOrderList(featureOrderList);
+		}
+
+		if (in.read() != -1) {
+			throw new IOException("Unexpected data at the end of the snapshot");
+		}
+	}
+
+	private IFeature readFeature(IFeatureModel object, IFeatureModelFactory factory, DataInputStream in) throws IOException {
+		final IFeature feature = factory.createFeature(object, readString(in));
+		final IFeatureStructure structure = feature.getStructure();
+		final int flags = in.readByte();
+		structure.setAbstract((flags & ABSTRACT) != 0);
+		structure.setMandatory((flags & MANDATORY) != 0);
+		structure.setHidden((flags & HIDDEN) != 0);
+		if ((flags & GROUP_OR) != 0) {
+			structure.setOr();
+		} else if ((flags & GROUP_ALTERNATIVE) != 0) {
+			structure.setAlternative();
+		} else {
+			structure.setAnd();
+		}
+		final String description = readString(in);
+		if (description != null) {
+			feature.getProperty().setDescription(description);
+		}
+
+		final int entryCount = readCount(in);
+		if (entryCount > 0) {
+			final Set<Entry<String, Type, Object>> entries = new HashSet<>();
+			for (int i = 0; i < entryCount; i++) {
+				final String key = readString(in);
+				final Type type = Type.valueOf(readString(in));
+				entries.add(new Entry<String, Type, Object>(key, type, readPropertyValue(in, type)));
+			}
+			feature.getCustomProperties().setEntrySet(entries);
+		}
+		return feature;
+	}
+
+	private void readChildren(IFeatureStructure parent, IFeature[] features, DataInputStream in) throws IOException {
+		final int childCount = readCount(in);
+		for (int i = 0; i < childCount; i++) {
+			final IFeatureStructure child = getFeature(features, in.readInt()).getStructure();
+			parent.addChild(child);
+			readChildren(child, features, in);
+		}
+	}
+
+	private Object readPropertyValue(DataInputStream in, Type type) throws IOException {
+		switch (type) {
+		case BOOLEAN:
+			return in.readBoolean();
+		case BYTE:
+			return in.readByte();
+		case CHAR:
+			return in.readChar();
+		case DOUBLE:
+			return in.readDouble();
+		case FLOAT:
+			return in.readFloat();
+		case INT:
+			return in.readInt();
+		case LONG:
+			return in.readLong();
+		case SHORT:
+			return in.readShort();
+		case STRING:
+			return readString(in);
+		default:
+			throw new IOException("Unsupported value type for property: " + type);
+		}
+	}
+
+	private static IFeature getFeature(IFeature[] features, int index) throws IOException {
+		if ((index < 0) || (index >= features.length)) {
+			throw new IOException("Invalid feature index " + index);
+		}
+		return features[index];
+	}
+
+	private static boolean readHeader(DataInputStream in) throws IOException {
+		final byte[] magic = new byte[MAGIC.length];
+		in.readFully(magic);
+		return Arrays.equals(MAGIC, magic) && (in.readInt() == VERSION);
+	}
+
+	private static int readCount(DataInputStream in) throws IOException {
+		final int count = in.readInt();
+		if ((count < 0) || (count > in.available())) {
+			throw new IOException("Invalid count " + count);
+		}
+		return count;
+	}
+
+	private static byte[] readBytes(DataInputStream in) throws IOException {
+		final byte[] bytes = new byte[readCount(in)];
+		in.readFully(bytes);
+		return bytes;
+	}
+
+	private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	/**
+	 * Strings are written as UTF-8 with a preceding length, as {@link DataOutputStream#writeUTF(String)} is limited to 64 KB. A length of -1 denotes
+	 * {@code null}.
+	 */
+	private static void writeString(DataOutputStream out, String string) throws IOException {
+		if (string == null) {
+			out.writeInt(-1);
+		} else {
+			writeBytes(out, string.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		final int length = in.readInt();
+		if (length == -1) {
+			return null;
+		}
+		if ((length < 0) || (length > in.available())) {
+			throw new IOException("Invalid string length " + length);
+		}
+		final byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void writeStrings(DataOutputStream out, Iterable<String> strings) throws IOException {
+		final List<String> list = new ArrayList<>();
+		for (final String string : strings) {
+			list.add(string);
+		}
+		out.writeInt(list.size());
+		for (final String string : list) {
+			writeString(out, string);
+		}
+	}
+
+	private static List<String> readStrings(DataInputStream in) throws IOException {
+		final int count = readCount(in);
+		final List<String> strings = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			strings.add(readString(in));
+		}
+		return strings;
+	}
+
+	@Override
+	public boolean supportsContent(CharSequence content) {
+		if (content.length() < MAGIC.length) {
+			return false;
+		}
+		for (int i = 0; i < MAGIC.length; i++) {
+			if (content.charAt(i) != MAGIC[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean supportsContent(LazyReader reader) {
+		while (reader.length() < MAGIC.length) {
+			if (!reader.expand()) {
+				return false;
+			}
+		}
+		return supportsContent((CharSequence) reader);
+	}
+
+	@Override
+	public String getSuffix() {
+		return "snapshot";
+	}
+
+	@Override
+	public FeatureModelSnapshotFormat getInstance() {
+		return this;
+	}
+
+	@Override
+	public String getId() {
+		return ID;
+	}
+
+	@Override
+	public String getName() {
+		return "FeatureIDE Snapshot";
+	}
+
+}
@@ -21,6 +21,8 @@
 package de.ovgu.featureide.fm.core.io.dimacs;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.text.ParseException;
 import java.util.Arrays;
 import java.util.Collections;
@@ -77,6 +79,30 @@ public class DIMACSFormat extends AFeatureModelFormat {
 		return problemList;
 	}
 
+	/**
+	 * Reads a feature model from a byte stream without creating a string of the whole input.
+	 *
+	 * @param featureModel the feature model to fill
+	 * @param source the DIMACS input; is not closed
+	 * @return the problems that occurred during reading
+	 */
+	public ProblemList read(IFeatureModel featureModel, InputStream source) {
+		final ProblemList problemList = new ProblemList();
+		setFactory(featureModel);
+
+		final DimacsReader r = new DimacsReader();
+		r.setReadingVariableDirectory(true);
+		try {
+			addNodeToFeatureModel(featureModel, r.read(source));
+		} catch (final IllegalStateException | IOException e) {
+			problemList.add(new Problem(e));
+		} catch (final ParseException e) {
+			problemList.add(new Problem(e, e.getErrorOffset()));
+		}
+
+		return problemList;
+	}
+
 	/**
 	 * Adds the given propositional node to the given feature model. The current implementation is naive in that it does not attempt to interpret any constraint
 	 * as {@link IFeatureStructure structure}.
@@ -112,6 +138,19 @@ public class DIMACSFormat extends AFeatureModelFormat {
 		return w.write(AdvancedNodeCreator.createRegularCNF(featureModel));
 	}
 
+	/**
+	 * Writes the CNF of a feature model to a byte stream without creating a string of the whole output.
+	 *
+	 * @param featureModel the feature model to write
+	 * @param target the stream to write to; is flushed but not closed
+	 * @throws IOException if the output cannot be written
+	 */
+	public void write(IFeatureModel featureModel, OutputStream target) throws IOException {
+		final DimacsWriter w = new DimacsWriter();
+		w.setWritingVariableDirectory(true);
+		w.write(AdvancedNodeCreator.createRegularCNF(featureModel), target);
+	}
+
 	@Override
 	public String getSuffix() {
 		return "dimacs";
@@ -20,18 +20,20 @@
  */
 package de.ovgu.featureide.fm.core.io.dimacs;
 
-import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
-import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.LinkedHashMap;
-import java.util.LinkedList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import javax.annotation.Nonnull;
 
@@ -41,18 +43,82 @@ import org.prop4j.Node;
 import org.prop4j.Or;
 
 /**
- * Transforms DIMACS CNF files into instances of {@link Node}.
+ * Transforms DIMACS CNF files into instances of {@link Node}.<br> The input is tokenized byte by byte, so it can be read from an {@link InputStream} or a
+ * (memory-mapped) {@link ByteBuffer} without creating a string per line or token. With an {@link IClauseHandler} the clauses can be processed as int arrays,
+ * e.g., to feed a solver, without creating any nodes.
  *
  * @author Timo G&uuml;nther
  * @author Sebastian Krieter
  */
 public class DimacsReader {
 
-	private static final Pattern commentPattern = Pattern.compile("\\A" + DIMACSFormat.COMMENT + "\\s*(.*)\\Z");
-	private static final Pattern problemPattern = Pattern.compile("\\A\\s*" + DIMACSFormat.PROBLEM + "\\s+" + DIMACSFormat.CNF + "\\s+(\\d+)\\s+(\\d+)");
+	/**
+	 * Receives the problem definition and the clauses while a DIMACS file is read.
+	 */
+	public interface IClauseHandler {
+
+		/**
+		 * Called once before the first clause.
+		 *
+		 * @param variableCount the amount of variables as declared in the problem definition
+		 * @param clauseCount the amount of clauses as declared in the problem definition
+		 */
+		void problem(int variableCount, int clauseCount);
+
+		/**
+		 * Called for each clause in the order of the input.
+		 *
+		 * @param literals the literals of the clause in DIMACS notation; the array is not reused by the reader
+		 */
+		void clause(int[] literals);
+
+	}
+
+	/**
+	 * Creates the {@link Node} representation of the clauses.
+	 */
+	private final class NodeHandler implements IClauseHandler {
+
+		private final List<Node> clauses = new ArrayList<>();
+		private Object[] variables = new Object[16];
+
+		@Override
+		public void problem(int variableCount, int clauseCount) {}
+
+		@Override
+		public void clause(int[] literals) {
+			final Node[] nodes = new Node[literals.length];
+			for (int j = 0; j < literals.length; j++) {
+				final int literal = literals[j];
+				nodes[j] = new Literal(getVariable(Math.abs(literal)), literal > 0);
+			}
+			clauses.add(new Or(nodes));
+		}
+
+		private Object getVariable(int index) {
+			if (index >= variables.length) {
+				variables = Arrays.copyOf(variables, Math.max(index + 1, variables.length << 1));
+			}
+			Object variable = variables[index];
+			if (variable == null) {
+				variable = directory.get(index);
+				if (variable == null) {
+					variable = String.valueOf(index);
+				}
+				variables[index] = variable;
+			}
+			return variable;
+		}
 
-	/** Maps indexes to variables. */
-	private final Map<Integer, Object> indexVariables = new LinkedHashMap<>();
+	}
+
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final int EOF = -1;
+
+	/** Maps indexes to variable names from the variable directory. */
+	private final Map<Integer, String> directory = new HashMap<>();
+	/** The indexes of all variables that occur in a clause. */
+	private final BitSet variables = new BitSet();
 	/**
 	 * The amount of variables as declared in the problem definition. May differ from the actual amount of variables found.
 	 */
@@ -61,8 +127,20 @@ public class DimacsReader {
 	private int clauseCount;
 	/** True to read the variable directory for naming variables. */
 	private boolean readVariableDirectory = false;
-	/** True when currently reading the comment section at the beginning of the file and parsing variable names. */
-	private boolean readingVariables;
+
+	/** The input that has not been tokenized yet. */
+	private ByteBuffer buffer;
+	/** The source to refill the buffer from or {@code null} if the buffer contains the whole input. */
+	private ReadableByteChannel channel;
+	/** The current byte or {@link #EOF}. */
+	private int current;
+	/** The line of the current byte. */
+	private int lineCount;
+
+	/** The literals of the current clause. */
+	private int[] literals = new int[32];
+	/** Bytes of the current comment. */
+	private byte[] commentBytes = new byte[256];
 
 	/**
 	 * <p> Sets the reading variable directory flag. If true, the reader will look for a variable directory in the comments. This contains names for the
@@ -86,89 +164,138 @@ public class DimacsReader {
 	 */
 	@Nonnull
 	public Node read(Reader in) throws ParseException, IOException {
-		readingVariables = readVariableDirectory;
-		try (final BufferedReader reader = new BufferedReader(in)) {
-			final LineIterator lineIterator = new LineIterator(reader);
-			lineIterator.nextLine();
-
-			readComments(lineIterator);
-			readProblem(lineIterator);
-			readComments(lineIterator);
-			readingVariables = false;
-
-			final Node[] clauses = readClauses(lineIterator);
-			final int actualVariableCount = indexVariables.size();
-			if (variableCount != actualVariableCount) {
-				throw new ParseException(String.format("Found %d instead of %d variables", actualVariableCount, variableCount), 1);
+		final StringBuilder sb = new StringBuilder();
+		try (final Reader reader = in) {
+			final char[] chars = new char[BUFFER_SIZE];
+			for (int n = reader.read(chars); n >= 0; n = reader.read(chars)) {
+				sb.append(chars, 0, n);
 			}
-			return new And(clauses);
-		} finally {
-			indexVariables.clear();
-			variableCount = -1;
-			clauseCount = -1;
 		}
+		return read(sb.toString());
 	}
 
-	private void readComments(final LineIterator lineIterator) {
-		for (String line = lineIterator.currentLine(); line != null; line = lineIterator.nextLine()) {
-			final Matcher matcher = commentPattern.matcher(line);
-			if (matcher.matches()) {
-				readComment(matcher.group(1)); // read comments ...
-			} else {
-				break; // ... until a non-comment token is found.
-			}
-		}
+	/**
+	 * Reads the input. Calls {@link #read(ByteBuffer)}.
+	 *
+	 * @param in The string to read from.
+	 * @return a CNF; not null
+	 * @throws IOException if the reader encounters a problem.
+	 * @throws ParseException if the input does not conform to the DIMACS CNF file format
+	 */
+	@Nonnull
+	public Node read(String in) throws ParseException, IOException {
+		return read(ByteBuffer.wrap(in.getBytes(StandardCharsets.UTF_8)));
 	}
 
-	private static class LineIterator {
-		private final BufferedReader reader;
-		private String line = null;
-		private int lineCount = 0;
+	/**
+	 * Reads the input.
+	 *
+	 * @param in The source to read from. Is not closed by this method.
+	 * @return a CNF; not null
+	 * @throws IOException if the reader encounters a problem.
+	 * @throws ParseException if the input does not conform to the DIMACS CNF file format
+	 */
+	@Nonnull
+	public Node read(InputStream in) throws ParseException, IOException {
+		final NodeHandler handler = new NodeHandler();
+		read(in, handler);
+		return new And(handler.clauses.toArray(new Node[0]));
+	}
 
-		public LineIterator(BufferedReader reader) {
-			this.reader = reader;
-		}
+	/**
+	 * Reads the input.
+	 *
+	 * @param in The source to read from, e.g., a memory-mapped file. Its position is not changed.
+	 * @return a CNF; not null
+	 * @throws IOException if the reader encounters a problem.
+	 * @throws ParseException if the input does not conform to the DIMACS CNF file format
+	 */
+	@Nonnull
+	public Node read(ByteBuffer in) throws ParseException, IOException {
+		final NodeHandler handler = new NodeHandler();
+		read(in, handler);
+		return new And(handler.clauses.toArray(new Node[0]));
+	}
 
-		public String nextLine() {
-			try {
-				do {
-					line = reader.readLine();
-					if (line == null) {
-						return null;
-					}
-					lineCount++;
-				} while (line.trim().isEmpty());
-				return line;
-			} catch (final IOException e) {
-				return null;
-			}
-		}
+	/**
+	 * Reads the input and passes the clauses to the given handler without creating any nodes.
+	 *
+	 * @param in The source to read from. Is not closed by this method.
+	 * @param handler The handler that receives the clauses.
+	 * @throws IOException if the reader encounters a problem.
+	 * @throws ParseException if the input does not conform to the DIMACS CNF file format
+	 */
+	public void read(InputStream in, IClauseHandler handler) throws ParseException, IOException {
+		final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		buffer.flip();
+		read(buffer, Channels.newChannel(in), handler);
+	}
 
-		public String currentLine() {
-			return line;
-		}
+	/**
+	 * Reads the input and passes the clauses to the given handler without creating any nodes.
+	 *
+	 * @param in The source to read from, e.g., a memory-mapped file. Its position is not changed.
+	 * @param handler The handler that receives the clauses.
+	 * @throws IOException if the reader encounters a problem.
+	 * @throws ParseException if the input does not conform to the DIMACS CNF file format
+	 */
+	public void read(ByteBuffer in, IClauseHandler handler) throws ParseException, IOException {
+		read(in.duplicate(), null, handler);
+	}
 
-		public void setCurrentLine(String line) {
-			this.line = line;
-		}
+	/**
+	 * @return the name of the variable with the given index from the variable directory of the last input or {@code null}
+	 */
+	public String getVariableName(int index) {
+		return directory.get(index);
+	}
 
-		public int getLineCount() {
-			return lineCount;
-		}
+	private void read(ByteBuffer buffer, ReadableByteChannel channel, IClauseHandler handler) throws ParseException, IOException {
+		this.buffer = buffer;
+		this.channel = channel;
+		directory.clear();
+		variables.clear();
+		variableCount = -1;
+		clauseCount = -1;
+		lineCount = 1;
+		try {
+			nextByte();
+			readHeader(handler);
+			readClauses(handler);
 
-	};
+			final int actualVariableCount = getActualVariableCount();
+			if (variableCount != actualVariableCount) {
+				throw new ParseException(String.format("Found %d instead of %d variables", actualVariableCount, variableCount), 1);
+			}
+		} finally {
+			this.buffer = null;
+			this.channel = null;
+		}
+	}
 
 	/**
-	 * Reads the input. Calls {@link #read(Reader)}.
+	 * Reads the comments before the problem definition and the problem definition itself.
 	 *
-	 * @param in The string to read from.
-	 * @return a CNF; not null
-	 * @throws IOException if the reader encounters a problem.
 	 * @throws ParseException if the input does not conform to the DIMACS CNF file format
 	 */
-	@Nonnull
-	public Node read(String in) throws ParseException, IOException {
-		return read(new StringReader(in));
+	private void readHeader(IClauseHandler handler) throws ParseException, IOException {
+		while (true) {
+			if (current == 'c') {
+				readComment(readVariableDirectory);
+			} else if (skipWhitespace()) {
+				if (current == 'p') {
+					readProblem();
+					handler.problem(variableCount, clauseCount);
+					return;
+				} else {
+					throw new ParseException("Invalid problem format", lineCount);
+				}
+			} else if (current == '\n') {
+				nextLine();
+			} else {
+				throw new ParseException("Invalid problem format", lineCount);
+			}
+		}
 	}
 
 	/**
@@ -176,123 +303,160 @@ public class DimacsReader {
 	 *
 	 * @throws ParseException if the input does not conform to the DIMACS CNF file format
 	 */
-	private void readProblem(LineIterator lineIterator) throws ParseException {
-		final String line = lineIterator.currentLine();
-		if (line == null) {
-			throw new ParseException("Invalid problem format", lineIterator.getLineCount());
+	private void readProblem() throws ParseException, IOException {
+		nextByte();
+		if (!skipWhitespace()) {
+			throw new ParseException("Invalid problem format", lineCount);
 		}
-		final Matcher matcher = problemPattern.matcher(line);
-		if (!matcher.find()) {
-			throw new ParseException("Invalid problem format", lineIterator.getLineCount());
-		}
-		final String trail = line.substring(matcher.end());
-		if (trail.trim().isEmpty()) {
-			lineIterator.nextLine();
-		} else {
-			lineIterator.setCurrentLine(trail);
+		for (int i = 0; i < DIMACSFormat.CNF.length(); i++) {
+			if (current != DIMACSFormat.CNF.charAt(i)) {
+				throw new ParseException("Invalid problem format", lineCount);
+			}
+			nextByte();
 		}
-
-		try {
-			variableCount = Integer.parseInt(matcher.group(1));
-		} catch (final NumberFormatException e) {
-			throw new ParseException("Variable count is not an integer", lineIterator.getLineCount());
+		if (!skipWhitespace()) {
+			throw new ParseException("Invalid problem format", lineCount);
 		}
-		if (variableCount <= 0) {
-			throw new ParseException("Variable count is not positive", lineIterator.getLineCount());
+		variableCount = readCount("Variable count is not an integer");
+		if (!skipWhitespace()) {
+			throw new ParseException("Invalid problem format", lineCount);
 		}
+		clauseCount = readCount("Clause count is not an integer");
 
-		try {
-			clauseCount = Integer.parseInt(matcher.group(2));
-		} catch (final NumberFormatException e) {
-			throw new ParseException("Clause count is not an integer", lineIterator.getLineCount());
+		if (variableCount <= 0) {
+			throw new ParseException("Variable count is not positive", lineCount);
 		}
 		if (clauseCount <= 0) {
-			throw new ParseException("Clause count is not positive", lineIterator.getLineCount());
+			throw new ParseException("Clause count is not positive", lineCount);
 		}
 	}
 
+	private int readCount(String overflowMessage) throws ParseException, IOException {
+		if (!isDigit(current)) {
+			throw new ParseException("Invalid problem format", lineCount);
+		}
+		long count = 0;
+		do {
+			count = (count * 10) + (current - '0');
+			if (count > Integer.MAX_VALUE) {
+				throw new ParseException(overflowMessage, lineCount);
+			}
+			nextByte();
+		} while (isDigit(current));
+		return (int) count;
+	}
+
 	/**
-	 * Reads all clauses.
+	 * Reads all clauses. The first clause may start on the line of the problem definition.
 	 *
-	 * @return all clauses; not null
 	 * @throws ParseException if the input does not conform to the DIMACS CNF file format
-	 * @throws IOException
 	 */
-	private Node[] readClauses(LineIterator lineIterator) throws ParseException, IOException {
-		final LinkedList<String> literalQueue = new LinkedList<>();
-		final Node[] clauses = new Node[clauseCount];
+	private void readClauses(IClauseHandler handler) throws ParseException, IOException {
+		// comments directly after the problem definition may still contain the variable directory
+		boolean readingVariables = readVariableDirectory;
+		boolean lineStart = false;
+		int literalCount = 0;
 		int readClausesCount = 0;
-		for (String line = lineIterator.currentLine(); line != null; line = lineIterator.nextLine()) {
-			if (commentPattern.matcher(line).matches()) {
+		while (true) {
+			if (lineStart && (current == 'c')) {
+				readComment(readingVariables);
 				continue;
 			}
-			List<String> literalList = Arrays.asList(line.trim().split("\\s+"));
-			literalQueue.addAll(literalList);
+			lineStart = false;
+			if (current == EOF) {
+				break;
+			} else if (current == '\n') {
+				nextLine();
+				lineStart = true;
+			} else if (skipWhitespace()) {
+				readingVariables = false;
 
-			do {
-				final int clauseEndIndex = literalList.indexOf("0");
-				if (clauseEndIndex < 0) {
-					break;
+				boolean sign = false;
+				boolean negative = false;
+				if ((current == '-') || (current == '+')) {
+					sign = true;
+					negative = current == '-';
+					nextByte();
 				}
-				final int clauseSize = literalQueue.size() - (literalList.size() - clauseEndIndex);
-				if (clauseSize <= 0) {
-					throw new ParseException("Empty clause", lineIterator.getLineCount());
+				if (!isDigit(current)) {
+					throw new ParseException("Illegal literal", lineCount);
+				}
+				long index = 0;
+				int digits = 0;
+				do {
+					index = (index * 10) + (current - '0');
+					if (index > Integer.MAX_VALUE) {
+						throw new ParseException("Illegal literal", lineCount);
+					}
+					digits++;
+					nextByte();
+				} while (isDigit(current));
+				if (!isWhitespace(current) && (current != '\n') && (current != EOF)) {
+					throw new ParseException("Illegal literal", lineCount);
 				}
 
-				clauses[readClausesCount] = parseClause(readClausesCount, clauseSize, literalQueue, lineIterator);
-				readClausesCount++;
-
-				if (!DIMACSFormat.CLAUSE_END.equals(literalQueue.removeFirst())) {
-					throw new ParseException("Illegal clause end", lineIterator.getLineCount());
+				if (index == 0) {
+					if (sign || (digits > 1)) {
+						throw new ParseException("Illegal literal", lineCount);
+					}
+					if (literalCount == 0) {
+						throw new ParseException("Empty clause", lineCount);
+					}
+					addClause(handler, readClausesCount++, literalCount);
+					literalCount = 0;
+				} else {
+					if (literalCount == literals.length) {
+						literals = Arrays.copyOf(literals, literals.length << 1);
+					}
+					variables.set((int) index);
+					literals[literalCount++] = negative ? (int) -index : (int) index;
 				}
-				literalList = literalQueue;
-			} while (!literalQueue.isEmpty());
+			}
 		}
-		if (!literalQueue.isEmpty()) {
-			clauses[readClausesCount] = parseClause(readClausesCount, literalQueue.size(), literalQueue, lineIterator);
-			readClausesCount++;
+		if (literalCount > 0) {
+			addClause(handler, readClausesCount++, literalCount);
 		}
 		if (readClausesCount < clauseCount) {
 			throw new ParseException(String.format("Found %d instead of %d clauses", readClausesCount, clauseCount), 1);
 		}
-		return clauses;
 	}
 
-	private Or parseClause(int readClausesCount, int clauseSize, LinkedList<String> literalQueue, LineIterator lineIterator) throws ParseException {
+	private void addClause(IClauseHandler handler, int readClausesCount, int literalCount) throws ParseException {
 		if (readClausesCount == clauseCount) {
 			throw new ParseException(String.format("Found more than %d clauses", clauseCount), 1);
 		}
-		final Node[] literals = new Node[clauseSize];
-		for (int j = 0; j < literals.length; j++) {
-			final String token = literalQueue.removeFirst();
-			final int index;
-			try {
-				index = Integer.parseInt(token);
-			} catch (final NumberFormatException e) {
-				throw new ParseException("Illegal literal", lineIterator.getLineCount());
-			}
-			if (index == 0) {
-				throw new ParseException("Illegal literal", lineIterator.getLineCount());
-			}
-			final Integer key = Math.abs(index);
-			Object variable = indexVariables.get(key);
-			if (variable == null) {
-				variable = String.valueOf(key);
-				indexVariables.put(key, variable);
-			}
-			literals[j] = new Literal(variable, index > 0);
-		}
-		return new Or(literals);
+		handler.clause(Arrays.copyOf(literals, literalCount));
 	}
 
 	/**
-	 * Called when a comment is read.
+	 * Reads a comment line, starting at the comment token, up to and including the line break.
 	 *
-	 * @param comment content of the comment; not null
-	 * @return whether the comment was consumed logically
+	 * @param readingVariables whether the comment may be an entry of the variable directory
 	 */
-	private boolean readComment(String comment) {
-		return readingVariables && readVariableDirectoryEntry(comment);
+	private void readComment(boolean readingVariables) throws IOException {
+		nextByte();
+		if (readingVariables) {
+			skipWhitespace();
+			int length = 0;
+			while ((current != '\n') && (current != EOF)) {
+				if (length == commentBytes.length) {
+					commentBytes = Arrays.copyOf(commentBytes, length << 1);
+				}
+				commentBytes[length++] = (byte) current;
+				nextByte();
+			}
+			if ((length > 0) && (commentBytes[length - 1] == '\r')) {
+				length--;
+			}
+			readVariableDirectoryEntry(new String(commentBytes, 0, length, StandardCharsets.UTF_8));
+		} else {
+			while ((current != '\n') && (current != EOF)) {
+				nextByte();
+			}
+		}
+		if (current == '\n') {
+			nextLine();
+		}
 	}
 
 	/**
@@ -316,9 +480,68 @@ public class DimacsReader {
 			return false;
 		}
 		final String variable = comment.substring(firstSeparator + 1);
-		if (!indexVariables.containsKey(index)) {
-			indexVariables.put(index, variable);
+		if (!directory.containsKey(index)) {
+			directory.put(index, variable);
 		}
 		return true;
 	}
+
+	/**
+	 * @return the amount of distinct variables in the directory and the clauses
+	 */
+	private int getActualVariableCount() {
+		int count = variables.cardinality();
+		for (final Integer index : directory.keySet()) {
+			if ((index <= 0) || !variables.get(index)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Skips whitespace within the current line.
+	 *
+	 * @return true if the current byte is neither whitespace, a line break, nor the end of the input
+	 */
+	private boolean skipWhitespace() throws IOException {
+		while (isWhitespace(current)) {
+			nextByte();
+		}
+		return (current != '\n') && (current != EOF);
+	}
+
+	private void nextLine() throws IOException {
+		lineCount++;
+		nextByte();
+	}
+
+	private void nextByte() throws IOException {
+		if (!buffer.hasRemaining()) {
+			if (channel == null) {
+				current = EOF;
+				return;
+			}
+			buffer.clear();
+			int n;
+			do {
+				n = channel.read(buffer);
+			} while (n == 0);
+			buffer.flip();
+			if (n < 0) {
+				current = EOF;
+				return;
+			}
+		}
+		current = buffer.get() & 0xFF;
+	}
+
+	private static boolean isWhitespace(int c) {
+		return (c >= 0) && (c <= ' ') && (c != '\n');
+	}
+
+	private static boolean isDigit(int c) {
+		return (c >= '0') && (c <= '9');
+	}
+
 }
@@ -20,6 +20,10 @@
  */
 package de.ovgu.featureide.fm.core.io.dimacs;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
@@ -32,12 +36,16 @@ import org.prop4j.Literal;
 import org.prop4j.Node;
 
 /**
- * Transforms instances of {@link Node} into DIMACS CNF file format.
+ * Transforms instances of {@link Node} into DIMACS CNF file format.<br> The output is encoded directly into a byte buffer, so large CNFs can be written to
+ * an {@link OutputStream} without creating a string per clause or literal.
  *
  * @author Timo G&uuml;nther
  */
 public class DimacsWriter {
 
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
 	/** The clauses of the CNF to transform. */
 	private List<Node> clauses;
 	/** Maps variables to indexes. */
@@ -46,6 +54,12 @@ public class DimacsWriter {
 	/** Whether the writer should write a variable directory listing the names of the variables. */
 	private boolean writeVariableDirectory = false;
 
+	/** The target of the current output. */
+	private OutputStream out;
+	/** Bytes that have not been passed to the output stream yet. */
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+	private int bufferLength;
+
 	/**
 	 * <p> Sets the writing variable directory flag. If true, the writer will write a variable directory at the start of the output. This is a set of comments
 	 * naming the variables. This can later be used during reading so the variables are not just numbers. </p>
@@ -66,6 +80,25 @@ public class DimacsWriter {
 	 * @throws IllegalArgumentException if the input is null or not in CNF
 	 */
 	public String write(Node cnf) throws IllegalArgumentException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try {
+			write(cnf, out);
+		} catch (final IOException e) {
+			// cannot happen for a byte array
+			throw new IllegalStateException(e);
+		}
+		return new String(out.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Writes the DIMACS CNF file format to a stream.
+	 *
+	 * @param cnf the CNF to transform; not null
+	 * @param out the stream to write to; is flushed but not closed
+	 * @throws IllegalArgumentException if the input is null or not in CNF
+	 * @throws IOException if the output cannot be written
+	 */
+	public void write(Node cnf, OutputStream out) throws IllegalArgumentException, IOException {
 		if (cnf == null) {
 			throw new IllegalArgumentException("CNF is null");
 		}
@@ -74,18 +107,21 @@ public class DimacsWriter {
 		}
 
 		try {
+			this.out = out;
+			bufferLength = 0;
 			clauses = cnf instanceof And ? Arrays.asList(cnf.getChildren()) : Collections.singletonList(cnf);
 			addVariables(cnf);
 
-			final StringBuilder sb = new StringBuilder();
-			writeVariableDirectory(sb);
-			writeProblem(sb);
-			writeClauses(sb);
+			writeVariableDirectory();
+			writeProblem();
+			writeClauses();
 
-			return sb.toString();
+			flushBuffer();
+			out.flush();
 		} finally {
 			variableIndexes.clear();
 			clauses = null;
+			this.out = null;
 		}
 	}
 
@@ -105,51 +141,96 @@ public class DimacsWriter {
 
 	/**
 	 * Writes the variable directory.
-	 *
-	 * @return the variable directory; not null
 	 */
-	private void writeVariableDirectory(StringBuilder sb) {
+	private void writeVariableDirectory() throws IOException {
 		if (writeVariableDirectory) {
 			for (final Entry<Object, Integer> e : variableIndexes.entrySet()) {
-				sb.append(DIMACSFormat.COMMENT_START);
-				sb.append(e.getValue());
-				sb.append(' ');
-				sb.append(e.getKey());
-				sb.append(System.lineSeparator());
+				writeBytes(DIMACSFormat.COMMENT_START);
+				writeInt(e.getValue());
+				writeByte(' ');
+				writeBytes(String.valueOf(e.getKey()));
+				writeBytes(LINE_SEPARATOR);
 			}
 		}
 	}
 
 	/**
 	 * Writes the problem description.
-	 *
-	 * @return the problem description; not null
 	 */
-	private void writeProblem(StringBuilder sb) {
-		sb.append(DIMACSFormat.PROBLEM);
-		sb.append(' ');
-		sb.append(DIMACSFormat.CNF);
-		sb.append(' ');
-		sb.append(variableIndexes.size());
-		sb.append(' ');
-		sb.append(clauses.size());
-		sb.append(System.lineSeparator());
+	private void writeProblem() throws IOException {
+		writeBytes(DIMACSFormat.PROBLEM);
+		writeByte(' ');
+		writeBytes(DIMACSFormat.CNF);
+		writeByte(' ');
+		writeInt(variableIndexes.size());
+		writeByte(' ');
+		writeInt(clauses.size());
+		writeBytes(LINE_SEPARATOR);
 	}
 
 	/**
 	 * Writes all clauses.
-	 *
-	 * @return all transformed clauses; not null
 	 */
-	private void writeClauses(StringBuilder sb) {
+	private void writeClauses() throws IOException {
 		for (final Node clause : clauses) {
 			for (final Literal l : clause.getUniqueLiterals()) {
 				final int index = variableIndexes.get(l.var);
-				sb.append(l.positive ? index : -index);
-				sb.append(' ');
+				writeInt(l.positive ? index : -index);
+				writeByte(' ');
 			}
-			sb.append(DIMACSFormat.CLAUSE_END);
-			sb.append(System.lineSeparator());
+			writeBytes(DIMACSFormat.CLAUSE_END);
+			writeBytes(LINE_SEPARATOR);
+		}
+	}
+
+	private void writeInt(int value) throws IOException {
+		if ((buffer.length - bufferLength) < 11) {
+			flushBuffer();
+		}
+		long digitValue = value;
+		if (digitValue < 0) {
+			buffer[bufferLength++] = '-';
+			digitValue = -digitValue;
+		}
+		int digitCount = 1;
+		for (long rest = digitValue; rest >= 10; rest /= 10) {
+			digitCount++;
+		}
+		int position = bufferLength + digitCount;
+		bufferLength = position;
+		do {
+			buffer[--position] = (byte) ('0' + (digitValue % 10));
+			digitValue /= 10;
+		} while (digitValue > 0);
+	}
+
+	private void writeByte(char c) throws IOException {
+		if (bufferLength == buffer.length) {
+			flushBuffer();
+		}
+		buffer[bufferLength++] = (byte) c;
+	}
+
+	private void writeBytes(String s) throws IOException {
+		writeBytes(s.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private void writeBytes(byte[] bytes) throws IOException {
+		if ((buffer.length - bufferLength) < bytes.length) {
+			flushBuffer();
+			if (bytes.length > buffer.length) {
+				out.write(bytes);
+				return;
+			}
+		}
+		System.arraycopy(bytes, 0, buffer, bufferLength, bytes.length);
+		bufferLength += bytes.length;
+	}
+
+	private void flushBuffer() throws IOException {
+		if (bufferLength > 0) {
+			out.write(buffer, 0, bufferLength);
+			bufferLength = 0;
 		}
 	}
 
@@ -0,0 +1,70 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.dimacs;
+
+import org.sat4j.core.VecInt;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.ISolver;
+
+import de.ovgu.featureide.fm.core.io.dimacs.DimacsReader.IClauseHandler;
+
+/**
+ * Adds the clauses read by a {@link DimacsReader} directly to a Sat4J solver, without creating any {@link org.prop4j.Node nodes}.<br> The DIMACS variable
+ * indexes are used as solver variables.
+ */
+public class SolverClauseHandler implements IClauseHandler {
+
+	private final ISolver solver;
+	private boolean contradiction = false;
+
+	public SolverClauseHandler(ISolver solver) {
+		this.solver = solver;
+	}
+
+	@Override
+	public void problem(int variableCount, int clauseCount) {
+		solver.newVar(variableCount);
+		solver.setExpectedNumberOfClauses(clauseCount);
+	}
+
+	@Override
+	public void clause(int[] literals) {
+		if (!contradiction) {
+			try {
+				solver.addClause(new VecInt(literals));
+			} catch (final ContradictionException e) {
+				contradiction = true;
+			}
+		}
+	}
+
+	/**
+	 * @return {@code true} if the solver detected a contradiction while adding the clauses, i.e., the CNF is not satisfiable
+	 */
+	public boolean isContradiction() {
+		return contradiction;
+	}
+
+	public ISolver getSolver() {
+		return solver;
+	}
+
+}
@@ -110,6 +110,31 @@ public abstract class AFileManager<T> implements IFileManager<T>, IEventManager
 		}
 
 		protected abstract T createObject(Path path, final IPersistentFormat<T> format) throws NoSuchExtensionException;
+
+		/**
+		 * Restores an object from a snapshot of the given file content, if one is available. Subclasses can override this method to skip parsing files that
+		 * did not change since they were last read or written.
+		 *
+		 * @param path The path pointing to the file.
+		 * @param format The format of the file.
+		 * @param content The current content of the file.
+		 * @param object The object to restore.
+		 * @return {@code true} if the object was restored and the content does not need to be parsed, {@code false} otherwise.
+		 */
+		protected boolean readSnapshot(Path path, IPersistentFormat<T> format, String content, T object) {
+			return false;
+		}
+
+		/**
+		 * Stores a snapshot of an object that was just read from or written to a file, such that {@link #readSnapshot(Path, IPersistentFormat, String, Object)}
+		 * can restore it later.
+		 *
+		 * @param path The path pointing to the file.
+		 * @param format The format of the file.
+		 * @param content The content of the file.
+		 * @param object The object that corresponds to the content.
+		 */
+		protected void writeSnapshot(Path path, IPersistentFormat<T> format, String content, T object) {}
 	}
 
 	public static final Charset DEFAULT_CHARSET = Charset.forName("UTF-8");
@@ -210,7 +235,10 @@ public abstract class AFileManager<T> implements IFileManager<T>, IEventManager
 					final T object = objectCreator.createObject(path, format);
 					fileHandler.setObject(object);
 					fileHandler.setFormat(format);
-					fileHandler.parse(content);
+					if (!objectCreator.readSnapshot(path, format, content, object) && fileHandler.parse(content)
+						&& fileHandler.getLastProblems().isEmpty()) {
+						objectCreator.writeSnapshot(path, format, content, object);
+					}
 				} catch (final NoSuchExtensionException e) {
 					fileHandler.getLastProblems().add(new Problem(e));
 				}
@@ -302,22 +330,15 @@ public abstract class AFileManager<T> implements IFileManager<T>, IEventManager
 
 	private boolean modifying = false;
 
+	/**
+	 * @param object The object, which was already read from the file by {@link #getFileHandler(Path, ObjectCreator)}.
+	 * @param identifier The {@link FileIdentifier identifier} for the file.
+	 */
 	protected AFileManager(T object, FileIdentifier<T> identifier) {
 		this.identifier = identifier;
 
 		variableObject = object;
 
-		if (FileSystem.exists(identifier.getPath())) {
-			try {
-				final String content = new String(FileSystem.read(identifier.getPath()), DEFAULT_CHARSET);
-				final ProblemList problems = identifier.getFormat().getInstance().read(variableObject, content);
-				if (problems != null) {
-					lastProblems.addAll(problems);
-				}
-			} catch (final Exception e) {
-				handleException(e);
-			}
-		}
 		setPersistentObject(copyObject(variableObject));
 	}
 
@@ -462,8 +483,10 @@ public abstract class AFileManager<T> implements IFileManager<T>, IEventManager
 				}
 				modifying = true;
 				final T tempObject = copyObject(variableObject);
-				FileSystem.write(identifier.getPath(), identifier.getFormat().getInstance().write(tempObject).getBytes(DEFAULT_CHARSET));
+				final String content = identifier.getFormat().getInstance().write(tempObject);
+				FileSystem.write(identifier.getPath(), content.getBytes(DEFAULT_CHARSET));
 				setPersistentObject(copyObject(tempObject));
+				saved(tempObject, content);
 			} catch (final Exception e) {
 				handleException(e);
 				return false;
@@ -476,6 +499,14 @@ public abstract class AFileManager<T> implements IFileManager<T>, IEventManager
 		return success;
 	}
 
+	/**
+	 * Called after an object was written to the file by {@link #save()}.<br/> Subclasses could override this method.
+	 *
+	 * @param savedObject The saved object.
+	 * @param content The written content.
+	 */
+	protected void saved(T savedObject, String content) {}
+
 	@Override
 	public boolean externalSave(Runnable externalSaveMethod) {
 		final boolean success;
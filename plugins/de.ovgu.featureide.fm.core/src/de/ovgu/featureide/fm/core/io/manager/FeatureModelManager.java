@@ -20,6 +20,7 @@
  */
 package de.ovgu.featureide.fm.core.io.manager;
 
+import java.io.IOException;
 import java.nio.file.Path;
 
 import javax.annotation.CheckForNull;
@@ -29,6 +30,8 @@ import de.ovgu.featureide.fm.core.Logger;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
 import de.ovgu.featureide.fm.core.base.impl.FMFormatManager;
+import de.ovgu.featureide.fm.core.io.FeatureModelSnapshotFormat;
+import de.ovgu.featureide.fm.core.io.FileSystem;
 import de.ovgu.featureide.fm.core.io.IFeatureModelFormat;
 import de.ovgu.featureide.fm.core.io.IPersistentFormat;
 
@@ -39,6 +42,8 @@ import de.ovgu.featureide.fm.core.io.IPersistentFormat;
  */
 public class FeatureModelManager extends AFileManager<IFeatureModel> {
 
+	private static final FeatureModelSnapshotFormat snapshotFormat = new FeatureModelSnapshotFormat();
+
 	private static final ObjectCreator<IFeatureModel> objectCreator =
 		new ObjectCreator<IFeatureModel>(IFeatureModel.class, FeatureModelManager.class, FMFormatManager.getInstance()) {
 
@@ -48,6 +53,42 @@ public class FeatureModelManager extends AFileManager<IFeatureModel> {
 				featureModel.setSourceFile(path);
 				return featureModel;
 			}
+
+			@Override
+			protected boolean readSnapshot(Path path, IPersistentFormat<IFeatureModel> format, String content, IFeatureModel featureModel) {
+				if (!FeatureModelSnapshotFormat.supportsModel(featureModel)) {
+					return false;
+				}
+				try {
+					final Path snapshotPath = constructExtraPath(path, snapshotFormat);
+					if (!FileSystem.exists(snapshotPath)) {
+						return false;
+					}
+					final byte[] snapshot = FileSystem.read(snapshotPath);
+					if (!FeatureModelSnapshotFormat.matches(snapshot, FeatureModelSnapshotFormat.computeSourceHash(format, content))) {
+						return false;
+					}
+					return snapshotFormat.read(featureModel, snapshot).isEmpty();
+				} catch (IOException | IllegalArgumentException e) {
+					Logger.logError(e);
+					return false;
+				}
+			}
+
+			@Override
+			protected void writeSnapshot(Path path, IPersistentFormat<IFeatureModel> format, String content, IFeatureModel featureModel) {
+				if (!FeatureModelSnapshotFormat.supportsModel(featureModel)) {
+					return;
+				}
+				try {
+					final byte[] snapshot = snapshotFormat.write(featureModel, FeatureModelSnapshotFormat.computeSourceHash(format, content));
+					FileSystem.write(constructExtraPath(path, snapshotFormat), snapshot);
+				} catch (final UnsupportedOperationException e) {
+					// the model contains constraints that cannot be stored in a snapshot
+				} catch (IOException | IllegalArgumentException e) {
+					Logger.logError(e);
+				}
+			}
 		};
 
 	/**
@@ -108,6 +149,11 @@ public class FeatureModelManager extends AFileManager<IFeatureModel> {
 		super.override();
 	}
 
+	@Override
+	protected void saved(IFeatureModel savedObject, String content) {
+		objectCreator.writeSnapshot(getPath(), getFormat(), content, savedObject);
+	}
+
 	@Override
 	public IFeatureModelFormat getFormat() {
 		return (IFeatureModelFormat) super.getFormat();
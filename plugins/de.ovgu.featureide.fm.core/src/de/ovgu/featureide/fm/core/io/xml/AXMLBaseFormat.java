@@ -0,0 +1,111 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.xml;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import de.ovgu.featureide.fm.core.Logger;
+import de.ovgu.featureide.fm.core.io.APersistentFormat;
+import de.ovgu.featureide.fm.core.io.IPersistentFormat;
+import de.ovgu.featureide.fm.core.io.LazyReader;
+import de.ovgu.featureide.fm.core.io.ProblemList;
+
+/**
+ * Common base of the XML formats, which read and write an object from and to a character stream.
+ *
+ * @see AXMLFormat
+ * @see AXMLStreamFormat
+ */
+public abstract class AXMLBaseFormat<T> extends APersistentFormat<T> implements IPersistentFormat<T>, XMLFeatureModelTags {
+
+	public static final String FILE_EXTENSION = "xml";
+
+	protected T object;
+
+	@Override
+	public String getSuffix() {
+		return FILE_EXTENSION;
+	}
+
+	@Override
+	public ProblemList read(T object, CharSequence source) {
+		return read(object, new StringReader(source.toString()));
+	}
+
+	/**
+	 * Reads an object from a character stream.
+	 *
+	 * @param object the object to fill
+	 * @param source the XML source
+	 * @return the problems that occurred during reading
+	 */
+	public abstract ProblemList read(T object, Reader source);
+
+	@Override
+	public String write(T object) {
+		try (StringWriter stringWriter = new StringWriter()) {
+			write(object, stringWriter);
+			return stringWriter.toString();
+		} catch (final IOException e) {
+			Logger.logError(e);
+			return "";
+		}
+	}
+
+	/**
+	 * Writes an object to a character stream.
+	 *
+	 * @param object the object to write
+	 * @param target the writer to write the XML to (is not closed by this method)
+	 * @throws IOException if the XML could not be created or written
+	 */
+	public abstract void write(T object, Writer target) throws IOException;
+
+	@Override
+	public boolean supportsRead() {
+		return true;
+	}
+
+	@Override
+	public boolean supportsWrite() {
+		return true;
+	}
+
+	protected final boolean supportsContent(LazyReader reader, Pattern pattern) {
+		if (supportsRead()) {
+			final Matcher matcher = pattern.matcher("");
+			do {
+				matcher.reset(reader);
+				if (matcher.find()) {
+					return true;
+				}
+			} while (matcher.hitEnd() && reader.expand());
+		}
+		return false;
+	}
+
+}
@@ -23,14 +23,11 @@ package de.ovgu.featureide.fm.core.io.xml;
 import static de.ovgu.featureide.fm.core.localization.StringTable.YES;
 
 import java.io.IOException;
-import java.io.StringReader;
-import java.io.StringWriter;
+import java.io.Reader;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
-import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParserFactory;
@@ -47,10 +44,6 @@ import org.w3c.dom.NodeList;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXParseException;
 
-import de.ovgu.featureide.fm.core.Logger;
-import de.ovgu.featureide.fm.core.io.APersistentFormat;
-import de.ovgu.featureide.fm.core.io.IPersistentFormat;
-import de.ovgu.featureide.fm.core.io.LazyReader;
 import de.ovgu.featureide.fm.core.io.Problem;
 import de.ovgu.featureide.fm.core.io.ProblemList;
 import de.ovgu.featureide.fm.core.io.UnsupportedModelException;
@@ -59,12 +52,10 @@ import de.ovgu.featureide.fm.core.io.UnsupportedModelException;
  * Prints a feature model in XML format.
  *
  * @author Sebastian Krieter
+ *
+ * @see AXMLStreamFormat
  */
-public abstract class AXMLFormat<T> extends APersistentFormat<T> implements IPersistentFormat<T>, XMLFeatureModelTags {
-
-	public static final String FILE_EXTENSION = "xml";
-
-	protected T object;
+public abstract class AXMLFormat<T> extends AXMLBaseFormat<T> {
 
 	/**
 	 * @param nodeList
@@ -82,19 +73,21 @@ public abstract class AXMLFormat<T> extends APersistentFormat<T> implements IPer
 		return elements;
 	}
 
+	/**
+	 * Reads an object from a character stream by parsing it into a DOM document first.
+	 *
+	 * @param object the object to fill
+	 * @param source the XML source
+	 * @return the problems that occurred during reading
+	 */
 	@Override
-	public String getSuffix() {
-		return FILE_EXTENSION;
-	}
-
-	@Override
-	public ProblemList read(T object, CharSequence source) {
+	public ProblemList read(T object, Reader source) {
 		this.object = object;
 
 		final ProblemList lastWarnings = new ProblemList();
 		try {
 			final Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
-			SAXParserFactory.newInstance().newSAXParser().parse(new InputSource(new StringReader(source.toString())), new PositionalXMLHandler(doc));
+			SAXParserFactory.newInstance().newSAXParser().parse(new InputSource(source), new PositionalXMLHandler(doc));
 			doc.getDocumentElement().normalize();
 			readDocument(doc, lastWarnings);
 		} catch (final SAXParseException e) {
@@ -108,8 +101,15 @@ public abstract class AXMLFormat<T> extends APersistentFormat<T> implements IPer
 		return lastWarnings;
 	}
 
+	/**
+	 * Writes an object to a character stream by building a DOM document first.
+	 *
+	 * @param object the object to write
+	 * @param target the writer to write the XML to (is not closed by this method)
+	 * @throws IOException if the XML could not be created or written
+	 */
 	@Override
-	public String write(T object) {
+	public void write(T object, Writer target) throws IOException {
 		this.object = object;
 
 		// Create Empty DOM Document
@@ -119,53 +119,25 @@ public abstract class AXMLFormat<T> extends APersistentFormat<T> implements IPer
 		dbf.setIgnoringElementContentWhitespace(false);
 		dbf.setCoalescing(true);
 		dbf.setExpandEntityReferences(true);
-		DocumentBuilder db = null;
+		final Document doc;
 		try {
-			db = dbf.newDocumentBuilder();
+			doc = dbf.newDocumentBuilder().newDocument();
 		} catch (final ParserConfigurationException pce) {
-			Logger.logError(pce);
-			return "";
+			throw new IOException(pce);
 		}
-		final Document doc = db.newDocument();
 		// Create the XML Representation
 		writeDocument(doc);
 
-		try (StringWriter stringWriter = new StringWriter()) {
-			final StreamResult streamResult = new StreamResult(stringWriter);
+		try {
 			final TransformerFactory factory = TransformerFactory.newInstance();
 			factory.setAttribute("indent-number", new Integer(4));
 			final Transformer transformer = factory.newTransformer();
 			transformer.setOutputProperty(OutputKeys.METHOD, FILE_EXTENSION);
 			transformer.setOutputProperty(OutputKeys.INDENT, YES);
-			transformer.transform(new DOMSource(doc), streamResult);
-			return streamResult.getWriter().toString();
-		} catch (final IOException | TransformerException e) {
-			Logger.logError(e);
-			return "";
-		}
-	}
-
-	@Override
-	public boolean supportsRead() {
-		return true;
-	}
-
-	@Override
-	public boolean supportsWrite() {
-		return true;
-	}
-
-	protected final boolean supportsContent(LazyReader reader, Pattern pattern) {
-		if (supportsRead()) {
-			final Matcher matcher = pattern.matcher("");
-			do {
-				matcher.reset(reader);
-				if (matcher.find()) {
-					return true;
-				}
-			} while (matcher.hitEnd() && reader.expand());
+			transformer.transform(new DOMSource(doc), new StreamResult(target));
+		} catch (final TransformerException e) {
+			throw new IOException(e);
 		}
-		return false;
 	}
 
 	/**
@@ -0,0 +1,192 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.xml;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.List;
+
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import de.ovgu.featureide.fm.core.io.Problem;
+import de.ovgu.featureide.fm.core.io.ProblemList;
+import de.ovgu.featureide.fm.core.io.UnsupportedModelException;
+
+/**
+ * Base of the XML formats that read and write XML as a stream of StAX events instead of a DOM document.<br> Streaming avoids building the full document
+ * tree in memory and does not attach line numbers to every node; the reader's current location is used for problem markers instead. The output has the same
+ * layout as the one of {@link AXMLFormat}, see {@link IndentingXMLWriter}.
+ *
+ * @see AXMLFormat
+ */
+public abstract class AXMLStreamFormat<T> extends AXMLBaseFormat<T> {
+
+	private static final String STREAM_MESSAGE_PREFIX = "Message: ";
+	private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>";
+
+	/**
+	 * The StAX factories are expensive to look up and can be shared once configured.
+	 */
+	private static final class StreamFactories {
+
+		private static final XMLInputFactory INPUT = XMLInputFactory.newInstance();
+		private static final XMLOutputFactory OUTPUT = XMLOutputFactory.newInstance();
+
+		static {
+			INPUT.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+			INPUT.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.FALSE);
+			INPUT.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+			INPUT.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		}
+
+	}
+
+	/**
+	 * Reads an object directly from the StAX event stream of a character stream.
+	 *
+	 * @param object the object to fill
+	 * @param source the XML source
+	 * @return the problems that occurred during reading
+	 */
+	@Override
+	public ProblemList read(T object, Reader source) {
+		this.object = object;
+
+		final ProblemList lastWarnings = new ProblemList();
+		try {
+			final XMLStreamReader reader = StreamFactories.INPUT.createXMLStreamReader(source);
+			try {
+				readDocument(reader, lastWarnings);
+			} finally {
+				reader.close();
+			}
+		} catch (final XMLStreamException e) {
+			final Location location = e.getLocation();
+			String message = String.valueOf(e.getMessage());
+			// the message is prefixed with the location, which is already part of the problem
+			final int messageStart = message.indexOf(STREAM_MESSAGE_PREFIX);
+			if (messageStart >= 0) {
+				message = message.substring(messageStart + STREAM_MESSAGE_PREFIX.length());
+			}
+			lastWarnings.add(new Problem(message, (location != null) ? Math.max(1, location.getLineNumber()) : 1, e));
+		} catch (final UnsupportedModelException e) {
+			lastWarnings.add(new Problem(e, e.lineNumber));
+		} catch (final Exception e) {
+			lastWarnings.add(new Problem(e));
+		}
+
+		return lastWarnings;
+	}
+
+	/**
+	 * Writes an object directly to a character stream.
+	 *
+	 * @param object the object to write
+	 * @param target the writer to write the XML to (is not closed by this method)
+	 * @throws IOException if the XML could not be created or written
+	 */
+	@Override
+	public void write(T object, Writer target) throws IOException {
+		this.object = object;
+
+		target.write(XML_DECLARATION);
+		target.write(System.lineSeparator());
+		try {
+			final IndentingXMLWriter writer = new IndentingXMLWriter(StreamFactories.OUTPUT.createXMLStreamWriter(target));
+			writeDocument(writer);
+			writer.close();
+		} catch (final XMLStreamException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Reads an XML-Document from a stream of events.
+	 *
+	 * @param reader the reader, positioned before the root element
+	 * @param warnings list of warnings / errors that occur during read
+	 */
+	protected abstract void readDocument(XMLStreamReader reader, List<Problem> warnings) throws XMLStreamException, UnsupportedModelException;
+
+	/**
+	 * Writes an XML-Document as a stream of events.
+	 *
+	 * @param writer the writer, positioned after the XML declaration
+	 */
+	protected abstract void writeDocument(IndentingXMLWriter writer) throws XMLStreamException;
+
+	/**
+	 * Moves the reader to the start of the next child element of the current element.
+	 *
+	 * @param reader the reader
+	 * @return {@code true} if the reader is positioned at the start of a child element, {@code false} if it reached the end of the current element
+	 */
+	protected static boolean nextElement(XMLStreamReader reader) throws XMLStreamException {
+		while (reader.hasNext()) {
+			switch (reader.next()) {
+			case XMLStreamConstants.START_ELEMENT:
+				return true;
+			case XMLStreamConstants.END_ELEMENT:
+				return false;
+			default:
+				break;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Moves the reader to the end of the current element, skipping all its content.
+	 *
+	 * @param reader the reader, positioned at the start of an element
+	 */
+	protected static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+		int depth = 1;
+		while ((depth > 0) && reader.hasNext()) {
+			switch (reader.next()) {
+			case XMLStreamConstants.START_ELEMENT:
+				depth++;
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				depth--;
+				break;
+			default:
+				break;
+			}
+		}
+	}
+
+	/**
+	 * @param reader the reader
+	 * @return the line of the reader's current position or 1 if it is unknown
+	 */
+	protected static int getLineNumber(XMLStreamReader reader) {
+		final Location location = reader.getLocation();
+		return (location != null) ? Math.max(1, location.getLineNumber()) : 1;
+	}
+
+}
@@ -0,0 +1,127 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.xml;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Writes an XML document to an {@link XMLStreamWriter} with the same layout as the indenting DOM transformer used by {@link AXMLFormat}: four spaces per
+ * level, elements without content are closed immediately, elements containing only text are written in one line, and attributes are sorted by name.
+ */
+public class IndentingXMLWriter {
+
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+	private static final String INDENT = "    ";
+
+	private final XMLStreamWriter writer;
+
+	private final Deque<Boolean> hasChildElements = new ArrayDeque<>();
+	private final Map<String, String> pendingAttributes = new TreeMap<>();
+	private String pendingElement = null;
+
+	public IndentingXMLWriter(XMLStreamWriter writer) {
+		this.writer = writer;
+	}
+
+	public void writeStartElement(String name) throws XMLStreamException {
+		flushStartElement();
+		if (!hasChildElements.isEmpty()) {
+			hasChildElements.pop();
+			hasChildElements.push(Boolean.TRUE);
+			writeIndent(hasChildElements.size());
+		}
+		hasChildElements.push(Boolean.FALSE);
+		pendingElement = name;
+	}
+
+	public void writeAttribute(String name, String value) throws XMLStreamException {
+		if (pendingElement == null) {
+			throw new XMLStreamException("Attribute " + name + " must follow a start element");
+		}
+		pendingAttributes.put(name, value);
+	}
+
+	public void writeCharacters(String text) throws XMLStreamException {
+		if (text.isEmpty()) {
+			return;
+		}
+		flushStartElement();
+		writer.writeCharacters(text);
+	}
+
+	public void writeEndElement() throws XMLStreamException {
+		final boolean childElements = hasChildElements.pop();
+		if (pendingElement != null) {
+			writer.writeEmptyElement(pendingElement);
+			writeAttributes();
+			pendingElement = null;
+		} else {
+			if (childElements) {
+				writeIndent(hasChildElements.size());
+			}
+			writer.writeEndElement();
+		}
+	}
+
+	/**
+	 * Closes all open elements and flushes the underlying writer.
+	 */
+	public void close() throws XMLStreamException {
+		while (!hasChildElements.isEmpty()) {
+			writeEndElement();
+		}
+		writer.writeCharacters(LINE_SEPARATOR);
+		writer.writeEndDocument();
+		writer.flush();
+		writer.close();
+	}
+
+	private void flushStartElement() throws XMLStreamException {
+		if (pendingElement != null) {
+			writer.writeStartElement(pendingElement);
+			writeAttributes();
+			pendingElement = null;
+		}
+	}
+
+	private void writeAttributes() throws XMLStreamException {
+		for (final Map.Entry<String, String> attribute : pendingAttributes.entrySet()) {
+			writer.writeAttribute(attribute.getKey(), attribute.getValue());
+		}
+		pendingAttributes.clear();
+	}
+
+	private void writeIndent(int depth) throws XMLStreamException {
+		final StringBuilder sb = new StringBuilder(LINE_SEPARATOR.length() + (depth * INDENT.length()));
+		sb.append(LINE_SEPARATOR);
+		for (int i = 0; i < depth; i++) {
+			sb.append(INDENT);
+		}
+		writer.writeCharacters(sb.toString());
+	}
+
+}
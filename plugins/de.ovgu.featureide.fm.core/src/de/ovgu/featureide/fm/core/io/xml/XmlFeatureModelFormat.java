@@ -29,12 +29,16 @@ import static de.ovgu.featureide.fm.core.localization.StringTable.NOT;
 import static de.ovgu.featureide.fm.core.localization.StringTable.WRONG_SYNTAX;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 import java.util.regex.Pattern;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.prop4j.And;
 import org.prop4j.AtMost;
 import org.prop4j.Equals;
@@ -42,12 +46,6 @@ import org.prop4j.Implies;
 import org.prop4j.Literal;
 import org.prop4j.Not;
 import org.prop4j.Or;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NamedNodeMap;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.w3c.dom.Text;
 
 import de.ovgu.featureide.fm.core.PluginID;
 import de.ovgu.featureide.fm.core.base.FeatureUtils;
@@ -74,17 +72,39 @@ import de.ovgu.featureide.fm.core.io.xml.XmlPropertyLoader.PropertiesParser;
  * @author Marlen Bernier
  * @author Dawid Szczepanski
  */
-public class XmlFeatureModelFormat extends AXMLFormat<IFeatureModel> implements IFeatureModelFormat {
+public class XmlFeatureModelFormat extends AXMLStreamFormat<IFeatureModel> implements IFeatureModelFormat {
 
 	public static final String ID = PluginID.PLUGIN_ID + ".format.fm." + XmlFeatureModelFormat.class.getSimpleName();
 
 	private static final Pattern CONTENT_REGEX = Pattern.compile("\\A\\s*(<[?]xml\\s.*[?]>\\s*)?<featureModel[\\s>]");
 
+	/**
+	 * Feature names referenced from constraints or the feature order together with the line of their reference.<br> In a stream these sections may precede
+	 * the struct section, so the references are checked after the whole document has been read.
+	 */
+	private static final class FeatureReferences {
+
+		private final List<String> names = new ArrayList<>();
+		private int[] lines = new int[16];
+
+		private void add(String name, int line) {
+			if (names.size() == lines.length) {
+				lines = Arrays.copyOf(lines, lines.length << 1);
+			}
+			lines[names.size()] = line;
+			names.add(name);
+		}
+
+	}
+
 	private IFeatureModelFactory factory;
 	private IFeatureNameValidator validator;
 
 	private final List<Problem> localProblems = new ArrayList<>();
 
+	private FeatureReferences constraintReferences;
+	private FeatureReferences orderReferences;
+
 	public XmlFeatureModelFormat() {}
 
 	protected XmlFeatureModelFormat(XmlFeatureModelFormat oldFormat) {
@@ -103,22 +123,44 @@ public class XmlFeatureModelFormat extends AXMLFormat<IFeatureModel> implements
 	}
 
 	@Override
-	protected void readDocument(Document doc, List<Problem> warnings) throws UnsupportedModelException {
+	protected void readDocument(XMLStreamReader reader, List<Problem> warnings) throws XMLStreamException, UnsupportedModelException {
 		object.reset();
 
 		factory = FMFactoryManager.getFactory(object);
+		localProblems.clear();
+		constraintReferences = new FeatureReferences();
+		orderReferences = new FeatureReferences();
 
 		final Collection<PropertiesParser> customProperties = new ArrayList<>();
 
-		for (final Element e : getElements(doc.getElementsByTagName(FEATURE_MODEL))) {
-			parseStruct(e.getElementsByTagName(STRUCT));
-			parseConstraints(e.getElementsByTagName(CONSTRAINTS));
-			parseCalculations(e.getElementsByTagName(CALCULATIONS));
-			parseComments(e.getElementsByTagName(COMMENTS));
-			parseFeatureOrder(e.getElementsByTagName(FEATURE_ORDER));
+		while (reader.hasNext()) {
+			if ((reader.next() == XMLStreamReader.START_ELEMENT) && reader.getLocalName().equals(FEATURE_MODEL)) {
+				while (nextElement(reader)) {
+					final String nodeName = reader.getLocalName();
+					if (nodeName.equals(STRUCT)) {
+						parseFeatures(reader, null);
+					} else if (nodeName.equals(CONSTRAINTS)) {
+						parseConstraints(reader);
+					} else if (nodeName.equals(CALCULATIONS)) {
+						parseCalculations(reader);
+					} else if (nodeName.equals(COMMENTS)) {
+						parseComments(reader);
+					} else if (nodeName.equals(FEATURE_ORDER)) {
+						parseFeatureOrder(reader);
+					} else if (nodeName.equals(PROPERTIES)) {
+						final XmlPropertyLoader propertyLoader = new XmlPropertyLoader(reader);
+						customProperties.addAll(propertyLoader.parseProperties());
+					} else {
+						skipElement(reader);
+					}
+				}
+			}
+		}
 
-			final XmlPropertyLoader propertyLoader = new XmlPropertyLoader(e.getElementsByTagName(PROPERTIES));
-			customProperties.addAll(propertyLoader.parseProperties());
+		checkReferences(constraintReferences);
+		checkReferences(orderReferences);
+		if (!orderReferences.names.isEmpty()) {
+			object.setFeatureOrderList(orderReferences.names);
 		}
 
 		if (object.getStructure().getRoot() == null) {
@@ -130,49 +172,44 @@ public class XmlFeatureModelFormat extends AXMLFormat<IFeatureModel> implements
 	}
 
 	@Override
-	protected void writeDocument(Document doc) {
-		final Element root = doc.createElement(FEATURE_MODEL);
-		final Element struct = doc.createElement(STRUCT);
-		final Element properties = doc.createElement(PROPERTIES);
-		final Element constraints = doc.createElement(CONSTRAINTS);
-		final Element calculations = doc.createElement(CALCULATIONS);
-		final Element comments = doc.createElement(COMMENTS);
-		final Element order = doc.createElement(FEATURE_ORDER);
-
-		doc.appendChild(root);
-		root.appendChild(properties);
-		createXmlPropertiesPart(doc, properties, object);
-
-		root.appendChild(struct);
-		createXmlDocRec(doc, struct, FeatureUtils.getRoot(object));
-
-		root.appendChild(constraints);
-		for (final IConstraint constraint : object.getConstraints()) {
-			Element rule;
-			rule = doc.createElement(RULE);
+	protected void writeDocument(IndentingXMLWriter writer) throws XMLStreamException {
+		writer.writeStartElement(FEATURE_MODEL);
+
+		writer.writeStartElement(PROPERTIES);
+		createXmlPropertiesPart(writer, object);
+		writer.writeEndElement();
 
-			constraints.appendChild(rule);
-			addDescription(doc, constraint, rule);
-			createPropositionalConstraints(doc, rule, constraint.getNode());
+		writer.writeStartElement(STRUCT);
+		createXmlDocRec(writer, FeatureUtils.getRoot(object));
+		writer.writeEndElement();
+
+		writer.writeStartElement(CONSTRAINTS);
+		for (final IConstraint constraint : object.getConstraints()) {
+			writer.writeStartElement(RULE);
+			addDescription(writer, constraint.getDescription());
+			createPropositionalConstraints(writer, constraint.getNode());
+			writer.writeEndElement();
 		}
+		writer.writeEndElement();
 
-		root.appendChild(calculations);
-		calculations.setAttribute(CALCULATE_AUTO, "" + object.getAnalyser().runCalculationAutomatically);
-		calculations.setAttribute(CALCULATE_FEATURES, "" + object.getAnalyser().calculateFeatures);
-		calculations.setAttribute(CALCULATE_CONSTRAINTS, "" + object.getAnalyser().calculateConstraints);
-		calculations.setAttribute(CALCULATE_REDUNDANT, "" + object.getAnalyser().calculateRedundantConstraints);
-		calculations.setAttribute(CALCULATE_TAUTOLOGY, "" + object.getAnalyser().calculateTautologyConstraints);
+		writer.writeStartElement(CALCULATIONS);
+		writer.writeAttribute(CALCULATE_AUTO, "" + object.getAnalyser().runCalculationAutomatically);
+		writer.writeAttribute(CALCULATE_FEATURES, "" + object.getAnalyser().calculateFeatures);
+		writer.writeAttribute(CALCULATE_CONSTRAINTS, "" + object.getAnalyser().calculateConstraints);
+		writer.writeAttribute(CALCULATE_REDUNDANT, "" + object.getAnalyser().calculateRedundantConstraints);
+		writer.writeAttribute(CALCULATE_TAUTOLOGY, "" + object.getAnalyser().calculateTautologyConstraints);
+		writer.writeEndElement();
 
-		root.appendChild(comments);
+		writer.writeStartElement(COMMENTS);
 		for (final String comment : object.getProperty().getComments()) {
-			final Element c = doc.createElement(C);
-			comments.appendChild(c);
-			final Text text = doc.createTextNode(comment);
-			c.appendChild(text);
+			writer.writeStartElement(C);
+			writer.writeCharacters(comment);
+			writer.writeEndElement();
 		}
-		order.setAttribute(USER_DEFINED, Boolean.toString(object.isFeatureOrderUserDefined()));
-		root.appendChild(order);
+		writer.writeEndElement();
 
+		writer.writeStartElement(FEATURE_ORDER);
+		writer.writeAttribute(USER_DEFINED, Boolean.toString(object.isFeatureOrderUserDefined()));
 		if (object.isFeatureOrderUserDefined()) {
 			Collection<String> featureOrderList = object.getFeatureOrderList();
 
@@ -181,137 +218,124 @@ public class XmlFeatureModelFormat extends AXMLFormat<IFeatureModel> implements
 			}
 
 			for (final String featureName : featureOrderList) {
-				final Element feature = doc.createElement(FEATURE);
-				feature.setAttribute(NAME, featureName);
-				order.appendChild(feature);
+				writer.writeStartElement(FEATURE);
+				writer.writeAttribute(NAME, featureName);
+				writer.writeEndElement();
 			}
 		}
+		writer.writeEndElement();
+
+		writer.writeEndElement();
 	}
 
-	private Node createFeaturePropertyContainerNode(Document doc, String featureName, Set<Entry<String, Type, Object>> propertyEntries) {
-		final Element result = doc.createElement(FEATURE);
-		result.setAttribute(NAME, featureName);
+	private void createFeaturePropertyContainerNode(IndentingXMLWriter writer, String featureName, Set<Entry<String, Type, Object>> propertyEntries)
+			throws XMLStreamException {
+		writer.writeStartElement(FEATURE);
+		writer.writeAttribute(NAME, featureName);
 		for (final Entry<String, Type, Object> entry : propertyEntries) {
-			result.appendChild(createPropertyEntriesNode(doc, entry));
+			writer.writeStartElement(XmlPropertyLoader.PROPERTY);
+			writer.writeAttribute(XmlPropertyLoader.KEY, entry.getKey());
+			writer.writeAttribute(XmlPropertyLoader.VALUE, entry.getValue().toString());
+			writer.writeAttribute(XmlPropertyLoader.TYPE, entry.getType().toString());
+			writer.writeEndElement();
 		}
-		return result;
-	}
-
-	private Node createPropertyEntriesNode(Document doc, Entry<String, Type, Object> entry) {
-		final Element propertyElement = doc.createElement(XmlPropertyLoader.PROPERTY);
-		propertyElement.setAttribute(XmlPropertyLoader.KEY, entry.getKey());
-		propertyElement.setAttribute(XmlPropertyLoader.VALUE, entry.getValue().toString());
-		propertyElement.setAttribute(XmlPropertyLoader.TYPE, entry.getType().toString());
-		return propertyElement;
+		writer.writeEndElement();
 	}
 
 	/**
-	 * Inserts the tags concerning propositional constraints into the DOM document representation
+	 * Writes the tags concerning propositional constraints
 	 *
-	 * @param doc
-	 * @param FeatMod Parent node for the propositional nodes
+	 * @param writer
+	 * @param node the propositional node to write
 	 */
-	private void createPropositionalConstraints(Document doc, Element xmlNode, org.prop4j.Node node) {
+	private void createPropositionalConstraints(IndentingXMLWriter writer, org.prop4j.Node node) throws XMLStreamException {
 		if (node == null) {
 			return;
 		}
 
-		final Element op;
 		if (node instanceof Literal) {
 			final Literal literal = (Literal) node;
 			if (!literal.positive) {
-				final Element opNot = doc.createElement(NOT);
-				xmlNode.appendChild(opNot);
-				xmlNode = opNot;
+				writer.writeStartElement(NOT);
+			}
+			writer.writeStartElement(VAR);
+			writer.writeCharacters(String.valueOf(literal.var));
+			writer.writeEndElement();
+			if (!literal.positive) {
+				writer.writeEndElement();
 			}
-			op = doc.createElement(VAR);
-			op.appendChild(doc.createTextNode(String.valueOf(literal.var)));
-			xmlNode.appendChild(op);
 			return;
 		} else if (node instanceof Or) {
-			op = doc.createElement(DISJ);
+			writer.writeStartElement(DISJ);
 		} else if (node instanceof Equals) {
-			op = doc.createElement(EQ);
+			writer.writeStartElement(EQ);
 		} else if (node instanceof Implies) {
-			op = doc.createElement(IMP);
+			writer.writeStartElement(IMP);
 		} else if (node instanceof And) {
-			op = doc.createElement(CONJ);
+			writer.writeStartElement(CONJ);
 		} else if (node instanceof Not) {
-			op = doc.createElement(NOT);
+			writer.writeStartElement(NOT);
 		} else if (node instanceof AtMost) {
-			op = doc.createElement(ATMOST1);
+			writer.writeStartElement(ATMOST1);
 		} else {
-			op = doc.createElement(UNKNOWN);
+			writer.writeStartElement(UNKNOWN);
 		}
-		xmlNode.appendChild(op);
 
 		for (final org.prop4j.Node child : node.getChildren()) {
-			createPropositionalConstraints(doc, op, child);
+			createPropositionalConstraints(writer, child);
 		}
+		writer.writeEndElement();
 	}
 
 	/**
-	 * Creates document based on feature model step by step
+	 * Writes the feature model structure step by step
 	 *
-	 * @param doc document to write
-	 * @param node parent node
+	 * @param writer
 	 * @param feat current feature
 	 */
-	private void createXmlDocRec(Document doc, Element node, IFeature feat) {
+	private void createXmlDocRec(IndentingXMLWriter writer, IFeature feat) throws XMLStreamException {
 		if (feat == null) {
 			return;
 		}
 
 		final List<IFeature> children = FeatureUtils.convertToFeatureList(feat.getStructure().getChildren());
 
-		final Element fnod;
 		if (children.isEmpty()) {
-			fnod = doc.createElement(FEATURE);
-			addDescription(doc, feat, fnod);
-			writeAttributes(node, fnod, feat);
+			writer.writeStartElement(FEATURE);
+			writeAttributes(writer, feat);
+			addDescription(writer, feat.getProperty().getDescription());
 		} else {
 			if (feat.getStructure().isAnd()) {
-				fnod = doc.createElement(AND);
+				writer.writeStartElement(AND);
 			} else if (feat.getStructure().isOr()) {
-				fnod = doc.createElement(OR);
+				writer.writeStartElement(OR);
 			} else if (feat.getStructure().isAlternative()) {
-				fnod = doc.createElement(ALT);
+				writer.writeStartElement(ALT);
 			} else {
-				fnod = doc.createElement(UNKNOWN);// Logger.logInfo("creatXMlDockRec: Unexpected error!");
+				writer.writeStartElement(UNKNOWN);// Logger.logInfo("creatXMlDockRec: Unexpected error!");
 			}
 
-			addDescription(doc, feat, fnod);
-			writeAttributes(node, fnod, feat);
+			writeAttributes(writer, feat);
+			addDescription(writer, feat.getProperty().getDescription());
 
 			for (final IFeature feature : children) {
-				createXmlDocRec(doc, fnod, feature);
+				createXmlDocRec(writer, feature);
 			}
-
-		}
-
-	}
-
-	protected void addDescription(Document doc, IFeature feat, Element fnod) {
-		final String description = feat.getProperty().getDescription();
-		if ((description != null) && !description.trim().isEmpty()) {
-			final Element descr = doc.createElement(DESCRIPTION);
-			descr.setTextContent("\n" + description.replace("\r", "") + "\n");
-			fnod.appendChild(descr);
 		}
+		writer.writeEndElement();
 	}
 
-	protected void addDescription(Document doc, IConstraint constraint, Element fnod) {
-		final String description = constraint.getDescription();
+	protected void addDescription(IndentingXMLWriter writer, String description) throws XMLStreamException {
 		if ((description != null) && !description.trim().isEmpty()) {
-			final Element descr = doc.createElement(DESCRIPTION);
-			descr.setTextContent("\n" + description.replace("\r", "") + "\n");
-			fnod.appendChild(descr);
+			writer.writeStartElement(DESCRIPTION);
+			writer.writeCharacters("\n" + description.replace("\r", "") + "\n");
+			writer.writeEndElement();
 		}
 	}
 
-	private void createXmlPropertiesPart(Document doc, Element propertiesNode, IFeatureModel featureModel) {
+	private void createXmlPropertiesPart(IndentingXMLWriter writer, IFeatureModel featureModel) throws XMLStreamException {
 
-		if ((featureModel == null) || (propertiesNode == null)) {
+		if (featureModel == null) {
 			throw new RuntimeException();
 		}
 
@@ -320,7 +344,7 @@ public class XmlFeatureModelFormat extends AXMLFormat<IFeatureModel> implements
 			final String featureName = feature.getName();
 			final Set<Entry<String, Type, Object>> propertyEntries = feature.getCustomProperties().entrySet();
 			if (!propertyEntries.isEmpty()) {
-				propertiesNode.appendChild(createFeaturePropertyContainerNode(doc, featureName, propertyEntries));
+				createFeaturePropertyContainerNode(writer, featureName, propertyEntries);
 			}
 		}
 
@@ -346,71 +370,37 @@ public class XmlFeatureModelFormat extends AXMLFormat<IFeatureModel> implements
 	/**
 	 * Parses the calculations.
 	 */
-	private void parseCalculations(NodeList nodeList) throws UnsupportedModelException {
-		for (final Element e : getElements(nodeList)) {
-			if (e.hasAttributes()) {
-				final NamedNodeMap nodeMap = e.getAttributes();
-				for (int i = 0; i < nodeMap.getLength(); i++) {
-					final org.w3c.dom.Node node = nodeMap.item(i);
-					final String nodeName = node.getNodeName();
-					final boolean value = node.getNodeValue().equals(TRUE);
-					if (nodeName.equals(CALCULATE_AUTO)) {
-						object.getAnalyser().runCalculationAutomatically = value;
-					} else if (nodeName.equals(CALCULATE_CONSTRAINTS)) {
-						object.getAnalyser().calculateConstraints = value;
-					} else if (nodeName.equals(CALCULATE_REDUNDANT)) {
-						object.getAnalyser().calculateRedundantConstraints = value;
-					} else if (nodeName.equals(CALCULATE_FEATURES)) {
-						object.getAnalyser().calculateFeatures = value;
-					} else if (nodeName.equals(CALCULATE_TAUTOLOGY)) {
-						object.getAnalyser().calculateTautologyConstraints = value;
-					} else {
-						throwError("Unknown calculations attribute: " + nodeName, e);
-					}
-
-				}
+	private void parseCalculations(XMLStreamReader reader) throws XMLStreamException, UnsupportedModelException {
+		for (int i = 0; i < reader.getAttributeCount(); i++) {
+			final String attributeName = reader.getAttributeLocalName(i);
+			final boolean value = reader.getAttributeValue(i).equals(TRUE);
+			if (attributeName.equals(CALCULATE_AUTO)) {
+				object.getAnalyser().runCalculationAutomatically = value;
+			} else if (attributeName.equals(CALCULATE_CONSTRAINTS)) {
+				object.getAnalyser().calculateConstraints = value;
+			} else if (attributeName.equals(CALCULATE_REDUNDANT)) {
+				object.getAnalyser().calculateRedundantConstraints = value;
+			} else if (attributeName.equals(CALCULATE_FEATURES)) {
+				object.getAnalyser().calculateFeatures = value;
+			} else if (attributeName.equals(CALCULATE_TAUTOLOGY)) {
+				object.getAnalyser().calculateTautologyConstraints = value;
+			} else {
+				throwError("Unknown calculations attribute: " + attributeName, reader);
 			}
 		}
+		skipElement(reader);
 	}
 
 	/**
 	 * Parses the comment section.
 	 */
-	private void parseComments(NodeList nodeList) throws UnsupportedModelException {
-		for (final Element e : getElements(nodeList)) {
-			if (e.hasChildNodes()) {
-				parseComments2(e.getChildNodes());
-			}
-		}
-	}
-
-	private void parseComments2(NodeList nodeList) throws UnsupportedModelException {
-		for (final Element e : getElements(nodeList)) {
-			if (e.getNodeName().equals(C)) {
-				object.getProperty().addComment(e.getTextContent());
+	private void parseComments(XMLStreamReader reader) throws XMLStreamException, UnsupportedModelException {
+		while (nextElement(reader)) {
+			final String nodeName = reader.getLocalName();
+			if (nodeName.equals(C)) {
+				object.getProperty().addComment(reader.getElementText());
 			} else {
-				throwError("Unknown comment attribute: " + e.getNodeName(), e);
-			}
-		}
-	}
-
-	/**
-	 * Parses the description of a constraint
-	 *
-	 * @param constraint Output parameter: the constraint will have the description set
-	 * @param parentOfDescription The parent tag of the description tag
-	 */
-	private void parseConstraintDescription(IConstraint constraint, final Element parentOfDescription) {
-		for (final Element childOfRule : getElements(parentOfDescription.getChildNodes())) {
-			if (childOfRule.getNodeName().equals(DESCRIPTION)) {
-				String description = childOfRule.getTextContent();
-
-				if ((description != null) && !description.isEmpty()) {
-					description = description.replace("\t", "");
-					description = description.trim();
-				}
-
-				constraint.setDescription(description);
+				throwError("Unknown comment attribute: " + nodeName, reader);
 			}
 		}
 	}
@@ -418,118 +408,130 @@ public class XmlFeatureModelFormat extends AXMLFormat<IFeatureModel> implements
 	/**
 	 * Parses the constraint section.
 	 */
-	private void parseConstraints(NodeList nodeList) throws UnsupportedModelException {
-		for (final Element e : getElements(nodeList)) {
-			for (final Element child : getElements(e.getChildNodes())) {
-				final String nodeName = child.getNodeName();
-				if (nodeName.equals(RULE)) {
-					final IConstraint c = factory.createConstraint(object, parseConstraints2(child.getChildNodes()).getFirst());
-					if (child.hasAttributes()) {
-						final NamedNodeMap nodeMap = child.getAttributes();
-						for (int i = 0; i < nodeMap.getLength(); i++) {
-							final org.w3c.dom.Node node = nodeMap.item(i);
-							final String attributeName = node.getNodeName();
-							if (attributeName.equals(COORDINATES)) {
-								// Legacy case, for backwards compatibility
-							} else {
-								throwError("Unknown constraint attribute: " + attributeName, node);
-							}
+	private void parseConstraints(XMLStreamReader reader) throws XMLStreamException, UnsupportedModelException {
+		while (nextElement(reader)) {
+			final String nodeName = reader.getLocalName();
+			if (nodeName.equals(RULE)) {
+				for (int i = 0; i < reader.getAttributeCount(); i++) {
+					final String attributeName = reader.getAttributeLocalName(i);
+					if (attributeName.equals(COORDINATES)) {
+						// Legacy case, for backwards compatibility
+					} else {
+						throwError("Unknown constraint attribute: " + attributeName, reader);
+					}
+				}
+				final LinkedList<org.prop4j.Node> nodes = new LinkedList<>();
+				String description = null;
+				while (nextElement(reader)) {
+					if (reader.getLocalName().equals(DESCRIPTION)) {
+						description = reader.getElementText();
+						if (!description.isEmpty()) {
+							description = description.replace("\t", "");
+							description = description.trim();
+						}
+					} else {
+						final org.prop4j.Node node = parseConstraintNode(reader);
+						if (node != null) {
+							nodes.add(node);
 						}
 					}
-					parseConstraintDescription(c, child);
-					object.addConstraint(c);
-				} else {
-					throwError("Unknown constraint node: " + nodeName, child);
 				}
+				final IConstraint c = factory.createConstraint(object, nodes.getFirst());
+				if (description != null) {
+					c.setDescription(description);
+				}
+				object.addConstraint(c);
+			} else {
+				throwError("Unknown constraint node: " + nodeName, reader);
 			}
 		}
 	}
 
-	private LinkedList<org.prop4j.Node> parseConstraints2(NodeList nodeList) throws UnsupportedModelException {
+	private LinkedList<org.prop4j.Node> parseConstraintNodes(XMLStreamReader reader) throws XMLStreamException, UnsupportedModelException {
 		final LinkedList<org.prop4j.Node> nodes = new LinkedList<>();
-		LinkedList<org.prop4j.Node> children;
-		for (final Element e : getElements(nodeList)) {
-			final String nodeName = e.getNodeName();
-			if (nodeName.equals(DISJ)) {
-				nodes.add(new Or(parseConstraints2(e.getChildNodes())));
-			} else if (nodeName.equals(CONJ)) {
-				nodes.add(new And(parseConstraints2(e.getChildNodes())));
-			} else if (nodeName.equals(EQ)) {
-				children = parseConstraints2(e.getChildNodes());
-				nodes.add(new Equals(children.get(0), children.get(1)));
-			} else if (nodeName.equals(IMP)) {
-				children = parseConstraints2(e.getChildNodes());
-				nodes.add(new Implies(children.get(0), children.get(1)));
-			} else if (nodeName.equals(NOT)) {
-				nodes.add(new Not((parseConstraints2(e.getChildNodes())).getFirst()));
-			} else if (nodeName.equals(ATMOST1)) {
-				nodes.add(new AtMost(1, parseConstraints2(e.getChildNodes())));
-			} else if (nodeName.equals(VAR)) {
-				final String featureName = e.getTextContent();
-				if (object.getFeature(featureName) != null) {
-					nodes.add(new Literal(featureName));
-				} else {
-					throwError("Feature \"" + featureName + "\" does not exists", e);
-				}
-			} else if (nodeName.equals(DESCRIPTION)) {
-				/**
-				 * The method should return without adding any nodes, and traverse deeper into the tree, because description, has no children just return the
-				 * current list. The actual readout of the description happens at a different point.
-				 */
-			} else {
-				throwError("Unknown constraint type: " + nodeName, e);
+		while (nextElement(reader)) {
+			final org.prop4j.Node node = parseConstraintNode(reader);
+			if (node != null) {
+				nodes.add(node);
 			}
 		}
 		return nodes;
 	}
 
 	/**
-	 * Parses the feature order section.
+	 * Parses the propositional node at the current position of the reader and consumes its end tag.
+	 *
+	 * @return the parsed node or {@code null} for a description
 	 */
-	private void parseFeatureOrder(NodeList nodeList) throws UnsupportedModelException {
-		final ArrayList<String> order = new ArrayList<>(object.getNumberOfFeatures());
-		for (final Element e : getElements(nodeList)) {
-			if (e.hasAttributes()) {
-				final NamedNodeMap nodeMap = e.getAttributes();
-				for (int i = 0; i < nodeMap.getLength(); i++) {
-					final org.w3c.dom.Node node = nodeMap.item(i);
-					final String attributeName = node.getNodeName();
-					final String attributeValue = node.getNodeValue();
-					if (attributeName.equals(USER_DEFINED)) {
-						object.setFeatureOrderUserDefined(attributeValue.equals(TRUE));
-					} else if (attributeName.equals(NAME)) {
-						if (object.getFeature(attributeValue) != null) {
-							order.add(attributeValue);
-						} else {
-							throwError("Feature \"" + attributeValue + "\" does not exists", e);
-						}
-					} else {
-						throwError("Unknown feature order attribute: " + attributeName, e);
-					}
+	private org.prop4j.Node parseConstraintNode(XMLStreamReader reader) throws XMLStreamException, UnsupportedModelException {
+		final String nodeName = reader.getLocalName();
+		LinkedList<org.prop4j.Node> children;
+		if (nodeName.equals(DISJ)) {
+			return new Or(parseConstraintNodes(reader));
+		} else if (nodeName.equals(CONJ)) {
+			return new And(parseConstraintNodes(reader));
+		} else if (nodeName.equals(EQ)) {
+			children = parseConstraintNodes(reader);
+			return new Equals(children.get(0), children.get(1));
+		} else if (nodeName.equals(IMP)) {
+			children = parseConstraintNodes(reader);
+			return new Implies(children.get(0), children.get(1));
+		} else if (nodeName.equals(NOT)) {
+			return new Not(parseConstraintNodes(reader).getFirst());
+		} else if (nodeName.equals(ATMOST1)) {
+			return new AtMost(1, parseConstraintNodes(reader));
+		} else if (nodeName.equals(VAR)) {
+			final int line = getLineNumber(reader);
+			final String featureName = reader.getElementText();
+			constraintReferences.add(featureName, line);
+			return new Literal(featureName);
+		} else if (nodeName.equals(DESCRIPTION)) {
+			/**
+			 * Descriptions of nested nodes have no meaning, the description of a rule is read in parseConstraints.
+			 */
+			skipElement(reader);
+			return null;
+		} else {
+			throwError("Unknown constraint type: " + nodeName, reader);
+			return null;
+		}
+	}
 
-				}
-			}
-			if (e.hasChildNodes()) {
-				parseFeatureOrder(e.getChildNodes());
+	/**
+	 * Parses the feature order section.
+	 */
+	private void parseFeatureOrder(XMLStreamReader reader) throws XMLStreamException, UnsupportedModelException {
+		for (int i = 0; i < reader.getAttributeCount(); i++) {
+			final String attributeName = reader.getAttributeLocalName(i);
+			final String attributeValue = reader.getAttributeValue(i);
+			if (attributeName.equals(USER_DEFINED)) {
+				object.setFeatureOrderUserDefined(attributeValue.equals(TRUE));
+			} else if (attributeName.equals(NAME)) {
+				orderReferences.add(attributeValue, getLineNumber(reader));
+			} else {
+				throwError("Unknown feature order attribute: " + attributeName, reader);
 			}
 		}
-		if (!order.isEmpty()) {
-			object.setFeatureOrderList(order);
+		while (nextElement(reader)) {
+			parseFeatureOrder(reader);
 		}
 	}
 
-	private void parseFeatures(NodeList nodeList, IFeature parent) throws UnsupportedModelException {
-		for (final Element e : getElements(nodeList)) {
-			final String nodeName = e.getNodeName();
+	/**
+	 * Parses the child features of the current element and consumes its end tag.
+	 *
+	 * @param parent the parent feature or {@code null} for the struct section
+	 */
+	private void parseFeatures(XMLStreamReader reader, IFeature parent) throws XMLStreamException, UnsupportedModelException {
+		while (nextElement(reader)) {
+			final String nodeName = reader.getLocalName();
 			if (nodeName.equals(DESCRIPTION)) {
 				/* case: description */
-				if (e.getFirstChild() != null) {
-					String nodeValue = e.getFirstChild().getNodeValue();
-					if ((nodeValue != null) && !nodeValue.isEmpty()) {
-						nodeValue = nodeValue.replace("\t", "");
-						nodeValue = nodeValue.substring(1, nodeValue.length() - 1);
-						nodeValue = nodeValue.trim();
-					}
+				String nodeValue = reader.getElementText();
+				if (!nodeValue.isEmpty()) {
+					nodeValue = nodeValue.replace("\t", "");
+					nodeValue = nodeValue.substring(1, nodeValue.length() - 1);
+					nodeValue = nodeValue.trim();
 					parent.getProperty().setDescription(nodeValue);
 				}
 				continue;
@@ -538,36 +540,30 @@ public class XmlFeatureModelFormat extends AXMLFormat<IFeatureModel> implements
 			boolean _abstract = false;
 			boolean hidden = false;
 			String name = "";
-			// FMPoint featureLocation = null;
-			if (e.hasAttributes()) {
-				final NamedNodeMap nodeMap = e.getAttributes();
-				for (int i = 0; i < nodeMap.getLength(); i++) {
-					final org.w3c.dom.Node node = nodeMap.item(i);
-					final String attributeName = node.getNodeName();
-					final String attributeValue = node.getNodeValue();
-					if (attributeName.equals(ABSTRACT)) {
-						_abstract = attributeValue.equals(TRUE);
-					} else if (attributeName.equals(MANDATORY)) {
-						mandatory = attributeValue.equals(TRUE);
-					} else if (attributeName.equals(NAME)) {
-						name = attributeValue;
-					} else if (attributeName.equals(HIDDEN)) {
-						hidden = attributeValue.equals(TRUE);
-					} else if (attributeName.equals(COORDINATES)) {
-						// Legacy case, for backwards compatibility
-					} else {
-						throwError("Unknown feature attribute: " + attributeName, e);
-					}
-
+			for (int i = 0; i < reader.getAttributeCount(); i++) {
+				final String attributeName = reader.getAttributeLocalName(i);
+				final String attributeValue = reader.getAttributeValue(i);
+				if (attributeName.equals(ABSTRACT)) {
+					_abstract = attributeValue.equals(TRUE);
+				} else if (attributeName.equals(MANDATORY)) {
+					mandatory = attributeValue.equals(TRUE);
+				} else if (attributeName.equals(NAME)) {
+					name = attributeValue;
+				} else if (attributeName.equals(HIDDEN)) {
+					hidden = attributeValue.equals(TRUE);
+				} else if (attributeName.equals(COORDINATES)) {
+					// Legacy case, for backwards compatibility
+				} else {
+					throwError("Unknown feature attribute: " + attributeName, reader);
 				}
 			}
 
 			if (object.getFeature(name) != null) {
-				throwError("Duplicate entry for feature: " + name, e);
+				throwError("Duplicate entry for feature: " + name, reader);
 			}
 
 			if ((validator != null) && !validator.isValidFeatureName(name)) {
-				addToProblemsList(name + " is not a valid feature name", e);
+				localProblems.add(new Problem(name + " is not a valid feature name", getLineNumber(reader), Problem.Severity.ERROR));
 			}
 
 			final IFeature f = factory.createFeature(object, name);
@@ -581,7 +577,7 @@ public class XmlFeatureModelFormat extends AXMLFormat<IFeatureModel> implements
 			} else if (nodeName.equals(FEATURE)) {
 
 			} else {
-				throwError("Unknown feature type: " + nodeName, e);
+				throwError("Unknown feature type: " + nodeName, reader);
 			}
 			f.getStructure().setAbstract(_abstract);
 			f.getStructure().setMandatory(mandatory);
@@ -593,19 +589,16 @@ public class XmlFeatureModelFormat extends AXMLFormat<IFeatureModel> implements
 			} else {
 				parent.getStructure().addChild(f.getStructure());
 			}
-			if (e.hasChildNodes()) {
-				parseFeatures(e.getChildNodes(), f);
-			}
+			parseFeatures(reader, f);
 		}
-
 	}
 
-	/**
-	 * Parse the struct section to add features to the model.
-	 */
-	private void parseStruct(NodeList struct) throws UnsupportedModelException {
-		for (final Element e : getElements(struct)) {
-			parseFeatures(e.getChildNodes(), null);
+	private void checkReferences(FeatureReferences references) throws UnsupportedModelException {
+		for (int i = 0; i < references.names.size(); i++) {
+			final String featureName = references.names.get(i);
+			if (object.getFeature(featureName) == null) {
+				throw new UnsupportedModelException("Feature \"" + featureName + "\" does not exists", references.lines[i]);
+			}
 		}
 	}
 
@@ -613,40 +606,27 @@ public class XmlFeatureModelFormat extends AXMLFormat<IFeatureModel> implements
 	 * Throws an error that will be used for error markers
 	 *
 	 * @param message The error message
-	 * @param tempNode The node that causes the error. this node is used for positioning.
+	 * @param reader The reader positioned at the element that causes the error.
 	 */
-	private void throwError(String message, org.w3c.dom.Node node) throws UnsupportedModelException {
-		throw new UnsupportedModelException(message, Integer.parseInt(node.getUserData(PositionalXMLHandler.LINE_NUMBER_KEY_NAME).toString()));
-	}
-
-	private void addToProblemsList(String message, org.w3c.dom.Node node) {
-		localProblems.add(new Problem(message, Integer.parseInt(node.getUserData(PositionalXMLHandler.LINE_NUMBER_KEY_NAME).toString()),
-				de.ovgu.featureide.fm.core.io.Problem.Severity.ERROR));
+	private void throwError(String message, XMLStreamReader reader) throws UnsupportedModelException {
+		throw new UnsupportedModelException(message, getLineNumber(reader));
 	}
 
-	// TODO implement warnings
-	@SuppressWarnings("unused")
-	private void throwWarning(String message, org.w3c.dom.Node node) throws UnsupportedModelException {
-		throw new UnsupportedModelException(message, Integer.parseInt(node.getUserData(PositionalXMLHandler.LINE_NUMBER_KEY_NAME).toString()));
-	}
-
-	private void writeAttributes(Element node, Element fnod, IFeature feat) {
-		fnod.setAttribute(NAME, feat.getName());
+	private void writeAttributes(IndentingXMLWriter writer, IFeature feat) throws XMLStreamException {
+		writer.writeAttribute(NAME, feat.getName());
 		if (feat.getStructure().isHidden()) {
-			fnod.setAttribute(HIDDEN, TRUE);
+			writer.writeAttribute(HIDDEN, TRUE);
 		}
 		if (feat.getStructure().isMandatory()) {
 			if ((feat.getStructure().getParent() != null) && feat.getStructure().getParent().isAnd()) {
-				fnod.setAttribute(MANDATORY, TRUE);
+				writer.writeAttribute(MANDATORY, TRUE);
 			} else if (feat.getStructure().getParent() == null) {
-				fnod.setAttribute(MANDATORY, TRUE);
+				writer.writeAttribute(MANDATORY, TRUE);
 			}
 		}
 		if (feat.getStructure().isAbstract()) {
-			fnod.setAttribute(ABSTRACT, TRUE);
+			writer.writeAttribute(ABSTRACT, TRUE);
 		}
-
-		node.appendChild(fnod);
 	}
 
 	@Override
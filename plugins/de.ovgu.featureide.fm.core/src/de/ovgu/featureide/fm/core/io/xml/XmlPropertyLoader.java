@@ -28,6 +28,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 
@@ -70,6 +74,10 @@ public class XmlPropertyLoader {
 			parsePropertiesOfFeature(e);
 		}
 
+		public FeaturePropertiesParser(String featureName, Set<IPropertyContainer.Entry<String, IPropertyContainer.Type, Object>> propertyEntries) {
+			featureProperties.put(featureName, propertyEntries);
+		}
+
 		private void parsePropertiesOfFeature(Element featureNode) {
 			if (!featureNode.hasAttribute(NAME)) {
 				throw new UnsupportedOperationException("Property container of type feature is missing required name attribute");
@@ -99,12 +107,30 @@ public class XmlPropertyLoader {
 	}
 
 	private final NodeList propertiesNode;
+	private final XMLStreamReader reader;
 
 	public XmlPropertyLoader(NodeList propertiesNode) throws UnsupportedModelException {
 		this.propertiesNode = propertiesNode;
+		reader = null;
+	}
+
+	/**
+	 * @param reader a reader positioned at the start of a properties element; {@link #parseProperties()} consumes the element including its end tag
+	 */
+	public XmlPropertyLoader(XMLStreamReader reader) {
+		propertiesNode = null;
+		this.reader = reader;
 	}
 
 	public Collection<PropertiesParser> parseProperties() throws UnsupportedModelException {
+		if (reader != null) {
+			try {
+				return parsePropertiesOfDomain(reader);
+			} catch (final XMLStreamException e) {
+				throw new UnsupportedModelException(e.getMessage(), AXMLStreamFormat.getLineNumber(reader));
+			}
+		}
+
 		final Collection<PropertiesParser> result = new ArrayList<>();
 
 		for (final Element domainNode : getElements(propertiesNode)) {
@@ -141,6 +167,25 @@ public class XmlPropertyLoader {
 		return parsers;
 	}
 
+	private Collection<PropertiesParser> parsePropertiesOfDomain(XMLStreamReader reader) throws XMLStreamException {
+		final List<PropertiesParser> parsers = new ArrayList<>();
+
+		while (AXMLStreamFormat.nextElement(reader)) {
+			final String tagName = reader.getLocalName();
+			if (tagName.equals(FEATURE)) {
+				final String featureName = reader.getAttributeValue(null, NAME);
+				if (featureName == null) {
+					throw new UnsupportedOperationException("Property container of type feature is missing required name attribute");
+				}
+				parsers.add(new FeaturePropertiesParser(featureName, parsePropertyEntries(reader, featureName)));
+			} else {
+				throw new UnsupportedOperationException("Unkown domain which contains properties. Don't know where to attach them:" + tagName);
+			}
+		}
+
+		return parsers;
+	}
+
 	private Set<Entry<String, Type, Object>> parsePropertyEntries(Element propertyContainerNode) {
 		final Set<Entry<String, Type, Object>> result = new HashSet<>();
 		final NodeList properties = propertyContainerNode.getElementsByTagName(PROPERTY);
@@ -149,24 +194,58 @@ public class XmlPropertyLoader {
 				throw new UnsupportedOperationException("One property of container " + propertyContainerNode.getAttribute(NAME)
 					+ " is missing one of the required attributes: " + KEY + ", " + VALUE + "," + TYPE);
 			} else {
-				final String key = property.getAttribute(KEY);
-				final Type type = Type.valueOf(property.getAttribute(TYPE));
-				final Object value = castValue(type, property.getAttribute(VALUE));
-				final Entry<String, Type, Object> entry = new Entry<String, IPropertyContainer.Type, Object>(key, type, value);
-				if (result.contains(entry)) {
-					for (final Entry<String, Type, Object> e : result) {
-						if (e.equals(entry) && (!(e.getValue().equals(entry.getValue()) && (e.getType().equals(entry.getType()))))) {
-							throw new IllegalStateException("Ambigous property definition for key: " + key);
-						}
+				addPropertyEntry(result, property.getAttribute(KEY), property.getAttribute(TYPE), property.getAttribute(VALUE));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Collects all property elements within the current element and consumes its end tag.
+	 */
+	private Set<Entry<String, Type, Object>> parsePropertyEntries(XMLStreamReader reader, String containerName) throws XMLStreamException {
+		final Set<Entry<String, Type, Object>> result = new HashSet<>();
+		int depth = 1;
+		while ((depth > 0) && reader.hasNext()) {
+			switch (reader.next()) {
+			case XMLStreamConstants.START_ELEMENT:
+				depth++;
+				if (reader.getLocalName().equals(PROPERTY)) {
+					final String key = reader.getAttributeValue(null, KEY);
+					final String value = reader.getAttributeValue(null, VALUE);
+					final String type = reader.getAttributeValue(null, TYPE);
+					if ((key == null) || (value == null) || (type == null)) {
+						throw new UnsupportedOperationException(
+								"One property of container " + containerName + " is missing one of the required attributes: " + KEY + ", " + VALUE + "," + TYPE);
 					}
-				} else {
-					result.add(entry);
+					addPropertyEntry(result, key, type, value);
 				}
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				depth--;
+				break;
+			default:
+				break;
 			}
 		}
 		return result;
 	}
 
+	private void addPropertyEntry(Set<Entry<String, Type, Object>> result, String key, String typeName, String valueString) {
+		final Type type = Type.valueOf(typeName);
+		final Object value = castValue(type, valueString);
+		final Entry<String, Type, Object> entry = new Entry<String, IPropertyContainer.Type, Object>(key, type, value);
+		if (result.contains(entry)) {
+			for (final Entry<String, Type, Object> e : result) {
+				if (e.equals(entry) && (!(e.getValue().equals(entry.getValue()) && (e.getType().equals(entry.getType()))))) {
+					throw new IllegalStateException("Ambigous property definition for key: " + key);
+				}
+			}
+		} else {
+			result.add(entry);
+		}
+	}
+
 	private Object castValue(Type type, String value) {
 		if ((value == null) || value.trim().isEmpty()) {
 			throw new RuntimeException("Property value is not allowed to be empty");
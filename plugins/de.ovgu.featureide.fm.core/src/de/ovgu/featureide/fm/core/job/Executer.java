@@ -20,6 +20,8 @@
  */
 package de.ovgu.featureide.fm.core.job;
 
+import org.prop4j.solver.SolverMetrics;
+
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
 
 /**
@@ -41,7 +43,12 @@ class Executer<T> {
 
 	public T execute(IMonitor monitor) throws Exception {
 		this.monitor = monitor;
-		return method.execute(monitor);
+		final Object metricsScope = SolverMetrics.enterScope(method);
+		try {
+			return method.execute(monitor);
+		} finally {
+			SolverMetrics.exitScope(metricsScope);
+		}
 	}
 
 }
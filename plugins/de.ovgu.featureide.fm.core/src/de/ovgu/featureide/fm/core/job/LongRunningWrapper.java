@@ -20,6 +20,8 @@
  */
 package de.ovgu.featureide.fm.core.job;
 
+import org.prop4j.solver.SolverMetrics;
+
 import de.ovgu.featureide.fm.core.Logger;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor.MethodCancelException;
@@ -42,6 +44,7 @@ public final class LongRunningWrapper {
 
 	public static <T> T runMethod(LongRunningMethod<T> method, IMonitor monitor) {
 		monitor = monitor != null ? monitor : new NullMonitor();
+		final Object metricsScope = SolverMetrics.enterScope(method);
 		try {
 			return method.execute(monitor);
 		} catch (final MethodCancelException e) {
@@ -50,6 +53,7 @@ public final class LongRunningWrapper {
 			Logger.logError(e);
 			return null;
 		} finally {
+			SolverMetrics.exitScope(metricsScope);
 			monitor.done();
 		}
 	}
@@ -20,6 +20,8 @@
  */
 package de.ovgu.featureide.fm.core.job;
 
+import org.prop4j.solver.SolverMetrics;
+
 import de.ovgu.featureide.fm.core.Logger;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor.MethodCancelException;
@@ -40,6 +42,7 @@ class StoppableExecuter<T> extends Executer<T> {
 
 		@Override
 		public void run() {
+			final Object metricsScope = SolverMetrics.enterScope(method);
 			try {
 				result = method.execute(monitor);
 			} catch (final MethodCancelException e) {
@@ -47,6 +50,8 @@ class StoppableExecuter<T> extends Executer<T> {
 			} catch (final Exception e) {
 				exception = e;
 				Logger.logError(e);
+			} finally {
+				SolverMetrics.exitScope(metricsScope);
 			}
 		}
 
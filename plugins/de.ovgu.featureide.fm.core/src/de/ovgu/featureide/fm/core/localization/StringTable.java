@@ -445,6 +445,7 @@ public class StringTable {
 	public static final String ALTERNATIVE = "Alternative";
 	public static final String DOUBLE_CLICK = " (Double Click)";
 	public static final String ANALYZE_FEATURE_MODEL = "Analyze feature model";
+	public static final String EXPLAIN_FEATURE_MODEL_DEFECTS = "Explain feature model defects";
 	public static final String UPDATING_FEATURE_MODEL_ATTRIBUTES = "Updating feature model attributes";
 	public static final String AUTO_LAYOUT_CONSTRAINTS = "Auto Layout Constraints";
 	public static final String AUTOMATED_CALCULATIONS = "Automated Calculations";
@@ -1093,4 +1094,9 @@ public class StringTable {
 	public static final String ADD_LONG_ATTRIBUTE = "Add Long Attribute";
 	public static final String ADD_DOUBLE_ATTRIBUTE = "Add Double Attribute";
 	public static final String REMOVE_SELECTED_ATTRIBUTE = "Remove Selected Attribute";
+	public static final String MINIMIZE_ATTRIBUTE = "Minimize Attribute";
+	public static final String MAXIMIZE_ATTRIBUTE = "Maximize Attribute";
+	public static final String SELECTED_FEATURES = "Selected features";
+	public static final String NO_VALID_CONFIGURATION_EXISTS = "No valid configuration exists.";
+	public static final String NO_CONFIGURATION_FOUND_WITHIN_THE_TIME_LIMIT = "No configuration found within the time limit.";
 }
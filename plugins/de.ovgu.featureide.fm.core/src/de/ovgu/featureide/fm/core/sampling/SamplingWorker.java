@@ -0,0 +1,137 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.sampling;
+
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.prop4j.Node;
+import org.prop4j.analyses.PairWiseConfigurationGenerator;
+import org.prop4j.analyses.RandomConfigurationGenerator;
+import org.prop4j.solver.ISatSolver;
+import org.prop4j.solver.SatInstance;
+
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.daemon.ModelCache;
+import de.ovgu.featureide.fm.core.daemon.ModelCache.CachedModel;
+import de.ovgu.featureide.fm.core.functional.Functional;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
+
+/**
+ * Entry point of a child JVM that generates shards of a sample for the {@link ShardedSampler}. The process loads the feature model given as first argument
+ * once and generates one shard after the other with its own solver.<br> <br> Protocol (UTF-8, line based, tab separated):<br> The request is a line
+ * {@code <algorithm> <max> <seed> <shard index> <shard count>}.<br> The answer consists of one line {@value #CONFIGURATION} followed by the selected features
+ * for each configuration, terminated by a line {@value #DONE} or a line {@value #ERROR} followed by a message.
+ */
+public final class SamplingWorker {
+
+	static final String CONFIGURATION = "CONFIG";
+	static final String ERROR = "ERROR";
+	static final String DONE = "DONE";
+	static final String SEPARATOR = "\t";
+
+	private SamplingWorker() {}
+
+	public static void main(String[] args) throws IOException {
+		final BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+		final PrintStream out = new PrintStream(new FileOutputStream(FileDescriptor.out), true, StandardCharsets.UTF_8.name());
+		// the standard output is reserved for the answers
+		System.setOut(System.err);
+
+		final CachedModel model;
+		try {
+			model = new ModelCache(1).get(Paths.get(args[0]));
+		} catch (final IOException e) {
+			out.println(ERROR + SEPARATOR + e.getMessage());
+			return;
+		}
+		final Node cnf = model.getConcreteSatInstance().getCnf();
+		final List<String> features = Functional.toList(FeatureUtils.getConcreteFeatureNames(model.getFeatureModel()));
+
+		for (String line = in.readLine(); line != null; line = in.readLine()) {
+			final String[] request = line.split(SEPARATOR);
+			final List<List<String>> configurations;
+			try {
+				configurations = sample(cnf, features, request[0], Integer.parseInt(request[1]), Long.parseLong(request[2]), Integer.parseInt(request[3]),
+						Integer.parseInt(request[4]), new NullMonitor());
+			} catch (final Exception e) {
+				out.println(ERROR + SEPARATOR + String.valueOf(e.getMessage()).replace('\r', ' ').replace('\n', ' '));
+				continue;
+			}
+			for (final List<String> configuration : configurations) {
+				final StringBuilder sb = new StringBuilder(CONFIGURATION);
+				for (final String feature : configuration) {
+					sb.append(SEPARATOR).append(feature);
+				}
+				out.println(sb);
+			}
+			out.println(DONE);
+		}
+	}
+
+	/**
+	 * Generates one shard of a sample. The result only depends on the arguments, so a shard can be generated by any process.
+	 *
+	 * @param cnf the CNF of the feature model over the concrete features, will not be modified
+	 * @param features the concrete features in the order of their variables
+	 * @param algorithm {@link ShardedSampler#PAIRWISE} or {@link ShardedSampler#RANDOM}
+	 * @param max the maximum number of configurations of this shard
+	 * @param seed the seed of the whole sample
+	 * @param shardIndex the index of the shard
+	 * @param shardCount the number of shards
+	 * @param monitor the monitor to cancel the generation
+	 * @return the selected features of each configuration
+	 */
+	public static List<List<String>> sample(Node cnf, List<String> features, String algorithm, int max, long seed, int shardIndex, int shardCount,
+			IMonitor monitor) throws Exception {
+		// the generators reorder the literals of the clauses, which influences the solver
+		final SatInstance satInstance = new SatInstance(cnf.clone(), features);
+		final PairWiseConfigurationGenerator generator;
+		switch (algorithm) {
+		case ShardedSampler.PAIRWISE:
+			generator = new PairWiseConfigurationGenerator(satInstance, max);
+			generator.setShard(shardIndex, shardCount);
+			break;
+		case ShardedSampler.RANDOM:
+			generator = new RandomConfigurationGenerator(satInstance, max);
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown sampling algorithm " + algorithm);
+		}
+		generator.setSeed(ShardedSampler.getShardSeed(seed, shardIndex));
+		// a timeout depends on the load of the machine and would make the shard depend on the number of workers
+		generator.setTimeout(ISatSolver.NO_TIMEOUT);
+		final List<List<String>> configurations = generator.execute(monitor);
+		if (configurations == null) {
+			throw new IllegalStateException("The feature model is void");
+		}
+		return configurations;
+	}
+
+}
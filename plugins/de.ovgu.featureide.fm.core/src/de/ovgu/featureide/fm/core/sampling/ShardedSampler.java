@@ -0,0 +1,302 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.sampling;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.prop4j.Node;
+
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.daemon.ModelCache;
+import de.ovgu.featureide.fm.core.daemon.ModelCache.CachedModel;
+import de.ovgu.featureide.fm.core.functional.Functional;
+import de.ovgu.featureide.fm.core.job.LongRunningMethod;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor.MethodCancelException;
+
+/**
+ * Generates a sample of a feature model in several shards, which are distributed to local worker processes (see {@link SamplingWorker}).<br> For pairwise
+ * sampling, each shard covers a disjoint part of the pairs of features. For random sampling, each shard uses its own seed. Afterwards, the shards are merged
+ * in a fixed order. For pairwise sampling, a configuration is only kept if it covers a pair that is not covered by a previous configuration (for models with
+ * at most {@value #MAX_COVERAGE_FEATURES} features, otherwise only duplicates are removed). For random sampling, only duplicates are removed.<br> The seed
+ * of each shard only depends on the seed of the sample and the index of the shard, and the solvers of the shards run without a timeout, so for a fixed seed
+ * and number of shards the result is the same for any number of workers.
+ */
+public class ShardedSampler implements LongRunningMethod<List<List<String>>> {
+
+	public static final String PAIRWISE = "pairwise";
+	public static final String RANDOM = "random";
+
+	public static final int DEFAULT_SHARD_COUNT = 16;
+
+	/**
+	 * The maximum number of features for which the merge of pairwise shards removes configurations without new pairs. Each configuration covers a pair for
+	 * every two features, so the costs grow quadratically with the number of features.
+	 */
+	public static final int MAX_COVERAGE_FEATURES = 4096;
+
+	private static final long POLL_INTERVAL = 100;
+
+	/**
+	 * @return the seed of the shard with the given index, derived from the seed of the sample
+	 */
+	public static long getShardSeed(long seed, int shardIndex) {
+		long z = seed + ((shardIndex + 1) * 0x9E3779B97F4A7C15L);
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Merges the shards round-robin and removes duplicate configurations. If pair coverage is requested and there are at most
+	 * {@value #MAX_COVERAGE_FEATURES} features, all configurations that do not cover a new pair of features are removed as well.
+	 *
+	 * @param shards the configurations of each shard
+	 * @param features all features of the configurations
+	 * @param max the maximum number of configurations
+	 * @param pairCoverage whether configurations without a new pair of features are removed
+	 * @return the merged sample
+	 */
+	public static List<List<String>> merge(List<List<String>>[] shards, List<String> features, int max, boolean pairCoverage) {
+		final int n = features.size();
+		final boolean coverage = pairCoverage && (n <= MAX_COVERAGE_FEATURES);
+		final Map<String, Integer> index = new HashMap<>();
+		for (final String feature : features) {
+			index.put(feature, index.size());
+		}
+
+		final BitSet covered = new BitSet();
+		final Set<Set<String>> distinct = new HashSet<>();
+		final boolean[] selected = new boolean[n];
+		final List<List<String>> sample = new ArrayList<>();
+		int maxShardSize = 0;
+		for (final List<List<String>> shard : shards) {
+			maxShardSize = Math.max(maxShardSize, shard.size());
+		}
+		for (int i = 0; i < maxShardSize; i++) {
+			for (final List<List<String>> shard : shards) {
+				if (sample.size() >= max) {
+					return sample;
+				}
+				if (i < shard.size()) {
+					final List<String> configuration = shard.get(i);
+					Arrays.fill(selected, false);
+					for (final String feature : configuration) {
+						final Integer featureIndex = index.get(feature);
+						if (featureIndex == null) {
+							throw new IllegalArgumentException("Unknown feature " + feature);
+						}
+						selected[featureIndex] = true;
+					}
+					final boolean keep = coverage ? (cover(covered, selected) || sample.isEmpty()) : distinct.add(new HashSet<>(configuration));
+					if (keep) {
+						sample.add(configuration);
+					}
+				}
+			}
+		}
+		return sample;
+	}
+
+	private static boolean cover(BitSet covered, boolean[] selected) {
+		boolean newPair = false;
+		for (int b = 1; b < selected.length; b++) {
+			final int offset = (b * (b - 1)) << 1;
+			for (int a = 0; a < b; a++) {
+				final int bit = offset + (a << 2) + (selected[a] ? 2 : 0) + (selected[b] ? 1 : 0);
+				if (!covered.get(bit)) {
+					covered.set(bit);
+					newPair = true;
+				}
+			}
+		}
+		return newPair;
+	}
+
+	private final Path modelFile;
+	private final String algorithm;
+	private final int max;
+	private final long seed;
+	private final int shardCount;
+	private final int workerCount;
+
+	private String classPath = System.getProperty("java.class.path");
+
+	private final List<Process> processes = new ArrayList<>();
+
+	/**
+	 * @param modelFile the feature model
+	 * @param algorithm {@link #PAIRWISE} or {@link #RANDOM}
+	 * @param max the maximum number of configurations
+	 * @param seed the seed of the sample
+	 * @param shardCount the number of shards, must be the same to reproduce a sample
+	 * @param workerCount the number of worker processes, if less than one, all shards are generated in this thread
+	 */
+	public ShardedSampler(Path modelFile, String algorithm, int max, long seed, int shardCount, int workerCount) {
+		if (!PAIRWISE.equals(algorithm) && !RANDOM.equals(algorithm)) {
+			throw new IllegalArgumentException("Unknown sampling algorithm " + algorithm);
+		}
+		this.modelFile = modelFile.toAbsolutePath();
+		this.algorithm = algorithm;
+		this.max = max;
+		this.seed = seed;
+		this.shardCount = Math.max(1, shardCount);
+		this.workerCount = Math.min(workerCount, this.shardCount);
+	}
+
+	public String getClassPath() {
+		return classPath;
+	}
+
+	/**
+	 * @param classPath the class path of the worker processes, which must contain this plug-in and its libraries. Defaults to the class path of this JVM.
+	 */
+	public void setClassPath(String classPath) {
+		this.classPath = classPath;
+	}
+
+	@Override
+	public List<List<String>> execute(IMonitor monitor) throws Exception {
+		final CachedModel model = new ModelCache(1).get(modelFile);
+		final List<String> features = Functional.toList(FeatureUtils.getConcreteFeatureNames(model.getFeatureModel()));
+		// each random shard contributes a part of the sample, each pairwise shard may need all configurations to cover its pairs
+		final int shardMax = PAIRWISE.equals(algorithm) ? max : (int) Math.ceil((double) max / shardCount);
+
+		@SuppressWarnings("unchecked")
+		final List<List<String>>[] shards = new List[shardCount];
+		if (workerCount < 1) {
+			final Node cnf = model.getConcreteSatInstance().getCnf();
+			for (int i = 0; i < shardCount; i++) {
+				monitor.checkCancel();
+				shards[i] = SamplingWorker.sample(cnf, features, algorithm, shardMax, seed, i, shardCount, monitor);
+			}
+		} else {
+			runWorkers(shards, shardMax, monitor);
+		}
+		return merge(shards, features, max, PAIRWISE.equals(algorithm));
+	}
+
+	private void runWorkers(final List<List<String>>[] shards, final int shardMax, IMonitor monitor) throws Exception {
+		final AtomicInteger nextShard = new AtomicInteger();
+		final Exception[] error = new Exception[1];
+		final List<Thread> threads = new ArrayList<>();
+		try {
+			for (int i = 0; i < workerCount; i++) {
+				final Process process = startWorker();
+				final Thread thread = new Thread("Sampling Worker " + i) {
+
+					@Override
+					public void run() {
+						try {
+							final BufferedWriter in = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+							final BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+							for (int shard = nextShard.getAndIncrement(); shard < shardCount; shard = nextShard.getAndIncrement()) {
+								in.write(algorithm + SamplingWorker.SEPARATOR + shardMax + SamplingWorker.SEPARATOR + seed + SamplingWorker.SEPARATOR + shard
+									+ SamplingWorker.SEPARATOR + shardCount);
+								in.newLine();
+								in.flush();
+								shards[shard] = readShard(out);
+							}
+						} catch (final Exception e) {
+							synchronized (error) {
+								if (error[0] == null) {
+									error[0] = e;
+								}
+							}
+							nextShard.set(shardCount);
+						}
+					}
+				};
+				threads.add(thread);
+				thread.start();
+			}
+			for (final Thread thread : threads) {
+				while (thread.isAlive()) {
+					monitor.checkCancel();
+					thread.join(POLL_INTERVAL);
+				}
+			}
+		} catch (final InterruptedException e) {
+			throw new MethodCancelException();
+		} finally {
+			// also stops the threads if the sampling is canceled
+			synchronized (processes) {
+				for (final Process process : processes) {
+					process.destroy();
+				}
+				processes.clear();
+			}
+		}
+		synchronized (error) {
+			if (error[0] != null) {
+				throw error[0];
+			}
+		}
+	}
+
+	private Process startWorker() throws IOException {
+		final String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		final ProcessBuilder processBuilder = new ProcessBuilder(java, "-cp", classPath, SamplingWorker.class.getName(), modelFile.toString());
+		processBuilder.redirectError(Redirect.INHERIT);
+		synchronized (processes) {
+			final Process process = processBuilder.start();
+			processes.add(process);
+			return process;
+		}
+	}
+
+	private static List<List<String>> readShard(BufferedReader out) throws IOException {
+		final List<List<String>> configurations = new ArrayList<>();
+		for (String line = out.readLine(); line != null; line = out.readLine()) {
+			final String[] fields = line.split(SamplingWorker.SEPARATOR);
+			switch (fields[0]) {
+			case SamplingWorker.CONFIGURATION:
+				configurations.add(new ArrayList<>(Arrays.asList(fields).subList(1, fields.length)));
+				break;
+			case SamplingWorker.DONE:
+				return configurations;
+			case SamplingWorker.ERROR:
+				throw new IOException(fields.length > 1 ? fields[1] : "Sampling worker failed");
+			default:
+				break;
+			}
+		}
+		throw new IOException("Sampling worker terminated unexpectedly");
+	}
+
+}
@@ -31,6 +31,8 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 
+import org.prop4j.solver.InstrumentedSolver;
+import org.prop4j.solver.SolverMetrics;
 import org.sat4j.core.ConstrGroup;
 import org.sat4j.core.VecInt;
 import org.sat4j.minisat.SolverFactory;
@@ -106,11 +108,12 @@ public class SatSolver {
 	}
 
 	protected void initSolver(Node node, long timeout, boolean createCNF) {
-		solver = SolverFactory.newDefault();
+		solver = SolverMetrics.instrument(SolverFactory.newDefault());
 		solver.setTimeoutMs(timeout);
 		solver.newVar(varToInt.size());
 
 		addClauses(createCNF ? node.toCNF() : node.clone());
+		SolverMetrics.solverCreated(solver);
 	}
 
 	public void setTimeout(long timeout) {
@@ -702,7 +705,7 @@ public class SatSolver {
 
 	public List<String> getSolution(boolean positive) {
 		if (!contradiction) {
-			final Solver<?> s = ((Solver<?>) solver);
+			final Solver<?> s = ((Solver<?>) InstrumentedSolver.unwrap(solver));
 			final IOrder oldOrder = s.getOrder();
 
 			try {
@@ -66,6 +66,7 @@ public class CountSolutionAnalysis extends AbstractAnalysis<Long> {
 		long lowerBound = 0;
 		solver.setSelectionStrategy(SelectionStrategy.RANDOM);
 		solutionLoop: while (true) {
+			monitor.checkCancel();
 			switch (solver.isSatisfiable()) {
 			case TIMEOUT:
 				lowerBound = -1 - lowerBound;
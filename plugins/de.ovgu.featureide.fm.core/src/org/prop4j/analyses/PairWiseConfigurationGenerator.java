@@ -177,6 +177,8 @@ public class PairWiseConfigurationGenerator extends AbstractAnalysis<List<List<S
 
 	private List<int[]> predefinedConfigurations;
 
+	private int shardIndex = 0, shardCount = 1;
+
 	public PairWiseConfigurationGenerator(SatInstance satInstance, int maxNumber) {
 		super(satInstance);
 		this.maxNumber = maxNumber;
@@ -303,6 +305,47 @@ public class PairWiseConfigurationGenerator extends AbstractAnalysis<List<List<S
 		return getConfigurations();
 	}
 
+	/**
+	 * Restricts the generator to the pairs of features that belong to the given shard. The pairs are assigned to the shards by a hash of their variables, so
+	 * the shards {@code 0} to {@code shardCount - 1} partition all pairs and can be generated independently of each other.
+	 *
+	 * @param shardIndex the index of the shard, between {@code 0} and {@code shardCount - 1}
+	 * @param shardCount the total number of shards
+	 */
+	public void setShard(int shardIndex, int shardCount) {
+		if ((shardCount < 1) || (shardIndex < 0) || (shardIndex >= shardCount)) {
+			throw new IllegalArgumentException("Invalid shard " + shardIndex + " of " + shardCount);
+		}
+		this.shardIndex = shardIndex;
+		this.shardCount = shardCount;
+	}
+
+	public void setSeed(long seed) {
+		if (solver != null) {
+			solver.setSeed(seed);
+		}
+	}
+
+	/**
+	 * @param timeout the timeout of each satisfiability check in milliseconds, {@link ISatSolver#NO_TIMEOUT} to disable it
+	 */
+	public void setTimeout(long timeout) {
+		if (solver != null) {
+			solver.setTimeout(timeout);
+		}
+	}
+
+	/**
+	 * @return the shard of the pair of the variables {@code a} and {@code b}, independent of their order
+	 */
+	public static int getShard(int a, int b, int shardCount) {
+		long h = (Math.min(a, b) * 0x9E3779B97F4A7C15L) + Math.max(a, b);
+		h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+		h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+		h ^= h >>> 31;
+		return (int) ((h & Long.MAX_VALUE) % shardCount);
+	}
+
 	public List<int[]> getPredefinedConfigurations() {
 		return Collections.unmodifiableList(predefinedConfigurations);
 	}
@@ -433,6 +476,16 @@ public class PairWiseConfigurationGenerator extends AbstractAnalysis<List<List<S
 				}
 			}
 		}
+		if (shardCount > 1) {
+			// pairs of other shards count as covered
+			for (int i = 0; i < combinations2.length; i++) {
+				final int a = (i / numVariables);
+				final int b = (i % numVariables);
+				if ((a != b) && (getShard(a, b, shardCount) != shardIndex)) {
+					combinations2[i] = BITS_NEGATIVE_IMPLY | BITS_POSITIVE_IMPLY;
+				}
+			}
+		}
 		fixedPartCount = count2();
 		combinationCount /= 2;
 		combinationCount -= fixedPartCount;
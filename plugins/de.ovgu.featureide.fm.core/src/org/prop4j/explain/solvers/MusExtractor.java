@@ -67,4 +67,17 @@ public interface MusExtractor extends MutableSatSolver {
 	 * @throws IllegalStateException if the formula in this solver is satisfiable
 	 */
 	public List<Set<Integer>> getAllMinimalUnsatisfiableSubsetIndexes() throws IllegalStateException;
+
+	/**
+	 * <p> Returns minimal unsatisfiable subsets of the problem referenced by index, but stops as soon as the given budget is exhausted. The MUSes are returned
+	 * in the order they were found. Implementations capable of enumerating MUSes incrementally return the first one as soon as possible. </p>
+	 *
+	 * <p> If the budget is exhausted before any MUS could be found, the returned list is empty. </p>
+	 *
+	 * @param maxCount the maximum amount of MUSes to return; unlimited if not positive
+	 * @param timeout the maximum time in milliseconds to spend; unlimited if not positive
+	 * @return minimal unsatisfiable subsets of the problem referenced by index; not null
+	 * @throws IllegalStateException if the formula in this solver is satisfiable
+	 */
+	public List<Set<Integer>> getAllMinimalUnsatisfiableSubsetIndexes(int maxCount, long timeout) throws IllegalStateException;
 }
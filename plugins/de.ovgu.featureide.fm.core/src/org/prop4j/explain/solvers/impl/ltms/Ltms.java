@@ -21,6 +21,7 @@
 package org.prop4j.explain.solvers.impl.ltms;
 
 import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Deque;
 import java.util.HashMap;
@@ -220,6 +221,20 @@ public class Ltms extends AbstractSatProblem implements MusExtractor {
 		throw new UnsupportedOperationException();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p> Propagation is fast enough that the time budget is not checked. Only the amount of returned explanations is limited. </p>
+	 */
+	@Override
+	public List<Set<Integer>> getAllMinimalUnsatisfiableSubsetIndexes(int maxCount, long timeout) throws IllegalStateException {
+		final List<Set<Integer>> explanations = getAllMinimalUnsatisfiableSubsetIndexes();
+		if ((maxCount > 0) && (explanations.size() > maxCount)) {
+			return new ArrayList<>(explanations.subList(0, maxCount));
+		}
+		return explanations;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 *
@@ -74,6 +74,21 @@ public class Sat4jAllMusExtractor extends Sat4jMutableSatSolver implements MusEx
 		return getClauseSetsFromIndexSets(getAllMinimalUnsatisfiableSubsetIndexes());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p> Sat4J's AllMUSes computes all maximal satisfiable subsets before the first MUS is known and cannot be interrupted without corrupting its state. Thus,
+	 * only the amount of returned MUSes is limited. Use {@link Sat4jMarcoMusExtractor} for an enumeration that honors the time budget. </p>
+	 */
+	@Override
+	public List<Set<Integer>> getAllMinimalUnsatisfiableSubsetIndexes(int maxCount, long timeout) throws IllegalStateException {
+		final List<Set<Integer>> allMuses = getAllMinimalUnsatisfiableSubsetIndexes();
+		if ((maxCount > 0) && (allMuses.size() > maxCount)) {
+			return new ArrayList<>(allMuses.subList(0, maxCount));
+		}
+		return allMuses;
+	}
+
 	@Override
 	public List<Set<Integer>> getAllMinimalUnsatisfiableSubsetIndexes() throws IllegalStateException {
 		if (isSatisfiable()) {
@@ -0,0 +1,450 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.explain.solvers.impl.sat4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.prop4j.Node;
+import org.prop4j.explain.solvers.MusExtractor;
+import org.sat4j.core.VecInt;
+import org.sat4j.minisat.SolverFactory;
+import org.sat4j.minisat.core.Solver;
+import org.sat4j.minisat.orders.PositiveLiteralSelectionStrategy;
+import org.sat4j.minisat.orders.RandomLiteralSelectionStrategy;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.ISolver;
+import org.sat4j.specs.IVecInt;
+import org.sat4j.specs.TimeoutException;
+
+import de.ovgu.featureide.fm.core.Logger;
+
+/**
+ * <p> A MUS extractor enumerating MUSes incrementally using the MARCO algorithm. </p>
+ *
+ * <p> A map solver keeps track of all subsets of clauses that have not been explored yet. In each iteration, an unexplored subset (the seed) is checked. If
+ * it is unsatisfiable, it is shrunk to a MUS and all of its supersets are blocked. Otherwise, it is grown to a maximal satisfiable subset and all of its
+ * subsets are blocked. Thus, the first MUS is usually found after very few iterations, and more MUSes follow as long as the budget allows. </p>
+ *
+ * <p> Optionally, several workers explore the map in parallel. Each one owns its own oracles and picks its seeds differently. Found MUSes and blocking
+ * clauses are shared among the workers. </p>
+ */
+public class Sat4jMarcoMusExtractor extends Sat4jMutableSatSolver implements MusExtractor {
+
+	/** The amount of workers exploring the map in parallel. */
+	private int workerCount = 1;
+
+	/**
+	 * Returns the amount of workers exploring the map in parallel.
+	 *
+	 * @return the amount of workers
+	 */
+	public int getWorkerCount() {
+		return workerCount;
+	}
+
+	/**
+	 * Sets the amount of workers exploring the map in parallel.
+	 *
+	 * @param workerCount the amount of workers; at least 1
+	 * @throws IllegalArgumentException if the amount of workers is less than 1
+	 */
+	public void setWorkerCount(int workerCount) throws IllegalArgumentException {
+		if (workerCount < 1) {
+			throw new IllegalArgumentException("At least one worker required");
+		}
+		this.workerCount = workerCount;
+	}
+
+	@Override
+	public Set<Node> getMinimalUnsatisfiableSubset() throws IllegalStateException {
+		return getClauseSetFromIndexSet(getMinimalUnsatisfiableSubsetIndexes());
+	}
+
+	@Override
+	public Set<Integer> getMinimalUnsatisfiableSubsetIndexes() throws IllegalStateException {
+		return getAllMinimalUnsatisfiableSubsetIndexes(1, 0).get(0);
+	}
+
+	@Override
+	public List<Set<Node>> getAllMinimalUnsatisfiableSubsets() throws IllegalStateException {
+		return getClauseSetsFromIndexSets(getAllMinimalUnsatisfiableSubsetIndexes());
+	}
+
+	@Override
+	public List<Set<Integer>> getAllMinimalUnsatisfiableSubsetIndexes() throws IllegalStateException {
+		return getAllMinimalUnsatisfiableSubsetIndexes(0, 0);
+	}
+
+	@Override
+	public List<Set<Integer>> getAllMinimalUnsatisfiableSubsetIndexes(int maxCount, long timeout) throws IllegalStateException {
+		if (isSatisfiable()) {
+			throw new IllegalStateException("Problem is satisfiable");
+		}
+		final int clauseCount = getClauseCount();
+		final int[][] clauses = new int[clauseCount][];
+		for (int i = 0; i < clauseCount; i++) {
+			clauses[i] = toArray(getVectorFromClause(getClause(i)));
+		}
+		final Enumeration enumeration =
+			new Enumeration(clauses, toArray(getVectorFromAssumptions()), getVariableCount(), maxCount, timeout > 0 ? System.currentTimeMillis() + timeout : 0);
+
+		if (workerCount == 1) {
+			new Worker(enumeration, 0).run();
+		} else {
+			final ExecutorService executor = Executors.newFixedThreadPool(workerCount - 1);
+			try {
+				final List<Future<?>> futures = new ArrayList<>(workerCount - 1);
+				for (int i = 1; i < workerCount; i++) {
+					futures.add(executor.submit(new Worker(enumeration, i)));
+				}
+				new Worker(enumeration, 0).run();
+				for (final Future<?> future : futures) {
+					try {
+						future.get();
+					} catch (final ExecutionException e) {
+						Logger.logError(e);
+					}
+				}
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				executor.shutdownNow();
+			}
+		}
+		return enumeration.getMuses();
+	}
+
+	/**
+	 * Returns the contents of the given vector. Unlike {@link IVecInt#toArray()}, the returned array has exactly the size of the vector.
+	 *
+	 * @param vector vector to copy; not null
+	 * @return the contents of the vector
+	 */
+	private static int[] toArray(IVecInt vector) {
+		final int[] array = new int[vector.size()];
+		vector.copyTo(array);
+		return array;
+	}
+
+	/**
+	 * State of one enumeration shared by all workers.
+	 */
+	private static class Enumeration {
+
+		/** The clauses as Sat4J literals. */
+		private final int[][] clauses;
+		/** The assumptions as Sat4J literals. */
+		private final int[] assumptions;
+		/** The amount of variables of the clauses. */
+		private final int variableCount;
+		/** The maximum amount of MUSes to find; unlimited if not positive. */
+		private final int maxCount;
+		/** The point in time at which to stop; unlimited if not positive. */
+		private final long deadline;
+
+		/** The MUSes found so far. */
+		private final Set<Set<Integer>> muses = new LinkedHashSet<>();
+		/** The clauses over the map variables blocking already explored subsets. */
+		private final List<int[]> blockingClauses = new ArrayList<>();
+		/** Whether the enumeration is complete or the budget is exhausted. */
+		private volatile boolean done = false;
+
+		public Enumeration(int[][] clauses, int[] assumptions, int variableCount, int maxCount, long deadline) {
+			this.clauses = clauses;
+			this.assumptions = assumptions;
+			this.variableCount = variableCount;
+			this.maxCount = maxCount;
+			this.deadline = deadline;
+		}
+
+		public boolean isDone() {
+			if (!done && (deadline > 0) && (System.currentTimeMillis() >= deadline)) {
+				done = true;
+			}
+			return done;
+		}
+
+		public void setDone() {
+			done = true;
+		}
+
+		/**
+		 * Limits the next call of the given solver to the remaining time. Leaves the solver untouched if there is no deadline.
+		 *
+		 * @param solver the solver to limit
+		 */
+		public void limitTime(ISolver solver) {
+			if (deadline > 0) {
+				solver.setTimeoutMs(Math.max(1, deadline - System.currentTimeMillis()));
+			}
+		}
+
+		public synchronized void addMus(Set<Integer> mus) {
+			if (done || !muses.add(mus)) {
+				return;
+			}
+			final int[] blockingClause = new int[mus.size()];
+			int i = 0;
+			for (final int clauseIndex : mus) {
+				blockingClause[i++] = -(clauseIndex + 1);
+			}
+			blockingClauses.add(blockingClause);
+			if ((maxCount > 0) && (muses.size() >= maxCount)) {
+				done = true;
+			}
+		}
+
+		public synchronized void addMss(boolean[] mss) {
+			final IVecInt blockingClause = new VecInt();
+			for (int i = 0; i < mss.length; i++) {
+				if (!mss[i]) {
+					blockingClause.push(i + 1);
+				}
+			}
+			blockingClauses.add(toArray(blockingClause));
+		}
+
+		public synchronized List<int[]> getBlockingClauses(int fromIndex) {
+			return new ArrayList<>(blockingClauses.subList(fromIndex, blockingClauses.size()));
+		}
+
+		public synchronized List<Set<Integer>> getMuses() {
+			return new ArrayList<>(muses);
+		}
+	}
+
+	/**
+	 * Explores the map of one enumeration using its own oracles.
+	 */
+	private static class Worker implements Runnable {
+
+		private final Enumeration enumeration;
+		/** Solver over one variable per clause keeping track of the unexplored subsets. */
+		private final ISolver map = SolverFactory.newDefault();
+		/** Solver over the clauses, each one extended by a selector variable. */
+		private final ISolver check = SolverFactory.newDefault();
+		/** The amount of shared blocking clauses already added to the map. */
+		private int blockingClauseCount = 0;
+
+		public Worker(Enumeration enumeration, int id) {
+			this.enumeration = enumeration;
+			// The first worker prefers large seeds, which tend to be unsatisfiable and thus lead to the first MUS quickly.
+			((Solver<?>) map).getOrder().setPhaseSelectionStrategy(id == 0 ? new PositiveLiteralSelectionStrategy() : new RandomLiteralSelectionStrategy());
+		}
+
+		@Override
+		public void run() {
+			try {
+				init();
+				final int clauseCount = enumeration.clauses.length;
+				while (!enumeration.isDone()) {
+					if (!updateMap()) {
+						enumeration.setDone();
+						break;
+					}
+					enumeration.limitTime(map);
+					if (!map.isSatisfiable()) {
+						enumeration.setDone();
+						break;
+					}
+					final boolean[] seed = new boolean[clauseCount];
+					for (int i = 0; i < clauseCount; i++) {
+						seed[i] = true;
+					}
+					for (final int literal : map.model()) {
+						if (literal < 0) {
+							seed[-literal - 1] = false;
+						}
+					}
+					if (isSatisfiable(seed)) {
+						enumeration.addMss(grow(seed));
+					} else {
+						enumeration.addMus(shrink(seed));
+					}
+				}
+			} catch (final TimeoutException e) {
+				enumeration.setDone();
+			}
+		}
+
+		private void init() {
+			final int variableCount = enumeration.variableCount;
+			final int[][] clauses = enumeration.clauses;
+			map.newVar(clauses.length);
+			check.newVar(variableCount + clauses.length);
+			for (int i = 0; i < clauses.length; i++) {
+				final int[] clause = clauses[i];
+				final int[] selectedClause = new int[clause.length + 1];
+				System.arraycopy(clause, 0, selectedClause, 0, clause.length);
+				selectedClause[clause.length] = -getSelector(i);
+				try {
+					check.addClause(new VecInt(selectedClause));
+				} catch (final ContradictionException e) {
+					// Cannot happen as each clause contains its own fresh selector.
+					Logger.logError(e);
+				}
+			}
+		}
+
+		/**
+		 * Adds the blocking clauses found by any worker since the last call to the map.
+		 *
+		 * @return false if the map became unsatisfiable
+		 */
+		private boolean updateMap() {
+			final List<int[]> newBlockingClauses = enumeration.getBlockingClauses(blockingClauseCount);
+			blockingClauseCount += newBlockingClauses.size();
+			for (final int[] blockingClause : newBlockingClauses) {
+				try {
+					map.addClause(new VecInt(blockingClause));
+				} catch (final ContradictionException e) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private int getSelector(int clauseIndex) {
+			return enumeration.variableCount + clauseIndex + 1;
+		}
+
+		private boolean isSatisfiable(boolean[] subset) throws TimeoutException {
+			final int[] assumptions = enumeration.assumptions;
+			final IVecInt vector = new VecInt(assumptions.length + subset.length);
+			for (final int assumption : assumptions) {
+				vector.push(assumption);
+			}
+			for (int i = 0; i < subset.length; i++) {
+				if (subset[i]) {
+					vector.push(getSelector(i));
+				}
+			}
+			enumeration.limitTime(check);
+			return check.isSatisfiable(vector);
+		}
+
+		/**
+		 * Grows the given satisfiable subset to a maximal satisfiable subset.
+		 *
+		 * @param subset satisfiable subset; modified in place
+		 * @return a maximal satisfiable subset
+		 */
+		private boolean[] grow(boolean[] subset) throws TimeoutException {
+			addSatisfiedClauses(subset);
+			for (int i = 0; i < subset.length; i++) {
+				if (!subset[i]) {
+					subset[i] = true;
+					if (isSatisfiable(subset)) {
+						addSatisfiedClauses(subset);
+					} else {
+						subset[i] = false;
+					}
+				}
+			}
+			return subset;
+		}
+
+		/**
+		 * Adds all clauses to the given subset that are satisfied by the current model of the check solver anyway.
+		 *
+		 * @param subset satisfiable subset; modified in place
+		 */
+		private void addSatisfiedClauses(boolean[] subset) {
+			final int[] model = check.model();
+			final boolean[] trueLiterals = new boolean[(2 * enumeration.variableCount) + 1];
+			for (final int literal : model) {
+				final int variable = Math.abs(literal);
+				if (variable <= enumeration.variableCount) {
+					trueLiterals[enumeration.variableCount + literal] = true;
+				}
+			}
+			final int[][] clauses = enumeration.clauses;
+			for (int i = 0; i < subset.length; i++) {
+				if (!subset[i]) {
+					for (final int literal : clauses[i]) {
+						if (trueLiterals[enumeration.variableCount + literal]) {
+							subset[i] = true;
+							break;
+						}
+					}
+				}
+			}
+		}
+
+		/**
+		 * Shrinks the given unsatisfiable subset to a minimal unsatisfiable subset. Uses the core of the last call to the check solver to skip clauses.
+		 *
+		 * @param subset unsatisfiable subset; modified in place
+		 * @return the clause indexes of a minimal unsatisfiable subset
+		 */
+		private Set<Integer> shrink(boolean[] subset) throws TimeoutException {
+			reduceToCore(subset);
+			for (int i = 0; i < subset.length; i++) {
+				if (subset[i]) {
+					subset[i] = false;
+					if (isSatisfiable(subset)) {
+						subset[i] = true;
+					} else {
+						reduceToCore(subset);
+					}
+				}
+			}
+			final Set<Integer> mus = new TreeSet<>();
+			for (int i = 0; i < subset.length; i++) {
+				if (subset[i]) {
+					mus.add(i);
+				}
+			}
+			return Collections.unmodifiableSet(mus);
+		}
+
+		/**
+		 * Removes all clauses from the given subset that are not part of the core of the last unsatisfiable call to the check solver.
+		 *
+		 * @param subset unsatisfiable subset; modified in place
+		 */
+		private void reduceToCore(boolean[] subset) {
+			final IVecInt core = check.unsatExplanation();
+			if (core == null) {
+				return;
+			}
+			final boolean[] inCore = new boolean[subset.length];
+			for (int i = 0; i < core.size(); i++) {
+				final int clauseIndex = Math.abs(core.get(i)) - enumeration.variableCount - 1;
+				if ((clauseIndex >= 0) && (clauseIndex < subset.length)) {
+					inCore[clauseIndex] = true;
+				}
+			}
+			for (int i = 0; i < subset.length; i++) {
+				subset[i] &= inCore[i];
+			}
+		}
+	}
+}
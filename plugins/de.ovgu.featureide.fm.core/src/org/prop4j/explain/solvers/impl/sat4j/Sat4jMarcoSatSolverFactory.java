@@ -0,0 +1,56 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.explain.solvers.impl.sat4j;
+
+import org.prop4j.explain.solvers.MusExtractor;
+import org.prop4j.explain.solvers.SatSolver;
+
+/**
+ * Provides instances of {@link SatSolver} using a Sat4J oracle. MUSes are enumerated incrementally by a {@link Sat4jMarcoMusExtractor}.
+ */
+public class Sat4jMarcoSatSolverFactory extends Sat4jSatSolverFactory {
+
+	/** The amount of workers each MUS extractor uses. */
+	private final int workerCount;
+
+	/**
+	 * Constructs a new instance of this class using a single worker per MUS extractor.
+	 */
+	public Sat4jMarcoSatSolverFactory() {
+		this(1);
+	}
+
+	/**
+	 * Constructs a new instance of this class.
+	 *
+	 * @param workerCount the amount of workers each MUS extractor uses; at least 1
+	 */
+	public Sat4jMarcoSatSolverFactory(int workerCount) {
+		this.workerCount = workerCount;
+	}
+
+	@Override
+	public MusExtractor getMusExtractor() {
+		final Sat4jMarcoMusExtractor musExtractor = new Sat4jMarcoMusExtractor();
+		musExtractor.setWorkerCount(workerCount);
+		return musExtractor;
+	}
+}
@@ -81,4 +81,23 @@ public class Sat4jMusExtractor extends Sat4jMutableSatSolver implements MusExtra
 	public List<Set<Integer>> getAllMinimalUnsatisfiableSubsetIndexes() throws IllegalStateException {
 		return Collections.singletonList(getMinimalUnsatisfiableSubsetIndexes());
 	}
+
+	@Override
+	public List<Set<Integer>> getAllMinimalUnsatisfiableSubsetIndexes(int maxCount, long timeout) throws IllegalStateException {
+		final Xplain<ISolver> oracle = getOracle();
+		final long previousTimeout = oracle.getTimeoutMs();
+		if (timeout > 0) {
+			oracle.setTimeoutMs(timeout);
+		}
+		try {
+			return getAllMinimalUnsatisfiableSubsetIndexes();
+		} catch (final IllegalStateException e) {
+			if (e.getCause() instanceof TimeoutException) {
+				return Collections.emptyList();
+			}
+			throw e;
+		} finally {
+			oracle.setTimeoutMs(previousTimeout);
+		}
+	}
 }
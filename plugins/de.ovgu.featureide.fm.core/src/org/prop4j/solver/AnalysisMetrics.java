@@ -0,0 +1,208 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.solver;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.prop4j.solver.ISatSolver.SatResult;
+
+/**
+ * Statistics about the solver calls of one analysis, see {@link SolverMetrics}.<br> The latencies are kept in a histogram with power-of-two buckets, so
+ * percentiles are upper bounds with a precision of factor two.
+ */
+public final class AnalysisMetrics {
+
+	/**
+	 * Number of latency buckets. Bucket {@code i} counts calls that took less than 2<sup>i</sup> microseconds (and at least 2<sup>i-1</sup>). The last bucket
+	 * counts all calls that took longer.
+	 */
+	public static final int HISTOGRAM_SIZE = 32;
+
+	/**
+	 * Estimated size of a clause in a Sat4J solver without its literals (object header, fields, literal array header, and watch list entries).
+	 */
+	static final int BYTES_PER_CLAUSE = 64;
+	static final int BYTES_PER_LITERAL = 4;
+	static final int BYTES_PER_VARIABLE = 96;
+
+	private final String name;
+
+	private final AtomicLong calls = new AtomicLong();
+	private final AtomicLong satisfiable = new AtomicLong();
+	private final AtomicLong unsatisfiable = new AtomicLong();
+	private final AtomicLong timeouts = new AtomicLong();
+	private final AtomicLong totalNanos = new AtomicLong();
+	private final AtomicLong maxNanos = new AtomicLong();
+	private final AtomicLongArray histogram = new AtomicLongArray(HISTOGRAM_SIZE);
+
+	private final AtomicLong solvers = new AtomicLong();
+	private final AtomicLong variables = new AtomicLong();
+	private final AtomicLong clauses = new AtomicLong();
+	private final AtomicLong estimatedBytes = new AtomicLong();
+
+	AnalysisMetrics(String name) {
+		this.name = name;
+	}
+
+	void recordCall(long nanos, SatResult result) {
+		calls.incrementAndGet();
+		switch (result) {
+		case TRUE:
+			satisfiable.incrementAndGet();
+			break;
+		case FALSE:
+			unsatisfiable.incrementAndGet();
+			break;
+		case TIMEOUT:
+			timeouts.incrementAndGet();
+			break;
+		default:
+			break;
+		}
+		totalNanos.addAndGet(nanos);
+		for (long max = maxNanos.get(); (nanos > max) && !maxNanos.compareAndSet(max, nanos); max = maxNanos.get()) {}
+		histogram.incrementAndGet(getBucket(nanos));
+	}
+
+	void recordSolver(int numberOfVariables, int numberOfClauses, long numberOfLiterals) {
+		solvers.incrementAndGet();
+		variables.addAndGet(numberOfVariables);
+		clauses.addAndGet(numberOfClauses);
+		estimatedBytes.addAndGet((BYTES_PER_VARIABLE * (long) numberOfVariables) + (BYTES_PER_CLAUSE * (long) numberOfClauses)
+			+ (BYTES_PER_LITERAL * numberOfLiterals));
+	}
+
+	static int getBucket(long nanos) {
+		final long micros = nanos / 1000;
+		return Math.min(HISTOGRAM_SIZE - 1, 64 - Long.numberOfLeadingZeros(micros));
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return The number of solver calls.
+	 */
+	public long getCalls() {
+		return calls.get();
+	}
+
+	public long getSatisfiableCalls() {
+		return satisfiable.get();
+	}
+
+	public long getUnsatisfiableCalls() {
+		return unsatisfiable.get();
+	}
+
+	/**
+	 * @return The number of solver calls that were aborted because of the solver's timeout.
+	 */
+	public long getTimeouts() {
+		return timeouts.get();
+	}
+
+	public long getTotalNanos() {
+		return totalNanos.get();
+	}
+
+	public long getMaxNanos() {
+		return maxNanos.get();
+	}
+
+	public long getMeanNanos() {
+		final long numberOfCalls = calls.get();
+		return numberOfCalls == 0 ? 0 : totalNanos.get() / numberOfCalls;
+	}
+
+	/**
+	 * @return A copy of the latency histogram, see {@link #HISTOGRAM_SIZE}.
+	 */
+	public long[] getHistogram() {
+		final long[] copy = new long[HISTOGRAM_SIZE];
+		for (int i = 0; i < copy.length; i++) {
+			copy[i] = histogram.get(i);
+		}
+		return copy;
+	}
+
+	/**
+	 * Returns an upper bound for the given percentile of the call latencies.
+	 *
+	 * @param percentile a value between 0 and 100
+	 * @return The upper bound of the histogram bucket that contains the percentile in microseconds or 0 if there were no calls.
+	 */
+	public long getPercentileMicros(double percentile) {
+		final long[] counts = getHistogram();
+		long total = 0;
+		for (final long count : counts) {
+			total += count;
+		}
+		if (total == 0) {
+			return 0;
+		}
+		final long rank = (long) Math.ceil((percentile / 100) * total);
+		long sum = 0;
+		for (int i = 0; i < counts.length; i++) {
+			sum += counts[i];
+			if ((sum >= rank) && (counts[i] > 0)) {
+				return 1L << i;
+			}
+		}
+		return 1L << (HISTOGRAM_SIZE - 1);
+	}
+
+	/**
+	 * @return The number of created solvers.
+	 */
+	public long getSolvers() {
+		return solvers.get();
+	}
+
+	/**
+	 * @return The sum of the variables of all created solvers.
+	 */
+	public long getVariables() {
+		return variables.get();
+	}
+
+	/**
+	 * @return The sum of the clauses of all created solvers.
+	 */
+	public long getClauses() {
+		return clauses.get();
+	}
+
+	/**
+	 * @return A rough estimate of the memory that was allocated for the clauses and variables of all created solvers.
+	 */
+	public long getEstimatedBytes() {
+		return estimatedBytes.get();
+	}
+
+	@Override
+	public String toString() {
+		return name + ": " + getCalls() + " calls, " + getTimeouts() + " timeouts, " + (getTotalNanos() / 1000000) + " ms";
+	}
+
+}
@@ -33,7 +33,6 @@ import org.sat4j.minisat.core.Solver;
 import org.sat4j.minisat.orders.NegativeLiteralSelectionStrategy;
 import org.sat4j.minisat.orders.PositiveLiteralSelectionStrategy;
 import org.sat4j.minisat.orders.RSATPhaseSelectionStrategy;
-import org.sat4j.minisat.orders.RandomLiteralSelectionStrategy;
 import org.sat4j.minisat.orders.VarOrderHeap;
 import org.sat4j.specs.ContradictionException;
 import org.sat4j.specs.IConstr;
@@ -58,14 +57,18 @@ public class BasicSolver implements ISatSolver {
 	protected final VecInt assignment;
 	protected RingList<int[]> solutionList = null;
 	protected boolean globalTimeout = false;
+	protected long timeout = DEFAULT_TIMEOUT;
 
 	protected boolean timeoutOccured = false;
 
+	protected final Random random;
+
 	public BasicSolver(SatInstance satInstance) throws ContradictionException {
 		this.satInstance = satInstance;
 		final int numberOfVariables = satInstance.getNumberOfVariables();
 		order = new int[numberOfVariables];
 		assignment = new VecInt(numberOfVariables);
+		random = new Random();
 
 		solver = initSolver();
 		addVariables();
@@ -76,6 +79,8 @@ public class BasicSolver implements ISatSolver {
 		order = new int[satInstance.intToVar.length - 1];
 		assignment = new VecInt(0);
 		oldSolver.assignment.copyTo(assignment);
+		random = new Random(oldSolver.random.nextLong());
+		timeout = oldSolver.timeout;
 
 		solver = initSolver();
 		try {
@@ -90,14 +95,22 @@ public class BasicSolver implements ISatSolver {
 		final int size = satInstance.getNumberOfVariables();
 		if (size > 0) {
 			solver.newVar(size);
-			solver.setExpectedNumberOfClauses(satInstance.getCnf().getChildren().length + 1);
-			addCNF(satInstance.getCnf().getChildren());
+			final Node[] cnfChildren = satInstance.getCnf().getChildren();
+			solver.setExpectedNumberOfClauses(cnfChildren.length + 1);
+			addCNF(cnfChildren);
 			final VecInt pseudoClause = new VecInt(size + 1);
 			for (int i = 1; i <= size; i++) {
 				pseudoClause.push(i);
 			}
 			pseudoClause.push(-1);
 			solver.addClause(pseudoClause);
+			if (SolverMetrics.isEnabled()) {
+				long numberOfLiterals = size + 1;
+				for (final Node clause : cnfChildren) {
+					numberOfLiterals += clause.getChildren().length;
+				}
+				SolverMetrics.solverCreated(size, cnfChildren.length + 1, numberOfLiterals);
+			}
 		}
 		fixOrder();
 		solver.getOrder().init();
@@ -105,7 +118,7 @@ public class BasicSolver implements ISatSolver {
 
 	protected Solver<?> initSolver() {
 		final Solver<?> solver = (Solver<?>) SolverFactory.newDefault();
-		solver.setTimeoutMs(DEFAULT_TIMEOUT);
+		solver.setTimeoutMs(timeout);
 		solver.setDBSimplificationAllowed(true);
 		solver.setVerbose(false);
 		return solver;
@@ -171,19 +184,23 @@ public class BasicSolver implements ISatSolver {
 
 	@Override
 	public SatResult isSatisfiable() {
+		final long startTime = SolverMetrics.startCall();
+		SatResult result;
 		try {
 			if (solver.isSatisfiable(assignment, globalTimeout)) {
 				if (solutionList != null) {
 					solutionList.add(solver.model());
 				}
-				return SatResult.TRUE;
+				result = SatResult.TRUE;
 			} else {
-				return SatResult.FALSE;
+				result = SatResult.FALSE;
 			}
 		} catch (final TimeoutException e) {
 			timeoutOccured = true;
-			return SatResult.TIMEOUT;
+			result = SatResult.TIMEOUT;
 		}
+		SolverMetrics.endCall(startTime, result);
+		return result;
 	}
 
 	@Override
@@ -212,7 +229,7 @@ public class BasicSolver implements ISatSolver {
 			solver.setOrder(new VarOrderHeap2(new PositiveLiteralSelectionStrategy(), order));
 			break;
 		case RANDOM:
-			solver.setOrder(new VarOrderHeap2(new RandomLiteralSelectionStrategy(), order));
+			solver.setOrder(new VarOrderHeap2(new RandomPhaseSelectionStrategy(random), order));
 			break;
 		default:
 			break;
@@ -221,15 +238,19 @@ public class BasicSolver implements ISatSolver {
 
 	@Override
 	public void shuffleOrder() {
-		final Random rnd = new Random();
 		for (int i = order.length - 1; i >= 0; i--) {
-			final int index = rnd.nextInt(i + 1);
+			final int index = random.nextInt(i + 1);
 			final int a = order[index];
 			order[index] = order[i];
 			order[i] = a;
 		}
 	}
 
+	@Override
+	public void setSeed(long seed) {
+		random.setSeed(seed);
+	}
+
 	@Override
 	public void fixOrder() {
 		for (int i = 0; i < order.length; i++) {
@@ -247,6 +268,12 @@ public class BasicSolver implements ISatSolver {
 		this.globalTimeout = globalTimeout;
 	}
 
+	@Override
+	public void setTimeout(long timeout) {
+		this.timeout = timeout;
+		solver.setTimeoutMs(timeout);
+	}
+
 	public boolean hasTimeoutOccured() {
 		return timeoutOccured;
 	}
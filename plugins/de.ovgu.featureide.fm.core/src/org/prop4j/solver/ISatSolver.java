@@ -39,6 +39,10 @@ import de.ovgu.featureide.fm.core.base.util.RingList;
 public interface ISatSolver extends Cloneable {
 
 	public static final int DEFAULT_TIMEOUT = 1000;
+	/**
+	 * A timeout in milliseconds that is never reached in practice (the default of sat4j).
+	 */
+	public static final int NO_TIMEOUT = Integer.MAX_VALUE;
 	public static final int MAX_SOLUTION_BUFFER = 1000;
 
 	public static enum SatResult {
@@ -87,6 +91,13 @@ public interface ISatSolver extends Cloneable {
 
 	void shuffleOrder();
 
+	/**
+	 * Sets the seed for {@link #shuffleOrder()} and the {@link SelectionStrategy#RANDOM random selection strategy}.
+	 *
+	 * @param seed the seed of the random number generator
+	 */
+	void setSeed(long seed);
+
 	int[] getOrder();
 
 	List<IConstr> addClauses(Node constraint) throws ContradictionException;
@@ -95,4 +106,11 @@ public interface ISatSolver extends Cloneable {
 
 	void setGlobalTimeout(boolean globalTimeout);
 
+	/**
+	 * Sets the timeout of each satisfiability check. The timeout is also used by all clones of this solver.
+	 *
+	 * @param timeout the timeout in milliseconds, {@link #NO_TIMEOUT} to disable it
+	 */
+	void setTimeout(long timeout);
+
 }
@@ -0,0 +1,145 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.solver;
+
+import org.prop4j.solver.ISatSolver.SatResult;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.IConstr;
+import org.sat4j.specs.ISolver;
+import org.sat4j.specs.IVecInt;
+import org.sat4j.specs.TimeoutException;
+import org.sat4j.tools.SolverDecorator;
+
+/**
+ * Records the calls of a Sat4J solver in the {@link SolverMetrics}.
+ *
+ * @see SolverMetrics#instrument(ISolver)
+ */
+public class InstrumentedSolver extends SolverDecorator<ISolver> {
+
+	private static final long serialVersionUID = 1L;
+
+	private int numberOfClauses = 0;
+	private long numberOfLiterals = 0;
+
+	public InstrumentedSolver(ISolver solver) {
+		super(solver);
+	}
+
+	/**
+	 * @return The given solver or the solver wrapped by it, if it is an {@link InstrumentedSolver}.
+	 */
+	public static ISolver unwrap(ISolver solver) {
+		return solver instanceof InstrumentedSolver ? ((InstrumentedSolver) solver).decorated() : solver;
+	}
+
+	@Override
+	public IConstr addClause(IVecInt literals) throws ContradictionException {
+		numberOfClauses++;
+		numberOfLiterals += literals.size();
+		return super.addClause(literals);
+	}
+
+	public int getNumberOfClauses() {
+		return numberOfClauses;
+	}
+
+	public long getNumberOfLiterals() {
+		return numberOfLiterals;
+	}
+
+	@Override
+	public boolean isSatisfiable() throws TimeoutException {
+		final long startTime = SolverMetrics.startCall();
+		try {
+			return record(startTime, decorated().isSatisfiable());
+		} catch (final TimeoutException e) {
+			SolverMetrics.endCall(startTime, SatResult.TIMEOUT);
+			throw e;
+		}
+	}
+
+	@Override
+	public boolean isSatisfiable(boolean global) throws TimeoutException {
+		final long startTime = SolverMetrics.startCall();
+		try {
+			return record(startTime, decorated().isSatisfiable(global));
+		} catch (final TimeoutException e) {
+			SolverMetrics.endCall(startTime, SatResult.TIMEOUT);
+			throw e;
+		}
+	}
+
+	@Override
+	public boolean isSatisfiable(IVecInt assumps) throws TimeoutException {
+		final long startTime = SolverMetrics.startCall();
+		try {
+			return record(startTime, decorated().isSatisfiable(assumps));
+		} catch (final TimeoutException e) {
+			SolverMetrics.endCall(startTime, SatResult.TIMEOUT);
+			throw e;
+		}
+	}
+
+	@Override
+	public boolean isSatisfiable(IVecInt assumps, boolean global) throws TimeoutException {
+		final long startTime = SolverMetrics.startCall();
+		try {
+			return record(startTime, decorated().isSatisfiable(assumps, global));
+		} catch (final TimeoutException e) {
+			SolverMetrics.endCall(startTime, SatResult.TIMEOUT);
+			throw e;
+		}
+	}
+
+	@Override
+	public int[] findModel() throws TimeoutException {
+		final long startTime = SolverMetrics.startCall();
+		try {
+			return record(startTime, decorated().findModel());
+		} catch (final TimeoutException e) {
+			SolverMetrics.endCall(startTime, SatResult.TIMEOUT);
+			throw e;
+		}
+	}
+
+	@Override
+	public int[] findModel(IVecInt assumps) throws TimeoutException {
+		final long startTime = SolverMetrics.startCall();
+		try {
+			return record(startTime, decorated().findModel(assumps));
+		} catch (final TimeoutException e) {
+			SolverMetrics.endCall(startTime, SatResult.TIMEOUT);
+			throw e;
+		}
+	}
+
+	private static boolean record(long startTime, boolean satisfiable) {
+		SolverMetrics.endCall(startTime, satisfiable ? SatResult.TRUE : SatResult.FALSE);
+		return satisfiable;
+	}
+
+	private static int[] record(long startTime, int[] model) {
+		SolverMetrics.endCall(startTime, model != null ? SatResult.TRUE : SatResult.FALSE);
+		return model;
+	}
+
+}
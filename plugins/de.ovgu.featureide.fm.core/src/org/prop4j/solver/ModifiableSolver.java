@@ -57,7 +57,7 @@ public class ModifiableSolver extends BasicSolver {
 	@Override
 	protected Solver<?> initSolver() {
 		final Solver<?> solver = (Solver<?>) SolverFactory.newDefault();
-		solver.setTimeoutMs(1000);
+		solver.setTimeoutMs(timeout);
 		solver.setDBSimplificationAllowed(false);
 		solver.setVerbose(false);
 		return solver;
@@ -114,9 +114,13 @@ public class ModifiableSolver extends BasicSolver {
 			final Literal node = (Literal) or[i];
 			backbone.push(-satInstance.getSignedVariable(node));
 		}
+		final long startTime = SolverMetrics.startCall();
 		try {
-			return !solver.isSatisfiable(backbone);
+			final boolean satisfiable = solver.isSatisfiable(backbone);
+			SolverMetrics.endCall(startTime, satisfiable ? SatResult.TRUE : SatResult.FALSE);
+			return !satisfiable;
 		} catch (final TimeoutException e) {
+			SolverMetrics.endCall(startTime, SatResult.TIMEOUT);
 			Logger.logError(e);
 		}
 		return false;
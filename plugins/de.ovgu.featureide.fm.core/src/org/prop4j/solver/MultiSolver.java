@@ -21,7 +21,6 @@
 package org.prop4j.solver;
 
 import java.util.List;
-import java.util.Random;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.Semaphore;
@@ -34,7 +33,6 @@ import org.sat4j.minisat.core.Solver;
 import org.sat4j.minisat.orders.NegativeLiteralSelectionStrategy;
 import org.sat4j.minisat.orders.PositiveLiteralSelectionStrategy;
 import org.sat4j.minisat.orders.RSATPhaseSelectionStrategy;
-import org.sat4j.minisat.orders.RandomLiteralSelectionStrategy;
 import org.sat4j.minisat.orders.VarOrderHeap;
 import org.sat4j.specs.ContradictionException;
 import org.sat4j.specs.IVecInt;
@@ -83,7 +81,7 @@ public class MultiSolver extends BasicSolver {
 							solver.setOrder(new VarOrderHeap2(new PositiveLiteralSelectionStrategy(), order, orderLock));
 							break;
 						case RANDOM:
-							solver.setOrder(new VarOrderHeap2(new RandomLiteralSelectionStrategy(), order, orderLock));
+							solver.setOrder(new VarOrderHeap2(new RandomPhaseSelectionStrategy(random), order, orderLock));
 							break;
 						}
 					}
@@ -232,19 +230,23 @@ public class MultiSolver extends BasicSolver {
 
 	@Override
 	public SatResult isSatisfiable() {
+		final long startTime = SolverMetrics.startCall();
+		SatResult result;
 		try {
 			if (solver.isSatisfiable(assignment, false)) {
 				synchronized (solutionList) {
 					solutionList.add(solver.model());
 				}
-				return SatResult.TRUE;
+				result = SatResult.TRUE;
 			} else {
-				return SatResult.FALSE;
+				result = SatResult.FALSE;
 			}
 		} catch (final TimeoutException e) {
 			e.printStackTrace();
-			return SatResult.TIMEOUT;
+			result = SatResult.TIMEOUT;
 		}
+		SolverMetrics.endCall(startTime, result);
+		return result;
 	}
 
 	@Override
@@ -270,10 +272,9 @@ public class MultiSolver extends BasicSolver {
 
 	@Override
 	public void shuffleOrder() {
-		final Random rnd = new Random();
 		synchronized (orderLock) {
 			for (int i = order.length - 1; i >= 0; i--) {
-				final int index = rnd.nextInt(i + 1);
+				final int index = random.nextInt(i + 1);
 				final int a = order[index];
 				order[index] = order[i];
 				order[i] = a;
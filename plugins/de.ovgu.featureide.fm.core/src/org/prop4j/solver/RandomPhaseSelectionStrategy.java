@@ -0,0 +1,68 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.solver;
+
+import java.util.Random;
+
+import org.sat4j.core.LiteralsUtils;
+import org.sat4j.minisat.core.IPhaseSelectionStrategy;
+import org.sat4j.minisat.orders.RandomLiteralSelectionStrategy;
+
+/**
+ * Selects a random phase for each decision like {@link RandomLiteralSelectionStrategy}, but uses the given {@link Random} instead of a static one shared by
+ * all solvers. Thus, the decisions of a solver are reproducible for a fixed seed.
+ */
+public class RandomPhaseSelectionStrategy implements IPhaseSelectionStrategy {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Random random;
+
+	public RandomPhaseSelectionStrategy(Random random) {
+		this.random = random;
+	}
+
+	@Override
+	public void updateVar(int p) {}
+
+	@Override
+	public void init(int nlength) {}
+
+	@Override
+	public void init(int var, int p) {}
+
+	@Override
+	public void assignLiteral(int p) {}
+
+	@Override
+	public int select(int var) {
+		return random.nextBoolean() ? LiteralsUtils.posLit(var) : LiteralsUtils.negLit(var);
+	}
+
+	@Override
+	public void updateVarAtDecisionLevel(int q) {}
+
+	@Override
+	public String toString() {
+		return "seeded random phase selection";
+	}
+
+}
@@ -0,0 +1,229 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.solver;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.prop4j.solver.ISatSolver.SatResult;
+import org.sat4j.specs.ISolver;
+
+/**
+ * Collects statistics about SAT solver calls, grouped by the analysis that issued them (see {@link AnalysisMetrics}).<br> The analysis of the current
+ * thread is set by {@link #enterScope(Object)}, which is called for every {@link de.ovgu.featureide.fm.core.job.LongRunningMethod LongRunningMethod}. Calls
+ * outside of any scope are counted for {@link #UNSCOPED}.<br> <br> The collection is disabled by default. It can be enabled with {@link #setEnabled(boolean)}
+ * or the system property {@value #ENABLED_PROPERTY}. If disabled, a solver call only reads one volatile field.
+ */
+public final class SolverMetrics {
+
+	public static final String ENABLED_PROPERTY = "featureide.solver.metrics";
+
+	public static final String UNSCOPED = "<unscoped>";
+
+	private static final long NOT_STARTED = Long.MIN_VALUE;
+
+	private static final Object NO_SCOPE = new Object();
+
+	private static volatile boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+
+	private static final ConcurrentMap<String, AnalysisMetrics> metrics = new ConcurrentHashMap<>();
+
+	private static final ThreadLocal<AnalysisMetrics> currentScope = new ThreadLocal<>();
+
+	private SolverMetrics() {}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	public static void setEnabled(boolean enabled) {
+		SolverMetrics.enabled = enabled;
+	}
+
+	/**
+	 * Removes all collected statistics.
+	 */
+	public static void reset() {
+		metrics.clear();
+	}
+
+	/**
+	 * @return The statistics of all analyses sorted by name.
+	 */
+	public static Map<String, AnalysisMetrics> getMetrics() {
+		return Collections.unmodifiableMap(new TreeMap<>(metrics));
+	}
+
+	/**
+	 * @param analysis the name of the analysis
+	 * @return The statistics of the analysis or {@code null} if it did not call any solver yet.
+	 */
+	public static AnalysisMetrics getMetrics(String analysis) {
+		return metrics.get(analysis);
+	}
+
+	/**
+	 * Attributes all following solver calls of the current thread to the given analysis. Must be followed by {@link #exitScope(Object)} in a finally block.
+	 *
+	 * @param analysis the analysis (its class name is used) or its name
+	 * @return A token for {@link #exitScope(Object)}
+	 */
+	public static Object enterScope(Object analysis) {
+		if (!enabled) {
+			return NO_SCOPE;
+		}
+		final AnalysisMetrics previous = currentScope.get();
+		currentScope.set(getOrCreate(getName(analysis)));
+		return previous;
+	}
+
+	/**
+	 * Restores the scope before the corresponding call of {@link #enterScope(Object)}.
+	 *
+	 * @param token the return value of {@link #enterScope(Object)}
+	 */
+	public static void exitScope(Object token) {
+		if (token == NO_SCOPE) {
+			return;
+		}
+		if (token == null) {
+			currentScope.remove();
+		} else {
+			currentScope.set((AnalysisMetrics) token);
+		}
+	}
+
+	private static String getName(Object analysis) {
+		if (analysis instanceof CharSequence) {
+			return analysis.toString();
+		}
+		final Class<?> analysisClass = analysis.getClass();
+		final String simpleName = analysisClass.getSimpleName();
+		return simpleName.isEmpty() ? analysisClass.getName() : simpleName;
+	}
+
+	private static AnalysisMetrics getOrCreate(String name) {
+		final AnalysisMetrics analysisMetrics = metrics.get(name);
+		if (analysisMetrics != null) {
+			return analysisMetrics;
+		}
+		final AnalysisMetrics newMetrics = new AnalysisMetrics(name);
+		final AnalysisMetrics oldMetrics = metrics.putIfAbsent(name, newMetrics);
+		return oldMetrics != null ? oldMetrics : newMetrics;
+	}
+
+	private static AnalysisMetrics getCurrent() {
+		final AnalysisMetrics current = currentScope.get();
+		return current != null ? current : getOrCreate(UNSCOPED);
+	}
+
+	/**
+	 * Is called before a solver call.
+	 *
+	 * @return The start time for {@link #endCall(long, SatResult)}
+	 */
+	public static long startCall() {
+		return enabled ? System.nanoTime() : NOT_STARTED;
+	}
+
+	/**
+	 * Is called after a solver call.
+	 *
+	 * @param startTime the return value of {@link #startCall()}
+	 * @param result the result of the call
+	 */
+	public static void endCall(long startTime, SatResult result) {
+		if (startTime != NOT_STARTED) {
+			getCurrent().recordCall(System.nanoTime() - startTime, result);
+		}
+	}
+
+	/**
+	 * Is called after the clauses were added to a new solver.
+	 */
+	public static void solverCreated(int numberOfVariables, int numberOfClauses, long numberOfLiterals) {
+		if (enabled) {
+			getCurrent().recordSolver(numberOfVariables, numberOfClauses, numberOfLiterals);
+		}
+	}
+
+	/**
+	 * Wraps a Sat4J solver, such that its calls are recorded. Returns the given solver if the collection is disabled.
+	 */
+	public static ISolver instrument(ISolver solver) {
+		return enabled ? new InstrumentedSolver(solver) : solver;
+	}
+
+	/**
+	 * Is called after the clauses were added to a solver returned by {@link #instrument(ISolver)}.
+	 */
+	public static void solverCreated(ISolver solver) {
+		if (solver instanceof InstrumentedSolver) {
+			final InstrumentedSolver instrumentedSolver = (InstrumentedSolver) solver;
+			solverCreated(instrumentedSolver.nVars(), instrumentedSolver.getNumberOfClauses(), instrumentedSolver.getNumberOfLiterals());
+		}
+	}
+
+	/**
+	 * @return A report of all statistics in CSV format (one line per analysis, times in microseconds).
+	 */
+	public static String getReport() {
+		final StringBuilder sb = new StringBuilder();
+		try {
+			writeReport(sb);
+		} catch (final IOException e) {
+			// cannot occur
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Writes a report of all statistics in CSV format (one line per analysis, times in microseconds).
+	 */
+	public static void writeReport(Appendable out) throws IOException {
+		final String lineSeparator = System.lineSeparator();
+		out.append("analysis;calls;sat;unsat;timeouts;total;mean;max;p50;p90;p99;solvers;variables;clauses;estimatedBytes");
+		out.append(lineSeparator);
+		for (final AnalysisMetrics analysisMetrics : getMetrics().values()) {
+			out.append(analysisMetrics.getName()).append(';');
+			out.append(Long.toString(analysisMetrics.getCalls())).append(';');
+			out.append(Long.toString(analysisMetrics.getSatisfiableCalls())).append(';');
+			out.append(Long.toString(analysisMetrics.getUnsatisfiableCalls())).append(';');
+			out.append(Long.toString(analysisMetrics.getTimeouts())).append(';');
+			out.append(Long.toString(analysisMetrics.getTotalNanos() / 1000)).append(';');
+			out.append(Long.toString(analysisMetrics.getMeanNanos() / 1000)).append(';');
+			out.append(Long.toString(analysisMetrics.getMaxNanos() / 1000)).append(';');
+			out.append(Long.toString(analysisMetrics.getPercentileMicros(50))).append(';');
+			out.append(Long.toString(analysisMetrics.getPercentileMicros(90))).append(';');
+			out.append(Long.toString(analysisMetrics.getPercentileMicros(99))).append(';');
+			out.append(Long.toString(analysisMetrics.getSolvers())).append(';');
+			out.append(Long.toString(analysisMetrics.getVariables())).append(';');
+			out.append(Long.toString(analysisMetrics.getClauses())).append(';');
+			out.append(Long.toString(analysisMetrics.getEstimatedBytes()));
+			out.append(lineSeparator);
+		}
+	}
+
+}
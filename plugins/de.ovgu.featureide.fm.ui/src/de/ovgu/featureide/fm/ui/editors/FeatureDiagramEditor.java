@@ -25,6 +25,7 @@ import static de.ovgu.featureide.fm.core.localization.StringTable.ALTERNATIVE;
 import static de.ovgu.featureide.fm.core.localization.StringTable.ANALYZE_FEATURE_MODEL;
 import static de.ovgu.featureide.fm.core.localization.StringTable.AND;
 import static de.ovgu.featureide.fm.core.localization.StringTable.DOUBLE_CLICK;
+import static de.ovgu.featureide.fm.core.localization.StringTable.EXPLAIN_FEATURE_MODEL_DEFECTS;
 import static de.ovgu.featureide.fm.core.localization.StringTable.FEATURE_DIAGRAM;
 import static de.ovgu.featureide.fm.core.localization.StringTable.OR;
 import static de.ovgu.featureide.fm.core.localization.StringTable.SET_CALCULATIONS;
@@ -220,6 +221,7 @@ public class FeatureDiagramEditor extends FeatureModelEditorPage implements GUID
 	private int index;
 
 	private final JobToken analysisToken = LongRunningWrapper.createToken(JobStartingStrategy.CANCEL_WAIT_ONE);
+	private final JobToken explanationToken = LongRunningWrapper.createToken(JobStartingStrategy.CANCEL_WAIT_ONE);
 
 	private FeatureModelAnalyzer analyzer;
 
@@ -478,6 +480,8 @@ public class FeatureDiagramEditor extends FeatureModelEditorPage implements GUID
 			return;
 		}
 		final boolean runAnalysis = getFeatureModel().getAnalyser().runCalculationAutomatically && getFeatureModel().getAnalyser().calculateFeatures;
+		// explanations of the previous analysis are outdated
+		LongRunningWrapper.cancelAllJobs(explanationToken);
 		final IRunner<Boolean> analyzeJob = LongRunningWrapper.getRunner(new LongRunningMethod<Boolean>() {
 			@Override
 			public Boolean execute(IMonitor monitor) throws Exception {
@@ -497,6 +501,7 @@ public class FeatureDiagramEditor extends FeatureModelEditorPage implements GUID
 				analyzer = getFeatureModel().getAnalyser();
 				final HashMap<Object, Object> changedAttributes = analyzer.analyzeFeatureModel(monitor);
 				refreshGraphics(changedAttributes);
+				explainFeatureModel(analyzer);
 				return true;
 			}
 		}, ANALYZE_FEATURE_MODEL);
@@ -504,6 +509,25 @@ public class FeatureDiagramEditor extends FeatureModelEditorPage implements GUID
 		LongRunningWrapper.startJob(analysisToken, analyzeJob);
 	}
 
+	/**
+	 * Explains all defects at once in a separate job, so hovering over them does not need to wait for the explanation. The job is canceled when the feature
+	 * model is analyzed again.
+	 *
+	 * @param featureModelAnalyzer the analyzer holding the analysis results
+	 */
+	private void explainFeatureModel(final FeatureModelAnalyzer featureModelAnalyzer) {
+		final IRunner<Void> explainJob = LongRunningWrapper.getRunner(new LongRunningMethod<Void>() {
+
+			@Override
+			public Void execute(IMonitor monitor) throws Exception {
+				featureModelAnalyzer.addAllExplanations(monitor);
+				return null;
+			}
+		}, EXPLAIN_FEATURE_MODEL_DEFECTS);
+		explainJob.setPriority(Job.DECORATE);
+		LongRunningWrapper.startJob(explanationToken, explainJob);
+	}
+
 	/**
 	 * Refreshes the colors of the feature model.
 	 *
@@ -1239,6 +1263,7 @@ public class FeatureDiagramEditor extends FeatureModelEditorPage implements GUID
 	@Override
 	public void dispose() {
 		LongRunningWrapper.cancelAllJobs(analysisToken);
+		LongRunningWrapper.cancelAllJobs(explanationToken);
 		FeatureColorManager.removeListener(this);
 		fmManager.removeListener(this);
 		graphicalFeatureModel.getFeatureModel().removeListener(editorKeyHandler);
@@ -20,7 +20,10 @@
  */
 package de.ovgu.featureide.fm.ui.editors.configuration;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 
@@ -34,7 +37,8 @@ import de.ovgu.featureide.fm.core.functional.Functional;
 import de.ovgu.featureide.fm.core.functional.Functional.IBinaryFunction;
 
 /**
- * Builds and traverses a {@link Tree} recursively with single asynchronous UI calls for each item.
+ * Builds and traverses a {@link Tree} recursively with single asynchronous UI calls for each item.<br> Only the first {@link #MAX_INITIAL_ITEMS} items are
+ * built, the remaining items are represented by a placeholder item and created when their parent is expanded.
  *
  * @author Marcus Pinnecke
  * @author Sebastian Krieter
@@ -54,29 +58,23 @@ public class AsyncTree extends Thread {
 
 		@Override
 		public void run() {
-			for (int i = 0; i < children.length; i++) {
-				final TreeElement child = children[i];
-				if (child instanceof SelectableFeature) {
-					final SelectableFeature currentFeature = (SelectableFeature) child;
-					if (!currentFeature.getFeature().getStructure().isHidden()) {
-						TreeItem childNode = null;
-						// This try for the case that the parent item is already disposed.
-						try {
-							childNode = new TreeItem(parent, 0);
-						} catch (final Exception e) {
-							interrupt();
-							return;
-						}
-						childNode.setText(currentFeature.getFeature().getProperty().getDisplayName());
-						childNode.setData(currentFeature);
-
-						childNode.setFont(ConfigurationTreeEditorPage.treeItemStandardFont);
-						childNode.setForeground(null);
-
-						itemMap.put(currentFeature, childNode);
-						if (currentFeature.hasChildren()) {
-							runnableList.add(new Builder(childNode, currentFeature.getChildren()));
-						}
+			final List<TreeItem> childNodes;
+			// This try for the case that the parent item is already disposed.
+			try {
+				childNodes = createChildItems(itemMap, parent, children);
+			} catch (final Exception e) {
+				interrupt();
+				return;
+			}
+			for (final TreeItem childNode : childNodes) {
+				final SelectableFeature currentFeature = (SelectableFeature) childNode.getData();
+				if (currentFeature.hasChildren()) {
+					final TreeElement[] grandChildren = currentFeature.getChildren();
+					if (remainingItems >= grandChildren.length) {
+						remainingItems -= grandChildren.length;
+						runnableList.add(new Builder(childNode, grandChildren));
+					} else {
+						new TreeItem(childNode, 0);
 					}
 				}
 			}
@@ -104,6 +102,10 @@ public class AsyncTree extends Thread {
 
 		@Override
 		public void run() {
+			if (isPlaceholder(item)) {
+				dec();
+				return;
+			}
 			perNodeFunction.invoke(item, (SelectableFeature) item.getData());
 			final TreeItem[] children = item.getItems();
 			for (int i = 0; i < children.length; i++) {
@@ -115,6 +117,12 @@ public class AsyncTree extends Thread {
 
 	}
 
+	/**
+	 * The maximum number of items that are created when the tree is built. The children of further items are created when the items are expanded, see
+	 * {@link #createChildItems(HashMap, TreeItem)}.
+	 */
+	public static final int MAX_INITIAL_ITEMS = 2000;
+
 	private final Display currentDisplay;
 	private final BlockingQueue<Runnable> runnableList = new LinkedBlockingQueue<>();
 
@@ -123,6 +131,7 @@ public class AsyncTree extends Thread {
 	private final Functional.IFunction<Void, Void> callbackIfDone;
 	private final Object countLock = new Object();
 	private Integer count = 0;
+	private int remainingItems = MAX_INITIAL_ITEMS;
 
 	public void inc() {
 		synchronized (countLock) {
@@ -160,11 +169,62 @@ public class AsyncTree extends Thread {
 			final Functional.IFunction<Void, Void> callbackIfDone) {
 		final AsyncTree curInstance = new AsyncTree(itemMap, callbackIfDone);
 		if ((curInstance.currentDisplay != null) && !node.isDisposed()) {
+			curInstance.remainingItems -= children.length;
 			curInstance.runnableList.add(curInstance.new Builder(node, children));
 			curInstance.start();
 		}
 	}
 
+	/**
+	 * Creates the items for the children of the given item if they were not created yet (i.e., the item only contains a placeholder).
+	 *
+	 * @param itemMap The map from features to items
+	 * @param item The parent item
+	 * @return The created items, which are empty if the children were already created
+	 */
+	public static List<TreeItem> createChildItems(HashMap<SelectableFeature, TreeItem> itemMap, TreeItem item) {
+		if ((item.getItemCount() != 1) || !isPlaceholder(item.getItem(0))) {
+			return Collections.emptyList();
+		}
+		item.getItem(0).dispose();
+		final List<TreeItem> childNodes = createChildItems(itemMap, item, ((SelectableFeature) item.getData()).getChildren());
+		for (final TreeItem childNode : childNodes) {
+			if (((SelectableFeature) childNode.getData()).hasChildren()) {
+				new TreeItem(childNode, 0);
+			}
+		}
+		return childNodes;
+	}
+
+	/**
+	 * @return {@code true} if the given item stands in for the children of its parent item that were not created yet
+	 */
+	public static boolean isPlaceholder(TreeItem item) {
+		return item.getData() == null;
+	}
+
+	private static List<TreeItem> createChildItems(HashMap<SelectableFeature, TreeItem> itemMap, TreeItem parent, TreeElement[] children) {
+		final List<TreeItem> childNodes = new ArrayList<>(children.length);
+		for (int i = 0; i < children.length; i++) {
+			final TreeElement child = children[i];
+			if (child instanceof SelectableFeature) {
+				final SelectableFeature currentFeature = (SelectableFeature) child;
+				if (!currentFeature.getFeature().getStructure().isHidden()) {
+					final TreeItem childNode = new TreeItem(parent, 0);
+					childNode.setText(currentFeature.getFeature().getProperty().getDisplayName());
+					childNode.setData(currentFeature);
+
+					childNode.setFont(ConfigurationTreeEditorPage.treeItemStandardFont);
+					childNode.setForeground(null);
+
+					itemMap.put(currentFeature, childNode);
+					childNodes.add(childNode);
+				}
+			}
+		}
+		return childNodes;
+	}
+
 	public static void traverse(HashMap<SelectableFeature, TreeItem> itemMap, final TreeItem node,
 			final Functional.IBinaryFunction<TreeItem, SelectableFeature, Void> perNodeFunction, final Functional.IFunction<Void, Void> callbackIfDone) {
 		final AsyncTree curInstance = new AsyncTree(itemMap, callbackIfDone);
@@ -97,6 +97,7 @@ import de.ovgu.featureide.fm.core.configuration.Configuration;
 import de.ovgu.featureide.fm.core.configuration.ConfigurationMatrix;
 import de.ovgu.featureide.fm.core.configuration.SelectableFeature;
 import de.ovgu.featureide.fm.core.configuration.Selection;
+import de.ovgu.featureide.fm.core.configuration.SelectionDiff;
 import de.ovgu.featureide.fm.core.configuration.TreeElement;
 import de.ovgu.featureide.fm.core.explanations.Explanation;
 import de.ovgu.featureide.fm.core.explanations.config.AutomaticSelectionExplanationCreator;
@@ -106,7 +107,6 @@ import de.ovgu.featureide.fm.core.explanations.fm.FalseOptionalFeatureExplanatio
 import de.ovgu.featureide.fm.core.explanations.fm.FeatureModelExplanationCreatorFactory;
 import de.ovgu.featureide.fm.core.functional.Functional;
 import de.ovgu.featureide.fm.core.functional.Functional.IBinaryFunction;
-import de.ovgu.featureide.fm.core.functional.Functional.IConsumer;
 import de.ovgu.featureide.fm.core.functional.Functional.IFunction;
 import de.ovgu.featureide.fm.core.job.IJob;
 import de.ovgu.featureide.fm.core.job.IJob.JobStatus;
@@ -118,9 +118,9 @@ import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
 import de.ovgu.featureide.fm.core.job.util.JobFinishListener;
 import de.ovgu.featureide.fm.ui.FMUIPlugin;
 import de.ovgu.featureide.fm.ui.editors.configuration.IConfigurationEditor.EXPAND_ALGORITHM;
+import de.ovgu.featureide.fm.ui.utils.FeatureTreeIterator;
 import de.ovgu.featureide.fm.ui.utils.ISearchable;
 import de.ovgu.featureide.fm.ui.utils.SearchField;
-import de.ovgu.featureide.fm.ui.utils.UITreeIterator;
 
 /**
  * Basic class with some default methods for configuration editor pages.
@@ -192,6 +192,11 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 
 	protected final HashMap<SelectableFeature, TreeItem> itemMap = new HashMap<>();
 
+	/**
+	 * The selection states of the features as they are displayed in the tree, see {@link SelectionDiff}.
+	 */
+	private volatile byte[] displayedState = null;
+
 	protected final JobToken infoLabelToken = LongRunningWrapper.createToken(JobStartingStrategy.CANCEL_WAIT_ONE);
 	protected final JobToken updateToken = LongRunningWrapper.createToken(JobStartingStrategy.CANCEL_WAIT_ONE);
 	protected final JobToken coloringToken = LongRunningWrapper.createToken(JobStartingStrategy.CANCEL_WAIT_ONE);
@@ -397,7 +402,7 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 
 					@Override
 					public Void invoke(TreeItem item, SelectableFeature feature) {
-						item.setExpanded(true);
+						expandItem(item);
 						return null;
 					}
 				}, new Functional.NullFunction<Void, Void>());
@@ -486,6 +491,16 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 
 		createUITree(compositeBottom);
 
+		tree.addListener(SWT.Expand, new Listener() {
+
+			@Override
+			public void handleEvent(Event event) {
+				if (event.item instanceof TreeItem) {
+					createChildItems((TreeItem) event.item);
+				}
+			}
+		});
+
 		tree.addListener(SWT.PaintItem, new Listener() {
 
 			@Override
@@ -736,7 +751,7 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 	private void expandSingleChildren(TreeItem item) {
 		final SelectableFeature feature = (SelectableFeature) item.getData();
 		if (feature.getSelection() != Selection.UNSELECTED) {
-			item.setExpanded(true);
+			expandItem(item);
 			if (feature.getChildren().length == 1) {
 				expandSingleChildren(item.getItem(0));
 			}
@@ -745,6 +760,7 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 
 	protected void updateTree() {
 		itemMap.clear();
+		displayedState = null;
 		if (errorMessage()) {
 			final Configuration configuration = configurationEditor.getConfiguration();
 			tree.removeAll();
@@ -825,7 +841,7 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 		final LinkedList<TreeItem> groupItems = new LinkedList<>();
 		final TreeItem root = tree.getItem(0);
 		if (root != null) {
-			searchGroupRec(root, groupItems);
+			searchGroupRec(configurationEditor.getConfiguration().getRoot(), groupItems);
 			if (!groupItems.isEmpty()) {
 				if (collapse) {
 					collapseRec(root);
@@ -847,18 +863,19 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 		return false;
 	}
 
-	private void searchGroupRec(TreeItem root, LinkedList<TreeItem> groupItems) {
-		final Object data = root.getData();
-		if (data instanceof SelectableFeature) {
-			final SelectableFeature feature = (SelectableFeature) data;
+	private void searchGroupRec(TreeElement root, LinkedList<TreeItem> groupItems) {
+		if (root instanceof SelectableFeature) {
+			final SelectableFeature feature = (SelectableFeature) root;
 			if (feature.getOpenClauseIndexes().contains(curGroup)) {
-				groupItems.add(root);
+				final TreeItem item = getItem(feature);
+				if (item != null) {
+					groupItems.add(item);
+				}
 			}
 		}
 
-		final TreeItem[] items = root.getItems();
-		for (final TreeItem treeItem : items) {
-			searchGroupRec(treeItem, groupItems);
+		for (final TreeElement child : root.getChildren()) {
+			searchGroupRec(child, groupItems);
 		}
 	}
 
@@ -888,13 +905,47 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 				if ((feature.getSelection() == Selection.UNDEFINED) || (feature.getSelection() == Selection.UNSELECTED)) {
 					treeItem.setExpanded(false);
 				} else {
-					treeItem.setExpanded(true);
+					expandItem(treeItem);
 					expandRec(treeItem);
 				}
 			}
 		}
 	}
 
+	/**
+	 * Creates the items for the children of the given item if they were not created yet, see {@link AsyncTree#createChildItems(HashMap, TreeItem)}.
+	 */
+	protected void createChildItems(TreeItem item) {
+		for (final TreeItem childItem : AsyncTree.createChildItems(itemMap, item)) {
+			refreshItem(childItem);
+		}
+	}
+
+	/**
+	 * Expands the given item and creates the items for its children if necessary.
+	 */
+	protected void expandItem(TreeItem item) {
+		createChildItems(item);
+		item.setExpanded(true);
+	}
+
+	/**
+	 * Returns the item of the given feature and creates the items of its ancestors if necessary.
+	 *
+	 * @return the item or {@code null} if the feature is hidden
+	 */
+	protected TreeItem getItem(SelectableFeature feature) {
+		TreeItem item = itemMap.get(feature);
+		if ((item == null) && (feature.getParent() instanceof SelectableFeature)) {
+			final TreeItem parentItem = getItem((SelectableFeature) feature.getParent());
+			if (parentItem != null) {
+				createChildItems(parentItem);
+				item = itemMap.get(feature);
+			}
+		}
+		return item;
+	}
+
 	protected boolean canDeselectFeatures() {
 		return false;
 	}
@@ -1096,22 +1147,26 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 		final SelectableFeature feature = (SelectableFeature) (topItem.getData());
 		final LongRunningMethod<Void> update = configurationEditor.getConfiguration().getPropagator().update(redundantManual, Arrays.asList(feature));
 		final IRunner<Void> job = LongRunningWrapper.getRunner(update);
-		job.setIntermediateFunction(new IConsumer<Object>() {
+		// the features the propagator reports as intermediate results are ignored, the changed features are computed once the propagation is finished
+		job.addJobFinishedListener(new JobFinishListener<Void>() {
 
 			@Override
-			public void invoke(Object t) {
-				if (t instanceof SelectableFeature) {
-					final SelectableFeature feature = (SelectableFeature) t;
-					final TreeItem item = itemMap.get(feature);
-					if (item == null) {
-						return;
-					}
+			public void jobFinished(IJob<Void> finishedJob) {
+				if (finishedJob.getStatus() == JobStatus.OK) {
+					final SelectionDiff diff = new SelectionDiff(configurationEditor.getConfiguration(), displayedState);
+					displayedState = diff.getState();
 					currentDisplay.asyncExec(new Runnable() {
 
 						@Override
 						public void run() {
-							updateFeatures.remove(feature);
-							refreshItem(item);
+							// only items that were already created need to be refreshed
+							for (final SelectableFeature changedFeature : diff.getChangedFeatures()) {
+								final TreeItem item = itemMap.get(changedFeature);
+								if ((item != null) && !item.isDisposed()) {
+									refreshItem(item);
+								}
+							}
+							updateFeatures.clear();
 						}
 					});
 				}
@@ -1233,22 +1288,8 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 			});
 
 			updateFeatures.clear();
-			walkTree(new IBinaryFunction<TreeItem, SelectableFeature, Void>() {
-
-				@Override
-				public Void invoke(TreeItem item, SelectableFeature feature) {
-					// lockItem(item);
-					updateFeatures.add(feature);
-					return null;
-				}
-			}, new IFunction<Void, Void>() {
-
-				@Override
-				public Void invoke(Void t) {
-					LongRunningWrapper.startJob(updateToken, updateJob);
-					return null;
-				}
-			});
+			updateFeatures.addAll(configurationEditor.getConfiguration().getFeatures());
+			LongRunningWrapper.startJob(updateToken, updateJob);
 		}
 	}
 
@@ -1281,9 +1322,20 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 		return false;
 	}
 
+	/**
+	 * Traverses the features in preorder and creates their items if necessary.
+	 */
 	@Override
 	public Iterator<TreeItem> createIterator() {
-		return new UITreeIterator(tree);
+		final Configuration configuration = configurationEditor.getConfiguration();
+		final TreeElement root = ((configuration != null) && !itemMap.isEmpty()) ? configuration.getRoot() : null;
+		return new FeatureTreeIterator<>(root, new IFunction<SelectableFeature, TreeItem>() {
+
+			@Override
+			public TreeItem invoke(SelectableFeature feature) {
+				return getItem(feature);
+			}
+		});
 	}
 
 	@Override
@@ -22,7 +22,6 @@ package de.ovgu.featureide.fm.ui.editors.featuremodel.layouts;
 
 import java.util.LinkedList;
 
-import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.geometry.Rectangle;
 
 import de.ovgu.featureide.fm.ui.editors.FeatureUIHelper;
@@ -79,7 +78,7 @@ public class BreadthFirstLayout extends FeatureDiagramLayoutManager {
 			final int levelSize = list.size();
 			for (int i = 0; i < levelSize; i++) {
 				final IGraphicalFeature feature = list.removeFirst();
-				setLocation(feature, new Point(xoffset, yoffset));
+				setLocation(feature, xoffset, yoffset);
 				xoffset += feature.getSize().width + FMPropertyManager.getFeatureSpaceX();
 				// add the features children
 				list.addAll(getChildren(feature));
@@ -20,7 +20,6 @@
  */
 package de.ovgu.featureide.fm.ui.editors.featuremodel.layouts;
 
-import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.geometry.Rectangle;
 
 import de.ovgu.featureide.fm.ui.editors.FeatureUIHelper;
@@ -49,6 +48,7 @@ public class DepthFirstLayout extends FeatureDiagramLayoutManager {
 	protected void layoutFeatureModel(IGraphicalFeatureModel featureModel) {
 		yoffset = 0;
 		final IGraphicalFeature root = FeatureUIHelper.getGraphicalRootFeature(featureModel);
+		prepareSubtrees(root, 0);
 		depthFirstLayout(root, 0, FMPropertyManager.getLayoutMarginX());
 		yoffset = yoffset + FMPropertyManager.getFeatureSpaceX();
 		Rectangle rootBounds = getBounds(root);
@@ -56,18 +56,31 @@ public class DepthFirstLayout extends FeatureDiagramLayoutManager {
 	}
 
 	private int depthFirstLayout(IGraphicalFeature feature, int level, int x) {
-		if (!showHidden && feature.getObject().getStructure().hasHiddenParent()) {
+		if (!showHidden && feature.getObject().getStructure().isHidden()) {
 			return 0;
 		}
-		setLocation(feature, new Point(x, FMPropertyManager.getLayoutMarginY() + (level * FMPropertyManager.getFeatureSpaceY())));
+		final int y = FMPropertyManager.getLayoutMarginY() + (level * FMPropertyManager.getFeatureSpaceY());
 		int newX = x;
-		if (yoffset < (FMPropertyManager.getLayoutMarginY() + (level * FMPropertyManager.getFeatureSpaceY()))) {
-			yoffset = FMPropertyManager.getLayoutMarginY() + (level * FMPropertyManager.getFeatureSpaceY());
+		final int bottom;
+		if (isSubtreeUnchanged(feature, x, y)) {
+			newX += getSubtreeWidth(feature);
+			bottom = y + getSubtreeHeight(feature);
+		} else {
+			setLocation(feature, x, y);
+			final int parentYOffset = yoffset;
+			yoffset = y;
+			for (final IGraphicalFeature child : getChildren(feature)) {
+				newX = depthFirstLayout(child, level + 1, newX);
+			}
+			newX = Math.max(newX, x + feature.getSize().width + FMPropertyManager.getFeatureSpaceX());
+			bottom = yoffset;
+			yoffset = parentYOffset;
+			setSubtreeExtent(feature, x, y, newX - x, bottom - y);
 		}
-		for (final IGraphicalFeature child : getChildren(feature)) {
-			newX = depthFirstLayout(child, level + 1, newX);
+		if (yoffset < bottom) {
+			yoffset = bottom;
 		}
-		return Math.max(newX, x + feature.getSize().width + FMPropertyManager.getFeatureSpaceX());
+		return newX;
 	}
 
 }
@@ -168,27 +168,38 @@ public class FeatureDiagramLayoutHelper {
 	 *
 	 */
 	public static FeatureDiagramLayoutManager getLayoutManager(int layoutAlgorithm, IGraphicalFeatureModel featureModel) {
+		return getLayoutManager(layoutAlgorithm, featureModel, null);
+	}
+
+	/**
+	 * returns the layout manager for the chosen algorithm(id) and keeps the old layout manager if it already implements this automatic algorithm, so that
+	 * unchanged subtrees are not laid out again
+	 *
+	 */
+	public static FeatureDiagramLayoutManager getLayoutManager(int layoutAlgorithm, IGraphicalFeatureModel featureModel,
+			FeatureDiagramLayoutManager oldLayoutManager) {
 		switch (layoutAlgorithm) {
 		case 0:
 //			FeatureUIHelper.setVerticalLayoutBounds(false, featureModel);
 //			featureModel.getLayout().verticalLayout(FeatureUIHelper.hasVerticalLayout(featureModel));
+			// always new, so that each layout refreshes the connections of the features (see #571 in FeatureDiagramLayoutManager)
 			return new ManualLayout();
 		case 1:
 			FeatureUIHelper.setVerticalLayoutBounds(false, featureModel);
 			featureModel.getLayout().verticalLayout(FeatureUIHelper.hasVerticalLayout(featureModel));
-			return new LevelOrderLayout();
+			return (oldLayoutManager instanceof LevelOrderLayout) ? oldLayoutManager : new LevelOrderLayout();
 		case 2:
 			FeatureUIHelper.setVerticalLayoutBounds(false, featureModel);
 			featureModel.getLayout().verticalLayout(FeatureUIHelper.hasVerticalLayout(featureModel));
-			return new BreadthFirstLayout();
+			return (oldLayoutManager instanceof BreadthFirstLayout) ? oldLayoutManager : new BreadthFirstLayout();
 		case 3:
 			FeatureUIHelper.setVerticalLayoutBounds(false, featureModel);
 			featureModel.getLayout().verticalLayout(FeatureUIHelper.hasVerticalLayout(featureModel));
-			return new DepthFirstLayout();
+			return (oldLayoutManager instanceof DepthFirstLayout) ? oldLayoutManager : new DepthFirstLayout();
 		case 4:
 			FeatureUIHelper.setVerticalLayoutBounds(true, featureModel);
 			featureModel.getLayout().verticalLayout(FeatureUIHelper.hasVerticalLayout(featureModel));
-			return new VerticalLayout();
+			return (oldLayoutManager instanceof VerticalLayout) ? oldLayoutManager : new VerticalLayout();
 //		case 5:
 //			FeatureUIHelper.setVerticalLayoutBounds(true, featureModel);
 //			featureModel.getLayout().verticalLayout(FeatureUIHelper.hasVerticalLayout(featureModel));
@@ -196,7 +207,7 @@ public class FeatureDiagramLayoutHelper {
 		default:
 			FeatureUIHelper.setVerticalLayoutBounds(false, featureModel);
 			featureModel.getLayout().verticalLayout(FeatureUIHelper.hasVerticalLayout(featureModel));
-			return new LevelOrderLayout();
+			return (oldLayoutManager instanceof LevelOrderLayout) ? oldLayoutManager : new LevelOrderLayout();
 		}
 
 	}
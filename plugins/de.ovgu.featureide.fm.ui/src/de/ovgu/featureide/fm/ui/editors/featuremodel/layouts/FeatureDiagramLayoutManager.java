@@ -21,20 +21,20 @@
 package de.ovgu.featureide.fm.ui.editors.featuremodel.layouts;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.ListIterator;
-import java.util.Map;
-import java.util.Map.Entry;
 
 import org.eclipse.draw2d.geometry.Dimension;
 import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.gef.ui.parts.ScrollingGraphicalViewer;
 
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureStructure;
 import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent;
 import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent.EventType;
-import de.ovgu.featureide.fm.core.functional.Functional;
 import de.ovgu.featureide.fm.ui.editors.FeatureConnection;
 import de.ovgu.featureide.fm.ui.editors.FeatureUIHelper;
 import de.ovgu.featureide.fm.ui.editors.IGraphicalConstraint;
@@ -69,8 +69,12 @@ abstract public class FeatureDiagramLayoutManager {
 		showCollapsedConstraints = featureModel.getLayout().showCollapsedConstraints();
 		FeatureUIHelper.showCollapsedConstraints(showCollapsedConstraints, featureModel);
 		layoutFeatureModel(featureModel);
-		for (final Entry<IGraphicalFeature, Point> entry : newLocations.entrySet()) {
-			entry.getKey().setLocation(entry.getValue());
+		for (final IGraphicalFeature feature : newLocations) {
+			final int index = getIndex(feature);
+			final Point location = feature.getLocation();
+			if ((location == null) || (location.x != locationX[index]) || (location.y != locationY[index])) {
+				feature.setLocation(new Point(locationX[index], locationY[index]));
+			}
 		}
 		if ((featureModel.getLayout().getLayoutAlgorithm() == 0) && !firstManualLayout) {
 			for (final IGraphicalFeature entry : featureModel.getFeatures()) {
@@ -90,6 +94,10 @@ abstract public class FeatureDiagramLayoutManager {
 			}
 		}
 		newLocations.clear();
+		if (++locationMark == 0) {
+			Arrays.fill(locationMarks, 0);
+			locationMark = 1;
+		}
 	}
 
 	/**
@@ -351,20 +359,64 @@ abstract public class FeatureDiagramLayoutManager {
 	}
 
 	/**
-	 * Stores locations separately to {@link IGraphicalFeature}.
+	 * Stores locations separately to {@link IGraphicalFeature}, indexed by {@link IFeature#getInternalId()}. A location belongs to the current layout if its
+	 * entry in {@link #locationMarks} equals {@link #locationMark}, otherwise it is the one of a previous layout.
+	 */
+	private int[] locationX = new int[0];
+	private int[] locationY = new int[0];
+	private int[] locationMarks = new int[0];
+	private int locationMark = 1;
+	private final List<IGraphicalFeature> newLocations = new ArrayList<>();
+
+	/**
+	 * Extents of the subtrees at the previous layout, indexed by {@link IFeature#getInternalId()}.
 	 */
-	protected Map<IGraphicalFeature, Point> newLocations = new HashMap<>();
+	private long[] subtreeSignatures = new long[0];
+	private long[] laidOutSignatures = new long[0];
+	private long[] subtreeOrigins = new long[0];
+	private int[] subtreeWidths = new int[0];
+	private int[] subtreeHeights = new int[0];
+	private long layoutParameters = 0;
+
+	private static int getIndex(IGraphicalFeature feature) {
+		return (int) feature.getObject().getInternalId();
+	}
+
+	private void ensureCapacity(int index) {
+		if (index >= locationX.length) {
+			final int length = Math.max(index + 1, 2 * locationX.length);
+			locationX = Arrays.copyOf(locationX, length);
+			locationY = Arrays.copyOf(locationY, length);
+			locationMarks = Arrays.copyOf(locationMarks, length);
+			subtreeSignatures = Arrays.copyOf(subtreeSignatures, length);
+			laidOutSignatures = Arrays.copyOf(laidOutSignatures, length);
+			subtreeOrigins = Arrays.copyOf(subtreeOrigins, length);
+			subtreeWidths = Arrays.copyOf(subtreeWidths, length);
+			subtreeHeights = Arrays.copyOf(subtreeHeights, length);
+		}
+	}
 
 	protected void setLocation(IGraphicalFeature feature, Point location) {
-		newLocations.put(feature, location);
+		setLocation(feature, location.x, location.y);
+	}
+
+	protected void setLocation(IGraphicalFeature feature, int x, int y) {
+		final int index = getIndex(feature);
+		ensureCapacity(index);
+		if (locationMarks[index] != locationMark) {
+			locationMarks[index] = locationMark;
+			newLocations.add(feature);
+		}
+		locationX[index] = x;
+		locationY[index] = y;
 	}
 
 	protected Point getLocation(IGraphicalFeature feature) {
-		Point location = newLocations.get(feature);
-		if (location == null) {
-			location = feature.getLocation();
+		final int index = getIndex(feature);
+		if ((index < locationMarks.length) && (locationMarks[index] == locationMark)) {
+			return new Point(locationX[index], locationY[index]);
 		}
-		return location;
+		return feature.getLocation();
 	}
 
 	protected Rectangle getBounds(IGraphicalFeature feature) {
@@ -375,7 +427,116 @@ abstract public class FeatureDiagramLayoutManager {
 		return new Rectangle(getLocation(feature), feature.getSize());
 	}
 
+	/**
+	 * Returns the visible children of a feature. Collapsed features have no visible children, thus, their subtrees are not traversed at all.<br> As the
+	 * layouts traverse the diagram top-down, this method assumes that the given feature is visible itself.
+	 */
 	protected List<IGraphicalFeature> getChildren(IGraphicalFeature feature) {
-		return Functional.toList(feature.getGraphicalChildren(showHidden));
+		final IFeatureStructure structure = feature.getObject().getStructure();
+		if (feature.isCollapsed() || (!showHidden && structure.isHidden())) {
+			return Collections.emptyList();
+		}
+		final IGraphicalFeatureModel graphicalFeatureModel = feature.getGraphicalModel();
+		final List<IGraphicalFeature> children = new ArrayList<>(structure.getChildrenCount());
+		for (final IFeatureStructure child : structure.getChildren()) {
+			if (showHidden || !child.isHidden()) {
+				children.add(graphicalFeatureModel.getGraphicalFeature(child.getFeature()));
+			}
+		}
+		return children;
+	}
+
+	/**
+	 * Computes a signature for every visible subtree below the given root. Layouts that call this method can skip subtrees that did not change since the
+	 * previous layout, see {@link #isSubtreeUnchanged(IGraphicalFeature, int, int)}.
+	 *
+	 * @param root the root feature of the diagram
+	 * @param parameters a hash of all layout specific values that affect every subtree (e.g., the widths of the levels)
+	 */
+	protected void prepareSubtrees(IGraphicalFeature root, long parameters) {
+		long newParameters = mix(parameters, showHidden ? 1 : 0);
+		newParameters = mix(newParameters, FMPropertyManager.getLayoutMarginX());
+		newParameters = mix(newParameters, FMPropertyManager.getLayoutMarginY());
+		newParameters = mix(newParameters, FMPropertyManager.getFeatureSpaceX());
+		newParameters = mix(newParameters, FMPropertyManager.getFeatureSpaceY());
+		if (newParameters != layoutParameters) {
+			layoutParameters = newParameters;
+			Arrays.fill(laidOutSignatures, 0);
+		}
+		computeSignature(root);
+	}
+
+	private long computeSignature(IGraphicalFeature feature) {
+		long signature = mix(feature.getObject().getInternalId(), System.identityHashCode(feature));
+		final Dimension size = feature.getSize();
+		if (size != null) {
+			signature = mix(signature, size.width);
+			signature = mix(signature, size.height);
+		}
+		signature = mix(signature, feature.isCollapsed() ? 1 : 0);
+		for (final IGraphicalFeature child : getChildren(feature)) {
+			signature = mix(signature, computeSignature(child));
+		}
+		if (signature == 0) {
+			// 0 marks subtrees that were not laid out
+			signature = 1;
+		}
+		final int index = getIndex(feature);
+		ensureCapacity(index);
+		subtreeSignatures[index] = signature;
+		return signature;
+	}
+
+	private static long mix(long hash, long value) {
+		return (hash ^ value) * 0x100000001B3L;
+	}
+
+	private static long getOrigin(int x, int y) {
+		return ((long) x << 32) | (y & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Checks whether a subtree can keep the locations of the previous layout. This is the case if neither the subtree nor its origin have changed since then.
+	 * Must only be called after {@link #prepareSubtrees(IGraphicalFeature, long)}.
+	 *
+	 * @param feature the root of the subtree
+	 * @param originX the x value the layout depends on for this subtree
+	 * @param originY the y value the layout depends on for this subtree
+	 * @return {@code true} if the subtree does not need to be laid out again
+	 */
+	protected boolean isSubtreeUnchanged(IGraphicalFeature feature, int originX, int originY) {
+		final int index = getIndex(feature);
+		if ((index >= laidOutSignatures.length) || (laidOutSignatures[index] != subtreeSignatures[index])
+			|| (subtreeOrigins[index] != getOrigin(originX, originY))) {
+			return false;
+		}
+		final Point location = feature.getLocation();
+		return (location != null) && (location.x == locationX[index]) && (location.y == locationY[index]);
+	}
+
+	/**
+	 * Stores the extent of a subtree that was laid out completely.
+	 *
+	 * @param feature the root of the subtree
+	 * @param originX the x value the layout depends on for this subtree
+	 * @param originY the y value the layout depends on for this subtree
+	 * @param width the width of the subtree
+	 * @param height the height of the subtree
+	 */
+	protected void setSubtreeExtent(IGraphicalFeature feature, int originX, int originY, int width, int height) {
+		final int index = getIndex(feature);
+		ensureCapacity(index);
+		laidOutSignatures[index] = subtreeSignatures[index];
+		subtreeOrigins[index] = getOrigin(originX, originY);
+		subtreeWidths[index] = width;
+		subtreeHeights[index] = height;
+	}
+
+	protected int getSubtreeWidth(IGraphicalFeature feature) {
+		return subtreeWidths[getIndex(feature)];
+	}
+
+	protected int getSubtreeHeight(IGraphicalFeature feature) {
+		return subtreeHeights[getIndex(feature)];
 	}
 }
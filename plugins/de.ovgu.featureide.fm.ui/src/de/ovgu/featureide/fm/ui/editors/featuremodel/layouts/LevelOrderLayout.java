@@ -75,13 +75,13 @@ public class LevelOrderLayout extends FeatureDiagramLayoutManager {
 	private void layoutLevelInY(LinkedList<IGraphicalFeature> level, int i) {
 		final int y = FMPropertyManager.getLayoutMarginY() + (FMPropertyManager.getFeatureSpaceY() * i);
 		for (final IGraphicalFeature feature : level) {
-			setLocation(feature, new Point(0, y));
+			setLocation(feature, 0, y);
 		}
 	}
 
 	private void layoutLevelInX(LinkedList<IGraphicalFeature> level) {
 		for (final IGraphicalFeature feature : level) {
-			if (!feature.isCollapsed() && (getChildren(feature).size() > 0)) {
+			if (!getChildren(feature).isEmpty()) {
 				centerAboveChildren(feature);
 			}
 		}
@@ -204,7 +204,7 @@ public class LevelOrderLayout extends FeatureDiagramLayoutManager {
 
 	private void moveTree(IGraphicalFeature root, int deltaX) {
 		final Point location = getLocation(root);
-		setLocation(root, new Point(location.x + deltaX, location.y));
+		setLocation(root, location.x + deltaX, location.y);
 		for (final IGraphicalFeature child : getChildren(root)) {
 			moveTree(child, deltaX);
 		}
@@ -24,7 +24,6 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.ListIterator;
 
-import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.geometry.Rectangle;
 
 import de.ovgu.featureide.fm.ui.editors.FeatureUIHelper;
@@ -56,7 +55,13 @@ public class VerticalLayout extends FeatureDiagramLayoutManager {
 		heightStep = root.getSize().height + featureSpaceY;
 		height = FMPropertyManager.getLayoutMarginX() - heightStep;
 
+		levelWidth.clear();
 		calculateLevelWidth(root);
+		long parameters = heightStep;
+		for (final Integer width : levelWidth) {
+			parameters = (31 * parameters) + width;
+		}
+		prepareSubtrees(root, parameters);
 		centerOther(root, 0);
 		Rectangle rootBounds = getBounds(root);
 		layoutConstraints(height, featureModel.getVisibleConstraints(), rootBounds);
@@ -66,11 +71,17 @@ public class VerticalLayout extends FeatureDiagramLayoutManager {
 	 * positions of features that have children are now set from right to left (for each level) (centered by their children's positions
 	 */
 	private int centerOther(IGraphicalFeature parent, int level) {
+		final int x = levelWidth.get(level);
+		final int startHeight = height;
+		if (isSubtreeUnchanged(parent, x, startHeight)) {
+			height += getSubtreeHeight(parent);
+			return getLocation(parent).y;
+		}
+		final int yPos;
 		final Iterable<? extends IGraphicalFeature> children = getChildren(parent);
 		if (!children.iterator().hasNext()) {
 			height += heightStep;
-			setLocation(parent, new Point(levelWidth.get(level), height));
-			return height;
+			yPos = height;
 		} else {
 			final Iterator<? extends IGraphicalFeature> it = children.iterator();
 			final int min = centerOther(it.next(), level + 1);
@@ -78,11 +89,11 @@ public class VerticalLayout extends FeatureDiagramLayoutManager {
 			while (it.hasNext()) {
 				max = centerOther(it.next(), level + 1);
 			}
-
-			final int yPos = (min + max) >> 1;
-			setLocation(parent, new Point(levelWidth.get(level), yPos));
-			return yPos;
+			yPos = (min + max) >> 1;
 		}
+		setLocation(parent, x, yPos);
+		setSubtreeExtent(parent, x, startHeight, 0, height - startHeight);
+		return yPos;
 	}
 
 	private void calculateLevelWidth(IGraphicalFeature root) {
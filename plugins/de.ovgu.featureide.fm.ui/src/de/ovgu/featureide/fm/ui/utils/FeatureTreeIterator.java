@@ -0,0 +1,90 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.ui.utils;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.NoSuchElementException;
+
+import de.ovgu.featureide.fm.core.configuration.SelectableFeature;
+import de.ovgu.featureide.fm.core.configuration.TreeElement;
+import de.ovgu.featureide.fm.core.functional.Functional.IFunction;
+
+/**
+ * Traverses the features of a configuration in preorder and returns the element of each feature, e.g., its tree item. In contrast to {@link UITreeIterator},
+ * the traversal does not depend on the items that already exist, so the given function can create missing items on demand. Features for which the function
+ * returns {@code null} (e.g., hidden features) are skipped, but their children are still traversed.
+ */
+public class FeatureTreeIterator<T> implements Iterator<T> {
+
+	private final LinkedList<TreeElement> elements = new LinkedList<>();
+	private final IFunction<SelectableFeature, T> elementFunction;
+
+	private T next;
+
+	/**
+	 * @param root the root of the traversed tree, may be {@code null} for an empty traversal
+	 * @param elementFunction returns the element of a feature or {@code null} if the feature is skipped
+	 */
+	public FeatureTreeIterator(TreeElement root, IFunction<SelectableFeature, T> elementFunction) {
+		this.elementFunction = elementFunction;
+		if (root != null) {
+			elements.add(root);
+		}
+		next = findNext();
+	}
+
+	private T findNext() {
+		while (!elements.isEmpty()) {
+			final TreeElement element = elements.removeFirst();
+			elements.addAll(0, Arrays.asList(element.getChildren()));
+			if (element instanceof SelectableFeature) {
+				final T result = elementFunction.invoke((SelectableFeature) element);
+				if (result != null) {
+					return result;
+				}
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public boolean hasNext() {
+		return next != null;
+	}
+
+	@Override
+	public T next() {
+		if (next == null) {
+			throw new NoSuchElementException();
+		}
+		final T result = next;
+		next = findNext();
+		return result;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+}
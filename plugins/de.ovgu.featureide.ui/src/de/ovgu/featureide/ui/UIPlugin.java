@@ -25,6 +25,7 @@ import org.eclipse.ui.PlatformUI;
 import org.osgi.framework.BundleContext;
 
 import de.ovgu.featureide.fm.ui.AbstractUIPlugin;
+import de.ovgu.featureide.ui.actions.generator.TestRunnerPool;
 import de.ovgu.featureide.ui.editors.annotation.EditorTracker;
 
 /**
@@ -58,6 +59,7 @@ public class UIPlugin extends AbstractUIPlugin {
 	@Override
 	public void stop(BundleContext context) throws Exception {
 		plugin = null;
+		TestRunnerPool.shutdownInstance();
 
 		if (editorTracker != null) {
 			editorTracker.dispose();
@@ -0,0 +1,175 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.ui.actions.generator;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the class files and compiler messages of the compilation units compiled for previous variants.<br> A compilation unit is reused for another variant
+ * if its source and the sources of all compilation units it refers to, directly or transitively, are unchanged. References are approximated by the names of
+ * the types declared in the variant, so a compilation unit is rather recompiled once too often than reused wrongly.
+ *
+ * @see JavaCompiler
+ */
+public class ClassFileCache {
+
+	private static final Pattern IDENTIFIER = Pattern.compile("\\p{javaJavaIdentifierStart}\\p{javaJavaIdentifierPart}*");
+	private static final Pattern TYPE_DECLARATION =
+		Pattern.compile("\\b(?:class|interface|enum)\\s+(\\p{javaJavaIdentifierStart}\\p{javaJavaIdentifierPart}*)");
+
+	/**
+	 * A message of the compiler for a compilation unit.
+	 */
+	static class Message {
+
+		final boolean warning;
+		final long line;
+		final String text;
+
+		Message(boolean warning, long line, String text) {
+			this.warning = warning;
+			this.line = line;
+			this.text = text;
+		}
+
+	}
+
+	/**
+	 * The result of compiling one compilation unit.
+	 */
+	static class CompiledUnit {
+
+		/**
+		 * The class files by their binary class names.
+		 */
+		final Map<String, byte[]> classFiles;
+		final List<Message> messages;
+
+		CompiledUnit(Map<String, byte[]> classFiles, List<Message> messages) {
+			this.classFiles = Collections.unmodifiableMap(classFiles);
+			this.messages = Collections.unmodifiableList(messages);
+		}
+
+	}
+
+	private final Map<String, CompiledUnit> compiledUnits = new ConcurrentHashMap<>();
+
+	CompiledUnit get(String key) {
+		return compiledUnits.get(key);
+	}
+
+	void put(String key, CompiledUnit compiledUnit) {
+		compiledUnits.put(key, compiledUnit);
+	}
+
+	/**
+	 * Computes the cache keys of the compilation units of one variant.
+	 *
+	 * @param sources The source of each compilation unit by its path relative to the variant
+	 * @return The key of each compilation unit by its path
+	 */
+	static Map<String, String> getKeys(Map<String, String> sources) {
+		final Map<String, String> hashes = new HashMap<>();
+		final Map<String, Set<String>> declaringUnits = new HashMap<>();
+		for (final Entry<String, String> entry : sources.entrySet()) {
+			final String path = entry.getKey();
+			final String source = entry.getValue();
+			hashes.put(path, hash(source));
+
+			final String fileName = path.substring(path.lastIndexOf('/') + 1);
+			addDeclaringUnit(declaringUnits, fileName.endsWith(".java") ? fileName.substring(0, fileName.length() - 5) : fileName, path);
+			final Matcher matcher = TYPE_DECLARATION.matcher(source);
+			while (matcher.find()) {
+				addDeclaringUnit(declaringUnits, matcher.group(1), path);
+			}
+		}
+
+		final Map<String, Set<String>> references = new HashMap<>();
+		for (final Entry<String, String> entry : sources.entrySet()) {
+			final Set<String> referencedUnits = new HashSet<>();
+			final Matcher matcher = IDENTIFIER.matcher(entry.getValue());
+			while (matcher.find()) {
+				final Set<String> units = declaringUnits.get(matcher.group());
+				if (units != null) {
+					referencedUnits.addAll(units);
+				}
+			}
+			references.put(entry.getKey(), referencedUnits);
+		}
+
+		final Map<String, String> keys = new HashMap<>();
+		for (final String path : sources.keySet()) {
+			final Set<String> closure = new TreeSet<>();
+			final Deque<String> stack = new ArrayDeque<>();
+			stack.push(path);
+			while (!stack.isEmpty()) {
+				final String unit = stack.pop();
+				if (closure.add(unit)) {
+					for (final String referencedUnit : references.get(unit)) {
+						stack.push(referencedUnit);
+					}
+				}
+			}
+
+			final MessageDigest digest = VariantStore.createDigest();
+			update(digest, path);
+			for (final String unit : closure) {
+				update(digest, unit);
+				update(digest, hashes.get(unit));
+			}
+			keys.put(path, VariantStore.toHex(digest.digest()));
+		}
+		return keys;
+	}
+
+	private static void addDeclaringUnit(Map<String, Set<String>> declaringUnits, String typeName, String path) {
+		Set<String> units = declaringUnits.get(typeName);
+		if (units == null) {
+			units = new HashSet<>();
+			declaringUnits.put(typeName, units);
+		}
+		units.add(path);
+	}
+
+	private static String hash(String source) {
+		return VariantStore.toHex(VariantStore.createDigest().digest(source.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+}
@@ -25,6 +25,7 @@ import static de.ovgu.featureide.fm.core.localization.StringTable.INCLING;
 import static de.ovgu.featureide.fm.core.localization.StringTable.OF;
 import static de.ovgu.featureide.fm.core.localization.StringTable.RESTRICTION;
 
+import java.io.File;
 import java.security.KeyStore.Builder;
 import java.util.ArrayList;
 import java.util.List;
@@ -99,11 +100,26 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 	 */
 	String classpath = "";
 
+	/**
+	 * The entries of {@link #classpath}.
+	 */
+	final List<File> classpathEntries = new ArrayList<>();
+
 	/**
 	 * This folder is used for compilation.
 	 */
 	IFolder tmp;
 
+	/**
+	 * Remembers the compiled variants built into {@link #folder}.
+	 */
+	VariantStore variantStore;
+
+	/**
+	 * Stores the class files of all variants compiled during this build.
+	 */
+	ClassFileCache classFileCache;
+
 	/**
 	 * This flag indicates if a new project should be created for each configuration.
 	 */
@@ -422,6 +438,8 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 					LOGGER.logError(e);
 				}
 			}
+			variantStore = new VariantStore();
+			classFileCache = new ClassFileCache();
 		} else {
 			try {
 				String identifier;
@@ -473,10 +491,12 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 				final String path = e.getPath().toOSString();
 				if (e.getPath().isAbsolute()) {
 					classpath += sep + "\"" + path + "\"";
+					classpathEntries.add(new File(path));
 				} else {
 					final IResource resource = e.getResource();
 					if ((resource != null) && "jar".equals(resource.getFileExtension())) {
 						classpath += sep + "\"" + resource.getLocation().toOSString() + "\"";
+						classpathEntries.add(resource.getLocation().toFile());
 					} else {
 						UIPlugin.getDefault().logWarning("ClassPath element " + e.toString() + " is missing.");
 					}
@@ -25,6 +25,7 @@ import static de.ovgu.featureide.fm.core.localization.StringTable.RESTRICTION;
 import static de.ovgu.featureide.fm.core.localization.StringTable.THE_GENERATOR_NR_;
 import static de.ovgu.featureide.fm.core.localization.StringTable.WILL_BE_RESTARTED_;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -146,6 +147,7 @@ public class Generator extends Thread implements IConfigurationBuilderBasics {
 					continue;
 				}
 				final String name = configuration.getName();
+				String fingerprint = null;
 				if (builder.createNewProjects) {
 					final String separator;
 					switch (builder.buildType) {
@@ -169,14 +171,25 @@ public class Generator extends Thread implements IConfigurationBuilderBasics {
 					}
 					buildConfiguration(builder.featureProject.getProjectName() + separator + name, configuration);
 				} else {
-					builder.featureProject.getComposer().buildConfiguration(builder.folder.getFolder(name), configuration, name);
+					final IFolder variantFolder = builder.folder.getFolder(name);
+					builder.featureProject.getComposer().buildConfiguration(variantFolder, configuration, name);
+					fingerprint = fingerprintVariant(variantFolder);
 				}
 
 				if (compiler != null) {
-					compiler.compile(configuration);
-					if (builder.runTests) {
-						if (JUNIT_INSTALLED) {
-							testRunner.runTests(configuration);
+					// identical variants only need to be compiled once, their markers are copied
+					final String compiledVariant = (builder.runTests || (fingerprint == null)) ? null : builder.variantStore.getCompiledVariant(fingerprint);
+					if (compiledVariant != null) {
+						compiler.copyMarkers(compiledVariant, name);
+					} else {
+						compiler.compile(configuration);
+						if (fingerprint != null) {
+							builder.variantStore.addCompiledVariant(fingerprint, name);
+						}
+						if (builder.runTests) {
+							if (JUNIT_INSTALLED) {
+								testRunner.runTests(configuration);
+							}
 						}
 					}
 				}
@@ -192,10 +205,34 @@ public class Generator extends Thread implements IConfigurationBuilderBasics {
 			builder.createNewGenerator(nr);
 		} finally {
 			builder.generatorJobs.remove(this);
+			if (compiler != null) {
+				compiler.dispose();
+			}
 		}
 		return;
 	}
 
+	/**
+	 * Computes the fingerprint of the given variant with the {@link VariantStore}. The files are read from the file system, so the variant does not need to
+	 * be refreshed.
+	 *
+	 * @param variantFolder The folder containing the built variant
+	 * @return The fingerprint of the variant or {@code null} if it could not be read
+	 */
+	@CheckForNull
+	private String fingerprintVariant(IFolder variantFolder) {
+		final IPath location = variantFolder.getRawLocation();
+		if ((builder.variantStore == null) || (location == null) || !location.toFile().isDirectory()) {
+			return null;
+		}
+		try {
+			return builder.variantStore.fingerprint(location.toFile().toPath());
+		} catch (final IOException e) {
+			UIPlugin.getDefault().logError(e);
+			return null;
+		}
+	}
+
 	/**
 	 * Builds the configuration in a new project with the given name.
 	 *
@@ -24,16 +24,36 @@ import static de.ovgu.featureide.fm.core.localization.StringTable.CANNOT_FIND_SY
 import static de.ovgu.featureide.fm.core.localization.StringTable.COMPILER;
 import static de.ovgu.featureide.fm.core.localization.StringTable.SYMBOL;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Scanner;
 import java.util.TreeMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IMarker;
@@ -43,6 +63,8 @@ import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.core.compiler.batch.BatchCompiler;
 
 import de.ovgu.featureide.ui.UIPlugin;
+import de.ovgu.featureide.ui.actions.generator.ClassFileCache.CompiledUnit;
+import de.ovgu.featureide.ui.actions.generator.ClassFileCache.Message;
 
 /**
  * This {@link Job} compiles all configurations of the corresponding {@link Generator}
@@ -51,6 +73,10 @@ import de.ovgu.featureide.ui.UIPlugin;
  */
 public class JavaCompiler implements IConfigurationBuilderBasics {
 
+	// \S*\s(\w+)\sin\s(\w:[\w,\\,.,\s]*.java)\s[(]at line (\d+)[)]
+	private static final Pattern PROBLEM_PATTERN = Pattern.compile("\\S*\\s(\\w+)\\sin\\s(\\S.*[.]java)\\s[(]at line (\\d+)[)]");
+	private static final Pattern MESSAGE_PATTERN = Pattern.compile("\\w.*");
+
 	private final Generator generator;
 
 	/**
@@ -58,6 +84,17 @@ public class JavaCompiler implements IConfigurationBuilderBasics {
 	 */
 	final IFolder tmp;
 
+	/**
+	 * The compiler of the running JVM or {@code null} if it runs without a JDK or does not support Java 1.7 or any later release. In this case, the variants
+	 * are compiled with the batch compiler of ECJ.
+	 */
+	private final javax.tools.JavaCompiler javaCompiler = SystemCompiler.OPTIONS == null ? null : SystemCompiler.COMPILER;
+
+	/**
+	 * Opens the class path once for all variants compiled by this compiler and keeps their class files in memory.
+	 */
+	private MemoryFileManager fileManager;
+
 	/**
 	 *
 	 * @param nr The number of the compiler
@@ -89,39 +126,299 @@ public class JavaCompiler implements IConfigurationBuilderBasics {
 		} catch (final CoreException e) {
 			UIPlugin.getDefault().logError(e);
 		}
-		for (final IResource file : tmp.members()) {
-			file.delete(true, null);
-		}
+		clearOutputFolder();
 		compile(configuration.getName());
 	}
 
 	/**
-	 * Compiles the built configuration to create error markers. The binary files will be placed into an temporary folder.
+	 * Copies the problem markers of an identical variant that was already compiled.
+	 *
+	 * @param compiledName The name of the compiled variant
+	 * @param configurationName The name of the variant to create the markers for
+	 */
+	protected void copyMarkers(String compiledName, String configurationName) {
+		final IFolder compiledFolder = generator.builder.folder.getFolder(compiledName);
+		final IFolder variantFolder = generator.builder.folder.getFolder(configurationName);
+		final LinkedList<IFile> errorFiles = new LinkedList<>();
+		try {
+			final IMarker[] markers = compiledFolder.findMarkers(PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
+			if (markers.length == 0) {
+				return;
+			}
+			// the files of the variant are only needed in the workspace to hold markers
+			variantFolder.refreshLocal(IResource.DEPTH_INFINITE, null);
+			for (final IMarker marker : markers) {
+				final IResource resource = marker.getResource();
+				if (!(resource instanceof IFile)) {
+					continue;
+				}
+				final IFile file = variantFolder.getFile(resource.getFullPath().makeRelativeTo(compiledFolder.getFullPath()));
+				if (!file.exists()) {
+					continue;
+				}
+				String message = marker.getAttribute(IMarker.MESSAGE, "");
+				if (message.startsWith(compiledName + " ")) {
+					message = message.substring(compiledName.length() + 1);
+				}
+				final boolean warning = marker.getAttribute(IMarker.SEVERITY, IMarker.SEVERITY_ERROR) == IMarker.SEVERITY_WARNING;
+				createMarker(file, warning, marker.getAttribute(IMarker.LINE_NUMBER, -1), message, configurationName, errorFiles);
+			}
+		} catch (final CoreException e) {
+			UIPlugin.getDefault().logError(e);
+		}
+		for (final IFile file : errorFiles) {
+			generator.builder.featureProject.getComposer().postCompile(null, file);
+		}
+	}
+
+	/**
+	 * Removes the class files of the previous variant. The folder is cleared on the file system, because the workspace does not know about all class files.
+	 */
+	private void clearOutputFolder() {
+		final Path outputFolder = tmp.getRawLocation().toFile().toPath();
+		if (!Files.isDirectory(outputFolder)) {
+			return;
+		}
+		try {
+			Files.walkFileTree(outputFolder, new SimpleFileVisitor<Path>() {
+
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+					Files.delete(file);
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+					if (!dir.equals(outputFolder)) {
+						Files.delete(dir);
+					}
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		} catch (final IOException e) {
+			UIPlugin.getDefault().logError(e);
+		}
+	}
+
+	/**
+	 * Releases the class path opened for compilation.
+	 */
+	void dispose() {
+		if (fileManager != null) {
+			try {
+				fileManager.close();
+			} catch (final IOException e) {
+				UIPlugin.getDefault().logError(e);
+			}
+			fileManager = null;
+		}
+	}
+
+	/**
+	 * Compiles the built configuration to create error markers. The binary files are placed into a temporary folder if they are needed to run the tests of
+	 * the variant or if the variant is compiled with ECJ.
 	 *
 	 * @param confName
 	 */
 	private void compile(String confName) {
-		final LinkedList<IFile> files = getJavaFiles(generator.builder.folder.getFolder(confName));
-		final LinkedList<String> options = new LinkedList<>();
-		for (final IFile file : files) {
-			options.add(setupPath(file));
-		}
-		options.add("-g");
-		options.add("-Xlint");
-		options.add("-source");
-		options.add("1.7");
-		options.add("-d");
-		options.add(setupPath(tmp.getRawLocation().toOSString()));
-		options.add("-classpath");
-		options.add(generator.builder.classpath);
-
-		final String output = process(options);
-		final LinkedList<IFile> errorFiles = parseJavacOutput(output, files, confName);
+		final IFolder variantFolder = generator.builder.folder.getFolder(confName);
+		final LinkedList<IFile> files = getJavaFiles(variantFolder);
+		LinkedList<IFile> errorFiles = null;
+		if ((javaCompiler != null) && (generator.builder.classFileCache != null)) {
+			errorFiles = compile(variantFolder, files, confName);
+		}
+		if (errorFiles == null) {
+			final LinkedList<String> options = new LinkedList<>();
+			for (final IFile file : files) {
+				options.add(setupPath(file));
+			}
+			options.add("-g");
+			options.add("-Xlint");
+			options.add("-source");
+			options.add("1.7");
+			options.add("-d");
+			options.add(setupPath(tmp.getRawLocation().toOSString()));
+			options.add("-classpath");
+			options.add(generator.builder.classpath);
+
+			final String output = process(options);
+			errorFiles = parseJavacOutput(output, files, confName);
+		}
 		for (final IFile file : errorFiles) {
 			generator.builder.featureProject.getComposer().postCompile(null, file);
 		}
 	}
 
+	/**
+	 * Compiles the given files with the compiler of the running JVM. Compilation units that were already compiled for another variant are taken from the
+	 * {@link ClassFileCache} instead. The class files are kept in memory and only written to the temporary folder if the tests of the variant are run.
+	 *
+	 * @param variantFolder The folder of the variant
+	 * @param files The java files of the variant
+	 * @param configurationName Name of the actual configuration
+	 * @return The files with problem markers or {@code null} if the compiler of the running JVM cannot compile the variant
+	 */
+	private LinkedList<IFile> compile(IFolder variantFolder, List<IFile> files, String configurationName) {
+		final ClassFileCache cache = generator.builder.classFileCache;
+
+		final Map<String, IFile> units = new HashMap<>();
+		final Map<String, String> sources = new HashMap<>();
+		for (final IFile file : files) {
+			final String path = file.getFullPath().makeRelativeTo(variantFolder.getFullPath()).toString();
+			try {
+				sources.put(path, new String(Files.readAllBytes(file.getRawLocation().toFile().toPath()), file.getCharset()));
+				units.put(path, file);
+			} catch (IOException | CoreException e) {
+				UIPlugin.getDefault().logError(e);
+			}
+		}
+		final Map<String, String> keys = ClassFileCache.getKeys(sources);
+
+		final MemoryFileManager fileManager;
+		try {
+			fileManager = getFileManager();
+		} catch (IOException | RuntimeException e) {
+			UIPlugin.getDefault().logError(e);
+			return null;
+		}
+
+		final Map<IFile, CompiledUnit> cachedUnits = new HashMap<>();
+		final List<File> sourceFiles = new ArrayList<>();
+		final Map<Path, String> sourcePaths = new HashMap<>();
+		for (final Entry<String, IFile> unit : units.entrySet()) {
+			final CompiledUnit compiledUnit = cache.get(keys.get(unit.getKey()));
+			if (compiledUnit == null) {
+				final File sourceFile = unit.getValue().getRawLocation().toFile();
+				sourceFiles.add(sourceFile);
+				sourcePaths.put(MemoryFileManager.normalize(sourceFile.toURI()), unit.getKey());
+			} else {
+				cachedUnits.put(unit.getValue(), compiledUnit);
+			}
+		}
+		fileManager.reset(sourcePaths);
+		for (final CompiledUnit compiledUnit : cachedUnits.values()) {
+			for (final Entry<String, byte[]> classFile : compiledUnit.classFiles.entrySet()) {
+				fileManager.addClassFile(classFile.getKey(), classFile.getValue());
+			}
+		}
+
+		final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		CompilationTask task = null;
+		if (!sourceFiles.isEmpty()) {
+			try {
+				task = javaCompiler.getTask(null, fileManager, diagnostics, SystemCompiler.OPTIONS, null, fileManager.getJavaFileObjectsFromFiles(sourceFiles));
+			} catch (final RuntimeException e) {
+				// no markers were created yet, so the variant can still be compiled with ECJ
+				UIPlugin.getDefault().logError(e);
+				return null;
+			}
+		}
+
+		final LinkedList<IFile> errorFiles = new LinkedList<>();
+		for (final Entry<IFile, CompiledUnit> cachedUnit : cachedUnits.entrySet()) {
+			for (final Message message : cachedUnit.getValue().messages) {
+				createMarker(cachedUnit.getKey(), message.warning, message.line, message.text, configurationName, errorFiles);
+			}
+		}
+		if (task == null) {
+			writeClassFiles(cachedUnits.values(), Collections.<String, Map<String, byte[]>> emptyMap());
+			return errorFiles;
+		}
+
+		final Boolean success;
+		try {
+			success = task.call();
+		} catch (final RuntimeException e) {
+			UIPlugin.getDefault().logError(e);
+			return errorFiles;
+		}
+
+		final Map<String, List<Message>> messages = new HashMap<>();
+		for (final Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+			final String path = diagnostic.getSource() == null ? null : sourcePaths.get(MemoryFileManager.normalize(diagnostic.getSource().toUri()));
+			if (path == null) {
+				continue;
+			}
+			final boolean warning;
+			switch (diagnostic.getKind()) {
+			case ERROR:
+				warning = false;
+				break;
+			case WARNING:
+			case MANDATORY_WARNING:
+				warning = true;
+				break;
+			default:
+				continue;
+			}
+			final Message message = new Message(warning, diagnostic.getLineNumber(), diagnostic.getMessage(null));
+			List<Message> unitMessages = messages.get(path);
+			if (unitMessages == null) {
+				unitMessages = new ArrayList<>();
+				messages.put(path, unitMessages);
+			}
+			unitMessages.add(message);
+			createMarker(units.get(path), message.warning, message.line, message.text, configurationName, errorFiles);
+		}
+
+		// javac does not generate class files if any compilation unit contains errors
+		if (Boolean.TRUE.equals(success)) {
+			final Map<String, Map<String, byte[]>> classFiles = fileManager.getOutputFiles();
+			for (final String path : sourcePaths.values()) {
+				final Map<String, byte[]> unitClassFiles = classFiles.get(path);
+				final List<Message> unitMessages = messages.get(path);
+				cache.put(keys.get(path), new CompiledUnit(unitClassFiles == null ? Collections.<String, byte[]> emptyMap() : unitClassFiles,
+						unitMessages == null ? Collections.<Message> emptyList() : unitMessages));
+			}
+			writeClassFiles(cachedUnits.values(), classFiles);
+		}
+		return errorFiles;
+	}
+
+	/**
+	 * Writes the class files of the variant into the temporary folder, from which the {@link TestRunner} loads them. If no tests are run, the class files
+	 * are only kept in memory.
+	 *
+	 * @param cachedUnits The compilation units taken from the cache
+	 * @param classFiles The class files of the compiled compilation units
+	 */
+	private void writeClassFiles(Collection<CompiledUnit> cachedUnits, Map<String, Map<String, byte[]>> classFiles) {
+		if (!generator.builder.runTests) {
+			return;
+		}
+		final File outputFolder = tmp.getRawLocation().toFile();
+		for (final CompiledUnit compiledUnit : cachedUnits) {
+			for (final Entry<String, byte[]> classFile : compiledUnit.classFiles.entrySet()) {
+				writeClassFile(outputFolder, classFile.getKey(), classFile.getValue());
+			}
+		}
+		for (final Map<String, byte[]> unitClassFiles : classFiles.values()) {
+			for (final Entry<String, byte[]> classFile : unitClassFiles.entrySet()) {
+				writeClassFile(outputFolder, classFile.getKey(), classFile.getValue());
+			}
+		}
+	}
+
+	private void writeClassFile(File outputFolder, String className, byte[] bytes) {
+		final File classFile = new File(outputFolder, className.replace('.', File.separatorChar) + ".class");
+		try {
+			Files.createDirectories(classFile.getParentFile().toPath());
+			Files.write(classFile.toPath(), bytes);
+		} catch (final IOException e) {
+			UIPlugin.getDefault().logError(e);
+		}
+	}
+
+	private MemoryFileManager getFileManager() throws IOException {
+		if (fileManager == null) {
+			final StandardJavaFileManager standardFileManager = javaCompiler.getStandardFileManager(null, null, null);
+			standardFileManager.setLocation(StandardLocation.CLASS_PATH, generator.builder.classpathEntries);
+			fileManager = new MemoryFileManager(standardFileManager);
+		}
+		return fileManager;
+	}
+
 	/**
 	 * Adds quotation marks to the path name if it contains white spaces.
 	 */
@@ -177,9 +474,7 @@ public class JavaCompiler implements IConfigurationBuilderBasics {
 			String currentLine;
 			while (scanner.hasNextLine()) {
 				currentLine = scanner.nextLine();
-				// \S*\s(\w+)\sin\s(\w:[\w,\\,.,\s]*.java)\s[(]at line (\d+)[)]
-				final Pattern pattern = Pattern.compile("\\S*\\s(\\w+)\\sin\\s(\\S.*[.]java)\\s[(]at line (\\d+)[)]");
-				final Matcher matcher = pattern.matcher(currentLine);
+				final Matcher matcher = PROBLEM_PATTERN.matcher(currentLine);
 				if (!matcher.find()) {
 					continue;
 				}
@@ -198,8 +493,7 @@ public class JavaCompiler implements IConfigurationBuilderBasics {
 				// get error message in from the next lines
 				while (scanner.hasNextLine()) {
 					currentLine = scanner.nextLine();
-					final Pattern messagePattern = Pattern.compile("\\w.*");
-					final Matcher m = messagePattern.matcher(currentLine);
+					final Matcher m = MESSAGE_PATTERN.matcher(currentLine);
 					final boolean found = m.matches();
 					if (found) {
 						break;
@@ -210,29 +504,44 @@ public class JavaCompiler implements IConfigurationBuilderBasics {
 				// if (CANNOT_FIND_SYMBOL.equals(errorMessage)) {
 				// errorMessage = parseCannotFindSymbolMessage(scanner);
 				// }
-				if (errorMessage.contains(ERROR_IGNOR_RAW_TYPE) || errorMessage.contains(ERROR_IGNOR_CAST) || errorMessage.contains(ERROR_IGNOR_SERIIZABLE)
-					|| (errorMessage.contains(ERROR_IGNOR_UNUSED_IMPORT) && !errorMessage.contains("cannot be resolved"))
-					|| errorMessage.contains(ERROR_IGNOR_DEPRECATION)) {
-					continue;
-				}
-				if (!errorFiles.contains(currentFile)) {
-					errorFiles.add(currentFile);
-				}
-				IMarker newMarker;
-				newMarker = currentFile.createMarker(PROBLEM_MARKER);
-				if (newMarker.exists()) {
-					newMarker.setAttribute(IMarker.LINE_NUMBER, line);
-					newMarker.setAttribute(IMarker.MESSAGE, configurationName + " " + errorMessage);
-					newMarker.setAttribute(IMarker.SEVERITY, warning ? IMarker.SEVERITY_WARNING : IMarker.SEVERITY_ERROR);
-				}
+				createMarker(currentFile, warning, line, errorMessage, configurationName, errorFiles);
 			}
-		} catch (final CoreException e) {
-			UIPlugin.getDefault().logError(e);
 		}
 
 		return errorFiles;
 	}
 
+	/**
+	 * Creates a problem marker unless the message is ignored.
+	 *
+	 * @param file The file containing the problem
+	 * @param warning Whether the problem is a warning or an error
+	 * @param line The line of the problem
+	 * @param errorMessage The message of the compiler
+	 * @param configurationName Name of the actual configuration
+	 * @param errorFiles The files with markers, the file is added if a marker is created
+	 */
+	private void createMarker(IFile file, boolean warning, long line, String errorMessage, String configurationName, List<IFile> errorFiles) {
+		if (errorMessage.contains(ERROR_IGNOR_RAW_TYPE) || errorMessage.contains(ERROR_IGNOR_CAST) || errorMessage.contains(ERROR_IGNOR_SERIIZABLE)
+			|| (errorMessage.contains(ERROR_IGNOR_UNUSED_IMPORT) && !errorMessage.contains("cannot be resolved"))
+			|| errorMessage.contains(ERROR_IGNOR_DEPRECATION)) {
+			return;
+		}
+		if (!errorFiles.contains(file)) {
+			errorFiles.add(file);
+		}
+		try {
+			final IMarker newMarker = file.createMarker(PROBLEM_MARKER);
+			if (newMarker.exists()) {
+				newMarker.setAttribute(IMarker.LINE_NUMBER, (int) line);
+				newMarker.setAttribute(IMarker.MESSAGE, configurationName + " " + errorMessage);
+				newMarker.setAttribute(IMarker.SEVERITY, warning ? IMarker.SEVERITY_WARNING : IMarker.SEVERITY_ERROR);
+			}
+		} catch (final CoreException e) {
+			UIPlugin.getDefault().logError(e);
+		}
+	}
+
 	@SuppressWarnings("unused")
 	private String parseCannotFindSymbolMessage(Scanner scanner) {
 		while (scanner.hasNextLine()) {
@@ -0,0 +1,184 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.ui.actions.generator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.JavaFileObject.Kind;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+
+/**
+ * Keeps the class files of a compilation in memory.<br> The compiler writes its class files into this file manager, where they are recorded by the
+ * compilation unit they belong to. Class files of compilation units taken from the {@link ClassFileCache} can be added to the class path without writing
+ * them to the file system.
+ *
+ * @see JavaCompiler
+ */
+class MemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+	private static class MemoryClassFile extends SimpleJavaFileObject {
+
+		private final String className;
+		private final byte[] bytes;
+
+		MemoryClassFile(String className, byte[] bytes) {
+			super(URI.create("memory:///" + className.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+			this.className = className;
+			this.bytes = bytes;
+		}
+
+		@Override
+		public InputStream openInputStream() {
+			return new ByteArrayInputStream(bytes);
+		}
+
+	}
+
+	private final Map<String, MemoryClassFile> classPathFiles = new HashMap<>();
+	private final Map<String, Map<String, byte[]>> outputFiles = new HashMap<>();
+	private Map<Path, String> sourcePaths = new HashMap<>();
+
+	MemoryFileManager(StandardJavaFileManager fileManager) {
+		super(fileManager);
+	}
+
+	/**
+	 * Removes all class files of the previous compilation.
+	 *
+	 * @param sourcePaths The paths of the compilation units by the locations of their source files, see {@link #normalize(URI)}
+	 */
+	void reset(Map<Path, String> sourcePaths) {
+		this.sourcePaths = sourcePaths;
+		classPathFiles.clear();
+		outputFiles.clear();
+	}
+
+	/**
+	 * Adds a class file that was compiled before to the class path.
+	 *
+	 * @param className The binary name of the class
+	 * @param bytes The content of the class file
+	 */
+	void addClassFile(String className, byte[] bytes) {
+		classPathFiles.put(className, new MemoryClassFile(className, bytes));
+	}
+
+	Iterable<? extends JavaFileObject> getJavaFileObjectsFromFiles(Iterable<? extends File> files) {
+		return fileManager.getJavaFileObjectsFromFiles(files);
+	}
+
+	/**
+	 * @return The class files written by the compiler by the paths of their compilation units and their binary class names
+	 */
+	Map<String, Map<String, byte[]>> getOutputFiles() {
+		return outputFiles;
+	}
+
+	static Path normalize(URI uri) {
+		return Paths.get(uri).toAbsolutePath().normalize();
+	}
+
+	@Override
+	public JavaFileObject getJavaFileForOutput(Location location, final String className, Kind kind, FileObject sibling) throws IOException {
+		if (kind != Kind.CLASS) {
+			return super.getJavaFileForOutput(location, className, kind, sibling);
+		}
+		final String path = ((sibling == null) || !"file".equals(sibling.toUri().getScheme())) ? null : sourcePaths.get(normalize(sibling.toUri()));
+		return new MemoryClassFile(className, null) {
+
+			@Override
+			public OutputStream openOutputStream() {
+				return new ByteArrayOutputStream() {
+
+					@Override
+					public void close() throws IOException {
+						final byte[] bytes = toByteArray();
+						if (path != null) {
+							Map<String, byte[]> unitClassFiles = outputFiles.get(path);
+							if (unitClassFiles == null) {
+								unitClassFiles = new HashMap<>();
+								outputFiles.put(path, unitClassFiles);
+							}
+							unitClassFiles.put(className, bytes);
+						}
+					}
+				};
+			}
+		};
+	}
+
+	@Override
+	public Iterable<JavaFileObject> list(Location location, String packageName, Set<Kind> kinds, boolean recurse) throws IOException {
+		final Iterable<JavaFileObject> files = super.list(location, packageName, kinds, recurse);
+		if ((location != StandardLocation.CLASS_PATH) || !kinds.contains(Kind.CLASS) || classPathFiles.isEmpty()) {
+			return files;
+		}
+		final List<JavaFileObject> allFiles = new ArrayList<>();
+		for (final JavaFileObject file : files) {
+			allFiles.add(file);
+		}
+		for (final Entry<String, MemoryClassFile> classFile : classPathFiles.entrySet()) {
+			final String className = classFile.getKey();
+			final int index = className.lastIndexOf('.');
+			final String classPackage = index < 0 ? "" : className.substring(0, index);
+			if (classPackage.equals(packageName) || (recurse && (packageName.isEmpty() || classPackage.startsWith(packageName + ".")))) {
+				allFiles.add(classFile.getValue());
+			}
+		}
+		return allFiles;
+	}
+
+	@Override
+	public String inferBinaryName(Location location, JavaFileObject file) {
+		if (file instanceof MemoryClassFile) {
+			return ((MemoryClassFile) file).className;
+		}
+		return super.inferBinaryName(location, file);
+	}
+
+	@Override
+	public boolean isSameFile(FileObject a, FileObject b) {
+		if ((a instanceof MemoryClassFile) || (b instanceof MemoryClassFile)) {
+			return a.equals(b);
+		}
+		return super.isSameFile(a, b);
+	}
+
+}
@@ -0,0 +1,106 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.ui.actions.generator;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.lang.model.SourceVersion;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.JavaFileObject.Kind;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+/**
+ * The compiler of the running JVM and the options to compile variants with it, both determined once.
+ *
+ * @see de.ovgu.featureide.ui.actions.generator.JavaCompiler
+ */
+final class SystemCompiler {
+
+	/**
+	 * The compiler of the running JVM or {@code null} if it runs without a JDK.
+	 */
+	static final JavaCompiler COMPILER = ToolProvider.getSystemJavaCompiler();
+
+	/**
+	 * The options for {@link #COMPILER} or {@code null} if there is no compiler or it cannot compile for Java 1.7 or any later release.
+	 */
+	static final List<String> OPTIONS = COMPILER == null ? null : getOptions(COMPILER);
+
+	private SystemCompiler() {}
+
+	/**
+	 * Returns the options for the given compiler. The variants are compiled for Java 1.7 like with ECJ. Compilers that do not support Java 1.7 anymore (since
+	 * JDK 20) compile for the oldest release they support instead.
+	 *
+	 * @param compiler The compiler
+	 * @return The options or {@code null} if the compiler supports neither Java 1.7 nor a later release
+	 */
+	static List<String> getOptions(JavaCompiler compiler) {
+		final List<SourceVersion> versions = new ArrayList<>(compiler.getSourceVersions());
+		Collections.sort(versions);
+		for (final SourceVersion version : versions) {
+			if (version.compareTo(SourceVersion.RELEASE_7) >= 0) {
+				final List<String> options = getOptions(version.name().substring(version.name().indexOf('_') + 1));
+				if (isSupported(compiler, options)) {
+					return options;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @param release The Java release to compile for, e.g., {@code 7}
+	 * @return The options to compile variants for the given release
+	 */
+	static List<String> getOptions(String release) {
+		return Arrays.asList("-g", "-Xlint", "-proc:none", "-source", release, "-target", release);
+	}
+
+	/**
+	 * Compiles an empty class with the given options. Compilers still list releases they do not support anymore as source versions and reject them either
+	 * when the task is created or with an error that does not belong to any source file.
+	 */
+	static boolean isSupported(JavaCompiler compiler, List<String> options) {
+		final JavaFileObject source = new SimpleJavaFileObject(URI.create("string:///Probe.java"), Kind.SOURCE) {
+
+			@Override
+			public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+				return "class Probe {}";
+			}
+		};
+		try (MemoryFileManager fileManager = new MemoryFileManager(compiler.getStandardFileManager(null, null, null))) {
+			return Boolean.TRUE.equals(compiler.getTask(null, fileManager, new DiagnosticCollector<JavaFileObject>(), options, null,
+					Collections.singleton(source)).call());
+		} catch (IOException | RuntimeException e) {
+			return false;
+		}
+	}
+
+}
@@ -34,17 +34,29 @@ public class Test implements Comparable<Test> {
 	final String name;
 	final float time;
 	final String classname;
-	final Failure failure;
+	/**
+	 * The stack trace of the failure or {@code null} if the test passed.
+	 */
+	final String failure;
+	/**
+	 * {@code true} if the test failed with an exception other than an {@link AssertionError}.
+	 */
+	final boolean error;
 
 	public Test(final String name, final long time, final String classname) {
-		this(name, time, classname, null);
+		this(name, time, classname, null, false);
 	}
 
 	public Test(final String name, final long time, final String classname, Failure failure) {
+		this(name, time, classname, failure.getTrace(), !(failure.getException() instanceof AssertionError));
+	}
+
+	public Test(final String name, final long time, final String classname, String failure, boolean error) {
 		this.name = name;
 		this.time = ((float) time) / 1000;
 		this.classname = classname;
 		this.failure = failure;
+		this.error = error;
 	}
 
 	@Override
@@ -52,7 +52,7 @@ public class TestResults {
 		this.name = name;
 	}
 
-	public void addTest(String klass, String configuration, Test test) {
+	public synchronized void addTest(String klass, String configuration, Test test) {
 		if (test.failure != null) {
 			failures++;
 		}
@@ -27,6 +27,7 @@ import static de.ovgu.featureide.fm.core.localization.StringTable.RESTRICTION;
 import static de.ovgu.featureide.fm.core.localization.StringTable.SERIAL;
 
 import java.io.File;
+import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -90,8 +91,71 @@ public class TestRunner {
 
 	}
 
-	@SuppressWarnings(RESOURCE)
 	public void runTests(final BuilderConfiguration configuration) {
+		final TestRunnerPool pool = TestRunnerPool.getInstance();
+		if (pool != null) {
+			runTestsInWorker(pool, configuration);
+		} else {
+			runTestsInProcess(configuration);
+		}
+
+		final IFeatureProject project = CorePlugin.getFeatureProject(tmp);
+		if (project != null) {
+			final IFile iResultsXML = project.getProject().getFile("test.xml");
+			saveResults(iResultsXML, testResults);
+		}
+
+	}
+
+	private String getConfigurationName(final BuilderConfiguration configuration) {
+		return (builder.buildType == BuildType.ALL_CURRENT ? "" : IConfigurationBuilderBasics.FOLDER_NAME + "\\") + configuration.getName();
+	}
+
+	/**
+	 * Runs the tests in a separate JVM, so that classes of the variant are not loaded by the IDE and a hanging test does not block the build.
+	 */
+	private void runTestsInWorker(TestRunnerPool pool, final BuilderConfiguration configuration) {
+		final String configurationName = getConfigurationName(configuration);
+		try {
+			pool.runTests(getURLs(), getFiles(tmp), new TestRunnerPool.ITestListener() {
+
+				@Override
+				public boolean classStarted(String className, boolean moduleTest) {
+					if (moduleTest) {
+						synchronized (KEY) {
+							return testResults.modulTests.add(className);
+						}
+					}
+					return true;
+				}
+
+				@Override
+				public void testFinished(String className, String name, long time, String failure, boolean error) {
+					testResults.addTest(className, configurationName, new Test(name, time, className, failure, error));
+				}
+
+				@Override
+				public void testIgnored(String className, String name) {
+					synchronized (testResults) {
+						testResults.ignored++;
+					}
+				}
+
+				@Override
+				public void classNotFound(String className, String message) {
+					LOGGER.logWarning(message);
+				}
+
+			});
+		} catch (final IOException e) {
+			LOGGER.logError(e);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@SuppressWarnings(RESOURCE)
+	private void runTestsInProcess(final BuilderConfiguration configuration) {
 		final URL[] url = getURLs();
 		final URLClassLoader classLoader = new URLClassLoader(url, Thread.currentThread().getContextClassLoader());
 		for (final String file : getFiles(tmp)) {
@@ -127,9 +191,7 @@ public class TestRunner {
 							return;
 						}
 						time = System.currentTimeMillis() - time;
-						testResults.addTest(file,
-								(builder.buildType == BuildType.ALL_CURRENT ? "" : IConfigurationBuilderBasics.FOLDER_NAME + "\\") + configuration.getName(),
-								new Test(description.toString(), time, file));
+						testResults.addTest(file, getConfigurationName(configuration), new Test(description.toString(), time, file));
 					}
 
 					@Override
@@ -139,9 +201,7 @@ public class TestRunner {
 							return;
 						}
 						time = System.currentTimeMillis() - time;
-						testResults.addTest(file,
-								(builder.buildType == BuildType.ALL_CURRENT ? "" : IConfigurationBuilderBasics.FOLDER_NAME + "\\") + configuration.getName(),
-								new Test(failure.getTestHeader(), time, file, failure));
+						testResults.addTest(file, getConfigurationName(configuration), new Test(failure.getTestHeader(), time, file, failure));
 						time = -1;
 					}
 
@@ -162,13 +222,6 @@ public class TestRunner {
 				LOGGER.logError(e);
 			}
 		}
-
-		final IFeatureProject project = CorePlugin.getFeatureProject(tmp);
-		if (project != null) {
-			final IFile iResultsXML = project.getProject().getFile("test.xml");
-			saveResults(iResultsXML, testResults);
-		}
-
 	}
 
 	private URL[] getURLs() {
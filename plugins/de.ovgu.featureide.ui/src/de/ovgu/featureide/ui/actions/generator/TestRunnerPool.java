@@ -0,0 +1,361 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.ui.actions.generator;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.lang.ProcessBuilder.Redirect;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+import org.eclipse.core.runtime.FileLocator;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Platform;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.Constants;
+
+import de.ovgu.featureide.ui.UIPlugin;
+
+/**
+ * A pool of reusable child JVMs that run the JUnit tests of generated variants, see {@link TestRunnerWorker}.<br> Up to {@link #getSize()} variants are
+ * tested concurrently. A worker is replaced after it tested {@link #MAX_VARIANTS} variants, if its used heap exceeds {@link #MAX_HEAP}, if a test exceeds
+ * {@link #TIMEOUT} or if it dies. If a test exceeds the timeout, the remaining test classes of the variant are run by a new worker. The limits can be
+ * configured by system properties.
+ */
+public class TestRunnerPool {
+
+	/**
+	 * The maximal time in milliseconds for a single test.
+	 */
+	public static final long TIMEOUT = Long.getLong("de.ovgu.featureide.testrunner.timeout", 60000);
+	/**
+	 * The number of variants tested by a worker before it is replaced.
+	 */
+	public static final int MAX_VARIANTS = Integer.getInteger("de.ovgu.featureide.testrunner.variants", 100);
+	/**
+	 * The used heap in bytes after which a worker is replaced.
+	 */
+	public static final long MAX_HEAP = Long.getLong("de.ovgu.featureide.testrunner.heap", 256L * 1024 * 1024);
+	/**
+	 * The maximal heap size of a worker, passed as {@code -Xmx}. It should be larger than {@link #MAX_HEAP}.
+	 */
+	public static final String MAX_MEMORY = System.getProperty("de.ovgu.featureide.testrunner.xmx", "512m");
+
+	/**
+	 * Receives the results of a test run.
+	 */
+	public interface ITestListener {
+
+		/**
+		 * Called before the tests of the given class are executed.
+		 *
+		 * @return {@code false} if the results of the class should be skipped
+		 */
+		boolean classStarted(String className, boolean moduleTest);
+
+		/**
+		 * @param failure The stack trace of the failure or {@code null} if the test passed
+		 * @param error {@code true} if the test failed with an exception other than an {@link AssertionError}
+		 */
+		void testFinished(String className, String name, long time, String failure, boolean error);
+
+		void testIgnored(String className, String name);
+
+		void classNotFound(String className, String message);
+
+	}
+
+	static class Worker {
+
+		private final Process process;
+		private final BufferedWriter in;
+		private final BufferedReader out;
+		private int variants = 0;
+
+		private Worker(Process process) {
+			this(process, process.getOutputStream(), process.getInputStream());
+		}
+
+		/**
+		 * @param process The worker process or {@code null}
+		 * @param in The standard input of the worker
+		 * @param out The standard output of the worker
+		 */
+		Worker(Process process, OutputStream in, InputStream out) {
+			this.process = process;
+			this.in = new BufferedWriter(new OutputStreamWriter(in, StandardCharsets.UTF_8));
+			this.out = new BufferedReader(new InputStreamReader(out, StandardCharsets.UTF_8));
+		}
+
+		/**
+		 * @param notRun Receives the test classes that were not run, because a test timed out
+		 * @return {@code true} if the worker can be reused
+		 */
+		boolean run(URL[] classPath, List<String> classNames, ITestListener listener, List<String> notRun) throws IOException {
+			in.write(TestRunnerWorker.RUN + "\t" + TIMEOUT + "\t" + classPath.length + "\t" + classNames.size());
+			in.newLine();
+			for (final URL url : classPath) {
+				in.write(url.toString());
+				in.newLine();
+			}
+			for (final String className : classNames) {
+				in.write(className);
+				in.newLine();
+			}
+			in.flush();
+			variants++;
+
+			boolean skip = false;
+			int startedClasses = 0;
+			for (String line = out.readLine(); line != null; line = out.readLine()) {
+				final String[] answer = line.split("\t", -1);
+				switch (answer[0]) {
+				case TestRunnerWorker.CLASS:
+					startedClasses++;
+					skip = !listener.classStarted(answer[1], "1".equals(answer[2]));
+					break;
+				case TestRunnerWorker.PASS:
+					if (!skip) {
+						listener.testFinished(answer[1], TestRunnerWorker.unescape(answer[2]), Long.parseLong(answer[3]), null, false);
+					}
+					break;
+				case TestRunnerWorker.FAIL:
+					if (!skip) {
+						listener.testFinished(answer[1], TestRunnerWorker.unescape(answer[2]), Long.parseLong(answer[3]), TestRunnerWorker.unescape(answer[5]),
+								"1".equals(answer[4]));
+					}
+					break;
+				case TestRunnerWorker.IGNORED:
+					if (!skip) {
+						listener.testIgnored(answer[1], TestRunnerWorker.unescape(answer[2]));
+					}
+					break;
+				case TestRunnerWorker.MISSING:
+					startedClasses++;
+					listener.classNotFound(answer[1], TestRunnerWorker.unescape(answer[2]));
+					break;
+				case TestRunnerWorker.TIMEOUT:
+					if (!skip) {
+						listener.testFinished(answer[1], TestRunnerWorker.unescape(answer[2]), Long.parseLong(answer[3]),
+								"Test timed out after " + answer[3] + " ms", true);
+					}
+					// the remaining tests of the timed out class are skipped
+					notRun.addAll(classNames.subList(Math.min(startedClasses, classNames.size()), classNames.size()));
+					return false;
+				case TestRunnerWorker.DONE:
+					return (variants < MAX_VARIANTS) && (Long.parseLong(answer[1]) < MAX_HEAP);
+				default:
+					break;
+				}
+			}
+			throw new IOException("Test runner terminated unexpectedly");
+		}
+
+		void destroy() {
+			if (process != null) {
+				process.destroy();
+			}
+		}
+
+	}
+
+	private static TestRunnerPool instance = null;
+
+	/**
+	 * @return The pool of this plug-in or {@code null} if the worker processes cannot be started
+	 */
+	public static synchronized TestRunnerPool getInstance() {
+		if (instance == null) {
+			final String classPath = createClassPath();
+			if (classPath != null) {
+				instance = new TestRunnerPool(classPath, Runtime.getRuntime().availableProcessors());
+			}
+		}
+		return instance;
+	}
+
+	public static synchronized void shutdownInstance() {
+		if (instance != null) {
+			instance.shutdown();
+			instance = null;
+		}
+	}
+
+	/**
+	 * The workers need JUnit and the classes of this plug-in.
+	 */
+	private static String createClassPath() {
+		final UIPlugin plugin = UIPlugin.getDefault();
+		if (plugin == null) {
+			return null;
+		}
+		final Set<String> entries = new LinkedHashSet<>();
+		try {
+			final Bundle junit = Platform.getBundle("org.junit");
+			if ((junit == null) || !addBundle(junit, entries)) {
+				return null;
+			}
+			final Bundle hamcrest = Platform.getBundle("org.hamcrest.core");
+			if (hamcrest != null) {
+				addBundle(hamcrest, entries);
+			}
+			addBundle(plugin.getBundle(), entries);
+		} catch (final IOException e) {
+			plugin.logError(e);
+			return null;
+		}
+		final StringBuilder classPath = new StringBuilder();
+		for (final String entry : entries) {
+			if (classPath.length() > 0) {
+				classPath.append(File.pathSeparatorChar);
+			}
+			classPath.append(entry);
+		}
+		return classPath.toString();
+	}
+
+	/**
+	 * Adds the bundle and the libraries of its bundle class path.
+	 */
+	private static boolean addBundle(Bundle bundle, Set<String> entries) throws IOException {
+		final File bundleFile = FileLocator.getBundleFile(bundle);
+		if (bundleFile == null) {
+			return false;
+		}
+		entries.add(bundleFile.getAbsolutePath());
+		final File binFolder = new File(bundleFile, "bin");
+		if (binFolder.isDirectory()) {
+			// plug-in started from a workspace
+			entries.add(binFolder.getAbsolutePath());
+		}
+		final String bundleClassPath = bundle.getHeaders().get(Constants.BUNDLE_CLASSPATH);
+		if (bundleClassPath != null) {
+			for (String entry : bundleClassPath.split(",")) {
+				entry = entry.trim();
+				if (entry.endsWith(".jar")) {
+					final URL library = FileLocator.find(bundle, new Path(entry), null);
+					if (library != null) {
+						entries.add(new File(FileLocator.toFileURL(library).getPath()).getAbsolutePath());
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	private final String classPath;
+	private final int size;
+
+	private final Semaphore available;
+	private final Queue<Worker> idleWorkers = new ConcurrentLinkedQueue<>();
+	private final List<Worker> workers = Collections.synchronizedList(new ArrayList<Worker>());
+
+	private volatile boolean shutdown = false;
+
+	public TestRunnerPool(String classPath, int size) {
+		this.classPath = classPath;
+		this.size = Math.max(1, size);
+		available = new Semaphore(this.size, true);
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Runs the tests of one variant in a worker process. Blocks until a worker is available. If a test times out, the remaining test classes are run by a new
+	 * worker.
+	 *
+	 * @param classPath The class path of the variant
+	 * @param classNames The classes to test
+	 * @param listener Receives the results
+	 * @throws IOException If the worker process could not be started or terminated during the tests
+	 * @throws InterruptedException If the thread is interrupted while waiting for a worker
+	 */
+	public void runTests(URL[] classPath, List<String> classNames, ITestListener listener) throws IOException, InterruptedException {
+		available.acquire();
+		try {
+			if (shutdown) {
+				throw new IOException("Test runners are shut down");
+			}
+			List<String> remainingClasses = classNames;
+			while (!remainingClasses.isEmpty()) {
+				Worker worker = idleWorkers.poll();
+				if (worker == null) {
+					worker = startWorker();
+				}
+				final List<String> notRun = new ArrayList<>();
+				boolean reusable = false;
+				try {
+					reusable = worker.run(classPath, remainingClasses, listener, notRun);
+				} finally {
+					if (reusable) {
+						idleWorkers.add(worker);
+					} else {
+						workers.remove(worker);
+						worker.destroy();
+					}
+				}
+				remainingClasses = notRun;
+			}
+		} finally {
+			available.release();
+		}
+	}
+
+	private Worker startWorker() throws IOException {
+		final String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		final ProcessBuilder processBuilder = new ProcessBuilder(java, "-Xmx" + MAX_MEMORY, "-cp", classPath, TestRunnerWorker.class.getName());
+		processBuilder.redirectError(Redirect.INHERIT);
+		final Worker worker = new Worker(processBuilder.start());
+		workers.add(worker);
+		return worker;
+	}
+
+	/**
+	 * Terminates all worker processes.
+	 */
+	public void shutdown() {
+		shutdown = true;
+		synchronized (workers) {
+			for (final Worker worker : workers) {
+				worker.destroy();
+			}
+			workers.clear();
+		}
+		idleWorkers.clear();
+	}
+
+}
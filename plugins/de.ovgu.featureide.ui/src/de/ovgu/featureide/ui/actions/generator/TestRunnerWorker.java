@@ -0,0 +1,272 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.ui.actions.generator;
+
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+
+/**
+ * Entry point of a child JVM that runs the JUnit tests of generated variants, see {@link TestRunnerPool}.<br> Each variant is loaded by a new class loader.
+ * If a single test runs longer than the given timeout, the result is reported and the process terminates.<br> <br> Protocol (UTF-8, line based, fields
+ * separated by tabs, text fields escaped by {@link #escape(String)}):<br> Request: {@code RUN timeout urls classes}, followed by the given number of class
+ * path URLs and class names.<br> Answer: {@code CLASS name moduleTest} before the tests of each class, followed by {@code PASS class name time},
+ * {@code FAIL class name time error trace}, {@code IGNORED class name} or {@code MISSING class message} for each test. The answer is terminated by
+ * {@code DONE usedHeap}, or by {@code TIMEOUT class name time} if the process terminates.
+ */
+public final class TestRunnerWorker {
+
+	static final String RUN = "RUN";
+	static final String CLASS = "CLASS";
+	static final String PASS = "PASS";
+	static final String FAIL = "FAIL";
+	static final String IGNORED = "IGNORED";
+	static final String MISSING = "MISSING";
+	static final String TIMEOUT = "TIMEOUT";
+	static final String DONE = "DONE";
+
+	private static final String MODULE_TEST = "@de.ovgu.featureide.ModuleTest()";
+
+	private static PrintStream out;
+
+	/**
+	 * The test that is running or {@code null}.
+	 */
+	private static volatile Description currentTest = null;
+	private static volatile long currentTestStart = 0;
+
+	private TestRunnerWorker() {}
+
+	public static void main(String[] args) throws IOException {
+		final BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+		final PrintStream answers = new PrintStream(new FileOutputStream(FileDescriptor.out), false, StandardCharsets.UTF_8.name());
+		// the standard output is reserved for the answers
+		System.setOut(System.err);
+		run(in, answers);
+	}
+
+	/**
+	 * Answers the requests until the end of the input.
+	 *
+	 * @param in The requests
+	 * @param answers Receives the answers
+	 */
+	static void run(BufferedReader in, PrintStream answers) throws IOException {
+		out = answers;
+		for (String line = in.readLine(); line != null; line = in.readLine()) {
+			final String[] request = line.split("\t");
+			if (!RUN.equals(request[0])) {
+				continue;
+			}
+			final long timeout = Long.parseLong(request[1]);
+			final URL[] urls = new URL[Integer.parseInt(request[2])];
+			for (int i = 0; i < urls.length; i++) {
+				urls[i] = new URL(in.readLine());
+			}
+			final String[] classNames = new String[Integer.parseInt(request[3])];
+			for (int i = 0; i < classNames.length; i++) {
+				classNames[i] = in.readLine();
+			}
+
+			final Thread watchdog = startWatchdog(timeout);
+			try (URLClassLoader classLoader = new URLClassLoader(urls, TestRunnerWorker.class.getClassLoader())) {
+				for (final String className : classNames) {
+					runTests(classLoader, className);
+				}
+			} finally {
+				watchdog.interrupt();
+			}
+			final Runtime runtime = Runtime.getRuntime();
+			answer(DONE, Long.toString(runtime.totalMemory() - runtime.freeMemory()));
+		}
+	}
+
+	private static void runTests(ClassLoader classLoader, final String className) {
+		final Class<?> clazz;
+		try {
+			clazz = classLoader.loadClass(className);
+		} catch (ClassNotFoundException | LinkageError e) {
+			answer(MISSING, className, escape(e.toString()));
+			return;
+		}
+		answer(CLASS, className, isModuleTest(clazz) ? "1" : "0");
+
+		final JUnitCore core = new JUnitCore();
+		core.addListener(new RunListener() {
+
+			private boolean reported = true;
+
+			@Override
+			public void testStarted(Description description) throws Exception {
+				if (description.toString().startsWith("initializationError")) {
+					return;
+				}
+				reported = false;
+				currentTestStart = System.currentTimeMillis();
+				currentTest = description;
+			}
+
+			@Override
+			public void testFinished(Description description) throws Exception {
+				currentTest = null;
+				if (reported) {
+					return;
+				}
+				reported = true;
+				answer(PASS, className, escape(description.toString()), Long.toString(System.currentTimeMillis() - currentTestStart));
+			}
+
+			@Override
+			public void testFailure(Failure failure) throws Exception {
+				if (failure.getDescription().toString().startsWith("initializationError") || "No runnable methods".equals(failure.getMessage())) {
+					reported = true;
+					return;
+				}
+				reported = true;
+				answer(FAIL, className, escape(failure.getTestHeader()), Long.toString(System.currentTimeMillis() - currentTestStart),
+						failure.getException() instanceof AssertionError ? "0" : "1", escape(failure.getTrace()));
+			}
+
+			@Override
+			public void testIgnored(Description description) throws Exception {
+				answer(IGNORED, className, escape(description.toString()));
+			}
+
+		});
+		core.run(clazz);
+	}
+
+	/**
+	 * Terminates the process if a test runs longer than the given time.
+	 */
+	private static Thread startWatchdog(final long timeout) {
+		final Thread watchdog = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				try {
+					while (true) {
+						Thread.sleep(Math.min(timeout, 1000));
+						final Description test = currentTest;
+						final long time = System.currentTimeMillis() - currentTestStart;
+						if ((test != null) && (time > timeout)) {
+							final String className = test.getClassName();
+							answer(TIMEOUT, className == null ? "" : className, escape(test.toString()), Long.toString(time));
+							Runtime.getRuntime().halt(1);
+						}
+					}
+				} catch (final InterruptedException e) {
+					// tests of the variant are finished
+				}
+			}
+		}, "Test watchdog");
+		watchdog.setDaemon(true);
+		watchdog.start();
+		return watchdog;
+	}
+
+	private static boolean isModuleTest(Class<?> clazz) {
+		for (final Annotation a : clazz.getAnnotations()) {
+			if (MODULE_TEST.equals(a.toString())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static synchronized void answer(String... fields) {
+		final StringBuilder sb = new StringBuilder();
+		for (final String field : fields) {
+			if (sb.length() > 0) {
+				sb.append('\t');
+			}
+			sb.append(field);
+		}
+		out.println(sb);
+		out.flush();
+	}
+
+	static String escape(String text) {
+		if (text == null) {
+			return "";
+		}
+		final StringBuilder sb = new StringBuilder(text.length());
+		for (int i = 0; i < text.length(); i++) {
+			final char c = text.charAt(i);
+			switch (c) {
+			case '\\':
+				sb.append("\\\\");
+				break;
+			case '\t':
+				sb.append("\\t");
+				break;
+			case '\n':
+				sb.append("\\n");
+				break;
+			case '\r':
+				sb.append("\\r");
+				break;
+			default:
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+
+	static String unescape(String text) {
+		final StringBuilder sb = new StringBuilder(text.length());
+		for (int i = 0; i < text.length(); i++) {
+			final char c = text.charAt(i);
+			if ((c == '\\') && ((i + 1) < text.length())) {
+				final char next = text.charAt(++i);
+				switch (next) {
+				case 't':
+					sb.append('\t');
+					break;
+				case 'n':
+					sb.append('\n');
+					break;
+				case 'r':
+					sb.append('\r');
+					break;
+				default:
+					sb.append(next);
+				}
+			} else {
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+
+}
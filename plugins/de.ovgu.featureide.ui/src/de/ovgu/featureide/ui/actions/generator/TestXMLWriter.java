@@ -107,12 +107,12 @@ public class TestXMLWriter implements XMLCoverage {
 					testCase.setAttribute(TIME, test.time + "");
 					if (test.failure != null) {
 						Element failure;
-						if (test.failure.getException() instanceof AssertionError) {
+						if (!test.error) {
 							failure = doc.createElement(FAILURE);
 						} else {
 							failure = doc.createElement("error");
 						}
-						failure.setTextContent(test.failure.getTrace());
+						failure.setTextContent(test.failure);
 						testCase.appendChild(failure);
 					}
 					config1.appendChild(testCase);
@@ -0,0 +1,136 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.ui.actions.generator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import javax.annotation.CheckForNull;
+
+import de.ovgu.featureide.ui.UIPlugin;
+
+/**
+ * Remembers the compiled variants by a fingerprint of their content.<br> Many generated variants are identical. A variant that is identical to an already
+ * compiled variant does not need to be compiled again, instead the problem markers of the compiled variant are copied. The files of the variants are only
+ * read, every variant keeps its own copy of its files.
+ *
+ * @see Generator
+ */
+public class VariantStore {
+
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	private final Map<String, String> compiledVariants = new HashMap<>();
+
+	/**
+	 * Computes the fingerprint of the given variant over the relative paths and the contents of all its files.
+	 *
+	 * @param variant The folder containing the generated variant
+	 * @return The fingerprint of the variant
+	 * @throws IOException If the variant cannot be read
+	 */
+	public String fingerprint(Path variant) throws IOException {
+		final TreeMap<String, String> fileHashes = new TreeMap<>();
+		hashFiles(variant, variant, fileHashes);
+
+		final MessageDigest digest = createDigest();
+		for (final Entry<String, String> entry : fileHashes.entrySet()) {
+			digest.update(entry.getKey().getBytes("UTF-8"));
+			digest.update((byte) 0);
+			digest.update(entry.getValue().getBytes("UTF-8"));
+			digest.update((byte) 0);
+		}
+		return toHex(digest.digest());
+	}
+
+	private void hashFiles(Path variant, Path folder, TreeMap<String, String> fileHashes) throws IOException {
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(folder)) {
+			for (final Path file : files) {
+				if (Files.isDirectory(file)) {
+					hashFiles(variant, file, fileHashes);
+				} else if (Files.isRegularFile(file)) {
+					fileHashes.put(variant.relativize(file).toString().replace('\\', '/'), hash(file));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the name of a variant with the given fingerprint, whose compilation is finished.
+	 *
+	 * @param fingerprint The fingerprint returned by {@link #fingerprint(Path)}
+	 * @return The name of the compiled variant or {@code null} if no identical variant has been compiled yet
+	 */
+	@CheckForNull
+	public synchronized String getCompiledVariant(String fingerprint) {
+		return compiledVariants.get(fingerprint);
+	}
+
+	/**
+	 * Marks the variant with the given fingerprint as compiled. Should be called after all problem markers of the variant are created.
+	 *
+	 * @param fingerprint The fingerprint returned by {@link #fingerprint(Path)}
+	 * @param name The name of the compiled variant
+	 */
+	public synchronized void addCompiledVariant(String fingerprint, String name) {
+		if (!compiledVariants.containsKey(fingerprint)) {
+			compiledVariants.put(fingerprint, name);
+		}
+	}
+
+	private static String hash(Path file) throws IOException {
+		final MessageDigest digest = createDigest();
+		try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+			final byte[] buffer = new byte[8192];
+			while (in.read(buffer) >= 0) {}
+		}
+		return toHex(digest.digest());
+	}
+
+	static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-1");
+		} catch (final NoSuchAlgorithmException e) {
+			UIPlugin.getDefault().logError(e);
+			throw new IllegalStateException(e);
+		}
+	}
+
+	static String toHex(byte[] bytes) {
+		final char[] chars = new char[bytes.length * 2];
+		for (int i = 0; i < bytes.length; i++) {
+			chars[2 * i] = HEX[(bytes[i] >> 4) & 0xf];
+			chars[(2 * i) + 1] = HEX[bytes[i] & 0xf];
+		}
+		return new String(chars);
+	}
+
+}
@@ -20,14 +20,13 @@
  */
 package de.ovgu.featureide.ui.actions.generator.sorter;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedList;
-import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
 
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
@@ -37,7 +36,8 @@ import de.ovgu.featureide.ui.UIPlugin;
 import de.ovgu.featureide.ui.actions.generator.BuilderConfiguration;
 
 /**
- * Sorts Configurations by interactions they cover.
+ * Sorts Configurations by interactions they cover.<br> Interactions are mapped to integer ids. The next configuration is chosen lazily: the number of
+ * uncovered interactions of a configuration can only decrease, so a configuration is only reevaluated if its outdated number is the greatest.
  *
  * @author Jens Meinicke
  */
@@ -47,10 +47,10 @@ public class InteractionSorter extends AbstractConfigurationSorter {
 
 	private final int t;
 
-	private final Map<BuilderConfiguration, Set<Interaction>> interactions = new HashMap<BuilderConfiguration, Set<Interaction>>();
-
 	private final boolean skippConfigurations;
 
+	private volatile int remaining = 0;
+
 	public InteractionSorter(final int t, final IFeatureModel featureModel, final boolean skippConfigurations) {
 		super(featureModel);
 		super.sorted = false;
@@ -58,6 +58,36 @@ public class InteractionSorter extends AbstractConfigurationSorter {
 		this.skippConfigurations = skippConfigurations;
 	}
 
+	/**
+	 * A configuration with an upper bound of its uncovered interactions.
+	 */
+	private static class Candidate {
+
+		private final int index;
+		private final String name;
+		private int uncovered;
+
+		Candidate(int index, String name, int uncovered) {
+			this.index = index;
+			this.name = name;
+			this.uncovered = uncovered;
+		}
+	}
+
+	/**
+	 * Orders candidates by their number of uncovered interactions and by their name.
+	 */
+	private static final Comparator<Candidate> COMPARATOR = new Comparator<Candidate>() {
+
+		@Override
+		public int compare(Candidate c1, Candidate c2) {
+			if (c1.uncovered != c2.uncovered) {
+				return c1.uncovered > c2.uncovered ? -1 : 1;
+			}
+			return c1.name.compareTo(c2.name);
+		}
+	};
+
 	/**
 	 * Sorts Configurations by interactions they cover.
 	 *
@@ -65,20 +95,28 @@ public class InteractionSorter extends AbstractConfigurationSorter {
 	 */
 	@Override
 	public int sort(final IMonitor monitor) {
-		for (final BuilderConfiguration c : configurations) {
+		final BuilderConfiguration[] configs = configurations.toArray(new BuilderConfiguration[configurations.size()]);
+		final String[] features = concreteFeatures.toArray(new String[concreteFeatures.size()]);
+		final Map<Interaction, Integer> ids = new HashMap<Interaction, Integer>();
+		final int[][] interactions = new int[configs.length][];
+		remaining = configs.length;
+
+		final PriorityQueue<Candidate> candidates = new PriorityQueue<Candidate>(Math.max(1, configs.length), COMPARATOR);
+		for (int i = 0; i < configs.length; i++) {
 			try {
 				monitor.checkCancel();
 			} catch (final MethodCancelException e) {
 				configurations.clear();
 				return 0;
 			}
-			interactions.put(c, new HashSet<Interaction>(concreteFeatures.size() * (10 ^ t)));
-			getInteractions(interactions.get(c), c.getSelectedFeatureNames(), new ArrayList<String>(0), new ArrayList<String>(0), 1, null);
+			interactions[i] = getInteractions(configs[i].getSelectedFeatureNames(), features, ids);
+			candidates.add(new Candidate(i, configs[i].getName(), interactions[i].length));
 			monitor.worked();
 		}
 
 		final LinkedList<BuilderConfiguration> sorted = new LinkedList<BuilderConfiguration>();
-		while (!interactions.isEmpty()) {
+		final BitSet covered = new BitSet(ids.size());
+		while (!candidates.isEmpty()) {
 			try {
 				monitor.checkCancel();
 			} catch (final MethodCancelException e) {
@@ -86,121 +124,137 @@ public class InteractionSorter extends AbstractConfigurationSorter {
 				return 0;
 			}
 
-			final BuilderConfiguration mostCovering = getMostCoveringConfiguration(interactions);
-			final Set<Interaction> coveredInteractions = interactions.get(mostCovering);
-			if (coveredInteractions.isEmpty()) {
+			final Candidate mostCovering = candidates.poll();
+			mostCovering.uncovered = countUncovered(interactions[mostCovering.index], covered);
+			if (!candidates.isEmpty() && (COMPARATOR.compare(mostCovering, candidates.peek()) > 0)) {
+				// the bound of the next candidate is greater, reevaluate it first
+				candidates.add(mostCovering);
+				continue;
+			}
+
+			if (mostCovering.uncovered == 0) {
 				if (skippConfigurations) {
-					LOGGER.logInfo(interactions.size() + " solutions skipped because interactions are already covered!");
+					LOGGER.logInfo((candidates.size() + 1) + " solutions skipped because interactions are already covered!");
 				} else {
-					sorted.addAll(interactions.keySet());
+					candidates.add(mostCovering);
+					final int[] rest = new int[candidates.size()];
+					int i = 0;
+					for (final Candidate candidate : candidates) {
+						rest[i++] = candidate.index;
+					}
+					Arrays.sort(rest);
+					for (final int index : rest) {
+						sorted.add(configs[index]);
+					}
 				}
-				interactions.clear();
+				candidates.clear();
 				break;
 			}
-			sorted.add(mostCovering);
-			interactions.remove(mostCovering);
-			for (final Set<Interaction> interaction : interactions.values()) {
-				interaction.removeAll(coveredInteractions);
+			sorted.add(configs[mostCovering.index]);
+			for (final int id : interactions[mostCovering.index]) {
+				covered.set(id);
 			}
+			interactions[mostCovering.index] = null;
+			remaining--;
 			monitor.worked();
 		}
+		remaining = 0;
 		configurations = sorted;
 		return configurations.size();
 	}
 
 	@Override
 	public int getBufferSize() {
-		return interactions.size() + configurations.size();
+		return remaining + configurations.size();
 	}
 
-	/**
-	 * Gets the configuration that covers the most interactions that are left.<br> Basically, the configurations with the greatest set of interactions.
-	 */
-	private BuilderConfiguration getMostCoveringConfiguration(final Map<BuilderConfiguration, Set<Interaction>> interactions) {
-		BuilderConfiguration mostCovering = null;
-		int longest = -1;
-		for (final BuilderConfiguration config : interactions.keySet()) {
-			final int size = interactions.get(config).size();
-			if (size > longest) {
-				longest = size;
-				mostCovering = config;
-			} else if (size == longest) {
-				if (mostCovering.getName().compareTo(config.getName()) > 0) {
-					mostCovering = config;
-				}
+	private static int countUncovered(int[] interactions, BitSet covered) {
+		int uncovered = 0;
+		for (final int id : interactions) {
+			if (!covered.get(id)) {
+				uncovered++;
 			}
 		}
-		return mostCovering;
+		return uncovered;
 	}
 
 	/**
-	 * Calculate the interactions of one configuration.
+	 * Calculate the ids of the interactions of one configuration.
 	 *
-	 * @param interactions The set where the interactions are stored
 	 * @param configSelectedFeatures The selected feature of the current configuration
-	 * @param selectedFeatures The selected features of the current interaction
-	 * @param unselectedFeatures The unselected feature of the current interaction
-	 * @param t The current size of the interaction
-	 * @param lastFeature A marker for the last feature
+	 * @param features The concrete features
+	 * @param ids The ids of all interactions found so far
+	 * @return The sorted ids of the interactions
 	 */
-	private void getInteractions(final Set<Interaction> interactions, final Set<String> configSelectedFeatures, final List<String> selectedFeatures,
-			final List<String> unselectedFeatures, final int t, final String lastFeature) {
-		if (t > this.t) {
-			return;
+	private int[] getInteractions(final Set<String> configSelectedFeatures, final String[] features, final Map<Interaction, Integer> ids) {
+		final boolean[] selected = new boolean[features.length];
+		for (int i = 0; i < features.length; i++) {
+			selected[i] = configSelectedFeatures.contains(features[i]);
+		}
+		final int[] interactions = new int[countInteractions(features.length)];
+		if (interactions.length > 0) {
+			getInteractions(interactions, 0, selected, new int[t], 0, 0, ids);
 		}
+		Arrays.sort(interactions);
+		return interactions;
+	}
 
-		boolean marker = lastFeature == null;
-		for (final String feature : concreteFeatures) {
-			if (!marker && feature.equals(lastFeature)) {
-				// skip all features until the feature of the last iteration is found
-				marker = true;
-				continue;
+	/**
+	 * Calculate the interactions of one configuration.
+	 *
+	 * @param interactions The array where the interaction ids are stored
+	 * @param position The next free position of the array
+	 * @param selected The selection of each concrete feature in the current configuration
+	 * @param literals The features of the current interaction, each encoded as {@code (index << 1) | selected}
+	 * @param size The current size of the interaction
+	 * @param start The index of the first feature that can be added to the interaction
+	 * @return The next free position of the array
+	 */
+	private int getInteractions(final int[] interactions, int position, final boolean[] selected, final int[] literals, final int size, final int start,
+			final Map<Interaction, Integer> ids) {
+		for (int i = start; i < selected.length; i++) {
+			literals[size] = (i << 1) | (selected[i] ? 1 : 0);
+			final Interaction interaction = new Interaction(Arrays.copyOf(literals, size + 1));
+			Integer id = ids.get(interaction);
+			if (id == null) {
+				id = ids.size();
+				ids.put(interaction, id);
 			}
-			if (marker) {
-				List<String> selected = selectedFeatures;
-				List<String> unselected = unselectedFeatures;
-
-				if (configSelectedFeatures.contains(feature)) {
-					// CASE selected
-					selected = new ArrayList<String>(t);
-					selected.addAll(selectedFeatures);
-					selected.add(feature);
-					selected = Collections.unmodifiableList(selected);
-				} else {
-					// CASE unselected
-					unselected = new ArrayList<String>(t);
-					unselected.addAll(unselectedFeatures);
-					unselected.add(feature);
-					unselected = Collections.unmodifiableList(unselected);
-				}
-				interactions.add(new Interaction(selected, unselected));
-				getInteractions(interactions, configSelectedFeatures, selected, unselected, t + 1, feature);
+			interactions[position++] = id;
+			if ((size + 1) < t) {
+				position = getInteractions(interactions, position, selected, literals, size + 1, i + 1, ids);
 			}
 		}
+		return position;
 	}
 
-	private class Interaction {
+	/**
+	 * @return The number of interactions of size 1 to t between the given number of features
+	 */
+	private int countInteractions(int features) {
+		long count = 0;
+		long binomial = 1;
+		for (int k = 1; (k <= t) && (k <= features); k++) {
+			binomial = (binomial * ((features - k) + 1)) / k;
+			count += binomial;
+		}
+		if (count > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Too many interactions: " + count);
+		}
+		return (int) count;
+	}
 
-		private final Collection<String> selectedFeatures;
-		private final Collection<String> unselectedFeatures;
+	/**
+	 * Represents an interaction between selected and unselected features.
+	 */
+	private static class Interaction {
+
+		private final int[] literals;
 		private final int hashCode;
 
-		/**
-		 * Represents an interaction between n selected features and m unselected features.
-		 */
-		Interaction(final Collection<String> selectedFeatures, final Collection<String> unselectedFeatures) {
-			this.selectedFeatures = selectedFeatures;
-			this.unselectedFeatures = unselectedFeatures;
-
-			// TODO _Sebastian Revise Hash Function
-			int hash = 0;
-			for (final String feature : selectedFeatures) {
-				hash = (hash * 3) + feature.hashCode();
-			}
-			for (final String feature : unselectedFeatures) {
-				hash += (hash * 7) + feature.hashCode();
-			}
-			hashCode = hash;
+		Interaction(final int[] literals) {
+			this.literals = literals;
+			hashCode = Arrays.hashCode(literals);
 		}
 
 		@Override
@@ -208,7 +262,7 @@ public class InteractionSorter extends AbstractConfigurationSorter {
 			if (obj.hashCode() != hashCode()) {
 				return false;
 			}
-			return selectedFeatures.equals(((Interaction) obj).selectedFeatures) && unselectedFeatures.equals(((Interaction) obj).unselectedFeatures);
+			return Arrays.equals(literals, ((Interaction) obj).literals);
 		}
 
 		@Override
@@ -21,35 +21,44 @@
 package de.ovgu.featureide.ui.actions.generator.sorter;
 
 import static de.ovgu.featureide.fm.core.localization.StringTable.CREATE_CONFIGS;
-import static de.ovgu.featureide.fm.core.localization.StringTable.EMPTY___;
 import static de.ovgu.featureide.fm.core.localization.StringTable.OF;
-import static de.ovgu.featureide.fm.core.localization.StringTable.WE_SHOULDNT_GET_HERE_COMMA___HERE_IS_WRONG;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.configuration.Configuration;
 import de.ovgu.featureide.fm.core.configuration.Selection;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.ui.UIPlugin;
 import de.ovgu.featureide.ui.actions.generator.BuilderConfiguration;
 
 /**
- * Sorts configurations before they are generated based on their difference.
+ * Sorts configurations before they are generated based on their difference.<br> The configuration with the most features comes first. Then, the
+ * configuration whose most similar predecessor is least similar to it is selected next (max-min ordering). Configurations are encoded as bit sets, so the
+ * difference of two configurations is the number of differing bits.
  *
  * @author Mustafa Alhajjaj
  */
 public class PriorizationSorter extends AbstractConfigurationSorter {
 
-	private final List<List<String>> allconfigs = new ArrayList<List<String>>();
-	private final List<List<String>> allsortedconfigs = new ArrayList<List<String>>();
-	HashMap<String, Double> configsDistancesResult = new HashMap<String, Double>();
+	/**
+	 * The minimal number of configurations per thread for which the distances are updated in parallel.
+	 */
+	private static final int PARALLEL_THRESHOLD = 2048;
 
 	private final IFeatureModel featureModel;
 
+	private volatile int remaining = 0;
+
 	public PriorizationSorter(IFeatureModel featureModel) {
 		super(featureModel);
 		super.sorted = false;
@@ -85,124 +94,144 @@ public class PriorizationSorter extends AbstractConfigurationSorter {
 	}
 
 	protected List<List<String>> sortConfigs(List<List<String>> configs, IMonitor monitor) {
-		// bring the first product with maximum number of optional feature.\
-		System.err.println("START sort");
-		allconfigs.addAll(configs);
-
-		System.err.println("getconfigsDistanceMap");
-		configsDistancesResult = getconfigsDistanceMap(allconfigs, monitor);
-		System.err.println("allyes");
-		allyesconfig();
-		while (!allconfigs.isEmpty()) {
-			monitor.checkCancel();
-			selectConfig();
+		final int size = configs.size();
+		final List<List<String>> sortedConfigs = new ArrayList<List<String>>(size);
+		if (size == 0) {
+			return sortedConfigs;
 		}
-		return allsortedconfigs;
-	}
-
-	@Override
-	public int getBufferSize() {
-		return allconfigs.size() + configurations.size();
-	}
+		remaining = size;
+		final long[][] bitSets = encode(configs);
 
-	private HashMap<String, Double> getconfigsDistanceMap(List<List<String>> allConfig, IMonitor monitor) {
-		configsDistancesResult = new HashMap<String, Double>();
-		String mapKey;
-		for (int i = 0; i < allConfig.size(); i++) {
-			monitor.checkCancel();
-			for (int j = i + 1; j < allConfig.size(); j++) {
-				final int xHashCode = allConfig.get(i).hashCode();
-				final int yHashCode = allConfig.get(j).hashCode();
-
-				mapKey = xHashCode + EMPTY___ + yHashCode;
+		// bring the first product with maximum number of features
+		int first = 0;
+		int allYes = 0;
+		for (int i = 0; i < size; i++) {
+			if (configs.get(i).size() > allYes) {
+				allYes = configs.get(i).size();
+				first = i;
+			}
+		}
 
-				if (configsDistancesResult.get(mapKey) == null) {// not added before
-					configsDistancesResult.put(mapKey, clacDistance(allConfig.get(i), allConfig.get(j)));
+		// distance of each configuration to its nearest selected configuration, -1 if it is selected
+		final int[] nearest = new int[size];
+		Arrays.fill(nearest, Integer.MAX_VALUE);
+
+		final int threads = Math.min(Runtime.getRuntime().availableProcessors(), size / PARALLEL_THRESHOLD);
+		final ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+		try {
+			int selected = first;
+			while (selected >= 0) {
+				monitor.checkCancel();
+				nearest[selected] = -1;
+				sortedConfigs.add(configs.get(selected));
+				remaining--;
+				if (executor == null) {
+					selected = update(bitSets, nearest, bitSets[selected], 0, size);
+				} else {
+					selected = update(executor, threads, bitSets, nearest, bitSets[selected]);
 				}
 			}
+		} finally {
+			if (executor != null) {
+				executor.shutdownNow();
+			}
 		}
-		return configsDistancesResult;
+		return sortedConfigs;
 	}
 
-	private List<String> allyesconfig() {
-		// here add the first element to the allsortedconfig list
-		// and Remove the element from the original list which is already added
-		// to the new sorted list
-		int allYes = 0;
-		int index = 0;
-
-		for (final List<String> x : allconfigs) {
-			final int tempAllYes = x.size();
-			if (tempAllYes > allYes) {
-				allYes = tempAllYes;
-				index = allconfigs.indexOf(x);
+	/**
+	 * Assigns each feature a bit and encodes the configurations.
+	 */
+	private long[][] encode(List<List<String>> configs) {
+		final Map<String, Integer> indices = new HashMap<String, Integer>();
+		for (final String feature : concreteFeatures) {
+			indices.put(feature, indices.size());
+		}
+		for (final List<String> config : configs) {
+			for (final String feature : config) {
+				if (!indices.containsKey(feature)) {
+					indices.put(feature, indices.size());
+				}
 			}
 		}
-
-		allsortedconfigs.add(allconfigs.get(index));
-
-		return allconfigs.remove(index);
-
+		final int words = (indices.size() + 63) >>> 6;
+		final long[][] bitSets = new long[configs.size()][];
+		for (int i = 0; i < bitSets.length; i++) {
+			final long[] bitSet = new long[words];
+			for (final String feature : configs.get(i)) {
+				final int index = indices.get(feature);
+				bitSet[index >>> 6] |= 1L << index;
+			}
+			bitSets[i] = bitSet;
+		}
+		return bitSets;
 	}
 
-	private List<String> selectConfig() {
-		double distance = 1.0;
-		int index = 0;
-
-		int xHashCode = 0;
-		int yHashCode = 0;
-
-		String mapKeyXY;
-		String mapKeyYX;
-
-		for (final List<String> x : allconfigs) {
-
-			double tempDistance = 0.0;
-			for (final List<String> y : allsortedconfigs) {
-				xHashCode = x.hashCode();
-				yHashCode = y.hashCode();
-
-				mapKeyXY = xHashCode + EMPTY___ + yHashCode;
-				mapKeyYX = yHashCode + EMPTY___ + xHashCode;
-				double tempDistanceLocal = 0.0;
-				if (configsDistancesResult.get(mapKeyXY) != null) {
-					tempDistanceLocal = configsDistancesResult.get(mapKeyXY);
-				} else if (configsDistancesResult.get(mapKeyYX) != null) {
-					tempDistanceLocal = configsDistancesResult.get(mapKeyYX);
-
-				} else {
-					System.out.println(WE_SHOULDNT_GET_HERE_COMMA___HERE_IS_WRONG);
+	/**
+	 * Updates the nearest distances of the unselected configurations in the given range with respect to the last selected configuration.
+	 *
+	 * @return The first configuration with the greatest distance to its nearest selected configuration or -1 if all configurations are selected
+	 */
+	private static int update(long[][] bitSets, int[] nearest, long[] last, int from, int to) {
+		int farthest = -1;
+		int maxDistance = -1;
+		for (int i = from; i < to; i++) {
+			if (nearest[i] >= 0) {
+				final int distance = Math.min(nearest[i], distance(last, bitSets[i]));
+				nearest[i] = distance;
+				if (distance > maxDistance) {
+					maxDistance = distance;
+					farthest = i;
 				}
-				if (tempDistanceLocal > tempDistance) {
-					tempDistance = tempDistanceLocal;
+			}
+		}
+		return farthest;
+	}
 
+	private static int update(ExecutorService executor, int threads, final long[][] bitSets, final int[] nearest, final long[] last) {
+		final List<Future<Integer>> results = new ArrayList<Future<Integer>>(threads);
+		final int chunk = (nearest.length + threads - 1) / threads;
+		for (int from = 0; from < nearest.length; from += chunk) {
+			final int start = from;
+			final int end = Math.min(nearest.length, from + chunk);
+			results.add(executor.submit(new Callable<Integer>() {
+
+				@Override
+				public Integer call() {
+					return update(bitSets, nearest, last, start, end);
 				}
-			}
-			if (tempDistance < distance) {
-				distance = tempDistance;
-				index = allconfigs.indexOf(x);
+			}));
+		}
+		int farthest = -1;
+		for (final Future<Integer> result : results) {
+			try {
+				final int candidate = result.get();
+				// chunks are in ascending order, so the first configuration wins ties
+				if ((candidate >= 0) && ((farthest < 0) || (nearest[candidate] > nearest[farthest]))) {
+					farthest = candidate;
+				}
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return update(bitSets, nearest, last, 0, nearest.length);
+			} catch (final ExecutionException e) {
+				UIPlugin.getDefault().logError(e);
+				return update(bitSets, nearest, last, 0, nearest.length);
 			}
 		}
-
-		allsortedconfigs.add(allconfigs.get(index));
-		return allconfigs.remove(index);
+		return farthest;
 	}
 
-	private double clacDistance(List<String> x, List<String> y) {
-		final Collection<String> similar = new HashSet<String>(x);
-		final Collection<String> different = new HashSet<String>();
-
-		different.addAll(x);
-		different.addAll(y);
-		similar.retainAll(y);
-
-		different.removeAll(similar);
-
-		final double s = similar.size();
-		final double d = different.size();
-		final double t = concreteFeatures.size();
+	private static int distance(long[] x, long[] y) {
+		int distance = 0;
+		for (int i = 0; i < x.length; i++) {
+			distance += Long.bitCount(x[i] ^ y[i]);
+		}
+		return distance;
+	}
 
-		return (s + (t - (s + d))) / t;
+	@Override
+	public int getBufferSize() {
+		return remaining + configurations.size();
 	}
 
 }
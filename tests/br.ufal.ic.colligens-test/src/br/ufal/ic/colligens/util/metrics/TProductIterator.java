@@ -0,0 +1,131 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package br.ufal.ic.colligens.util.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.prop4j.And;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Or;
+
+/**
+ * Tests for {@link ProductIterator}.
+ */
+public class TProductIterator {
+
+	private static final List<String> MACROS = Arrays.asList("A", "B", "C", "D");
+
+	private static Set<Set<String>> products(Node constraint, int t, int maxProducts) {
+		final Set<Set<String>> products = new LinkedHashSet<>();
+		for (final ProductIterator i = new ProductIterator(new LinkedHashSet<>(MACROS), constraint, t, maxProducts); i.hasNext();) {
+			assertTrue("duplicate product", products.add(i.next()));
+		}
+		return products;
+	}
+
+	private static Node implies(String a, String b) {
+		return new Or(new Literal(a, false), new Literal(b));
+	}
+
+	@Test
+	public void allProducts() {
+		assertEquals(16, products(null, 0, Integer.MAX_VALUE).size());
+	}
+
+	@Test
+	public void constrainedProducts() {
+		final Set<Set<String>> products = products(new And(implies("A", "B"), new Or(new Literal("C"), new Literal("D"))), 0, Integer.MAX_VALUE);
+		assertEquals(9, products.size());
+		for (final Set<String> product : products) {
+			assertTrue(!product.contains("A") || product.contains("B"));
+			assertTrue(product.contains("C") || product.contains("D"));
+		}
+	}
+
+	@Test
+	public void budget() {
+		assertEquals(3, products(null, 0, 3).size());
+		assertEquals(0, products(null, 0, 0).size());
+	}
+
+	@Test
+	public void contradiction() {
+		assertTrue(products(new And(new Literal("A"), new Literal("A", false)), 0, Integer.MAX_VALUE).isEmpty());
+	}
+
+	@Test
+	public void additionalFeatures() {
+		// E is a feature without a directive, it must not show up in the products
+		final Set<Set<String>> products = products(new And(implies("A", "E"), implies("E", "B")), 0, Integer.MAX_VALUE);
+		assertEquals(12, products.size());
+		for (final Set<String> product : products) {
+			assertFalse(product.contains("E"));
+			assertTrue(!product.contains("A") || product.contains("B"));
+		}
+	}
+
+	@Test
+	public void pairwiseCoverage() {
+		final Node constraint = implies("A", "B");
+		final Set<Set<String>> products = products(constraint, 2, Integer.MAX_VALUE);
+		assertTrue(products.size() < 12);
+		for (final Set<String> product : products) {
+			assertTrue(!product.contains("A") || product.contains("B"));
+		}
+		for (int i = 0; i < MACROS.size(); i++) {
+			for (int j = i + 1; j < MACROS.size(); j++) {
+				for (final boolean first : new boolean[] { true, false }) {
+					for (final boolean second : new boolean[] { true, false }) {
+						final String a = MACROS.get(i);
+						final String b = MACROS.get(j);
+						// the only invalid pair of values is A selected and B deselected
+						final boolean valid = !("A".equals(a) && "B".equals(b) && first && !second);
+						assertEquals(a + "=" + first + ", " + b + "=" + second, valid, isCovered(products, a, first, b, second));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void pairwiseBudget() {
+		assertEquals(2, products(null, 2, 2).size());
+	}
+
+	private static boolean isCovered(Set<Set<String>> products, String a, boolean first, String b, boolean second) {
+		for (final Set<String> product : products) {
+			if ((product.contains(a) == first) && (product.contains(b) == second)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
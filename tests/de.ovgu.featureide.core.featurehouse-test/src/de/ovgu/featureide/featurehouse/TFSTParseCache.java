@@ -0,0 +1,154 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.featurehouse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.StringTokenizer;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import builder.ArtifactBuilder;
+import composer.FSTGenProcessor;
+import de.ovgu.cide.fstgen.ast.FSTNonTerminal;
+import de.ovgu.cide.fstgen.ast.FSTTerminal;
+
+/**
+ * Tests for {@link FSTParseCache}.
+ */
+public class TFSTParseCache {
+
+	/**
+	 * Parses a file into one terminal holding its content and counts the parsed files.
+	 */
+	private static final class CountingBuilder extends ArtifactBuilder {
+
+		private int parsedFiles = 0;
+
+		private CountingBuilder() {
+			super(".txt");
+		}
+
+		@Override
+		public void processNode(FSTNonTerminal parent, StringTokenizer st, File inputFile) throws FileNotFoundException {
+			final String name = st.nextToken();
+			try {
+				parent.addChild(new FSTTerminal("Content", name, new String(Files.readAllBytes(inputFile.toPath()), StandardCharsets.UTF_8), ""));
+			} catch (final IOException e) {
+				throw new FileNotFoundException(e.getMessage());
+			}
+			parsedFiles++;
+		}
+
+	}
+
+	private IProject project;
+	private IFile file;
+	private FSTParseCache cache;
+	private CountingBuilder builder;
+	private ArtifactBuilder cachingBuilder;
+
+	@Before
+	public void createProject() throws CoreException {
+		project = ResourcesPlugin.getWorkspace().getRoot().getProject(TFSTParseCache.class.getSimpleName());
+		if (project.exists()) {
+			project.delete(true, null);
+		}
+		project.create(null);
+		project.open(null);
+		file = project.getFile("Hello.txt");
+		file.create(content("Hello"), true, null);
+
+		cache = new FSTParseCache(project);
+		builder = new CountingBuilder();
+		final FSTGenProcessor composer = new FSTGenProcessor();
+		composer.registerArtifactBuilder(builder);
+		cachingBuilder = (ArtifactBuilder) cache.install(composer).getArtifactBuilders().getFirst();
+	}
+
+	@After
+	public void deleteProject() throws CoreException {
+		cache.dispose();
+		project.delete(true, null);
+	}
+
+	private static ByteArrayInputStream content(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private FSTTerminal parse() throws Exception {
+		final FSTNonTerminal parent = new FSTNonTerminal("Feature", "Base");
+		cachingBuilder.processNode(parent, new StringTokenizer(file.getName()), file.getLocation().toFile());
+		assertEquals(1, parent.getChildren().size());
+		return (FSTTerminal) parent.getChildren().get(0);
+	}
+
+	@Test
+	public void unchangedFile() throws Exception {
+		final FSTTerminal first = parse();
+		final FSTTerminal second = parse();
+		assertEquals(1, builder.parsedFiles);
+		assertEquals(1, cache.size());
+		assertEquals("Hello", second.getBody());
+		assertEquals(first.getName(), second.getName());
+		// the composition modifies the parsed trees, so every parse gets its own copy
+		assertNotSame(first, second);
+		assertNotSame(second, parse());
+	}
+
+	@Test
+	public void changedFile() throws Exception {
+		parse();
+		file.setContents(content("World"), true, false, null);
+		assertEquals(0, cache.size());
+		assertEquals("World", parse().getBody());
+		assertEquals(2, builder.parsedFiles);
+	}
+
+	@Test
+	public void closedProject() throws Exception {
+		parse();
+		assertEquals(1, cache.size());
+		project.close(null);
+		assertTrue(cache.isDisposed());
+		assertEquals(0, cache.size());
+
+		// files are still parsed, but not cached anymore
+		assertEquals("Hello", parse().getBody());
+		assertEquals(2, builder.parsedFiles);
+		assertEquals(0, cache.size());
+	}
+
+}
@@ -0,0 +1,68 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.core.munge;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.munge.MungeSourceTemplate;
+
+/**
+ * Tests for {@link MungeSourceTemplate}.
+ */
+public class TMungeSourceTemplate {
+
+	private static final String SOURCE = "class Main {\n" + "/*if[Hello]*/\n" + "	String hello;\n" + "/*if_not[World]*/\n" + "	String notWorld;\n"
+		+ "/*else[World]*/\n" + "	String world;\n" + "/*end[World]*/\n" + "/*end[Hello]*/\n" + "/*if[World] String comment; end[World]*/\n" + "}";
+
+	private static String generate(MungeSourceTemplate template, String... features) throws IOException {
+		final StringWriter out = new StringWriter();
+		template.write(new HashSet<>(Arrays.asList(features)), out);
+		return out.toString();
+	}
+
+	@Test
+	public void noFeatures() throws IOException {
+		assertEquals("class Main {\n\n\n\n\n\n\n\n\n\n}", generate(MungeSourceTemplate.parse(SOURCE)));
+	}
+
+	@Test
+	public void nestedElse() throws IOException {
+		final MungeSourceTemplate template = MungeSourceTemplate.parse(SOURCE);
+		assertEquals("class Main {\n\n	String hello;\n\n	String notWorld;\n\n\n\n\n\n}", generate(template, "Hello"));
+		assertEquals("class Main {\n\n	String hello;\n\n\n\n	String world;\n\n\n String comment; \n}", generate(template, "Hello", "World"));
+	}
+
+	@Test
+	public void unbalancedStatements() {
+		assertNull(MungeSourceTemplate.parse("/*if[Hello]*/"));
+		assertNull(MungeSourceTemplate.parse("/*end[Hello]*/"));
+		assertNull(MungeSourceTemplate.parse("/*else[Hello]*/"));
+	}
+
+}
@@ -0,0 +1,166 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.attributes.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.attributes.base.impl.DoubleFeatureAttribute;
+import de.ovgu.featureide.fm.attributes.base.impl.ExtendedFeature;
+import de.ovgu.featureide.fm.attributes.base.impl.ExtendedFeatureModel;
+import de.ovgu.featureide.fm.attributes.base.impl.ExtendedFeatureModelFactory;
+import de.ovgu.featureide.fm.attributes.base.impl.LongFeatureAttribute;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests for {@link AttributeOptimizationAnalysis}.
+ */
+public class TAttributeOptimizationAnalysis {
+
+	private static final String COST = "cost";
+	private static final String PERFORMANCE = "performance";
+
+	private ExtendedFeatureModel featureModel;
+
+	/**
+	 * Root (abstract) with the alternative group A, B, C and the optional feature D.<br> The configurations have the following cost and performance: A (5,
+	 * 1.0), AD (7, 1.75), B (3, 0.5), BD (5, 1.25), C (8, 2.5) and CD (10, 3.25).
+	 */
+	@Before
+	public void createModel() {
+		final ExtendedFeatureModelFactory factory = ExtendedFeatureModelFactory.getInstance();
+		featureModel = factory.createFeatureModel();
+		final ExtendedFeature root = factory.createFeature(featureModel, "Root");
+		featureModel.addFeature(root);
+		featureModel.getStructure().setRoot(root.getStructure());
+		root.getStructure().setAbstract(true);
+		root.getStructure().setAnd();
+
+		final ExtendedFeature group = factory.createFeature(featureModel, "Group");
+		featureModel.addFeature(group);
+		root.getStructure().addChild(group.getStructure());
+		group.getStructure().setAbstract(true);
+		group.getStructure().setMandatory(true);
+		group.getStructure().setAlternative();
+		addFeature(factory, group, "A", 5, 1.0);
+		addFeature(factory, group, "B", 3, 0.5);
+		addFeature(factory, group, "C", 8, 2.5);
+
+		final ExtendedFeature d = addFeature(factory, root, "D", 2, 0.75);
+		d.getStructure().setMandatory(false);
+	}
+
+	private ExtendedFeature addFeature(ExtendedFeatureModelFactory factory, ExtendedFeature parent, String name, long cost, double performance) {
+		final ExtendedFeature feature = factory.createFeature(featureModel, name);
+		featureModel.addFeature(feature);
+		parent.getStructure().addChild(feature.getStructure());
+		feature.addAttribute(new LongFeatureAttribute(feature, COST, "", cost, false, false));
+		feature.addAttribute(new DoubleFeatureAttribute(feature, PERFORMANCE, "", performance, false, false));
+		return feature;
+	}
+
+	private static List<String> getConcreteFeatures(AttributeSolution solution) {
+		final List<String> features = new ArrayList<>(solution.getSelectedFeatures());
+		features.retainAll(Arrays.asList("A", "B", "C", "D"));
+		Collections.sort(features);
+		return features;
+	}
+
+	@Test
+	public void minimize() {
+		final AttributeOptimizationAnalysis analysis = new AttributeOptimizationAnalysis(featureModel);
+		analysis.addObjective(COST, true);
+		final List<AttributeSolution> solutions = LongRunningWrapper.runMethod(analysis);
+		assertTrue(analysis.isComplete());
+		final AttributeSolution optimum = solutions.get(solutions.size() - 1);
+		assertTrue(optimum.isOptimal());
+		assertEquals(3.0, optimum.getValues().get(COST), 0);
+		assertEquals(Arrays.asList("B"), getConcreteFeatures(optimum));
+	}
+
+	@Test
+	public void maximize() {
+		final AttributeOptimizationAnalysis analysis = new AttributeOptimizationAnalysis(featureModel);
+		analysis.addObjective(PERFORMANCE, false);
+		final List<AttributeSolution> solutions = LongRunningWrapper.runMethod(analysis);
+		assertTrue(analysis.isComplete());
+		final AttributeSolution optimum = solutions.get(solutions.size() - 1);
+		assertEquals(3.25, optimum.getValues().get(PERFORMANCE), 0.000001);
+		assertEquals(Arrays.asList("C", "D"), getConcreteFeatures(optimum));
+	}
+
+	@Test
+	public void lowerBound() {
+		final AttributeOptimizationAnalysis analysis = new AttributeOptimizationAnalysis(featureModel);
+		analysis.addObjective(COST, true);
+		analysis.addLowerBound(PERFORMANCE, 2);
+		final List<AttributeSolution> solutions = LongRunningWrapper.runMethod(analysis);
+		final AttributeSolution optimum = solutions.get(solutions.size() - 1);
+		assertEquals(8.0, optimum.getValues().get(COST), 0);
+		assertEquals(Arrays.asList("C"), getConcreteFeatures(optimum));
+	}
+
+	@Test
+	public void upperBound() {
+		final AttributeOptimizationAnalysis analysis = new AttributeOptimizationAnalysis(featureModel);
+		analysis.addObjective(PERFORMANCE, false);
+		analysis.addUpperBound(COST, 7);
+		final List<AttributeSolution> solutions = LongRunningWrapper.runMethod(analysis);
+		final AttributeSolution optimum = solutions.get(solutions.size() - 1);
+		assertEquals(1.75, optimum.getValues().get(PERFORMANCE), 0.000001);
+		assertEquals(Arrays.asList("A", "D"), getConcreteFeatures(optimum));
+	}
+
+	@Test
+	public void unsatisfiableBounds() {
+		final AttributeOptimizationAnalysis analysis = new AttributeOptimizationAnalysis(featureModel);
+		analysis.addObjective(COST, true);
+		analysis.addUpperBound(COST, 2);
+		assertTrue(LongRunningWrapper.runMethod(analysis).isEmpty());
+		assertTrue(analysis.isComplete());
+	}
+
+	@Test
+	public void paretoFront() {
+		final AttributeOptimizationAnalysis analysis = new AttributeOptimizationAnalysis(featureModel);
+		analysis.addObjective(COST, true);
+		analysis.addObjective(PERFORMANCE, false);
+		final List<AttributeSolution> solutions = LongRunningWrapper.runMethod(analysis);
+		assertTrue(analysis.isComplete());
+
+		final List<String> front = new ArrayList<>();
+		for (final AttributeSolution solution : solutions) {
+			assertTrue(solution.isOptimal());
+			front.add(solution.getValues().get(COST) + "/" + solution.getValues().get(PERFORMANCE));
+		}
+		Collections.sort(front);
+		assertEquals(Arrays.asList("10.0/3.25", "3.0/0.5", "5.0/1.25", "7.0/1.75", "8.0/2.5"), front);
+	}
+
+}
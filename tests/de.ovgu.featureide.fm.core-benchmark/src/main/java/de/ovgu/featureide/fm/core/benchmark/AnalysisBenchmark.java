@@ -0,0 +1,70 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.benchmark;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sat4j.specs.TimeoutException;
+
+import de.ovgu.featureide.fm.core.FeatureModelAnalyzer;
+import de.ovgu.featureide.fm.core.base.IFeature;
+
+/**
+ * Measures the analyses of the {@link FeatureModelAnalyzer}. In contrast to the timeouts of the JUnit benchmarks (e.g., BFeatureModelAnalyzer), the results
+ * are stable numbers that can be compared across runs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalysisBenchmark {
+
+	@Benchmark
+	public HashMap<Object, Object> analyzeFeatureModel(FeatureModelState state) {
+		return state.getFeatureModel().getAnalyser().analyzeFeatureModel(null);
+	}
+
+	@Benchmark
+	public boolean isValid(FeatureModelState state) throws TimeoutException {
+		return state.getFeatureModel().getAnalyser().isValid();
+	}
+
+	@Benchmark
+	public List<List<IFeature>> coreAndDeadFeatures(FeatureModelState state) {
+		return state.getFeatureModel().getAnalyser().analyzeFeatures();
+	}
+
+	@Benchmark
+	public List<List<IFeature>> atomicSets(FeatureModelState state) {
+		return state.getFeatureModel().getAnalyser().getAtomicSets();
+	}
+
+}
@@ -0,0 +1,101 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.ovgu.featureide.fm.core.configuration.Configuration;
+import de.ovgu.featureide.fm.core.configuration.ConfigurationPropagator;
+import de.ovgu.featureide.fm.core.configuration.SelectableFeature;
+import de.ovgu.featureide.fm.core.configuration.Selection;
+
+/**
+ * Measures the {@link ConfigurationPropagator}, i.e., the creation of a configuration and the update after a manual selection.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ConfigurationBenchmark {
+
+	/**
+	 * Holds a configuration and the features that are not decided by the propagator in the empty configuration. Each invocation selects and deselects the
+	 * next of these features, so the configuration is the same before every invocation.
+	 */
+	@State(Scope.Benchmark)
+	public static class ConfigurationState extends FeatureModelState {
+
+		private Configuration configuration;
+		private final List<String> openFeatures = new ArrayList<>();
+		private int nextFeature = 0;
+
+		@Override
+		protected void prepare() {
+			configuration = new Configuration(getFeatureModel());
+			openFeatures.clear();
+			for (final SelectableFeature feature : configuration.getFeatures()) {
+				if (feature.getSelection() == Selection.UNDEFINED) {
+					openFeatures.add(feature.getName());
+				}
+			}
+		}
+
+		private String nextOpenFeature() {
+			if (openFeatures.isEmpty()) {
+				return null;
+			}
+			nextFeature = (nextFeature + 1) % openFeatures.size();
+			return openFeatures.get(nextFeature);
+		}
+	}
+
+	@Benchmark
+	public Configuration createConfiguration(FeatureModelState state) {
+		return new Configuration(state.getFeatureModel());
+	}
+
+	@Benchmark
+	public Configuration selectFeature(ConfigurationState state) {
+		final Configuration configuration = state.configuration;
+		final String featureName = state.nextOpenFeature();
+		if (featureName == null) {
+			configuration.update(false, null);
+		} else {
+			configuration.setManual(featureName, Selection.SELECTED);
+			configuration.setManual(featureName, Selection.UNDEFINED);
+		}
+		return configuration;
+	}
+
+}
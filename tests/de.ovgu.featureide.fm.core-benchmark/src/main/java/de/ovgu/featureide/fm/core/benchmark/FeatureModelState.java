@@ -0,0 +1,91 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.impl.DefaultFeatureModelFactory;
+import de.ovgu.featureide.fm.core.editing.evaluation.Generator;
+import de.ovgu.featureide.fm.core.io.ProblemList;
+import de.ovgu.featureide.fm.core.io.xml.XmlFeatureModelFormat;
+
+/**
+ * Provides the feature model for a benchmark. The parameter {@link #model} either names a folder in <i>featuremodels/</i> or has the form
+ * <i>generated-&lt;number of features&gt;</i> for a model created by {@link Generator#generateFeatureModel(long, int)}.<br> Subclasses can prepare further
+ * input in {@link #prepare()}.
+ */
+@State(Scope.Benchmark)
+public class FeatureModelState {
+
+	/**
+	 * System property for the folder that contains the sample models. Defaults to the <i>featuremodels/</i> folder of the repository.
+	 */
+	public static final String MODEL_FOLDER_PROPERTY = "featureide.benchmark.models";
+
+	private static final String DEFAULT_MODEL_FOLDER = "../../featuremodels";
+	private static final String GENERATED_PREFIX = "generated-";
+	private static final long GENERATOR_SEED = 0;
+
+	@Param({ "GPLmedium", "BerkeleyDB", "E-Shop", "WaterlooGenerated", "generated-100", "generated-500" })
+	public String model;
+
+	private IFeatureModel featureModel;
+
+	@Setup(Level.Trial)
+	public final void setup() throws Exception {
+		featureModel = loadFeatureModel(model);
+		prepare();
+	}
+
+	/**
+	 * Called once per trial after the feature model was loaded.
+	 */
+	protected void prepare() throws Exception {}
+
+	public IFeatureModel getFeatureModel() {
+		return featureModel;
+	}
+
+	public static IFeatureModel loadFeatureModel(String name) throws IOException {
+		if (name.startsWith(GENERATED_PREFIX)) {
+			return Generator.generateFeatureModel(GENERATOR_SEED, Integer.parseInt(name.substring(GENERATED_PREFIX.length())));
+		}
+		final Path path = Paths.get(System.getProperty(MODEL_FOLDER_PROPERTY, DEFAULT_MODEL_FOLDER), name, "model.xml");
+		final IFeatureModel featureModel = DefaultFeatureModelFactory.getInstance().createFeatureModel();
+		final ProblemList problems = new XmlFeatureModelFormat().read(featureModel, new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+		if (problems.containsError()) {
+			throw new IOException("Could not read " + path + ": " + problems);
+		}
+		return featureModel;
+	}
+
+}
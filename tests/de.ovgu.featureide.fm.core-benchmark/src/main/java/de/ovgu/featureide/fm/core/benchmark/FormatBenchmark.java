@@ -0,0 +1,108 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.impl.DefaultFeatureModelFactory;
+import de.ovgu.featureide.fm.core.io.FeatureModelSnapshotFormat;
+import de.ovgu.featureide.fm.core.io.ProblemList;
+import de.ovgu.featureide.fm.core.io.dimacs.DIMACSFormat;
+import de.ovgu.featureide.fm.core.io.xml.XmlFeatureModelFormat;
+
+/**
+ * Measures reading and writing feature models in the XML, DIMACS, and snapshot format.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class FormatBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class FormatState extends FeatureModelState {
+
+		private final XmlFeatureModelFormat xmlFormat = new XmlFeatureModelFormat();
+		private final DIMACSFormat dimacsFormat = new DIMACSFormat();
+		private final FeatureModelSnapshotFormat snapshotFormat = new FeatureModelSnapshotFormat();
+
+		private String xml;
+		private String dimacs;
+		private byte[] sourceHash;
+		private byte[] snapshot;
+
+		@Override
+		protected void prepare() {
+			final IFeatureModel featureModel = getFeatureModel();
+			xml = xmlFormat.write(featureModel);
+			dimacs = dimacsFormat.write(featureModel);
+			sourceHash = FeatureModelSnapshotFormat.computeSourceHash(xmlFormat, xml);
+			snapshot = snapshotFormat.write(featureModel, sourceHash);
+		}
+	}
+
+	private static IFeatureModel createFeatureModel() {
+		return DefaultFeatureModelFactory.getInstance().createFeatureModel();
+	}
+
+	@Benchmark
+	public ProblemList readXml(FormatState state) {
+		return state.xmlFormat.read(createFeatureModel(), state.xml);
+	}
+
+	@Benchmark
+	public String writeXml(FormatState state) {
+		return state.xmlFormat.write(state.getFeatureModel());
+	}
+
+	@Benchmark
+	public ProblemList readDimacs(FormatState state) {
+		return state.dimacsFormat.read(createFeatureModel(), state.dimacs);
+	}
+
+	@Benchmark
+	public String writeDimacs(FormatState state) {
+		return state.dimacsFormat.write(state.getFeatureModel());
+	}
+
+	@Benchmark
+	public ProblemList readSnapshot(FormatState state) {
+		return state.snapshotFormat.read(createFeatureModel(), state.snapshot);
+	}
+
+	@Benchmark
+	public byte[] writeSnapshot(FormatState state) {
+		return state.snapshotFormat.write(state.getFeatureModel(), state.sourceHash);
+	}
+
+}
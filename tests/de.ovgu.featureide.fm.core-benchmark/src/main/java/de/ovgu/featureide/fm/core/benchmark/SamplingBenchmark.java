@@ -0,0 +1,86 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prop4j.analyses.PairWiseConfigurationGenerator;
+import org.prop4j.analyses.RandomConfigurationGenerator;
+import org.prop4j.solver.SatInstance;
+
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.CNFType;
+import de.ovgu.featureide.fm.core.filter.AbstractFeatureFilter;
+import de.ovgu.featureide.fm.core.functional.Functional;
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
+
+/**
+ * Measures the sampling algorithms. The input is prepared as in the configuration generators of the UI.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SamplingBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class SamplingState extends FeatureModelState {
+
+		@Param({ "10", "100" })
+		public int maxNumber;
+
+		private SatInstance satInstance;
+
+		@Override
+		protected void prepare() {
+			final IFeatureModel featureModel = getFeatureModel();
+			final AdvancedNodeCreator advancedNodeCreator = new AdvancedNodeCreator(featureModel, new AbstractFeatureFilter());
+			advancedNodeCreator.setCnfType(CNFType.Regular);
+			advancedNodeCreator.setIncludeBooleanValues(false);
+			satInstance = new SatInstance(advancedNodeCreator.createNodes(), Functional.toList(FeatureUtils.getConcreteFeatureNames(featureModel)));
+		}
+	}
+
+	@Benchmark
+	public List<List<String>> pairWise(SamplingState state) throws Exception {
+		return new PairWiseConfigurationGenerator(state.satInstance, state.maxNumber).execute(new NullMonitor());
+	}
+
+	@Benchmark
+	public List<List<String>> random(SamplingState state) throws Exception {
+		return new RandomConfigurationGenerator(state.satInstance, state.maxNumber).execute(new NullMonitor());
+	}
+
+}
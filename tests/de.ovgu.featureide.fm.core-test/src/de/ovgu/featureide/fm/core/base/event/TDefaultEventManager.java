@@ -0,0 +1,169 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.base.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent.EventType;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+
+/**
+ * Test class for {@link DefaultEventManager}
+ */
+public class TDefaultEventManager {
+
+	private static class RecordingListener implements IEventListener {
+
+		private final List<FeatureIDEEvent> events = new ArrayList<>();
+
+		@Override
+		public void propertyChange(FeatureIDEEvent event) {
+			events.add(event);
+		}
+
+	}
+
+	@Test
+	public void testFireEvent() {
+		final DefaultEventManager eventManager = new DefaultEventManager();
+		final RecordingListener listener = new RecordingListener();
+		eventManager.addListener(listener);
+		eventManager.addListener(listener);
+
+		final FeatureIDEEvent event = new FeatureIDEEvent(this, EventType.MODEL_DATA_CHANGED);
+		eventManager.fireEvent(event);
+		assertEquals(1, listener.events.size());
+		assertSame(event, listener.events.get(0));
+
+		eventManager.removeListener(listener);
+		eventManager.fireEvent(event);
+		assertEquals(1, listener.events.size());
+	}
+
+	@Test
+	public void testRemoveListenerWhileFiring() {
+		final DefaultEventManager eventManager = new DefaultEventManager();
+		final RecordingListener listener = new RecordingListener();
+		eventManager.addListener(new IEventListener() {
+
+			@Override
+			public void propertyChange(FeatureIDEEvent event) {
+				eventManager.removeListener(this);
+			}
+
+		});
+		eventManager.addListener(listener);
+
+		eventManager.fireEvent(new FeatureIDEEvent(this, EventType.MODEL_DATA_CHANGED));
+		eventManager.fireEvent(new FeatureIDEEvent(this, EventType.MODEL_DATA_CHANGED));
+		assertEquals(2, listener.events.size());
+	}
+
+	@Test
+	public void testTransaction() {
+		final DefaultEventManager eventManager = new DefaultEventManager();
+		final RecordingListener listener = new RecordingListener();
+		eventManager.addListener(listener);
+
+		final Object otherSource = new Object();
+		eventManager.beginTransaction();
+		eventManager.fireEvent(new FeatureIDEEvent(this, EventType.FEATURE_NAME_CHANGED, "A", "B"));
+		eventManager.fireEvent(new FeatureIDEEvent(otherSource, EventType.FEATURE_NAME_CHANGED, "X", "Y"));
+		eventManager.beginTransaction();
+		eventManager.fireEvent(new FeatureIDEEvent(this, EventType.FEATURE_NAME_CHANGED, "B", "C"));
+		eventManager.fireEvent(new FeatureIDEEvent(this, EventType.MODEL_DATA_CHANGED));
+		eventManager.commitTransaction();
+		assertTrue(eventManager.isInTransaction());
+		assertTrue(listener.events.isEmpty());
+		eventManager.commitTransaction();
+		assertFalse(eventManager.isInTransaction());
+
+		assertEquals(3, listener.events.size());
+		final FeatureIDEEvent merged = listener.events.get(0);
+		assertSame(this, merged.getSource());
+		assertEquals(EventType.FEATURE_NAME_CHANGED, merged.getEventType());
+		assertEquals("A", merged.getOldValue());
+		assertEquals("C", merged.getNewValue());
+		assertSame(otherSource, listener.events.get(1).getSource());
+		assertEquals(EventType.MODEL_DATA_CHANGED, listener.events.get(2).getEventType());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testCommitWithoutTransaction() {
+		new DefaultEventManager().commitTransaction();
+	}
+
+	@Test
+	public void testFeatureModelTransaction() {
+		final IFeatureModel featureModel = FMFactoryManager.getDefaultFactory().createFeatureModel();
+		final RecordingListener listener = new RecordingListener();
+		featureModel.addListener(listener);
+
+		featureModel.beginEventTransaction();
+		for (int i = 0; i < 100; i++) {
+			featureModel.fireEvent(new FeatureIDEEvent(featureModel, EventType.CONSTRAINT_ADD, null, i));
+		}
+		featureModel.commitEventTransaction();
+
+		assertEquals(1, listener.events.size());
+		assertEquals(99, listener.events.get(0).getNewValue());
+	}
+
+	@Test
+	public void testAsyncListener() throws InterruptedException {
+		final DefaultEventManager eventManager = new DefaultEventManager();
+		final CountDownLatch latch = new CountDownLatch(2);
+		final List<Thread> threads = new ArrayList<>();
+		eventManager.addListener(new IAsyncEventListener() {
+
+			@Override
+			public void propertyChange(FeatureIDEEvent event) {
+				synchronized (threads) {
+					threads.add(Thread.currentThread());
+				}
+				latch.countDown();
+			}
+
+		});
+
+		eventManager.fireEvent(new FeatureIDEEvent(this, EventType.MODEL_DATA_CHANGED));
+		eventManager.fireEvent(new FeatureIDEEvent(this, EventType.MODEL_DATA_SAVED));
+		assertTrue(latch.await(10, TimeUnit.SECONDS));
+		synchronized (threads) {
+			assertEquals(2, threads.size());
+			assertNotSame(Thread.currentThread(), threads.get(0));
+			assertSame(threads.get(0), threads.get(1));
+		}
+	}
+
+}
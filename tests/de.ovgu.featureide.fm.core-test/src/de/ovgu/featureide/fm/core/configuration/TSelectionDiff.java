@@ -0,0 +1,67 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.configuration;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+
+/**
+ * Tests about {@link SelectionDiff}.
+ */
+public class TSelectionDiff extends AbstractConfigurationTest {
+
+	@Override
+	IFeatureModel loadModel() {
+		return loadGUIDSL("S : [A] [B] [C] :: _S; %% A implies C;");
+	}
+
+	@Test
+	public void testInitialDiff() {
+		final Configuration c = new Configuration(fm, true);
+		final SelectionDiff diff = new SelectionDiff(c, null);
+		assertEquals(c.getFeatures(), diff.getChangedFeatures());
+		assertArrayEquals(SelectionDiff.getState(c), diff.getState());
+	}
+
+	@Test
+	public void testPropagatedChanges() {
+		final Configuration c = new Configuration(fm, true);
+		final byte[] state = SelectionDiff.getState(c);
+		assertTrue(new SelectionDiff(c, state).isEmpty());
+
+		c.setManual("A", Selection.SELECTED);
+		final SelectionDiff diff = new SelectionDiff(c, state);
+		assertEquals(Arrays.asList(c.getSelectablefeature("A"), c.getSelectablefeature("C")), diff.getChangedFeatures());
+		assertEquals(2, diff.size());
+
+		c.setManual("A", Selection.UNDEFINED);
+		assertEquals(2, new SelectionDiff(c, diff.getState()).size());
+		assertTrue(new SelectionDiff(c, state).isEmpty());
+	}
+
+}
@@ -0,0 +1,168 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.daemon;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.prop4j.Implies;
+import org.prop4j.Not;
+
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+import de.ovgu.featureide.fm.core.io.xml.XmlFeatureModelFormat;
+
+/**
+ * Test class for {@link AnalysisDaemon}
+ */
+public class TAnalysisDaemon {
+
+	private Path folder;
+	private String modelPath;
+
+	/**
+	 * Root (abstract) with the mandatory features A and B, and the optional features C and D, where C excludes D and D is dead because B excludes D.
+	 */
+	@Before
+	public void createModel() throws IOException {
+		final IFeatureModelFactory factory = FMFactoryManager.getDefaultFactory();
+		final IFeatureModel featureModel = factory.createFeatureModel();
+		final IFeature root = factory.createFeature(featureModel, "Root");
+		featureModel.addFeature(root);
+		featureModel.getStructure().setRoot(root.getStructure());
+		root.getStructure().setAbstract(true);
+		for (final String name : new String[] { "A", "B", "C", "D" }) {
+			final IFeature feature = factory.createFeature(featureModel, name);
+			featureModel.addFeature(feature);
+			root.getStructure().addChild(feature.getStructure());
+			feature.getStructure().setMandatory(name.equals("A") || name.equals("B"));
+		}
+		featureModel.addConstraint(factory.createConstraint(featureModel, new Implies("B", new Not("D"))));
+
+		folder = Files.createTempDirectory("daemon");
+		final Path file = folder.resolve("model.xml");
+		Files.write(file, new XmlFeatureModelFormat().write(featureModel).getBytes(StandardCharsets.UTF_8));
+		modelPath = file.toString();
+	}
+
+	@After
+	public void deleteModel() {
+		delete(folder.toFile());
+	}
+
+	private static void delete(File file) {
+		final File[] children = file.listFiles();
+		if (children != null) {
+			for (final File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+
+	private Map<String, String> run(String... requests) throws IOException {
+		final StringBuilder input = new StringBuilder();
+		for (final String request : requests) {
+			input.append(request).append('\n');
+		}
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		final AnalysisDaemon daemon = new AnalysisDaemon(2, 16, 4, output);
+		daemon.run(new BufferedReader(new StringReader(input.toString())));
+
+		final Map<String, String> responses = new HashMap<>();
+		for (final String line : new String(output.toByteArray(), StandardCharsets.UTF_8).split("\n")) {
+			final int index = line.indexOf('\t');
+			responses.put(line.substring(0, index), line.substring(index + 1));
+		}
+		return responses;
+	}
+
+	@Test
+	public void testAnalyses() throws IOException {
+		final Map<String, String> responses = run("1\tload\t" + modelPath, //
+				"2\tcore\t" + modelPath, //
+				"3\tdead\t" + modelPath, //
+				"4\tcount\t" + modelPath, //
+				"5\tvalidate\t" + modelPath + "\tA,B\tA,B,D\tA");
+		assertEquals(5, responses.size());
+		assertEquals("OK\t5\t1", responses.get("1"));
+		assertTrue(responses.get("2").startsWith("OK\t"));
+		assertEquals(new HashSet<>(Arrays.asList("Root", "A", "B")), new HashSet<>(Arrays.asList(responses.get("2").substring(3).split(","))));
+		assertEquals("OK\tD", responses.get("3"));
+		assertEquals("OK\t2", responses.get("4"));
+		assertEquals("OK\ttrue\tfalse\tfalse", responses.get("5"));
+	}
+
+	@Test
+	public void testSample() throws IOException {
+		final Map<String, String> responses = run("1\tsample\t" + modelPath + "\tpairwise\t10");
+		final String[] fields = responses.get("1").split("\t");
+		assertEquals("OK", fields[0]);
+		assertEquals(3, fields.length);
+		for (int i = 1; i < fields.length; i++) {
+			assertTrue(fields[i].contains("A") && fields[i].contains("B") && !fields[i].contains("D"));
+		}
+	}
+
+	@Test
+	public void testErrors() throws IOException {
+		final Map<String, String> responses = run("1\tfoo\t" + modelPath, //
+				"2\tload\t" + folder.resolve("missing.xml"), //
+				"3\tvalidate\t" + modelPath + "\tX", //
+				"4\tcancel\t42", //
+				"5");
+		assertEquals("ERROR\tUnknown command foo", responses.get("1"));
+		assertTrue(responses.get("2").startsWith("ERROR\tFile not found"));
+		assertEquals("ERROR\tUnknown feature X", responses.get("3"));
+		assertEquals("ERROR\tNo such request", responses.get("4"));
+		assertEquals("ERROR\tMissing command", responses.get("5"));
+	}
+
+	@Test
+	public void testCache() throws IOException {
+		final ModelCache cache = new ModelCache(1);
+		final ModelCache.CachedModel model = cache.get(folder.resolve("model.xml"));
+		assertTrue(model == cache.get(folder.resolve("model.xml")));
+		assertTrue(model.getSatInstance() == model.getSatInstance());
+		assertEquals(1, cache.size());
+		assertTrue(cache.remove(folder.resolve("model.xml")));
+		assertEquals(0, cache.size());
+	}
+
+}
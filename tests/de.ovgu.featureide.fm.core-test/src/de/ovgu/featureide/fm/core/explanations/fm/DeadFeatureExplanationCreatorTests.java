@@ -20,13 +20,21 @@
  */
 package de.ovgu.featureide.fm.core.explanations.fm;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.List;
+
 import org.junit.Test;
+import org.prop4j.Not;
 
 import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.FeatureModelAnalyzer;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
 import de.ovgu.featureide.fm.core.base.IFeature;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
 
 /**
  * Tests for {@link DeadFeatureExplanationCreator}.
@@ -46,6 +54,55 @@ public class DeadFeatureExplanationCreatorTests extends FeatureModelExplanationC
 		assertTrue(isValid(c.getExplanation()));
 	}
 
+	@Test
+	public void testAllExplanationsCar() {
+		final IFeatureModel fm = Commons.loadTestFeatureModelFromFile("car.xml");
+		assertAllExplanations(fm);
+	}
+
+	@Test
+	public void testAllExplanationsDeadSubtree() {
+		final IFeatureModel fm = Commons.loadTestFeatureModelFromFile("car.xml");
+		fm.addConstraint(FMFactoryManager.getFactory(fm).createConstraint(fm, new Not("Navigation")));
+		final List<IFeature> deadFeatures = assertAllExplanations(fm);
+		assertTrue(deadFeatures.contains(fm.getFeature("Navigation")));
+		assertTrue(deadFeatures.contains(fm.getFeature("Europe")));
+	}
+
+	/**
+	 * Checks that explaining all dead features at once yields the same explanations as explaining each one on its own. Dead features below a dead parent are
+	 * explained differently in the batch, so for them only the validity and the counts of their parent's explanation are checked.
+	 *
+	 * @param fm the feature model with dead features
+	 * @return the dead features
+	 */
+	private List<IFeature> assertAllExplanations(IFeatureModel fm) {
+		final FeatureModelAnalyzer sequential = new FeatureModelAnalyzer(fm);
+		sequential.analyzeFeatureModel(null);
+		final FeatureModelAnalyzer batched = new FeatureModelAnalyzer(fm);
+		batched.analyzeFeatureModel(null);
+		batched.addAllExplanations(null);
+
+		final List<IFeature> deadFeatures = sequential.getCachedDeadFeatures();
+		assertFalse(deadFeatures.isEmpty());
+		for (final IFeature feature : deadFeatures) {
+			final DeadFeatureExplanation expected = sequential.getDeadFeatureExplanation(feature);
+			final DeadFeatureExplanation actual = batched.getDeadFeatureExplanation(feature);
+			assertTrue(isValid(actual));
+			final IFeature parent = FeatureUtils.getParent(feature);
+			if ((parent != null) && deadFeatures.contains(parent)) {
+				final DeadFeatureExplanation parentExplanation = batched.getDeadFeatureExplanation(parent);
+				assertEquals(parentExplanation.getExplanationCount(), actual.getExplanationCount());
+				assertTrue(actual.getReasons().containsAll(parentExplanation.getReasons()));
+			} else {
+				assertEquals(expected.getReasons(), actual.getReasons());
+				assertEquals(expected.getReasonCounts(), actual.getReasonCounts());
+				assertEquals(expected.getExplanationCount(), actual.getExplanationCount());
+			}
+		}
+		return deadFeatures;
+	}
+
 	@Override
 	protected DeadFeatureExplanationCreator getInstance() {
 		return FeatureModelExplanationCreatorFactory.getDefault().getDeadFeatureExplanationCreator();
@@ -0,0 +1,63 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.io.xml.XmlFeatureModelFormat;
+
+/**
+ * Tests the binary snapshot format for feature models.
+ */
+public class TFeatureModelSnapshotFormat extends TAbstractFeatureModelReaderWriter {
+
+	public TFeatureModelSnapshotFormat(IFeatureModel fm, String s) throws UnsupportedModelException {
+		super(fm, s);
+	}
+
+	@Override
+	protected IFeatureModelFormat getFormat() {
+		return new FeatureModelSnapshotFormat();
+	}
+
+	@Test
+	public void testSameXml() {
+		final XmlFeatureModelFormat xmlFormat = new XmlFeatureModelFormat();
+		assertEquals(failureMessage, xmlFormat.write(origFm), xmlFormat.write(newFm));
+	}
+
+	@Test
+	public void testSourceHash() {
+		final XmlFeatureModelFormat xmlFormat = new XmlFeatureModelFormat();
+		final String source = xmlFormat.write(origFm);
+		final byte[] sourceHash = FeatureModelSnapshotFormat.computeSourceHash(xmlFormat, source);
+		final byte[] snapshot = new FeatureModelSnapshotFormat().write(origFm, sourceHash);
+
+		assertTrue(failureMessage, FeatureModelSnapshotFormat.matches(snapshot, sourceHash));
+		assertFalse(failureMessage, FeatureModelSnapshotFormat.matches(snapshot, FeatureModelSnapshotFormat.computeSourceHash(xmlFormat, source + " ")));
+	}
+
+}
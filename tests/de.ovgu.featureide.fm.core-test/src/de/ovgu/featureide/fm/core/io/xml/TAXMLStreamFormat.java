@@ -0,0 +1,106 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+import de.ovgu.featureide.fm.core.configuration.Configuration;
+import de.ovgu.featureide.fm.core.configuration.Selection;
+import de.ovgu.featureide.fm.core.configuration.XMLConfFormat;
+import de.ovgu.featureide.fm.core.io.ProblemList;
+import de.ovgu.featureide.fm.core.io.manager.FeatureModelManager;
+
+/**
+ * Tests the streaming read and write of {@link AXMLStreamFormat} with {@link XmlFeatureModelFormat} and {@link XMLConfFormat}.
+ */
+public class TAXMLStreamFormat {
+
+	private static File getModelFolder() {
+		final File folder = Commons.getRemoteOrLocalFolder("testFeatureModels/");
+		if (folder.canRead()) {
+			return folder;
+		}
+		return new File(ClassLoader.getSystemResource("testFeatureModels").getPath());
+	}
+
+	private static <T> String write(AXMLStreamFormat<T> format, T object) throws IOException {
+		final StringWriter writer = new StringWriter();
+		format.write(object, writer);
+		return writer.toString();
+	}
+
+	@Test
+	public void featureModelRoundTrip() throws IOException {
+		int models = 0;
+		for (final File file : getModelFolder().listFiles(new Commons.FileFilterByExtension("xml"))) {
+			final IFeatureModel featureModel = FeatureModelManager.load(file.toPath()).getObject();
+			if (featureModel == null) {
+				continue;
+			}
+			final String xml = write(new XmlFeatureModelFormat(), featureModel);
+
+			final IFeatureModel readModel = FMFactoryManager.getEmptyFeatureModel();
+			final ProblemList problems = new XmlFeatureModelFormat().read(readModel, new StringReader(xml));
+			assertFalse(file.getName() + problems, problems.containsError());
+			assertEquals(file.getName(), xml, write(new XmlFeatureModelFormat(), readModel));
+			models++;
+		}
+		assertTrue(models > 0);
+	}
+
+	@Test
+	public void configurationRoundTrip() throws IOException {
+		final IFeatureModel featureModel = Commons.loadTestFeatureModelFromFile("car.xml");
+		final Configuration configuration = new Configuration(featureModel, false);
+		int i = 0;
+		for (final String name : featureModel.getFeatureOrderList()) {
+			configuration.setManual(name, (i++ % 2) == 0 ? Selection.SELECTED : Selection.UNSELECTED);
+		}
+		final String xml = write(new XMLConfFormat(), configuration);
+
+		final Configuration readConfiguration = new Configuration(featureModel, false);
+		final ProblemList problems = new XMLConfFormat().read(readConfiguration, new StringReader(xml));
+		assertTrue(problems.toString(), problems.isEmpty());
+		assertEquals(configuration.getSelectedFeatureNames(), readConfiguration.getSelectedFeatureNames());
+		assertEquals(xml, write(new XMLConfFormat(), readConfiguration));
+	}
+
+	@Test
+	public void malformedInput() {
+		final Configuration configuration = new Configuration(Commons.loadTestFeatureModelFromFile("car.xml"), false);
+		final ProblemList problems = new XMLConfFormat().read(configuration, new StringReader("<configuration>\n<feature name=\"Car\">\n</configuration>"));
+		assertTrue(problems.containsError());
+		assertEquals(3, problems.get(0).getLine());
+	}
+
+}
@@ -0,0 +1,158 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.sampling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Test;
+import org.prop4j.analyses.PairWiseConfigurationGenerator;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
+
+/**
+ * Test class for {@link ShardedSampler}
+ */
+public class TShardedSampler {
+
+	private static final Path MODEL = new File(Commons.getRemoteOrLocalFolder("testFeatureModels/"), "berkeley_db_model.xml").toPath();
+
+	private static List<List<String>> sample(String algorithm, long seed, int shardCount) throws Exception {
+		return sample(algorithm, seed, shardCount, 0);
+	}
+
+	private static List<List<String>> sample(String algorithm, long seed, int shardCount, int workerCount) throws Exception {
+		return new ShardedSampler(MODEL, algorithm, 1000, seed, shardCount, workerCount).execute(new NullMonitor());
+	}
+
+	@Test
+	public void testReproducible() throws Exception {
+		assertEquals(sample(ShardedSampler.RANDOM, 42, 4), sample(ShardedSampler.RANDOM, 42, 4));
+		assertFalse(sample(ShardedSampler.RANDOM, 42, 4).equals(sample(ShardedSampler.RANDOM, 43, 4)));
+		assertEquals(sample(ShardedSampler.PAIRWISE, 42, 4), sample(ShardedSampler.PAIRWISE, 42, 4));
+	}
+
+	@Test
+	public void testIndependentOfWorkers() throws Exception {
+		for (final String algorithm : new String[] { ShardedSampler.PAIRWISE, ShardedSampler.RANDOM }) {
+			assertEquals(sample(algorithm, 42, 4, 0), sample(algorithm, 42, 4, 2));
+		}
+	}
+
+	@Test
+	public void testShardsKeepCoverage() throws Exception {
+		final List<List<String>> sample = sample(ShardedSampler.PAIRWISE, 1, 1);
+		final List<String> features = features(sample);
+		final int coverage = coverage(sample, features);
+		for (final int shardCount : new int[] { 2, 5 }) {
+			assertEquals(coverage, coverage(sample(ShardedSampler.PAIRWISE, 1, shardCount), features));
+		}
+	}
+
+	@Test
+	public void testMerge() {
+		final List<String> features = Arrays.asList("A", "B", "C");
+		@SuppressWarnings("unchecked")
+		final List<List<String>>[] shards = new List[] { //
+			Arrays.asList(Arrays.asList("A"), Arrays.asList("A", "B", "C")), //
+			Arrays.asList(Arrays.asList("A"), Arrays.<String> asList(), Arrays.asList("B")) };
+		final List<List<String>> sample = ShardedSampler.merge(shards, features, 10, true);
+		assertEquals(Arrays.asList(Arrays.asList("A"), Arrays.asList("A", "B", "C"), Arrays.<String> asList(), Arrays.asList("B")), sample);
+		assertEquals(2, ShardedSampler.merge(shards, features, 2, true).size());
+	}
+
+	@Test
+	public void testMergeWithoutCoverage() {
+		final List<String> features = Arrays.asList("A", "B", "C");
+		// [A, B] covers no new pair, but is a new configuration
+		@SuppressWarnings("unchecked")
+		final List<List<String>>[] shards = new List[] { Arrays.asList(Arrays.<String> asList(), Arrays.asList("A", "B", "C"), Arrays.asList("A"),
+				Arrays.asList("B"), Arrays.asList("C"), Arrays.asList("A", "B"), Arrays.asList("A")) };
+		assertEquals(5, ShardedSampler.merge(shards, features, 10, true).size());
+		final List<List<String>> sample = ShardedSampler.merge(shards, features, 10, false);
+		assertEquals(6, sample.size());
+		assertEquals(Arrays.asList("A", "B"), sample.get(5));
+	}
+
+	@Test
+	public void testMergeManyFeatures() {
+		final List<String> features = new ArrayList<>();
+		for (int i = 0; i <= ShardedSampler.MAX_COVERAGE_FEATURES; i++) {
+			features.add("F" + i);
+		}
+		@SuppressWarnings("unchecked")
+		final List<List<String>>[] shards = new List[] { Arrays.asList(features, features.subList(0, 1)), Arrays.asList(features.subList(0, 2), features) };
+		assertEquals(3, ShardedSampler.merge(shards, features, 10, true).size());
+	}
+
+	@Test
+	public void testRandomSampleSize() throws Exception {
+		assertEquals(20, new ShardedSampler(MODEL, ShardedSampler.RANDOM, 20, 42, 4, 0).execute(new NullMonitor()).size());
+	}
+
+	@Test
+	public void testShardPartition() {
+		final int shardCount = 7;
+		final int[] sizes = new int[shardCount];
+		for (int a = 0; a < 100; a++) {
+			for (int b = a + 1; b < 100; b++) {
+				final int shard = PairWiseConfigurationGenerator.getShard(a, b, shardCount);
+				assertEquals(shard, PairWiseConfigurationGenerator.getShard(b, a, shardCount));
+				sizes[shard]++;
+			}
+		}
+		for (final int size : sizes) {
+			assertTrue(size > 0);
+		}
+	}
+
+	private static List<String> features(List<List<String>> sample) {
+		final TreeSet<String> features = new TreeSet<>();
+		for (final List<String> configuration : sample) {
+			features.addAll(configuration);
+		}
+		return new ArrayList<>(features);
+	}
+
+	private static int coverage(List<List<String>> sample, List<String> features) {
+		final Set<String> pairs = new HashSet<>();
+		for (final List<String> configuration : sample) {
+			for (int a = 0; a < features.size(); a++) {
+				for (int b = a + 1; b < features.size(); b++) {
+					pairs.add(a + " " + b + " " + configuration.contains(features.get(a)) + " " + configuration.contains(features.get(b)));
+				}
+			}
+		}
+		return pairs.size();
+	}
+
+}
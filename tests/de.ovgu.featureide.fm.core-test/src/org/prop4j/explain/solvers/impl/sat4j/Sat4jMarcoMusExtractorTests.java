@@ -0,0 +1,110 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.explain.solvers.impl.sat4j;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Test;
+import org.prop4j.And;
+import org.prop4j.Literal;
+import org.prop4j.Not;
+import org.prop4j.Or;
+import org.prop4j.explain.solvers.MusExtractor;
+import org.prop4j.explain.solvers.MusExtractorTests;
+
+/**
+ * Tests for {@link Sat4jMarcoMusExtractor}.
+ */
+public class Sat4jMarcoMusExtractorTests extends MusExtractorTests {
+
+	@Test
+	public void testAllMuses() {
+		final MusExtractor solver = getInstance();
+		solver.addFormula(new And("A", new Or(new Not("A"), "B"), new Or(new Not("A"), "C"), new Not("B"), new Not("C"), new Or("D", "E")));
+		final Set<Set<Integer>> expected = new HashSet<>();
+		expected.add(new TreeSet<>(Arrays.asList(0, 1, 3)));
+		expected.add(new TreeSet<>(Arrays.asList(0, 2, 4)));
+		final Set<Set<Integer>> actual = new HashSet<>(solver.getAllMinimalUnsatisfiableSubsetIndexes());
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	public void testAllMusesParallel() {
+		final Sat4jMarcoMusExtractor solver = new Sat4jMarcoMusExtractor();
+		solver.setWorkerCount(3);
+		solver.addFormula(new And("A", new Or(new Not("A"), "B"), new Or(new Not("A"), "C"), new Not("B"), new Not("C"), new Or("D", "E")));
+		final Set<Set<Integer>> expected = new HashSet<>();
+		expected.add(new TreeSet<>(Arrays.asList(0, 1, 3)));
+		expected.add(new TreeSet<>(Arrays.asList(0, 2, 4)));
+		final Set<Set<Integer>> actual = new HashSet<>(solver.getAllMinimalUnsatisfiableSubsetIndexes());
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	public void testAllMusesMaxCount() {
+		final MusExtractor solver = getInstance();
+		solver.addFormula(new And("A", new Or(new Not("A"), "B"), new Or(new Not("A"), "C"), new Not("B"), new Not("C")));
+		final List<Set<Integer>> actual = solver.getAllMinimalUnsatisfiableSubsetIndexes(1, 0);
+		assertEquals(1, actual.size());
+	}
+
+	@Test
+	public void testAllMusesTimeout() {
+		final MusExtractor solver = getInstance();
+		// p0 implies pk along two alternative paths per level, resulting in 2^k MUSes of size 2k + 2 each
+		final int k = 14;
+		solver.addFormula(new Literal("p0"));
+		for (int i = 1; i <= k; i++) {
+			solver.addFormula(new Or(new Not("p" + (i - 1)), "q" + i));
+			solver.addFormula(new Or(new Not("p" + (i - 1)), "r" + i));
+			solver.addFormula(new Or(new Not("q" + i), "p" + i));
+			solver.addFormula(new Or(new Not("r" + i), "p" + i));
+		}
+		solver.addFormula(new Not("p" + k));
+		final List<Set<Integer>> actual = solver.getAllMinimalUnsatisfiableSubsetIndexes(0, 50);
+		assertTrue(actual.size() < (1 << k));
+		for (final Set<Integer> mus : actual) {
+			assertEquals((2 * k) + 2, mus.size());
+		}
+	}
+
+	@Test
+	public void testAllMusesAssumptions() {
+		final MusExtractor solver = getInstance();
+		solver.addFormula(new And(new Or(new Not("A"), "B"), new Literal("B", false), "C"));
+		solver.addAssumption("A", true);
+		final List<Set<Integer>> expected = Arrays.<Set<Integer>> asList(new TreeSet<>(Arrays.asList(0, 1)));
+		final List<Set<Integer>> actual = solver.getAllMinimalUnsatisfiableSubsetIndexes();
+		assertEquals(expected, actual);
+	}
+
+	@Override
+	protected MusExtractor getInstance() {
+		return new Sat4jMarcoSatSolverFactory().getMusExtractor();
+	}
+}
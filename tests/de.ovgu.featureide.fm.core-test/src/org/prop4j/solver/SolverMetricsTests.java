@@ -0,0 +1,143 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package org.prop4j.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.regex.Pattern;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.prop4j.And;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Or;
+import org.prop4j.SatSolver;
+import org.prop4j.solver.ISatSolver.SatResult;
+
+import de.ovgu.featureide.fm.core.job.LongRunningMethod;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Tests for {@link SolverMetrics}.
+ */
+public class SolverMetricsTests {
+
+	private static final String LINE_SEPARATOR = Pattern.quote(System.lineSeparator());
+
+	private static final Node CNF = new And(new Or("A", "B"), new Or(new Literal("A", false), "C"));
+
+	private static final class TestAnalysis implements LongRunningMethod<Boolean> {
+
+		@Override
+		public Boolean execute(IMonitor monitor) throws Exception {
+			final SatSolver solver = new SatSolver(CNF, 1000, false);
+			return solver.isSatisfiable() && !solver.isSatisfiable(new Node[] { new Literal("A"), new Literal("C", false) });
+		}
+
+	}
+
+	@Before
+	public void enable() {
+		SolverMetrics.reset();
+		SolverMetrics.setEnabled(true);
+	}
+
+	@After
+	public void disable() {
+		SolverMetrics.setEnabled(false);
+		SolverMetrics.reset();
+	}
+
+	@Test
+	public void testScope() {
+		assertTrue(LongRunningWrapper.runMethod(new TestAnalysis()));
+
+		final AnalysisMetrics metrics = SolverMetrics.getMetrics(TestAnalysis.class.getSimpleName());
+		assertNotNull(metrics);
+		assertEquals(2, metrics.getCalls());
+		assertEquals(1, metrics.getSatisfiableCalls());
+		assertEquals(1, metrics.getUnsatisfiableCalls());
+		assertEquals(0, metrics.getTimeouts());
+		assertEquals(1, metrics.getSolvers());
+		assertEquals(3, metrics.getVariables());
+		assertEquals(2, metrics.getClauses());
+		assertTrue(metrics.getEstimatedBytes() > 0);
+		assertNull(SolverMetrics.getMetrics(SolverMetrics.UNSCOPED));
+	}
+
+	@Test
+	public void testUnscoped() throws Exception {
+		final BasicSolver solver = new BasicSolver(new SatInstance(CNF));
+		solver.assignmentPush(-solver.getSatInstance().getVariable("A"));
+		solver.assignmentPush(-solver.getSatInstance().getVariable("B"));
+		assertEquals(SatResult.FALSE, solver.isSatisfiable());
+
+		final AnalysisMetrics metrics = SolverMetrics.getMetrics(SolverMetrics.UNSCOPED);
+		assertNotNull(metrics);
+		assertEquals(1, metrics.getCalls());
+		assertEquals(1, metrics.getUnsatisfiableCalls());
+		assertEquals(1, metrics.getSolvers());
+	}
+
+	@Test
+	public void testDisabled() throws Exception {
+		SolverMetrics.setEnabled(false);
+		assertTrue(LongRunningWrapper.runMethod(new TestAnalysis()));
+		assertTrue(SolverMetrics.getMetrics().isEmpty());
+		assertEquals(1, SolverMetrics.getReport().split(LINE_SEPARATOR).length);
+	}
+
+	@Test
+	public void testHistogram() {
+		final AnalysisMetrics metrics = new AnalysisMetrics("test");
+		metrics.recordCall(500, SatResult.TRUE);
+		metrics.recordCall(3000, SatResult.FALSE);
+		metrics.recordCall(3000000, SatResult.TIMEOUT);
+
+		assertEquals(3, metrics.getCalls());
+		assertEquals(1, metrics.getTimeouts());
+		assertEquals(3000000, metrics.getMaxNanos());
+		assertEquals(1, metrics.getPercentileMicros(10));
+		assertEquals(4, metrics.getPercentileMicros(50));
+		assertEquals(4096, metrics.getPercentileMicros(99));
+		long sum = 0;
+		for (final long count : metrics.getHistogram()) {
+			sum += count;
+		}
+		assertEquals(3, sum);
+	}
+
+	@Test
+	public void testReport() {
+		assertTrue(LongRunningWrapper.runMethod(new TestAnalysis()));
+		final String[] lines = SolverMetrics.getReport().split(LINE_SEPARATOR);
+		assertEquals(2, lines.length);
+		assertTrue(lines[1].startsWith(TestAnalysis.class.getSimpleName() + ";2;1;1;0;"));
+	}
+
+}
@@ -0,0 +1,171 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.ui.editors.configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeItem;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+import de.ovgu.featureide.fm.core.configuration.Configuration;
+import de.ovgu.featureide.fm.core.configuration.SelectableFeature;
+import de.ovgu.featureide.fm.core.functional.Functional.IFunction;
+import de.ovgu.featureide.fm.ui.utils.FeatureTreeIterator;
+
+/**
+ * Test class for the lazily created items of {@link AsyncTree}
+ */
+public class TAsyncTree {
+
+	private Configuration configuration;
+	private Shell shell;
+	private TreeItem rootItem;
+	private final HashMap<SelectableFeature, TreeItem> itemMap = new HashMap<>();
+
+	/**
+	 * Root with the children A (with A1 and A2), B (hidden, with B1), and C. Only the item of the root exists, its children are behind a placeholder.
+	 */
+	@Before
+	public void createTree() {
+		final IFeatureModelFactory factory = FMFactoryManager.getDefaultFactory();
+		final IFeatureModel featureModel = factory.createFeatureModel();
+		final IFeature root = addFeature(factory, featureModel, null, "Root");
+		final IFeature a = addFeature(factory, featureModel, root, "A");
+		addFeature(factory, featureModel, a, "A1");
+		addFeature(factory, featureModel, a, "A2");
+		final IFeature b = addFeature(factory, featureModel, root, "B");
+		b.getStructure().setHidden(true);
+		addFeature(factory, featureModel, b, "B1");
+		addFeature(factory, featureModel, root, "C");
+		configuration = new Configuration(featureModel, false);
+
+		shell = new Shell(Display.getDefault());
+		final Tree tree = new Tree(shell, SWT.NONE);
+		rootItem = new TreeItem(tree, 0);
+		rootItem.setData(configuration.getRoot());
+		itemMap.put(configuration.getRoot(), rootItem);
+		new TreeItem(rootItem, 0);
+	}
+
+	@After
+	public void disposeTree() {
+		shell.dispose();
+	}
+
+	private static IFeature addFeature(IFeatureModelFactory factory, IFeatureModel featureModel, IFeature parent, String name) {
+		final IFeature feature = factory.createFeature(featureModel, name);
+		featureModel.addFeature(feature);
+		if (parent == null) {
+			featureModel.getStructure().setRoot(feature.getStructure());
+		} else {
+			parent.getStructure().addChild(feature.getStructure());
+		}
+		return feature;
+	}
+
+	/**
+	 * The same as {@link ConfigurationTreeEditorPage#getItem(SelectableFeature)}.
+	 */
+	private TreeItem getItem(SelectableFeature feature) {
+		TreeItem item = itemMap.get(feature);
+		if ((item == null) && (feature.getParent() instanceof SelectableFeature)) {
+			final TreeItem parentItem = getItem((SelectableFeature) feature.getParent());
+			if (parentItem != null) {
+				AsyncTree.createChildItems(itemMap, parentItem);
+				item = itemMap.get(feature);
+			}
+		}
+		return item;
+	}
+
+	@Test
+	public void testCreateChildItems() {
+		assertTrue(AsyncTree.isPlaceholder(rootItem.getItem(0)));
+
+		final List<TreeItem> items = AsyncTree.createChildItems(itemMap, rootItem);
+		assertEquals(2, items.size());
+		assertEquals(configuration.getSelectablefeature("A"), items.get(0).getData());
+		assertEquals(configuration.getSelectablefeature("C"), items.get(1).getData());
+		assertEquals(Arrays.asList(rootItem.getItems()), items);
+		assertTrue(itemMap.get(configuration.getSelectablefeature("A")) == items.get(0));
+		assertFalse(itemMap.containsKey(configuration.getSelectablefeature("B")));
+
+		// A has children, so it gets a placeholder, C has none
+		assertEquals(1, items.get(0).getItemCount());
+		assertTrue(AsyncTree.isPlaceholder(items.get(0).getItem(0)));
+		assertEquals(0, items.get(1).getItemCount());
+
+		// the children already exist
+		assertTrue(AsyncTree.createChildItems(itemMap, rootItem).isEmpty());
+		assertEquals(2, rootItem.getItemCount());
+
+		final List<TreeItem> grandChildItems = AsyncTree.createChildItems(itemMap, items.get(0));
+		assertEquals(2, grandChildItems.size());
+		assertEquals(configuration.getSelectablefeature("A1"), grandChildItems.get(0).getData());
+		assertEquals(configuration.getSelectablefeature("A2"), grandChildItems.get(1).getData());
+	}
+
+	@Test
+	public void testIteratorReplacesPlaceholders() {
+		final Iterator<TreeItem> iterator = new FeatureTreeIterator<>(configuration.getRoot(), new IFunction<SelectableFeature, TreeItem>() {
+
+			@Override
+			public TreeItem invoke(SelectableFeature feature) {
+				return getItem(feature);
+			}
+		});
+		final List<String> names = new ArrayList<>();
+		while (iterator.hasNext()) {
+			final TreeItem item = iterator.next();
+			assertFalse(AsyncTree.isPlaceholder(item));
+			names.add(((SelectableFeature) item.getData()).getName());
+		}
+		// the hidden feature B and its child have no items
+		assertEquals(Arrays.asList("Root", "A", "A1", "A2", "C"), names);
+		assertPlaceholderFree(rootItem);
+	}
+
+	private static void assertPlaceholderFree(TreeItem item) {
+		for (final TreeItem child : item.getItems()) {
+			assertFalse(AsyncTree.isPlaceholder(child));
+			assertPlaceholderFree(child);
+		}
+	}
+
+}
@@ -0,0 +1,150 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.ui.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+import de.ovgu.featureide.fm.core.configuration.Configuration;
+import de.ovgu.featureide.fm.core.configuration.SelectableFeature;
+import de.ovgu.featureide.fm.core.functional.Functional.IFunction;
+
+/**
+ * Test class for {@link FeatureTreeIterator}
+ */
+public class TFeatureTreeIterator {
+
+	private Configuration configuration;
+
+	/**
+	 * Root with the children A (with A1 and A2), B (hidden, with B1), and C.
+	 */
+	@Before
+	public void createConfiguration() {
+		final IFeatureModelFactory factory = FMFactoryManager.getDefaultFactory();
+		final IFeatureModel featureModel = factory.createFeatureModel();
+		final IFeature root = addFeature(factory, featureModel, null, "Root");
+		final IFeature a = addFeature(factory, featureModel, root, "A");
+		addFeature(factory, featureModel, a, "A1");
+		addFeature(factory, featureModel, a, "A2");
+		final IFeature b = addFeature(factory, featureModel, root, "B");
+		b.getStructure().setHidden(true);
+		addFeature(factory, featureModel, b, "B1");
+		addFeature(factory, featureModel, root, "C");
+		configuration = new Configuration(featureModel, false);
+	}
+
+	private static IFeature addFeature(IFeatureModelFactory factory, IFeatureModel featureModel, IFeature parent, String name) {
+		final IFeature feature = factory.createFeature(featureModel, name);
+		featureModel.addFeature(feature);
+		if (parent == null) {
+			featureModel.getStructure().setRoot(feature.getStructure());
+		} else {
+			parent.getStructure().addChild(feature.getStructure());
+		}
+		return feature;
+	}
+
+	private static <T> List<T> toList(Iterator<T> iterator) {
+		final List<T> list = new ArrayList<>();
+		while (iterator.hasNext()) {
+			list.add(iterator.next());
+		}
+		return list;
+	}
+
+	@Test
+	public void testPreorder() {
+		final Iterator<String> iterator = new FeatureTreeIterator<>(configuration.getRoot(), new IFunction<SelectableFeature, String>() {
+
+			@Override
+			public String invoke(SelectableFeature feature) {
+				return feature.getName();
+			}
+		});
+		assertEquals(Arrays.asList("Root", "A", "A1", "A2", "B", "B1", "C"), toList(iterator));
+	}
+
+	@Test
+	public void testSkippedFeatures() {
+		final Iterator<String> iterator = new FeatureTreeIterator<>(configuration.getRoot(), new IFunction<SelectableFeature, String>() {
+
+			@Override
+			public String invoke(SelectableFeature feature) {
+				return feature.getFeature().getStructure().isHidden() ? null : feature.getName();
+			}
+		});
+		assertEquals(Arrays.asList("Root", "A", "A1", "A2", "B1", "C"), toList(iterator));
+	}
+
+	/**
+	 * Like the items of the configuration editor, the element of a feature can only be created if the element of its parent exists. The children of A are
+	 * behind a placeholder and must be created during the traversal.
+	 */
+	@Test
+	public void testLazyElements() {
+		final Set<String> created = new HashSet<>(Arrays.asList("Root", "A", "B", "C"));
+		final Iterator<String> iterator = new FeatureTreeIterator<>(configuration.getRoot(), new IFunction<SelectableFeature, String>() {
+
+			@Override
+			public String invoke(SelectableFeature feature) {
+				if (!created.contains(feature.getName())) {
+					if (!created.contains(((SelectableFeature) feature.getParent()).getName())) {
+						throw new IllegalStateException("Parent of " + feature.getName() + " does not exist");
+					}
+					created.add(feature.getName());
+				}
+				return feature.getName();
+			}
+		});
+		assertEquals(7, toList(iterator).size());
+		assertEquals(7, created.size());
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void testEmpty() {
+		final Iterator<String> iterator = new FeatureTreeIterator<>(null, new IFunction<SelectableFeature, String>() {
+
+			@Override
+			public String invoke(SelectableFeature feature) {
+				return feature.getName();
+			}
+		});
+		assertFalse(iterator.hasNext());
+		iterator.next();
+	}
+
+}
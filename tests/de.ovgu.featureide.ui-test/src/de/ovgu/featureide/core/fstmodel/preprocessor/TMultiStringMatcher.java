@@ -0,0 +1,69 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.core.fstmodel.preprocessor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link MultiStringMatcher}.
+ */
+public class TMultiStringMatcher {
+
+	private static Set<String> set(String... strings) {
+		return new LinkedHashSet<>(Arrays.asList(strings));
+	}
+
+	@Test
+	public void overlappingPatterns() {
+		final MultiStringMatcher matcher = new MultiStringMatcher(Arrays.asList("he", "she", "his", "hers"));
+		assertEquals(set("he", "she", "hers"), matcher.findAll("ushers"));
+	}
+
+	@Test
+	public void prefixPattern() {
+		final MultiStringMatcher matcher = new MultiStringMatcher(Arrays.asList("Base", "BaseExtended", "Extended"));
+		assertEquals(set("Base"), matcher.findAll("#ifdef Base"));
+		assertEquals(set("Base", "BaseExtended", "Extended"), matcher.findAll("#if BaseExtended"));
+		assertEquals(set("Base"), matcher.findAll("#if BaseExtende"));
+	}
+
+	@Test
+	public void noMatch() {
+		final MultiStringMatcher matcher = new MultiStringMatcher(Arrays.asList("Hello", "World", ""));
+		assertTrue(matcher.findAll("Hell Word").isEmpty());
+		assertTrue(matcher.findAll("").isEmpty());
+		assertTrue(new MultiStringMatcher(Arrays.<String> asList()).findAll("Hello").isEmpty());
+	}
+
+	@Test
+	public void orderOfPatterns() {
+		final MultiStringMatcher matcher = new MultiStringMatcher(Arrays.asList("B", "A", "B"));
+		assertEquals(Arrays.asList("B", "A"), Arrays.asList(matcher.findAll("AB").toArray()));
+	}
+
+}
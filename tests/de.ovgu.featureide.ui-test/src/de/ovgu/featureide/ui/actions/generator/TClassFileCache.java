@@ -0,0 +1,91 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.ui.actions.generator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link ClassFileCache#getKeys(Map)}.
+ */
+public class TClassFileCache {
+
+	private static final String MAIN = "Main.java";
+	private static final String HELLO = "hello/Hello.java";
+	private static final String OTHER = "Other.java";
+
+	private static Map<String, String> createSources(String hello) {
+		final Map<String, String> sources = new HashMap<>();
+		sources.put(MAIN, "public class Main { void run() { new hello.Hello().print(); } }");
+		sources.put(HELLO, hello);
+		sources.put(OTHER, "public class Other { int value = 42; }");
+		return sources;
+	}
+
+	@Test
+	public void equalSources() {
+		final Map<String, String> keys1 = ClassFileCache.getKeys(createSources("package hello; public class Hello { void print() {} }"));
+		final Map<String, String> keys2 = ClassFileCache.getKeys(createSources("package hello; public class Hello { void print() {} }"));
+		assertEquals(keys1, keys2);
+	}
+
+	@Test
+	public void changedDependency() {
+		final Map<String, String> keys1 = ClassFileCache.getKeys(createSources("package hello; public class Hello { void print() {} }"));
+		final Map<String, String> keys2 = ClassFileCache.getKeys(createSources("package hello; public class Hello { int print() { return 0; } }"));
+		assertFalse(keys1.get(HELLO).equals(keys2.get(HELLO)));
+		assertFalse(keys1.get(MAIN).equals(keys2.get(MAIN)));
+	}
+
+	@Test
+	public void unchangedDependency() {
+		final Map<String, String> keys1 = ClassFileCache.getKeys(createSources("package hello; public class Hello { void print() {} }"));
+		final Map<String, String> keys2 = ClassFileCache.getKeys(createSources("package hello; public class Hello { int print() { return 0; } }"));
+		assertEquals(keys1.get(OTHER), keys2.get(OTHER));
+	}
+
+	@Test
+	public void transitiveDependency() {
+		final Map<String, String> sources1 = createSources("package hello; public class Hello { void print() { new Other(); } }");
+		final Map<String, String> sources2 = createSources("package hello; public class Hello { void print() { new Other(); } }");
+		sources2.put(OTHER, "public class Other { int value = 0; }");
+		final Map<String, String> keys1 = ClassFileCache.getKeys(sources1);
+		final Map<String, String> keys2 = ClassFileCache.getKeys(sources2);
+		assertFalse(keys1.get(MAIN).equals(keys2.get(MAIN)));
+	}
+
+	@Test
+	public void declaredTypes() {
+		final Map<String, String> sources1 = createSources("package hello; public class Hello { void print() {} } class Greeting {}");
+		sources1.put(OTHER, "public class Other { Greeting greeting; }");
+		final Map<String, String> sources2 = createSources("package hello; public class Hello { void print() {} } class Greeting { int x; }");
+		sources2.put(OTHER, "public class Other { Greeting greeting; }");
+		final Map<String, String> keys1 = ClassFileCache.getKeys(sources1);
+		final Map<String, String> keys2 = ClassFileCache.getKeys(sources2);
+		assertFalse(keys1.get(OTHER).equals(keys2.get(OTHER)));
+	}
+
+}
@@ -0,0 +1,142 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.ui.actions.generator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link MemoryFileManager}.
+ */
+public class TMemoryFileManager {
+
+	private static final String MAIN = "Main.java";
+	private static final String HELLO = "hello/Hello.java";
+
+	private JavaCompiler compiler;
+	private MemoryFileManager fileManager;
+	private Path folder;
+
+	@Before
+	public void createSources() throws IOException {
+		compiler = ToolProvider.getSystemJavaCompiler();
+		Assume.assumeTrue(compiler != null);
+		final StandardJavaFileManager standardFileManager = compiler.getStandardFileManager(null, null, null);
+		standardFileManager.setLocation(StandardLocation.CLASS_PATH, Collections.<File> emptyList());
+		fileManager = new MemoryFileManager(standardFileManager);
+
+		folder = Files.createTempDirectory("variant");
+		Files.createDirectories(folder.resolve("hello"));
+		Files.write(folder.resolve(MAIN), "public class Main { void run() { new hello.Hello().print(); } }".getBytes(StandardCharsets.UTF_8));
+		Files.write(folder.resolve(HELLO), "package hello; public class Hello { public void print() {} class Inner {} }".getBytes(StandardCharsets.UTF_8));
+	}
+
+	@After
+	public void deleteSources() throws IOException {
+		if (fileManager != null) {
+			fileManager.close();
+		}
+		if (folder != null) {
+			Files.delete(folder.resolve(HELLO));
+			Files.delete(folder.resolve("hello"));
+			Files.delete(folder.resolve(MAIN));
+			Files.delete(folder);
+		}
+	}
+
+	private boolean compile(String... paths) {
+		final Map<Path, String> sourcePaths = new HashMap<>();
+		final List<File> sourceFiles = new ArrayList<>();
+		for (final String path : paths) {
+			final File file = folder.resolve(path).toFile();
+			sourceFiles.add(file);
+			sourcePaths.put(MemoryFileManager.normalize(file.toURI()), path);
+		}
+		fileManager.reset(sourcePaths);
+		return compile(sourceFiles);
+	}
+
+	private boolean compile(List<File> sourceFiles) {
+		return compiler.getTask(null, fileManager, new DiagnosticCollector<JavaFileObject>(), SystemCompiler.getOptions(compiler), null,
+				fileManager.getJavaFileObjectsFromFiles(sourceFiles)).call();
+	}
+
+	@Test
+	public void classFilesInMemory() throws IOException {
+		assertTrue(compile(MAIN, HELLO));
+		final Map<String, Map<String, byte[]>> outputFiles = fileManager.getOutputFiles();
+		assertEquals(new HashSet<>(Arrays.asList(MAIN, HELLO)), outputFiles.keySet());
+		assertEquals(Collections.singleton("Main"), outputFiles.get(MAIN).keySet());
+		assertEquals(new HashSet<>(Arrays.asList("hello.Hello", "hello.Hello$Inner")), outputFiles.get(HELLO).keySet());
+		// nothing is written next to the sources
+		assertFalse(Files.exists(folder.resolve("Main.class")));
+		assertFalse(Files.exists(folder.resolve("hello/Hello.class")));
+	}
+
+	@Test
+	public void classFilesOnClassPath() {
+		assertTrue(compile(MAIN, HELLO));
+		final Map<String, byte[]> helloClassFiles = new HashMap<>(fileManager.getOutputFiles().get(HELLO));
+
+		final Map<Path, String> sourcePaths = new HashMap<>();
+		final File mainFile = folder.resolve(MAIN).toFile();
+		sourcePaths.put(MemoryFileManager.normalize(mainFile.toURI()), MAIN);
+
+		// without the class files of Hello, Main cannot be compiled
+		fileManager.reset(sourcePaths);
+		assertFalse(compile(Collections.singletonList(mainFile)));
+
+		fileManager.reset(sourcePaths);
+		for (final Entry<String, byte[]> classFile : helloClassFiles.entrySet()) {
+			fileManager.addClassFile(classFile.getKey(), classFile.getValue());
+		}
+		assertTrue(compile(Collections.singletonList(mainFile)));
+		assertEquals(Collections.singleton(MAIN), fileManager.getOutputFiles().keySet());
+	}
+
+}
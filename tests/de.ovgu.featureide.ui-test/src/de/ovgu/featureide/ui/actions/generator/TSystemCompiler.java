@@ -0,0 +1,74 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.ui.actions.generator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link SystemCompiler}.
+ */
+public class TSystemCompiler {
+
+	private JavaCompiler compiler;
+
+	@Before
+	public void getCompiler() {
+		compiler = ToolProvider.getSystemJavaCompiler();
+		Assume.assumeTrue(compiler != null);
+	}
+
+	@Test
+	public void supportedOptions() {
+		final List<String> options = SystemCompiler.getOptions(compiler);
+		assertNotNull(options);
+		assertTrue(SystemCompiler.isSupported(compiler, options));
+		assertEquals(options, SystemCompiler.OPTIONS);
+	}
+
+	@Test
+	public void oldestRelease() {
+		final List<String> options = SystemCompiler.getOptions(compiler);
+		final String release = options.get(options.indexOf("-source") + 1);
+		assertEquals(release, options.get(options.indexOf("-target") + 1));
+		// only compilers that do not support Java 1.7 anymore (since JDK 20) use a later release
+		if (!"7".equals(release)) {
+			assertFalse(SystemCompiler.isSupported(compiler, SystemCompiler.getOptions("7")));
+		}
+	}
+
+	@Test
+	public void unknownRelease() {
+		assertFalse(SystemCompiler.isSupported(compiler, SystemCompiler.getOptions("1")));
+	}
+
+}
@@ -0,0 +1,188 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.ui.actions.generator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.PrintStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import de.ovgu.featureide.ui.actions.generator.TestRunnerPool.ITestListener;
+
+/**
+ * Tests for the protocol between {@link TestRunnerPool} and {@link TestRunnerWorker}.
+ */
+public class TTestRunnerWorker {
+
+	/**
+	 * The tests of a variant, run by the worker.
+	 */
+	public static class Sample {
+
+		@Test
+		public void pass() {}
+
+		@Test
+		public void fail() {
+			Assert.fail("line\tbreak\n");
+		}
+
+		@Test
+		public void error() {
+			throw new IllegalStateException();
+		}
+
+		@Ignore
+		@Test
+		public void ignored() {}
+
+	}
+
+	/**
+	 * Records the results as text.
+	 */
+	private static class RecordingListener implements ITestListener {
+
+		private final List<String> results = new ArrayList<>();
+
+		@Override
+		public boolean classStarted(String className, boolean moduleTest) {
+			results.add("class " + className);
+			return true;
+		}
+
+		@Override
+		public void testFinished(String className, String name, long time, String failure, boolean error) {
+			final String methodName = name.substring(0, name.indexOf('('));
+			if (failure == null) {
+				results.add("pass " + methodName);
+			} else {
+				results.add((error ? "error " : "fail ") + methodName);
+			}
+		}
+
+		@Override
+		public void testIgnored(String className, String name) {
+			results.add("ignored " + name.substring(0, name.indexOf('(')));
+		}
+
+		@Override
+		public void classNotFound(String className, String message) {
+			results.add("missing " + className);
+		}
+
+	}
+
+	@Test
+	public void escape() {
+		assertEquals("a\\tb\\nc\\rd\\\\e", TestRunnerWorker.escape("a\tb\nc\rd\\e"));
+		assertEquals("", TestRunnerWorker.escape(null));
+	}
+
+	@Test
+	public void unescape() {
+		for (final String text : Arrays.asList("", "text", "a\tb\nc\rd\\e", "\\t", "\\\\n\t")) {
+			final String escaped = TestRunnerWorker.escape(text);
+			assertFalse(escaped.contains("\t") || escaped.contains("\n") || escaped.contains("\r"));
+			assertEquals(text, TestRunnerWorker.unescape(escaped));
+		}
+	}
+
+	@Test
+	public void runTests() throws Exception {
+		final PipedOutputStream requests = new PipedOutputStream();
+		final PipedInputStream requestInput = new PipedInputStream(requests);
+		final PipedOutputStream answers = new PipedOutputStream();
+		final PipedInputStream answerInput = new PipedInputStream(answers);
+		final Thread workerThread = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				try (PrintStream answerOutput = new PrintStream(answers, false, StandardCharsets.UTF_8.name())) {
+					TestRunnerWorker.run(new BufferedReader(new InputStreamReader(requestInput, StandardCharsets.UTF_8)), answerOutput);
+				} catch (final IOException e) {
+					throw new RuntimeException(e);
+				}
+			}
+		});
+		workerThread.start();
+
+		final TestRunnerPool.Worker worker = new TestRunnerPool.Worker(null, requests, answerInput);
+		final RecordingListener listener = new RecordingListener();
+		final List<String> notRun = new ArrayList<>();
+		final String sample = Sample.class.getName();
+		assertTrue(worker.run(new URL[0], Arrays.asList(sample, "does.not.Exist"), listener, notRun));
+		requests.close();
+		workerThread.join(10000);
+
+		assertEquals(Collections.emptyList(), notRun);
+		final List<String> results = listener.results;
+		assertEquals("class " + sample, results.get(0));
+		assertEquals("missing does.not.Exist", results.get(results.size() - 1));
+		assertEquals(Arrays.asList("error error", "fail fail", "ignored ignored", "pass pass"), sortedTests(results.subList(1, results.size() - 1)));
+	}
+
+	private static List<String> sortedTests(List<String> results) {
+		final List<String> sortedResults = new ArrayList<>(results);
+		Collections.sort(sortedResults);
+		return sortedResults;
+	}
+
+	@Test
+	public void timeout() throws IOException {
+		final String answers = TestRunnerWorker.CLASS + "\tA\t0\n" //
+			+ TestRunnerWorker.PASS + "\tA\tfirst(A)\t1\n" //
+			+ TestRunnerWorker.TIMEOUT + "\tA\tsecond(A)\t70000\n";
+		final TestRunnerPool.Worker worker = new TestRunnerPool.Worker(null, new ByteArrayOutputStream(),
+				new ByteArrayInputStream(answers.getBytes(StandardCharsets.UTF_8)));
+		final RecordingListener listener = new RecordingListener();
+		final List<String> notRun = new ArrayList<>();
+		assertFalse(worker.run(new URL[0], Arrays.asList("A", "B", "C"), listener, notRun));
+		assertEquals(Arrays.asList("class A", "pass first", "error second"), listener.results);
+		assertEquals(Arrays.asList("B", "C"), notRun);
+	}
+
+	@Test(expected = IOException.class)
+	public void terminated() throws IOException {
+		final TestRunnerPool.Worker worker = new TestRunnerPool.Worker(null, new ByteArrayOutputStream(),
+				new ByteArrayInputStream((TestRunnerWorker.CLASS + "\tA\t0\n").getBytes(StandardCharsets.UTF_8)));
+		worker.run(new URL[0], Arrays.asList("A"), new RecordingListener(), new ArrayList<String>());
+	}
+
+}
@@ -0,0 +1,136 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.ui.actions.generator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link VariantStore}.
+ */
+public class TVariantStore {
+
+	private Path folder;
+
+	private final VariantStore store = new VariantStore();
+
+	@Before
+	public void createFolder() throws IOException {
+		folder = Files.createTempDirectory("variants");
+	}
+
+	@After
+	public void deleteFolder() throws IOException {
+		Files.walkFileTree(folder, new SimpleFileVisitor<Path>() {
+
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+				Files.delete(file);
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+				Files.delete(dir);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	private Path createVariant(String name, String main, String hello) throws IOException {
+		final Path variant = folder.resolve(name);
+		write(variant.resolve("Main.java"), main);
+		write(variant.resolve("hello").resolve("Hello.java"), hello);
+		return variant;
+	}
+
+	private static void write(Path file, String content) throws IOException {
+		Files.createDirectories(file.getParent());
+		Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String read(Path file) throws IOException {
+		return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void identicalVariants() throws IOException {
+		final Path variant1 = createVariant("Variant1", "class Main {}", "class Hello {}");
+		final Path variant2 = createVariant("Variant2", "class Main {}", "class Hello {}");
+		assertEquals(store.fingerprint(variant1), store.fingerprint(variant2));
+	}
+
+	@Test
+	public void differentContent() throws IOException {
+		final Path variant1 = createVariant("Variant1", "class Main {}", "class Hello {}");
+		final Path variant2 = createVariant("Variant2", "class Main {}", "class Hello { int i; }");
+		assertFalse(store.fingerprint(variant1).equals(store.fingerprint(variant2)));
+	}
+
+	@Test
+	public void differentPaths() throws IOException {
+		final Path variant1 = createVariant("Variant1", "class Main {}", "class Hello {}");
+		final Path variant2 = folder.resolve("Variant2");
+		write(variant2.resolve("Main.java"), "class Main {}");
+		write(variant2.resolve("Hello.java"), "class Hello {}");
+		assertFalse(store.fingerprint(variant1).equals(store.fingerprint(variant2)));
+	}
+
+	@Test
+	public void filesAreNotShared() throws IOException {
+		final Path variant1 = createVariant("Variant1", "class Main {}", "class Hello {}");
+		final Path variant2 = createVariant("Variant2", "class Main {}", "class Hello {}");
+		final String fingerprint = store.fingerprint(variant1);
+		store.fingerprint(variant2);
+
+		final Path main1 = variant1.resolve("Main.java");
+		final Path main2 = variant2.resolve("Main.java");
+		assertFalse(Files.isSameFile(main1, main2));
+		write(main1, "class Main { int i; }");
+		assertEquals("class Main {}", read(main2));
+		assertEquals(fingerprint, store.fingerprint(variant2));
+		assertFalse(fingerprint.equals(store.fingerprint(variant1)));
+	}
+
+	@Test
+	public void compiledVariants() throws IOException {
+		final String fingerprint = store.fingerprint(createVariant("Variant1", "class Main {}", "class Hello {}"));
+		assertNull(store.getCompiledVariant(fingerprint));
+		store.addCompiledVariant(fingerprint, "Variant1");
+		store.addCompiledVariant(fingerprint, "Variant2");
+		assertEquals("Variant1", store.getCompiledVariant(fingerprint));
+		assertNull(store.getCompiledVariant(store.fingerprint(createVariant("Variant3", "class Main {}", "class World {}"))));
+	}
+
+}